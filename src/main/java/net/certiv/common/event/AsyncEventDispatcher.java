@@ -0,0 +1,359 @@
+package net.certiv.common.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.log.Log;
+
+/**
+ * Asynchronous event dispatcher. Events are routed as by {@link TypedEventDispatcher},
+ * but are queued, per listener, in a bounded queue, rather than delivered within
+ * {@link #fire}. Each listener receives its events in fired order, on a thread of the
+ * executor, in batches of up to the configured batch size, through
+ * {@link TypedEventListener#acceptAll}. Distinct listeners receive events concurrently.
+ * <p>
+ * The overflow policy determines the treatment of events fired while the queue of a
+ * listener is full:
+ * <ul>
+ * <li>{@link Overflow#BLOCK}: the firing thread waits for space
+ * <li>{@link Overflow#DROP_OLDEST}: the oldest queued event is dropped to make space
+ * <li>{@link Overflow#DROP_NEWEST}: the fired event is dropped
+ * </ul>
+ * A listener that fires events to its own dispatcher under the {@code BLOCK} policy can
+ * deadlock. Runtime exceptions thrown by a listener are logged and counted; later events
+ * are still delivered. Errors are propagated to the executor.
+ * <p>
+ * Opt in per instance, e.g., {@code graph.setDispatcher(new AsyncEventDispatcher())}.
+ */
+public class AsyncEventDispatcher extends TypedEventDispatcher {
+
+	/** Default listener queue capacity. */
+	public static final int CAPACITY = 1024;
+	/** Default maximum events delivered per batch. */
+	public static final int BATCH = 64;
+
+	public enum Overflow {
+		BLOCK,
+		DROP_OLDEST,
+		DROP_NEWEST;
+	}
+
+	private static final AtomicInteger CTR = new AtomicInteger();
+
+	private final Executor executor;
+	private final boolean owned;
+	private final int capacity;
+	private final Overflow overflow;
+	private final int batch;
+
+	/** Listener queues: key=listener; value=queue. */
+	private final ConcurrentHashMap<TypedEventListener, Mailbox> boxes = new ConcurrentHashMap<>();
+
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	/** Barrier waiters; signalled on batch completion. */
+	private final Object monitor = new Object();
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	/**
+	 * Creates an asynchronous dispatcher, using an internal pool of daemon threads, with
+	 * listener queues of default capacity that block on overflow.
+	 */
+	public AsyncEventDispatcher() {
+		this(null, CAPACITY, Overflow.BLOCK, BATCH);
+	}
+
+	/**
+	 * Creates an asynchronous dispatcher.
+	 *
+	 * @param executor the executor of deliveries, or {@code null} to use an internal pool
+	 *                     of daemon threads
+	 * @param capacity the capacity of each listener queue
+	 * @param overflow the overflow policy
+	 * @param batch    the maximum number of events delivered per batch
+	 */
+	public AsyncEventDispatcher(Executor executor, int capacity, Overflow overflow, int batch) {
+		Assert.notNull(overflow);
+		Assert.isTrue(capacity > 0 && batch > 0);
+		this.owned = executor == null;
+		this.executor = owned ? Executors.newCachedThreadPool(new Daemons()) : executor;
+		this.capacity = capacity;
+		this.overflow = overflow;
+		this.batch = batch;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Events routed to a listener concurrently removed are not delivered.
+	 */
+	@Override
+	protected void deliver(TypedEventListener listener, TypedEvent event) {
+		Mailbox box = boxes.get(listener);
+		if (box != null) box.offer(event);
+	}
+
+	@Override
+	public void addListeners(Collection<TypedEventListener> listeners) {
+		// queues are created before routing, so every routed listener has a queue
+		for (TypedEventListener listener : listeners) {
+			if (listener != null) boxes.computeIfAbsent(listener, Mailbox::new);
+		}
+		super.addListeners(listeners);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Events queued for the listener are discarded.
+	 */
+	@Override
+	public void removeListener(TypedEventListener listener) {
+		super.removeListener(listener);
+		Mailbox box = boxes.remove(listener);
+		if (box != null) box.close();
+	}
+
+	@Override
+	public void clearListeners() {
+		super.clearListeners();
+		boxes.values().forEach(Mailbox::close);
+		boxes.clear();
+	}
+
+	/**
+	 * Waits until all events fired before this call have been delivered, or dropped.
+	 * Must not be called from a listener of this dispatcher.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void flush() throws InterruptedException {
+		for (Mailbox box : List.copyOf(boxes.values())) {
+			long target = box.enqueued.get();
+			await(() -> box.done.get() >= target, 0);
+		}
+	}
+
+	/**
+	 * Waits until no events are queued or being delivered, or until the timeout elapses.
+	 * Must not be called from a listener of this dispatcher.
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit    the time unit of the timeout
+	 * @return {@code true} if quiescent; {@code false} if the timeout elapsed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitQuiescence(long timeout, TimeUnit unit) throws InterruptedException {
+		return await(this::quiescent, Math.max(1, unit.toNanos(timeout)));
+	}
+
+	/** Returns whether no events are queued or being delivered. */
+	public boolean quiescent() {
+		for (Mailbox box : boxes.values()) {
+			if (box.done.get() < box.enqueued.get()) return false;
+		}
+		return true;
+	}
+
+	/** Returns the number of events currently queued for all listeners. */
+	public int queueDepth() {
+		int depth = 0;
+		for (Mailbox box : boxes.values()) {
+			depth += box.queue.size();
+		}
+		return depth;
+	}
+
+	/** Returns the number of events dropped by the overflow policy. */
+	public long dropCount() {
+		return dropped.sum();
+	}
+
+	/** Returns the number of deliveries that failed by throwing an exception. */
+	public long failureCount() {
+		return failures.sum();
+	}
+
+	/**
+	 * Delivers the queued events and then shuts down the internal thread pool, if used.
+	 * Events fired after shutdown are dropped.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for delivery
+	 */
+	public void shutdown() throws InterruptedException {
+		flush();
+		if (owned) ((ExecutorService) executor).shutdown();
+	}
+
+	/** Internal: waits, up to the given nanos, or unbounded if 0, for the condition. */
+	private boolean await(Condition condition, long nanos) throws InterruptedException {
+		if (condition.met()) return true;
+		long end = System.nanoTime() + nanos;
+		waiters.incrementAndGet();
+		try {
+			synchronized (monitor) {
+				while (!condition.met()) {
+					long wait = 10;
+					if (nanos > 0) {
+						long left = end - System.nanoTime();
+						if (left <= 0) return false;
+						wait = Math.max(1, Math.min(wait, TimeUnit.NANOSECONDS.toMillis(left)));
+					}
+					monitor.wait(wait);
+				}
+				return true;
+			}
+		} finally {
+			waiters.decrementAndGet();
+		}
+	}
+
+	/** Internal: signals barrier waiters, if any. */
+	private void signal() {
+		if (waiters.get() > 0) {
+			synchronized (monitor) {
+				monitor.notifyAll();
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface Condition {
+
+		boolean met();
+	}
+
+	/**
+	 * Event queue of a single listener. At most one delivery task is scheduled at a time,
+	 * delivering one batch; the task reschedules itself while events remain.
+	 */
+	private final class Mailbox implements Runnable {
+
+		final TypedEventListener listener;
+		final ArrayBlockingQueue<TypedEvent> queue = new ArrayBlockingQueue<>(capacity);
+		final AtomicBoolean scheduled = new AtomicBoolean();
+		/** Count of events accepted for queuing. */
+		final AtomicLong enqueued = new AtomicLong();
+		/** Count of accepted events delivered, or dropped. */
+		final AtomicLong done = new AtomicLong();
+		volatile boolean closed;
+
+		Mailbox(TypedEventListener listener) {
+			this.listener = listener;
+		}
+
+		void offer(TypedEvent event) {
+			enqueued.incrementAndGet();
+			if (closed) {
+				drop(1);
+				return;
+			}
+
+			switch (overflow) {
+				case BLOCK:
+					try {
+						queue.put(event);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						drop(1);
+						return;
+					}
+					break;
+
+				case DROP_OLDEST:
+					while (!queue.offer(event)) {
+						if (queue.poll() != null) drop(1);
+					}
+					break;
+
+				case DROP_NEWEST:
+					if (!queue.offer(event)) {
+						drop(1);
+						return;
+					}
+					break;
+			}
+			schedule();
+		}
+
+		void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this);
+				} catch (RejectedExecutionException e) {
+					scheduled.set(false);
+					close();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				List<TypedEvent> events = new ArrayList<>(Math.min(batch, queue.size() + 1));
+				queue.drainTo(events, batch);
+				if (events.isEmpty()) return;
+
+				try {
+					if (!closed) listener.acceptAll(events);
+				} catch (RuntimeException e) {
+					failures.increment();
+					Log.error(e, "Event listener '%s' failed: %s", listener.getClass().getName(), e.getMessage());
+				} finally {
+					finish(events.size());
+				}
+
+			} finally {
+				scheduled.set(false);
+				if (!queue.isEmpty()) schedule();
+			}
+		}
+
+		/** Discards the queued events; subsequently offered events are dropped. */
+		void close() {
+			closed = true;
+			int count = 0;
+			while (queue.poll() != null) {
+				count++;
+			}
+			drop(count);
+		}
+
+		private void drop(int count) {
+			if (count == 0) return;
+			dropped.add(count);
+			finish(count);
+		}
+
+		private void finish(int count) {
+			done.addAndGet(count);
+			signal();
+		}
+	}
+
+	/** Daemon thread factory for the internal pool. */
+	private static final class Daemons implements ThreadFactory {
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "Event-dispatch-" + CTR.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -1,11 +1,12 @@
 package net.certiv.common.event;
 
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.certiv.common.check.Assert;
 import net.certiv.common.check.Check;
-import net.certiv.common.stores.Table;
 import net.certiv.common.util.CompareUtil;
 
 public class TypeKey {
@@ -19,7 +20,9 @@ public class TypeKey {
 	 * @return existing type keys
 	 */
 	public static LinkedList<TypeKey> defined() {
-		return CACHE.values();
+		LinkedList<TypeKey> keys = new LinkedList<>();
+		CACHE.values().forEach(names -> keys.addAll(names.values()));
+		return keys;
 	}
 
 	/**
@@ -41,7 +44,8 @@ public class TypeKey {
 	 */
 	public static boolean defined(IEvtType type, String name) {
 		if (Check.isNull(type, name)) return false;
-		return CACHE.get(type, name) != null;
+		Map<String, TypeKey> names = CACHE.get(type);
+		return names != null && names.get(name) != null;
 	}
 
 	/**
@@ -63,12 +67,10 @@ public class TypeKey {
 	 */
 	public static TypeKey get(IEvtType type, String name) {
 		Assert.notNull(type, name);
-		TypeKey key = CACHE.get(type, name);
-		if (key == null) {
-			key = new TypeKey(type, name);
-			CACHE.put(type, name, key);
-		}
-		return key;
+		ConcurrentHashMap<String, TypeKey> names = CACHE.get(type);
+		if (names == null) names = CACHE.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+		TypeKey key = names.get(name);
+		return key != null ? key : names.computeIfAbsent(name, n -> new TypeKey(type, n));
 	}
 
 	/**
@@ -83,14 +85,17 @@ public class TypeKey {
 
 	// --------------------------------
 
-	private static final Table<IEvtType, String, TypeKey> CACHE = new Table<>();
+	/** Type key registry: key=type; value=(key=name; value=type key) */
+	private static final ConcurrentHashMap<IEvtType, ConcurrentHashMap<String, TypeKey>> CACHE = new ConcurrentHashMap<>();
 
 	final IEvtType type;
 	final String name;
+	private final int hash;
 
 	private TypeKey(IEvtType type, String name) {
 		this.type = type;
 		this.name = name;
+		this.hash = Objects.hash(name, type);
 	}
 
 	/**
@@ -115,7 +120,7 @@ public class TypeKey {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(name, type);
+		return hash;
 	}
 
 	@Override
@@ -124,7 +129,7 @@ public class TypeKey {
 		if (obj == null) return false;
 		if (getClass() != obj.getClass()) return false;
 		TypeKey other = (TypeKey) obj;
-		return Objects.equals(name, other.name) && Objects.equals(type, other.type);
+		return hash == other.hash && Objects.equals(name, other.name) && Objects.equals(type, other.type);
 	}
 
 	@Override
@@ -50,7 +50,7 @@ public abstract class TypedChangeEvent extends TypedEvent {
 	 */
 	@SuppressWarnings("unchecked")
 	public <V> V prior() {
-		return (V) value;
+		return (V) prior;
 	}
 
 	@Override
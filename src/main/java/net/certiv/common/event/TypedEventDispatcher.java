@@ -1,31 +1,124 @@
 package net.certiv.common.event;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.certiv.common.stores.LinkedHashList;
 
+/**
+ * Synchronous event dispatcher.
+ * <p>
+ * Listener routing is precompiled: on each change to the set of listeners, the listeners
+ * are grouped by event type into an immutable routing table. The listeners that
+ * comprehend a particular event name are resolved once, on the first event of that type
+ * and name, and held in the table. Firing an event is then a table lookup and a loop over
+ * the resolved listeners. The table is discarded on any change to the set of listeners;
+ * the resolved names of an event type are discarded on any change to the registered keys
+ * of a listener of that type.
+ */
 public class TypedEventDispatcher implements ITypedEventDispatcher {
 
+	/** Maximum number of resolved event names held per event type. */
+	static final int NAMES = 1024;
+
+	private static final TypedEventListener[] NONE = new TypedEventListener[0];
+
 	/** Map of listeners by event type: key=type; values=listeners. */
 	private LinkedHashList<IEvtType, TypedEventListener> map = new LinkedHashList<>(true);
+	/** Routing table derived from the listener map. */
+	private volatile Routes routes = new Routes(map);
 
-	/**
-	 * {@inheritDoc}
-	 * <p>
-	 * TODO: support firing on separate virtual threads.
-	 */
 	@Override
 	public <TE extends TypedEvent> void fire(TE event) {
-		if (event.issuable()) {
-			TypeKey key = TypeKey.get(event);
-			for (TypedEventListener listener : map.getOrDefault(key.type, List.of())) {
-				if (listener.comprehends(key)) {
-					listener.accept(event);
-				}
+		Route route = routes.types.get(event.type());
+		if (route == null || !event.issuable()) return;
+
+		for (TypedEventListener listener : route.resolve(event.name())) {
+			deliver(listener, event);
+		}
+	}
+
+	/**
+	 * Delivers the given event to the given listener. Called by {@link #fire} for each
+	 * listener that comprehends the event, in listener registration order.
+	 *
+	 * @param listener a listener
+	 * @param event    the event
+	 */
+	protected void deliver(TypedEventListener listener, TypedEvent event) {
+		listener.accept(event);
+	}
+
+	/** Internal: replaces the routing table; must be called on any listener change. */
+	private void reroute() {
+		routes = new Routes(map);
+	}
+
+	/** Immutable routing table: event type to route. */
+	private static final class Routes {
+
+		final Map<IEvtType, Route> types = new HashMap<>();
+
+		Routes(LinkedHashList<IEvtType, TypedEventListener> map) {
+			map.forEach((type, listeners) -> types.put(type, new Route(type, listeners)));
+		}
+	}
+
+	/** Listeners of a single event type, with the listeners resolved per event name. */
+	private static final class Route {
+
+		final IEvtType type;
+		final TypedEventListener[] listeners;
+		final ConcurrentHashMap<String, TypedEventListener[]> names = new ConcurrentHashMap<>();
+		/** Listener registration versions, as of the resolved names. */
+		volatile int[] versions;
+
+		Route(IEvtType type, List<TypedEventListener> listeners) {
+			this.type = type;
+			this.listeners = listeners.toArray(NONE);
+			versions = versions();
+		}
+
+		TypedEventListener[] resolve(String name) {
+			if (!current()) {
+				versions = versions();
+				names.clear();
+			}
+
+			TypedEventListener[] resolved = names.get(name);
+			if (resolved != null) return resolved;
+
+			TypeKey key = TypeKey.get(type, name);
+			List<TypedEventListener> matched = new ArrayList<>(listeners.length);
+			for (TypedEventListener listener : listeners) {
+				if (listener.comprehends(key)) matched.add(listener);
+			}
+			resolved = matched.toArray(NONE);
+			if (names.size() >= NAMES) names.clear();
+			names.put(name, resolved);
+			return resolved;
+		}
+
+		/** Returns {@code true} if no listener has changed registrations since resolved. */
+		private boolean current() {
+			int[] vers = versions;
+			for (int idx = 0; idx < listeners.length; idx++) {
+				if (listeners[idx].version() != vers[idx]) return false;
+			}
+			return true;
+		}
+
+		private int[] versions() {
+			int[] vers = new int[listeners.length];
+			for (int idx = 0; idx < listeners.length; idx++) {
+				vers[idx] = listeners[idx].version();
 			}
+			return vers;
 		}
 	}
 
@@ -42,6 +135,7 @@ public class TypedEventDispatcher implements ITypedEventDispatcher {
 			types.forEach(t -> dup.put(t, listener));
 		}
 		map = dup;
+		reroute();
 	}
 
 	@Override
@@ -49,12 +143,13 @@ public class TypedEventDispatcher implements ITypedEventDispatcher {
 		LinkedHashList<IEvtType, TypedEventListener> dup = new LinkedHashList<>(map, true);
 		listener.types().forEach(t -> dup.remove(t, listener));
 		map = dup;
+		reroute();
 	}
 
 	@Override
 	public boolean hasListeners(IEvtType type) {
-		LinkedList<TypedEventListener> listeners = map.get(type);
-		return listeners != null && !listeners.isEmpty();
+		// empty listener lists are removed, so containment implies listeners
+		return map.containsKey(type);
 	}
 
 	@Override
@@ -79,6 +174,7 @@ public class TypedEventDispatcher implements ITypedEventDispatcher {
 
 	@Override
 	public void clearListeners() {
-		map.clear();
+		map = new LinkedHashList<>(true);
+		reroute();
 	}
 }
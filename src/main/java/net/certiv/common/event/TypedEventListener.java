@@ -19,6 +19,17 @@ public abstract class TypedEventListener implements EventListener {
 	/** key=reg event type; value=reg type keys */
 	private final LinkedHashList<IEvtType, TypeKey> registry = new LinkedHashList<>();
 
+	/** Registration version: advanced on every change to the keys of this listener. */
+	private volatile int version;
+
+	/**
+	 * Returns the registration version of this listener. Dispatchers holding resolved
+	 * routes to this listener must re-resolve the routes whenever the version changes.
+	 */
+	int version() {
+		return version;
+	}
+
 	/**
 	 * Returns the event types this listener is specified as capable of handling.
 	 *
@@ -63,6 +74,7 @@ public abstract class TypedEventListener implements EventListener {
 			keys.forEach(k -> registry.remove(k.type, k));
 		}
 		registry.put(type, key);
+		version++;
 		return this;
 	}
 
@@ -107,6 +119,7 @@ public abstract class TypedEventListener implements EventListener {
 	 */
 	protected void clear() {
 		registry.clear();
+		version++;
 	}
 
 	/**
@@ -169,4 +182,17 @@ public abstract class TypedEventListener implements EventListener {
 	 * @param event a {@link TypedEvent} object
 	 */
 	protected abstract <TE extends TypedEvent> void accept(TE event);
+
+	/**
+	 * Called when a batch of events is delivered by an {@link AsyncEventDispatcher}. The
+	 * events are in fired order. Calls {@link #accept} for each event; override to
+	 * handle a batch as a unit.
+	 *
+	 * @param events the delivered events
+	 */
+	protected void acceptAll(List<? extends TypedEvent> events) {
+		for (TypedEvent event : events) {
+			accept(event);
+		}
+	}
 }
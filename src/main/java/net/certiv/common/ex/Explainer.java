@@ -15,6 +15,16 @@ import net.certiv.common.stores.Result;
 import net.certiv.common.util.Maths;
 import net.certiv.common.util.Strings;
 
+/**
+ * Accumulator of failure reasons, with checking operations that add a reason on each
+ * failed check.
+ * <p>
+ * A stackless explainer, created with {@code trace} {@code false}, captures no stack
+ * trace and allocates its reasons list only on the first reason added, so is cheap to
+ * create on paths that usually succeed. Use {@link #result()} to report its failure in
+ * a {@link Result}, and {@link #explain()} to obtain an explainer, with a stack trace,
+ * for throwing.
+ */
 public class Explainer extends RuntimeException {
 
 	private static final String EXPLAINER = "Explainer";
@@ -29,7 +39,10 @@ public class Explainer extends RuntimeException {
 	/** Caption for 'cause' stack trace */
 	private static final String CAUSE_CAPTION = "Caused by: ";
 
-	private final LinkedList<String> reasons = new LinkedList<>();
+	/** Reasons; {@code null} until first added or requested. */
+	private LinkedList<String> reasons;
+	/** Whether a stack trace was captured. */
+	private final boolean trace;
 
 	/** Last 'last' state */
 	private boolean last = true;
@@ -40,9 +53,39 @@ public class Explainer extends RuntimeException {
 
 	public Explainer(String title) {
 		super(title);
+		trace = true;
+	}
+
+	/**
+	 * Constructs an explainer.
+	 *
+	 * @param title explainer title
+	 * @param trace {@code true} to capture a stack trace
+	 */
+	public Explainer(String title, boolean trace) {
+		super(title, null, true, trace);
+		this.trace = trace;
+	}
+
+	/**
+	 * Constructs an explainer holding the given reasons.
+	 *
+	 * @param title   explainer title
+	 * @param reasons initial reasons
+	 * @param trace   {@code true} to capture a stack trace
+	 */
+	public Explainer(String title, Collection<String> reasons, boolean trace) {
+		this(title, trace);
+		if (!reasons.isEmpty()) list().addAll(reasons);
+		this.last = isEmpty();
 	}
 
 	public LinkedList<String> reasons() {
+		return list();
+	}
+
+	private LinkedList<String> list() {
+		if (reasons == null) reasons = new LinkedList<>();
 		return reasons;
 	}
 
@@ -55,15 +98,15 @@ public class Explainer extends RuntimeException {
 		if (t instanceof Explainer) {
 			add(((Explainer) t).reasons());
 		} else if (t != null) {
-			reasons.add(getTrace(t));
+			list().add(getTrace(t));
 			last = false;
 		}
 		return this;
 	}
 
 	public Explainer add(List<String> reasons) {
-		this.reasons.addAll(reasons);
-		this.last = this.reasons.isEmpty();
+		if (!reasons.isEmpty()) list().addAll(reasons);
+		this.last = isEmpty();
 		return this;
 	}
 
@@ -76,31 +119,31 @@ public class Explainer extends RuntimeException {
 		if (t instanceof Explainer) {
 			addFirst(((Explainer) t).reasons());
 		} else if (t != null) {
-			reasons.addFirst(getTrace(t));
+			list().addFirst(getTrace(t));
 			last = false;
 		}
 		return this;
 	}
 
 	public Explainer addFirst(List<String> reasons) {
-		this.reasons.addAll(0, reasons);
-		this.last = this.reasons.isEmpty();
+		if (!reasons.isEmpty()) list().addAll(0, reasons);
+		this.last = isEmpty();
 		return this;
 	}
 
 	public Explainer reason(String msg) {
-		reasons.add(msg);
+		list().add(msg);
 		return this;
 	}
 
 	public Explainer reason(String fmt, Object... args) {
-		reasons.add(String.format(fmt, args));
+		list().add(String.format(fmt, args));
 		return this;
 	}
 
 	public Explainer reason(boolean ok, String msg) {
 		if (ok) {
-			reasons.add(msg);
+			list().add(msg);
 			this.last = ok;
 		}
 		return this;
@@ -108,7 +151,7 @@ public class Explainer extends RuntimeException {
 
 	public boolean reason(boolean ok, String fmt, Object... args) {
 		if (ok) {
-			reasons.add(String.format(fmt, args));
+			list().add(String.format(fmt, args));
 			this.last = ok;
 		}
 		return ok;
@@ -125,7 +168,7 @@ public class Explainer extends RuntimeException {
 	 */
 	public boolean is(boolean ok, boolean cond, String msg) {
 		if (ok && !cond) {
-			reasons.add(msg);
+			list().add(msg);
 			this.last = ok = false;
 		}
 		return ok;
@@ -143,7 +186,7 @@ public class Explainer extends RuntimeException {
 	 */
 	public boolean is(boolean ok, boolean cond, String fmt, Object... args) {
 		if (ok && !cond) {
-			reasons.add(String.format(fmt, args));
+			list().add(String.format(fmt, args));
 			this.last = ok = false;
 		}
 		return ok;
@@ -161,7 +204,7 @@ public class Explainer extends RuntimeException {
 	 */
 	public boolean notNull(boolean ok, Object elem, String msg) {
 		if (ok && elem == null) {
-			reasons.add(msg);
+			list().add(msg);
 			this.last = ok = false;
 		}
 		return ok;
@@ -180,7 +223,7 @@ public class Explainer extends RuntimeException {
 	 */
 	public boolean notNull(boolean ok, Object elem, String fmt, Object... args) {
 		if (ok && elem == null) {
-			reasons.add(String.format(fmt, args));
+			list().add(String.format(fmt, args));
 			this.last = ok = false;
 		}
 		return ok;
@@ -210,7 +253,7 @@ public class Explainer extends RuntimeException {
 			for (int idx = 0; idx < tmp.size(); idx++) {
 				E elem = tmp.get(idx);
 				if (!pred.test(elem)) {
-					reasons.add(String.format(msg, idx, elem));
+					list().add(String.format(msg, idx, elem));
 					flg &= false;
 				}
 			}
@@ -226,25 +269,48 @@ public class Explainer extends RuntimeException {
 
 	/** @return if any reasons are present */
 	public boolean isEmpty() {
-		return reasons.isEmpty();
+		return reasons == null || reasons.isEmpty();
 	}
 
 	/** @return the number of reasons present */
 	public int size() {
-		return reasons.size();
+		return reasons != null ? reasons.size() : 0;
 	}
 
 	/** Clears all present reasons. */
 	public void clear() {
-		reasons.clear();
+		if (reasons != null) reasons.clear();
+	}
+
+	/**
+	 * Returns a failure result holding this explainer.
+	 *
+	 * @param <T> result value type
+	 * @return failure result
+	 */
+	public <T> Result<T> result() {
+		return Result.of(this);
+	}
+
+	/**
+	 * Returns this explainer, if a stack trace was captured, or otherwise a new
+	 * explainer, with a stack trace, of the present reasons.
+	 *
+	 * @return explainer, suitable for throwing
+	 */
+	public Explainer explain() {
+		if (trace) return this;
+		return new Explainer(super.getMessage(), reasons(), true);
 	}
 
 	@Override
 	public String getMessage() {
 		TextStringBuilder sb = new TextStringBuilder(super.getMessage());
 		sb.appendln(MSG_CAPTION, super.getMessage());
-		for (String reason : reasons) {
-			sb.appendln(Strings.TAB + reason);
+		if (reasons != null) {
+			for (String reason : reasons) {
+				sb.appendln(Strings.TAB + reason);
+			}
 		}
 		return sb.toString();
 	}
@@ -255,7 +321,7 @@ public class Explainer extends RuntimeException {
 	}
 
 	/** @return a summary stack trace of the given throwable */
-	private String getTrace(Throwable t) {
+	static String getTrace(Throwable t) {
 		TextStringBuilder sb = new TextStringBuilder(t.getMessage());
 		StackTraceElement[] trace = t.getStackTrace();
 		int len = Maths.constrain(trace.length, 0, 8);
@@ -8,6 +8,7 @@ import net.certiv.common.check.Assert;
 import net.certiv.common.graph.Edge.Sense;
 import net.certiv.common.graph.ex.GraphEx;
 import net.certiv.common.id.IUId;
+import net.certiv.common.stores.IndexedUniqueList;
 import net.certiv.common.stores.UniqueList;
 import net.certiv.common.util.Strings;
 
@@ -40,7 +41,7 @@ public abstract class Builder<T extends IUId, I extends IUId, G extends Graph<I,
 	/** All nodes known to have been built. */
 	private final UniqueList<N> built = new UniqueList<>();
 	/** Temporary edge list. */
-	private final UniqueList<E> edges = new UniqueList<>();
+	private final IndexedUniqueList<E> edges = new IndexedUniqueList<>();
 
 	/** The graph being constructed. */
 	protected final G graph;
@@ -88,7 +89,7 @@ public abstract class Builder<T extends IUId, I extends IUId, G extends Graph<I,
 		N node = null;
 		if (built) {
 			LinkedList<N> nodes = this.built.stream() //
-					.filter(n -> n.get(Node.NODE_ID).equals(id)) //
+					.filter(n -> n.id().equals(id)) //
 					.collect(Collectors.toCollection(LinkedList::new));
 			Assert.isTrue(GraphEx.of(ERR_NODE_LOOKUP, id, nodes), nodes.size() <= 1);
 			node = nodes.peek();
@@ -96,7 +97,7 @@ public abstract class Builder<T extends IUId, I extends IUId, G extends Graph<I,
 
 		if (node == null) {
 			LinkedList<N> nodes = graph.getNodes().stream() //
-					.filter(n -> n.get(Node.NODE_ID).equals(id)) //
+					.filter(n -> n.id().equals(id)) //
 					.collect(Collectors.toCollection(LinkedList::new));
 			Assert.isTrue(GraphEx.of(ERR_NODE_LOOKUP, id, nodes), nodes.size() <= 1);
 			node = nodes.peek();
@@ -298,7 +299,7 @@ public abstract class Builder<T extends IUId, I extends IUId, G extends Graph<I,
 		Assert.notEmpty(name);
 		I id = makeId(name);
 		return graph.getNodes().stream() //
-				.filter(n -> n.get(Node.NODE_ID).equals(id)) //
+				.filter(n -> n.id().equals(id)) //
 				.count() < 2;
 	}
 
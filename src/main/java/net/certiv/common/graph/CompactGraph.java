@@ -0,0 +1,430 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.id.IUId;
+import net.certiv.common.stores.UniqueList;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a {@link Graph}.
+ * <p>
+ * Nodes and edges are int-indexed. Node indices follow graph insertion order; edge
+ * indices follow the order edges are first encountered as outbound edges of the nodes
+ * in node order. For each of {@code Sense.IN} and {@code Sense.OUT}, the connected edges
+ * of node {@code n} occupy positions {@code [begin(dir, n), end(dir, n))} of the
+ * {@code dir} target and edge arrays, grouped by distal node in the same order as
+ * {@link Node#forEachAdjacent}. Edge weights are captured from {@link Edge#weight()}.
+ * <p>
+ * The snapshot reflects the graph structure at construction. Use {@link #isCurrent()} to
+ * detect subsequent graph modification, including by {@link Transfuture#apply()}, and
+ * {@link #rebuild()} to obtain a current snapshot. Changes to edge weights are not
+ * detected.
+ * <p>
+ * Traversals are supported by {@link Walker#using(CompactGraph)} and
+ * {@link Finder#using(CompactGraph)}.
+ */
+public class CompactGraph<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private final Graph<I, N, E> graph;
+	private final long modCount;
+
+	private final Object[] nodes;
+	private final Object[] edges;
+	private final HashMap<N, Integer> nodeIdx;
+	private final HashMap<E, Integer> edgeIdx;
+
+	/** Edge terminal node indices, by edge index. */
+	private final int[] begs;
+	private final int[] ends;
+	private final double[] weights;
+
+	/** Row offsets, by node index; length is node count + 1. */
+	private final int[] outOff;
+	private final int[] inOff;
+	/** Distal node indices, by row position. */
+	private final int[] outTgt;
+	private final int[] inTgt;
+	/** In row distal node indices, ascending within each row, for adjacency tests. */
+	private final int[] inSorted;
+	/** Edge indices, by row position. */
+	private final int[] outEdge;
+	private final int[] inEdge;
+
+	/**
+	 * Build a compact snapshot of the given graph. Shared read access to the graph is held
+	 * for the duration of the build.
+	 *
+	 * @param graph the source graph
+	 * @return a new snapshot
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> CompactGraph<I, N, E> of(
+			Graph<I, N, E> graph) {
+		Assert.notNull(graph);
+		return graph.read(() -> new CompactGraph<>(graph));
+	}
+
+	private CompactGraph(Graph<I, N, E> graph) {
+		this.graph = graph;
+		this.modCount = graph.modCount();
+
+		int nodeCnt = graph.size();
+		nodes = new Object[nodeCnt];
+		nodeIdx = new HashMap<>(cap(nodeCnt));
+		outOff = new int[nodeCnt + 1];
+		inOff = new int[nodeCnt + 1];
+
+		int[] cnt = new int[3]; // node, out, in
+		graph.forEachNode(n -> {
+			int idx = cnt[0]++;
+			nodes[idx] = n;
+			nodeIdx.put(n, idx);
+			cnt[1] += n.degree(Sense.OUT, true);
+			cnt[2] += n.degree(Sense.IN, true);
+			outOff[idx + 1] = cnt[1];
+			inOff[idx + 1] = cnt[2];
+		});
+
+		int edgeCnt = cnt[1];
+		Assert.isTrue(edgeCnt == cnt[2]);
+		edges = new Object[edgeCnt];
+		edgeIdx = new HashMap<>(cap(edgeCnt));
+		begs = new int[edgeCnt];
+		ends = new int[edgeCnt];
+		weights = new double[edgeCnt];
+		outTgt = new int[edgeCnt];
+		outEdge = new int[edgeCnt];
+		inTgt = new int[edgeCnt];
+		inEdge = new int[edgeCnt];
+
+		// out rows: assign edge indices
+		cnt[0] = 0; // next edge index
+		cnt[1] = 0; // row position
+		for (int idx = 0; idx < nodeCnt; idx++) {
+			N node = node(idx);
+			int beg = idx;
+			node.forEachAdjacent(Sense.OUT, true, distal -> {
+				int end = nodeIdx.get(distal);
+				node.forEachEdge(Sense.OUT, distal, e -> {
+					int eid = cnt[0]++;
+					edges[eid] = e;
+					edgeIdx.put(e, eid);
+					begs[eid] = beg;
+					ends[eid] = end;
+					weights[eid] = e.weight();
+					outTgt[cnt[1]] = end;
+					outEdge[cnt[1]++] = eid;
+				});
+			});
+		}
+
+		// in rows
+		cnt[1] = 0;
+		for (int idx = 0; idx < nodeCnt; idx++) {
+			N node = node(idx);
+			node.forEachAdjacent(Sense.IN, true, distal -> {
+				int beg = nodeIdx.get(distal);
+				node.forEachEdge(Sense.IN, distal, e -> {
+					inTgt[cnt[1]] = beg;
+					inEdge[cnt[1]++] = edgeIdx.get(e);
+				});
+			});
+		}
+
+		inSorted = inTgt.clone();
+		for (int idx = 0; idx < nodeCnt; idx++) {
+			Arrays.sort(inSorted, inOff[idx], inOff[idx + 1]);
+		}
+	}
+
+	private static int cap(int cnt) {
+		return (int) (cnt / 0.75f) + 1;
+	}
+
+	/** @return the source graph */
+	public Graph<I, N, E> graph() {
+		return graph;
+	}
+
+	/**
+	 * Returns {@code true} if the source graph has not been structurally modified since
+	 * this snapshot was built.
+	 *
+	 * @return {@code true} if this snapshot is current
+	 */
+	public boolean isCurrent() {
+		return modCount == graph.modCount();
+	}
+
+	/**
+	 * Returns this snapshot if current, otherwise a new snapshot of the source graph.
+	 *
+	 * @return a current snapshot
+	 */
+	public CompactGraph<I, N, E> rebuild() {
+		return isCurrent() ? this : of(graph);
+	}
+
+	/** @return the node count */
+	public int nodeCount() {
+		return nodes.length;
+	}
+
+	/** @return the edge count */
+	public int edgeCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Returns the node having the given index.
+	 *
+	 * @param idx a node index
+	 * @return the indexed node
+	 */
+	@SuppressWarnings("unchecked")
+	public N node(int idx) {
+		return (N) nodes[idx];
+	}
+
+	/**
+	 * Returns the edge having the given index.
+	 *
+	 * @param idx an edge index
+	 * @return the indexed edge
+	 */
+	@SuppressWarnings("unchecked")
+	public E edge(int idx) {
+		return (E) edges[idx];
+	}
+
+	/**
+	 * Returns the index of the given node.
+	 *
+	 * @param node a node
+	 * @return the node index, or {@code -1} if not in this snapshot
+	 */
+	public int indexOf(N node) {
+		Integer idx = nodeIdx.get(node);
+		return idx != null ? idx : -1;
+	}
+
+	/**
+	 * Returns the index of the given edge.
+	 *
+	 * @param edge an edge
+	 * @return the edge index, or {@code -1} if not in this snapshot
+	 */
+	public int indexOf(E edge) {
+		Integer idx = edgeIdx.get(edge);
+		return idx != null ? idx : -1;
+	}
+
+	/**
+	 * Returns the first row position of the edges connected to the given node in the
+	 * given direction.
+	 *
+	 * @param dir  {@code Sense.IN} or {@code Sense.OUT}
+	 * @param node a node index
+	 * @return the first row position
+	 */
+	public int begin(Sense dir, int node) {
+		return offsets(dir)[node];
+	}
+
+	/**
+	 * Returns the row position following the last of the edges connected to the given
+	 * node in the given direction.
+	 *
+	 * @param dir  {@code Sense.IN} or {@code Sense.OUT}
+	 * @param node a node index
+	 * @return the end row position, exclusive
+	 */
+	public int end(Sense dir, int node) {
+		return offsets(dir)[node + 1];
+	}
+
+	/**
+	 * Returns the count of edges, including single-edge cycles, connected to the given
+	 * node in the given direction.
+	 *
+	 * @param dir  {@code Sense.IN} or {@code Sense.OUT}
+	 * @param node a node index
+	 * @return the edge count
+	 */
+	public int degree(Sense dir, int node) {
+		int[] off = offsets(dir);
+		return off[node + 1] - off[node];
+	}
+
+	/**
+	 * Returns the distal node index at the given row position in the given direction.
+	 *
+	 * @param dir {@code Sense.IN} or {@code Sense.OUT}
+	 * @param pos a row position
+	 * @return the distal node index
+	 */
+	public int target(Sense dir, int pos) {
+		return dir == Sense.IN ? inTgt[pos] : outTgt[pos];
+	}
+
+	/**
+	 * Returns the edge index at the given row position in the given direction.
+	 *
+	 * @param dir {@code Sense.IN} or {@code Sense.OUT}
+	 * @param pos a row position
+	 * @return the edge index
+	 */
+	public int edgeAt(Sense dir, int pos) {
+		return dir == Sense.IN ? inEdge[pos] : outEdge[pos];
+	}
+
+	/**
+	 * Returns the begin node index of the given edge.
+	 *
+	 * @param edge an edge index
+	 * @return the begin node index
+	 */
+	public int beg(int edge) {
+		return begs[edge];
+	}
+
+	/**
+	 * Returns the end node index of the given edge.
+	 *
+	 * @param edge an edge index
+	 * @return the end node index
+	 */
+	public int end(int edge) {
+		return ends[edge];
+	}
+
+	/**
+	 * Returns the weight of the given edge, as captured at snapshot construction.
+	 *
+	 * @param edge an edge index
+	 * @return the edge weight
+	 */
+	public double weight(int edge) {
+		return weights[edge];
+	}
+
+	private int[] offsets(Sense dir) {
+		switch (dir) {
+			case IN:
+				return inOff;
+			case OUT:
+				return outOff;
+			default:
+				throw new IllegalArgumentException("Sense.BOTH is not a row direction");
+		}
+	}
+
+	/**
+	 * Performs the given action on each immediately adjacent node of the given node,
+	 * connected with the given sense, conditionally including the given node where
+	 * connected by a single-edge cycle. For {@code Sense.BOTH}, each adjacent node is
+	 * presented once. Presents nodes in the same order as {@link Node#forEachAdjacent}.
+	 *
+	 * @param node   a node in this snapshot
+	 * @param dir    the adjacency direction criteria
+	 * @param cyclic {@code true} to include {@code node} if self-cyclic
+	 * @param action the action to perform on each adjacent node
+	 */
+	public void forEachAdjacent(N node, Sense dir, boolean cyclic, Consumer<? super N> action) {
+		int idx = indexOf(node);
+		Assert.isTrue(idx >= 0);
+		switch (dir) {
+			case IN:
+			case OUT:
+				forEachAdjacent(idx, dir, cyclic, -1, action);
+				break;
+			case BOTH:
+			default:
+				forEachAdjacent(idx, Sense.IN, cyclic, -1, action);
+				forEachAdjacent(idx, Sense.OUT, cyclic, idx, action);
+		}
+	}
+
+	/** @param skip {@code dir} row to skip nodes from, or {@code -1} */
+	private void forEachAdjacent(int idx, Sense dir, boolean cyclic, int skip, Consumer<? super N> action) {
+		int[] tgt = dir == Sense.IN ? inTgt : outTgt;
+		int end = end(dir, idx);
+		int prev = -1;
+		for (int pos = begin(dir, idx); pos < end; pos++) {
+			int distal = tgt[pos];
+			if (distal == prev) continue;
+			prev = distal;
+			if (distal == idx && !cyclic) continue;
+			if (skip >= 0 && isAdjacent(Sense.IN, skip, distal)) continue;
+			action.accept(node(distal));
+		}
+	}
+
+	/** In rows are binary searched; out rows are scanned. */
+	boolean isAdjacent(Sense dir, int idx, int distal) {
+		if (dir == Sense.IN) return Arrays.binarySearch(inSorted, inOff[idx], inOff[idx + 1], distal) >= 0;
+		for (int pos = outOff[idx]; pos < outOff[idx + 1]; pos++) {
+			if (outTgt[pos] == distal) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an immutable list of the real and implicit root nodes of this snapshot.
+	 * Equivalent to {@link Graph#getRoots()}, computed in {@code O(V+E)}.
+	 * <p>
+	 * A real root is a node having no inbound edges, excluding single-edge cycles. An
+	 * implicit root is the first node, in node order, of a cyclic group of nodes that is
+	 * not reachable from any node outside of the group. Real roots are listed first,
+	 * followed by the implicit roots, each in node order.
+	 *
+	 * @return unmodifiable list of real and implicit roots
+	 */
+	public UniqueList<N> getRoots() {
+		int cnt = nodes.length;
+		Tarjan scc = new Tarjan(this);
+		boolean[] entered = new boolean[scc.count];
+		for (int idx = 0; idx < edges.length; idx++) {
+			int beg = scc.comp[begs[idx]];
+			int end = scc.comp[ends[idx]];
+			if (beg != end) entered[end] = true;
+		}
+
+		ArrayList<N> roots = new ArrayList<>();
+		for (int idx = 0; idx < cnt; idx++) {
+			if (isRoot(idx)) roots.add(node(idx));
+		}
+
+		// a real root is a single node source component; otherwise take the first member
+		boolean[] done = new boolean[scc.count];
+		for (int idx = 0; idx < cnt; idx++) {
+			int comp = scc.comp[idx];
+			if (!entered[comp] && !done[comp]) {
+				done[comp] = true;
+				if (!isRoot(idx)) roots.add(node(idx));
+			}
+		}
+		return new UniqueList<>(roots).unmodifiable();
+	}
+
+	/** @return the graph modification count at the time this snapshot was built */
+	long modCount() {
+		return modCount;
+	}
+
+	private boolean isRoot(int idx) {
+		for (int pos = inOff[idx]; pos < inOff[idx + 1]; pos++) {
+			if (inTgt[pos] != idx) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CompactGraph[%s: %d nodes, %d edges]", graph, nodes.length, edges.length);
+	}
+}
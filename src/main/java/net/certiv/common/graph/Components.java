@@ -0,0 +1,293 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.ex.GraphEx;
+import net.certiv.common.graph.ex.GraphException;
+import net.certiv.common.id.IUId;
+import net.certiv.common.stores.UniqueList;
+
+/**
+ * Strongly connected components of a graph, together with the condensation of the
+ * graph: the directed acyclic graph having one vertex per component and an edge
+ * wherever some graph edge leads from one component to another.
+ * <p>
+ * Computed once, on construction, by an iterative form of Tarjan's algorithm in
+ * {@code O(V+E)}, over a {@link CompactGraph} snapshot of the graph. Results reflect the
+ * graph as of the snapshot.
+ * <p>
+ * Components are numbered {@code 0..count()-1} in topological order: every condensation
+ * edge leads from a lower to a higher numbered component. Members of each component
+ * are listed in node order.
+ * <p>
+ * A component is cyclic if it has more than one member, or if its single member has a
+ * single-edge cycle ({@link Edge#cyclic()}).
+ */
+public class Components<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private final CompactGraph<I, N, E> compact;
+	private final int count;
+
+	/** Component number, by node index. */
+	private final int[] comp;
+	/** Member node indices, by component; offsets length is count + 1. */
+	private final int[] memOff;
+	private final int[] members;
+	/** Whether cyclic, by component. */
+	private final boolean[] cyclic;
+
+	/** Condensation successor and predecessor component rows. */
+	private final int[] succOff;
+	private final int[] succ;
+	private final int[] predOff;
+	private final int[] pred;
+
+	/**
+	 * Compute the strongly connected components of the given graph.
+	 *
+	 * @param graph the source graph
+	 * @return the graph components
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> Components<I, N, E> in(
+			Graph<I, N, E> graph) {
+		Assert.notNull(graph);
+		return new Components<>(CompactGraph.of(graph));
+	}
+
+	/**
+	 * Compute the strongly connected components of the given graph snapshot.
+	 *
+	 * @param compact the source graph snapshot
+	 * @return the graph components
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> Components<I, N, E> in(
+			CompactGraph<I, N, E> compact) {
+		Assert.notNull(compact);
+		return new Components<>(compact);
+	}
+
+	private Components(CompactGraph<I, N, E> compact) {
+		this.compact = compact;
+		int cnt = compact.nodeCount();
+
+		// renumber from reverse topological completion order to topological order
+		Tarjan scc = new Tarjan(compact);
+		count = scc.count;
+		comp = scc.comp;
+		for (int idx = 0; idx < cnt; idx++) {
+			comp[idx] = count - 1 - comp[idx];
+		}
+
+		memOff = new int[count + 1];
+		members = new int[cnt];
+		for (int idx = 0; idx < cnt; idx++) {
+			memOff[comp[idx] + 1]++;
+		}
+		for (int c = 0; c < count; c++) {
+			memOff[c + 1] += memOff[c];
+		}
+		int[] fill = Arrays.copyOf(memOff, count);
+		for (int idx = 0; idx < cnt; idx++) {
+			members[fill[comp[idx]]++] = idx;
+		}
+
+		cyclic = new boolean[count];
+		for (int c = 0; c < count; c++) {
+			int beg = memOff[c];
+			cyclic[c] = memOff[c + 1] - beg > 1 || compact.isAdjacent(Sense.OUT, members[beg], members[beg]);
+		}
+
+		succOff = new int[count + 1];
+		predOff = new int[count + 1];
+		succ = condense(Sense.OUT, succOff);
+		pred = condense(Sense.IN, predOff);
+	}
+
+	/** Collects the distinct adjacent components of each component, in the given direction. */
+	private int[] condense(Sense dir, int[] off) {
+		int[] seen = new int[count];
+		Arrays.fill(seen, -1);
+		int[] rows = new int[compact.edgeCount()];
+		int len = 0;
+		for (int c = 0; c < count; c++) {
+			off[c] = len;
+			for (int m = memOff[c]; m < memOff[c + 1]; m++) {
+				int idx = members[m];
+				for (int pos = compact.begin(dir, idx); pos < compact.end(dir, idx); pos++) {
+					int adj = comp[compact.target(dir, pos)];
+					if (adj != c && seen[adj] != c) {
+						seen[adj] = c;
+						rows[len++] = adj;
+					}
+				}
+			}
+		}
+		off[count] = len;
+		return Arrays.copyOf(rows, len);
+	}
+
+	/** @return the graph snapshot these components were computed from */
+	public CompactGraph<I, N, E> compact() {
+		return compact;
+	}
+
+	/** @return the number of components */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Returns the number of the component containing the given node.
+	 *
+	 * @param node a graph node
+	 * @return the component number, or {@code -1} if not a node of the graph snapshot
+	 */
+	public int component(N node) {
+		int idx = compact.indexOf(node);
+		return idx >= 0 ? comp[idx] : -1;
+	}
+
+	/**
+	 * Returns the member nodes of the given component, in node order.
+	 *
+	 * @param c a component number
+	 * @return the component member nodes
+	 */
+	public UniqueList<N> members(int c) {
+		check(c);
+		return nodes(memOff[c], memOff[c + 1]);
+	}
+
+	/**
+	 * Returns the number of member nodes of the given component.
+	 *
+	 * @param c a component number
+	 * @return the component size
+	 */
+	public int size(int c) {
+		check(c);
+		return memOff[c + 1] - memOff[c];
+	}
+
+	/**
+	 * Returns {@code true} if the given component is cyclic.
+	 *
+	 * @param c a component number
+	 * @return {@code true} if cyclic
+	 */
+	public boolean isCyclic(int c) {
+		check(c);
+		return cyclic[c];
+	}
+
+	/** @return {@code true} if no component is cyclic */
+	public boolean isAcyclic() {
+		for (boolean cycle : cyclic) {
+			if (cycle) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the member nodes of each cyclic component, in component order. Empty if
+	 * the graph is acyclic.
+	 *
+	 * @return the cyclic component member nodes
+	 */
+	public List<UniqueList<N>> cycles() {
+		List<UniqueList<N>> cycles = new ArrayList<>();
+		for (int c = 0; c < count; c++) {
+			if (cyclic[c]) cycles.add(members(c));
+		}
+		return cycles;
+	}
+
+	/**
+	 * Returns the graph nodes in topological order: each node is listed before every node
+	 * reachable from it.
+	 *
+	 * @return the topologically ordered graph nodes
+	 * @throws GraphException if the graph contains cycles; the exception message reports
+	 *                        the member nodes of each cyclic component
+	 */
+	public UniqueList<N> sort() {
+		if (!isAcyclic()) {
+			String msg = cycles().stream().map(Object::toString).collect(Collectors.joining(", "));
+			throw GraphEx.of("Graph contains cycles: %s", msg);
+		}
+		return order();
+	}
+
+	/**
+	 * Returns the graph nodes in component order, and in node order within each
+	 * component. Where the graph is acyclic, this is a topological order.
+	 *
+	 * @return the component ordered graph nodes
+	 */
+	public UniqueList<N> order() {
+		return nodes(0, members.length);
+	}
+
+	/** Collects the member nodes in the given range; members are distinct by construction. */
+	private UniqueList<N> nodes(int beg, int end) {
+		List<N> nodes = new ArrayList<>(end - beg);
+		for (int m = beg; m < end; m++) {
+			nodes.add(compact.node(members[m]));
+		}
+		return new UniqueList<>(nodes);
+	}
+
+	/**
+	 * Returns the components directly reachable from the given component by a
+	 * condensation edge of the given direction, in first encountered order.
+	 *
+	 * @param c   a component number
+	 * @param dir the condensation edge direction: {@code OUT} for successors,
+	 *            {@code IN} for predecessors
+	 * @return the adjacent component numbers
+	 */
+	public int[] adjacent(int c, Sense dir) {
+		check(c);
+		switch (dir) {
+			case OUT:
+				return Arrays.copyOfRange(succ, succOff[c], succOff[c + 1]);
+			case IN:
+				return Arrays.copyOfRange(pred, predOff[c], predOff[c + 1]);
+			default:
+				throw new IllegalArgumentException("Sense.BOTH is not a row direction");
+		}
+	}
+
+	/** @return the source components of the condensation, in component order */
+	public int[] sources() {
+		return ends(predOff);
+	}
+
+	/** @return the sink components of the condensation, in component order */
+	public int[] sinks() {
+		return ends(succOff);
+	}
+
+	private int[] ends(int[] off) {
+		int[] ends = new int[count];
+		int len = 0;
+		for (int c = 0; c < count; c++) {
+			if (off[c] == off[c + 1]) ends[len++] = c;
+		}
+		return Arrays.copyOf(ends, len);
+	}
+
+	private void check(int c) {
+		if (c < 0 || c >= count) throw new IndexOutOfBoundsException(c);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Components[%s: %d components]", compact, count);
+	}
+}
@@ -5,7 +5,9 @@ import net.certiv.common.dot.DotStyle;
 import net.certiv.common.stores.props.Props;
 
 /**
- * Helper for accessing the specialized Dot Styles record structure.
+ * Helper for accessing the specialized Dot Styles record structure. Graph, node and
+ * edge dot styles are held in dedicated fields; other property stores hold the dot
+ * style as a {@link DotStyle#PropName} property.
  */
 public class Dot {
 
@@ -22,6 +24,10 @@ public class Dot {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <K, V> DotStyle getStyles(Props props, ON category) {
+		if (props instanceof Graph) return ((Graph<?, ?, ?>) props).getDotStyle();
+		if (props instanceof Node) return ((Node<?, ?, ?>) props).getDotStyle();
+		if (props instanceof Edge) return ((Edge<?, ?, ?>) props).getDotStyle();
+
 		DotStyle ds = (DotStyle) props.get((K) DotStyle.PropName);
 		if (ds == null) {
 			ds = new DotStyle(category);
@@ -37,6 +43,14 @@ public class Dot {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <K, V> void clearDotStyle(Props props) {
-		props.put((K) DotStyle.PropName, null);
+		if (props instanceof Graph) {
+			((Graph<?, ?, ?>) props).style = null;
+		} else if (props instanceof Node) {
+			((Node<?, ?, ?>) props).style = null;
+		} else if (props instanceof Edge) {
+			((Edge<?, ?, ?>) props).style = null;
+		} else {
+			props.put((K) DotStyle.PropName, null);
+		}
 	}
 }
@@ -1,6 +1,7 @@
 package net.certiv.common.graph;
 
 import java.util.Map;
+import java.util.Set;
 
 import net.certiv.common.check.Assert;
 import net.certiv.common.dot.Dictionary.ON;
@@ -39,6 +40,11 @@ public abstract class Edge<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	private N beg;
 	private N end;
 
+	/** Dot style store; {@code null} until first requested. */
+	DotStyle style;
+	/** Graph snapshot property change set; {@code null} unless snapshots are in use. */
+	volatile Set<Object> touched;
+
 	protected Edge(N beg, N end) {
 		Assert.notNull(beg, end);
 		this._eid = CTR.getAndIncrement();
@@ -55,6 +61,12 @@ public abstract class Edge<I extends IUId, N extends Node<I, N, E>, E extends Ed
 		return String.valueOf(_eid);
 	}
 
+	@Override
+	protected void propsChanged() {
+		Set<Object> set = touched;
+		if (set != null) set.add(this);
+	}
+
 	public String displayName() {
 		return name();
 	}
@@ -185,6 +197,7 @@ public abstract class Edge<I extends IUId, N extends Node<I, N, E>, E extends Ed
 		rmvd |= end.remove(edge, Sense.IN);
 		if (clear) {
 			beg = end = null;
+			style = null;
 			clear();
 		}
 		return rmvd;
@@ -197,7 +210,13 @@ public abstract class Edge<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	 * @return the dot style store
 	 */
 	public DotStyle getDotStyle() {
-		return Dot.getStyles(this, ON.EDGES);
+		if (style == null) style = new DotStyle(ON.EDGES);
+		return style;
+	}
+
+	/** @return {@code true} if a dot style store exists for this edge */
+	public boolean hasDotStyle() {
+		return style != null;
 	}
 
 	/**
@@ -3,6 +3,7 @@ package net.certiv.common.graph;
 import java.util.Comparator;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -85,6 +86,7 @@ public class EdgeSet<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 
 	@Override
 	public UniqueList<N> adjacent() {
+		if (reverse.isEmpty()) return UniqueList.empty();
 		return new UniqueList<>(reverse.keys()).unmodifiable();
 	}
 
@@ -97,6 +99,16 @@ public class EdgeSet<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 				.unmodifiable();
 	}
 
+	@Override
+	public void forEachAdjacent(Consumer<? super N> action) {
+		reverse.forEachKey(action);
+	}
+
+	@Override
+	public Iterable<N> adjacentView() {
+		return reverse.keyView();
+	}
+
 	@Override
 	public boolean hasEdge(E edge) {
 		return forward.containsKey(edge);
@@ -104,6 +116,7 @@ public class EdgeSet<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 
 	@Override
 	public UniqueList<E> edges() {
+		if (forward.isEmpty()) return UniqueList.empty();
 		return new UniqueList<>(forward.keySet()).unmodifiable();
 	}
 
@@ -122,11 +135,28 @@ public class EdgeSet<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 				.unmodifiable();
 	}
 
+	@Override
+	public void forEachEdge(Consumer<? super E> action) {
+		for (E edge : forward.keySet()) {
+			action.accept(edge);
+		}
+	}
+
+	@Override
+	public void forEachEdge(N node, Consumer<? super E> action) {
+		reverse.forEach(node, action);
+	}
+
 	@Override
 	public int size() {
 		return forward.size();
 	}
 
+	@Override
+	public int size(N node) {
+		return reverse.size(node);
+	}
+
 	@Override
 	public void clear() {
 		forward.clear();
@@ -7,8 +7,13 @@ import net.certiv.common.graph.Walker.NodeVisitor;
 import net.certiv.common.id.IUId;
 import net.certiv.common.stores.Holder;
 import net.certiv.common.stores.LinkedHashList;
+import net.certiv.common.stores.IndexedUniqueList;
 import net.certiv.common.stores.UniqueList;
 
+/**
+ * Graph node search. Each search is performed holding shared read access to the graph,
+ * and so observes a single consistent graph state.
+ */
 public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
 
 	private final Predicate<N> TRUE = n -> true;
@@ -20,6 +25,7 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	private Predicate<? super N> exclude = FALSE;
 	private Predicate<? super N> whilst = TRUE;
 	private boolean debug = false;
+	private CompactGraph<I, N, E> compact;
 
 	/**
 	 * Instantiate a new finder on the given graph.
@@ -41,6 +47,18 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 		this.graph = graph;
 	}
 
+	/**
+	 * Search using the node adjacencies and roots recorded in the given compact graph
+	 * snapshot of the search target graph.
+	 *
+	 * @param compact the compact graph snapshot, or {@code null} to search the live graph
+	 * @return this finder instance
+	 */
+	public Finder<I, N, E> using(CompactGraph<I, N, E> compact) {
+		this.compact = compact;
+		return this;
+	}
+
 	/**
 	 * Node search {@code include} {@code TRUE} criteria.
 	 *
@@ -105,11 +123,13 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 * @return the selected nodes in encounter order
 	 */
 	public UniqueList<N> all() {
-		UniqueList<N> all = new UniqueList<>();
-		for (N root : graph.getRoots()) {
-			all.addAll(all(root));
-		}
-		return all;
+		return graph.read(() -> {
+			IndexedUniqueList<N> all = new IndexedUniqueList<>();
+			for (N root : roots()) {
+				collect(all, root);
+			}
+			return all;
+		});
 	}
 
 	/**
@@ -120,9 +140,16 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 * @return the selected nodes in encounter order
 	 */
 	public UniqueList<N> all(N start) {
-		UniqueList<N> all = new UniqueList<>();
+		return graph.read(() -> {
+			IndexedUniqueList<N> all = new IndexedUniqueList<>();
+			collect(all, start);
+			return all;
+		});
+	}
+
+	private void collect(IndexedUniqueList<N> all, N start) {
 		if (start != null) {
-			Walker<I, N, E> walker = graph.walker().debug(debug);
+			Walker<I, N, E> walker = walker();
 			walker.descend(new NodeVisitor<N>() {
 
 				@Override
@@ -136,8 +163,6 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 
 			}, start);
 		}
-
-		return all;
 	}
 
 	/**
@@ -149,11 +174,13 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 * @return the first selected node, or {@code null} if none found
 	 */
 	public N first() {
-		for (N root : graph.getRoots()) {
-			N found = first(root);
-			if (found != null) return found;
-		}
-		return null;
+		return graph.read(() -> {
+			for (N root : roots()) {
+				N found = first(root);
+				if (found != null) return found;
+			}
+			return null;
+		});
 	}
 
 	/**
@@ -168,8 +195,8 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 */
 	public N first(N start) {
 		Holder<N> found = new Holder<>();
-		if (start != null) {
-			Walker<I, N, E> walker = graph.walker().debug(debug);
+		if (start != null) graph.read(() -> {
+			Walker<I, N, E> walker = walker();
 			walker.descend(new NodeVisitor<N>() {
 
 				@Override
@@ -183,7 +210,8 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 				}
 
 			}, start);
-		}
+			return null;
+		});
 
 		return found.get();
 	}
@@ -263,4 +291,12 @@ public class Finder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 		whilst = TRUE;
 		debug = false;
 	}
+
+	private UniqueList<N> roots() {
+		return compact != null ? compact.getRoots() : graph.getRoots();
+	}
+
+	private Walker<I, N, E> walker() {
+		return graph.walker().debug(debug).using(compact);
+	}
 }
@@ -1,10 +1,17 @@
 package net.certiv.common.graph;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import net.certiv.common.annotations.VisibleForTesting;
@@ -13,19 +20,29 @@ import net.certiv.common.dot.Dictionary.ON;
 import net.certiv.common.dot.DotAttr;
 import net.certiv.common.dot.DotStyle;
 import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.GraphEvent.GraphEvtType;
 import net.certiv.common.graph.ops.ITransformOp;
 import net.certiv.common.graph.paths.GraphPath;
-import net.certiv.common.graph.paths.SubGraphFinder;
 import net.certiv.common.id.IUId;
 import net.certiv.common.id.Id;
 import net.certiv.common.id.IdFactory;
 import net.certiv.common.stores.Counter;
+import net.certiv.common.stores.IndexedUniqueList;
 import net.certiv.common.stores.UniqueList;
 import net.certiv.common.stores.props.Props;
 
 /**
  * Abstract base class for a directed multigraph. Supports graphs with multiple root nodes
  * or no root node.
+ * <p>
+ * Concurrency: graph mutations, including all {@link Transformer} and {@link Transfuture}
+ * operations, hold exclusive write access to the graph, acquired through {@link #lock()}.
+ * Constant time queries, such as {@link #size()} and {@link #contains(Node)}, read
+ * optimistically, falling back to shared read access where a concurrent mutation
+ * intervenes. Queries that copy or traverse the graph, such as {@link #getNodes()} and
+ * {@link #getEdges()}, hold shared read access. Multi-step reads, such as {@link Walker}
+ * traversals, are consistent only when performed within {@link #read(Supplier)};
+ * {@link Finder} searches are performed within {@code read} internally.
  *
  * @param <I> node Id type; does not constrain graph id type
  * @param <N> node type
@@ -34,18 +51,48 @@ import net.certiv.common.stores.props.Props;
 public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> extends Props
 		implements IBuild<I, N, E> {
 
-	private static final String GRAPH_ID = "GraphId";
 
 	/** Unique numerical graph identifier */
 	public final long _gid;
 	/** shared graph identifier generator */
 	static final Counter CTR = new Counter();
 
+	/** Graph instance identifier. */
+	private IUId id;
+	/** Dot style store; {@code null} until first requested. */
+	DotStyle style;
+
 	/** All graph nodes. */
 	private final LinkedHashSet<N> nodes = new LinkedHashSet<>();
 
-	/** Graph modification access lock. */
-	private final ReentrantLock lock = new ReentrantLock();
+	/** Graph access lock. */
+	private final GraphLock lock = new GraphLock();
+	/** Count of structural modifications: node and edge additions and removals. */
+	private volatile long modCount;
+
+	/** Bulk mutation nesting depth. */
+	private int bulk;
+	/** Coalesced bulk mutation changes; {@code null} unless observed. */
+	private GraphEvent.Changes<I, N, E> changes;
+
+	/** Cached graph roots; current while {@code Roots#mod} equals {@code modCount}. */
+	private volatile Roots<N> roots;
+
+	/** Latest published snapshot; {@code null} until first requested. */
+	private volatile GraphSnapshot<I, N, E> snapshot;
+	/**
+	 * Nodes and edges structurally changed since the latest published snapshot;
+	 * {@code null} until a snapshot is first requested.
+	 */
+	private HashSet<Object> unpublished;
+	/**
+	 * Nodes and edges having property changes since the latest published snapshot; added
+	 * to by the elements, without locking, once a snapshot is first requested.
+	 */
+	private final Set<Object> touched = ConcurrentHashMap.newKeySet();
+
+	/** Reachability index; {@code null} unless enabled. */
+	private volatile Reachability<I, N, E> reachability;
 
 	/**
 	 * Construct a graph with a default graph identifier. Use {@link #setId(Id)} to
@@ -67,27 +114,188 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 		setId(id);
 	}
 
-	/** Lock access to this graph. */
+	/**
+	 * Acquires exclusive write access to this graph, waiting for any current readers and
+	 * writer to complete. Reentrant. Each call must be balanced by a call to
+	 * {@link #unlock()}.
+	 *
+	 * @throws IllegalStateException if the current thread holds only read access, as
+	 *                                   within {@link #read(Supplier)}
+	 */
 	public void lock() {
 		lock.lock();
 	}
 
-	/** Unlock access to this graph. */
+	/** Releases one level of exclusive write access to this graph. */
 	public void unlock() {
 		lock.unlock();
 	}
 
+	/** Returns {@code true} if the current thread holds write access to this graph. */
+	public boolean isLocked() {
+		return lock.isWriteLocked();
+	}
+
+	/**
+	 * Evaluates the given reader holding shared read access to this graph, excluding
+	 * concurrent mutation for the duration. Use for multi-step reads, such as walks and
+	 * searches, that must observe a single consistent graph state. Reentrant; may be
+	 * called by a thread holding write access. The reader must not mutate the graph.
+	 *
+	 * <pre>{@code
+	 * UniqueList<N> found = graph.read(() -> Finder.in(graph).include(filter).all());
+	 * }</pre>
+	 *
+	 * @param reader the reader
+	 * @return the reader result
+	 */
+	public <T> T read(Supplier<T> reader) {
+		Assert.notNull(reader);
+		return lock.read(reader);
+	}
+
+	/**
+	 * Evaluates the given query holding shared read access to this graph. Equivalent to
+	 * {@link #read(Supplier)}.
+	 *
+	 * @param query the query
+	 * @return the query result
+	 */
+	public <T> T query(Supplier<T> query) {
+		return read(query);
+	}
+
+	/**
+	 * Internal: evaluates the given bounded, single lookup query optimistically, falling
+	 * back to shared read access where a concurrent mutation intervenes.
+	 */
+	private <T> T peek(Supplier<T> query) {
+		return lock.query(query);
+	}
+
+	/**
+	 * Returns the latest published snapshot of this graph, publishing an initial snapshot
+	 * if none has been published. Lock-free, once published. The initial snapshot is
+	 * built holding read access, so may be requested within {@link #read(Supplier)}.
+	 * <p>
+	 * Once a snapshot has been requested, a new snapshot is published on completion of
+	 * each {@link Transfuture} application. Use {@link #publish()} to publish changes
+	 * otherwise made.
+	 *
+	 * @return the latest snapshot
+	 * @see GraphSnapshot
+	 */
+	public GraphSnapshot<I, N, E> snapshot() {
+		GraphSnapshot<I, N, E> current = snapshot;
+		return current != null ? current : read(this::initial);
+	}
+
+	/**
+	 * Publishes a snapshot of the current graph state, provided the graph, or any node or
+	 * edge properties, changed since the latest published snapshot. Holds write access to
+	 * the graph for the duration.
+	 *
+	 * @return the published snapshot, or the latest snapshot if unchanged
+	 */
+	public GraphSnapshot<I, N, E> publish() {
+		lock();
+		try {
+			if (snapshot == null) return initial();
+			ArrayList<Object> dirty = new ArrayList<>();
+			for (Iterator<Object> it = touched.iterator(); it.hasNext();) {
+				dirty.add(it.next());
+				it.remove();
+			}
+			GraphSnapshot<I, N, E> next = GraphSnapshot.next(this, snapshot, unpublished, dirty);
+			unpublished = new HashSet<>();
+			snapshot = next;
+			return next;
+
+		} finally {
+			unlock();
+		}
+	}
+
+	/**
+	 * Enables, if not enabled, a {@link Reachability} index of this graph, used by
+	 * {@link #ancestorOf(Node, Node)}.
+	 *
+	 * @return the reachability index
+	 */
+	public Reachability<I, N, E> enableReachability() {
+		lock();
+		try {
+			if (reachability == null) reachability = Reachability.of(this);
+			return reachability;
+
+		} finally {
+			unlock();
+		}
+	}
+
+	/** Disables any {@link Reachability} index of this graph. */
+	public void disableReachability() {
+		lock();
+		try {
+			if (reachability != null) reachability.detach();
+			reachability = null;
+
+		} finally {
+			unlock();
+		}
+	}
+
+	/**
+	 * Return {@code true} if the given ancestor node is an ancestor of the given node, or
+	 * is the given node. Answered by the {@link Reachability} index, if enabled, or
+	 * otherwise by {@link Node#ancestorOf(Node)}.
+	 *
+	 * @param ancestor the search source node
+	 * @param node     the search target descendent node
+	 * @return {@code true} if the node is reachable from the ancestor
+	 * @see #enableReachability()
+	 */
+	public boolean ancestorOf(N ancestor, N node) {
+		Assert.notNull(ancestor, node);
+		Reachability<I, N, E> index = reachability;
+		if (index != null) return index.ancestorOf(ancestor, node);
+		return read(() -> ancestor.ancestorOf(node));
+	}
+
+	/**
+	 * Publishes the initial snapshot, unless already published. Requires only read
+	 * access, which excludes all writers; concurrent readers are serialized here.
+	 */
+	private synchronized GraphSnapshot<I, N, E> initial() {
+		if (snapshot == null) {
+			nodes.forEach(node -> {
+				node.touched = touched;
+				node.forEachEdge(Sense.OUT, true, edge -> edge.touched = touched);
+			});
+			unpublished = new HashSet<>();
+			snapshot = GraphSnapshot.next(this, null, List.of(), List.of());
+		}
+		return snapshot;
+	}
+
+	/** Publishes a snapshot, provided snapshots of this graph are in use. */
+	void republish() {
+		if (snapshot != null) publish();
+	}
+
 	/** Return the graph instance identifier used to provide the graph name. */
 	@SuppressWarnings("unchecked")
 	public I id() {
-		return (I) get(GRAPH_ID);
+		return (I) id;
 	}
 
 	/** Set the graph instance identifier. */
 	@SuppressWarnings("unchecked")
 	public I setId(IUId id) {
 		Assert.notNull(id);
-		return (I) put(GRAPH_ID, id);
+		IUId prior = this.id;
+		this.id = id;
+		return (I) prior;
 	}
 
 	/** Return the graph instance name. */
@@ -214,7 +422,10 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 			edge.end().add(edge, Sense.IN);
 			boolean ok = install(edge.beg());
 			ok |= install(edge.end());
-			if (!preexisting) fire(GraphEvent.addEdge(this, edge));
+			if (!preexisting) {
+				modCount++;
+				changed(GraphEvtType.AddEdge, edge);
+			}
 			return ok;
 
 		} finally {
@@ -222,6 +433,58 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 		}
 	}
 
+	/**
+	 * Performs the given graph mutations in bulk mode, holding the graph lock for the
+	 * duration. Individual node and edge change events are suppressed. On completion, a
+	 * single {@link GraphEvtType#Bulk} summary change event is fired, reporting the net
+	 * nodes and edges added and removed, provided the graph was modified. The event is
+	 * fired even where the modifications cancel, as by reconnecting an edge, so that
+	 * listeners can remain in step with the graph {@link #modCount()}. A nested bulk
+	 * mutation joins the enclosing bulk mutation.
+	 * <p>
+	 * Changes to the properties of the graph itself are coalesced as by
+	 * {@link Props#bulk(Runnable)}, and fired before the graph summary event.
+	 *
+	 * @param mutation the graph mutations to perform
+	 */
+	@Override
+	public void bulk(Runnable mutation) {
+		lock();
+		try {
+			if (bulk++ == 0 && hasListeners(GraphEvtType.Bulk)) changes = new GraphEvent.Changes<>();
+			super.bulk(mutation);
+
+		} finally {
+			if (--bulk == 0 && changes != null) {
+				GraphEvent.Changes<I, N, E> done = changes;
+				changes = null;
+				if (done.modifications() > 0) fire(GraphEvent.bulk(this, done));
+			}
+			unlock();
+		}
+	}
+
+	/** Fires a graph change event, unless suppressed or unobserved. */
+	private void changed(GraphEvtType type, Object elem) {
+		if (unpublished != null) {
+			boolean added = type == GraphEvtType.AddNode || type == GraphEvtType.AddEdge;
+			unpublished.add(elem);
+			if (elem instanceof Edge) {
+				Edge<?, ?, ?> edge = (Edge<?, ?, ?>) elem;
+				edge.touched = added ? touched : null;
+				unpublished.add(edge.beg());
+				unpublished.add(edge.end());
+			} else {
+				((Node<?, ?, ?>) elem).touched = added ? touched : null;
+			}
+		}
+		if (bulk > 0) {
+			if (changes != null) changes.record(type, elem);
+		} else if (hasListeners(type)) {
+			fire(new GraphEvent<>(this, type, elem));
+		}
+	}
+
 	/**
 	 * Installs the node into the graph node list. <b>Internal use only.</b>
 	 *
@@ -231,7 +494,10 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	 */
 	boolean install(N node) {
 		boolean mod = nodes.add(node);
-		if (mod) fire(GraphEvent.addNode(this, node));
+		if (mod) {
+			modCount++;
+			changed(GraphEvtType.AddNode, node);
+		}
 		return mod;
 	}
 
@@ -244,7 +510,10 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	 */
 	boolean uninstall(N node) {
 		boolean mod = nodes.remove(node);
-		if (mod) fire(GraphEvent.rmvNode(this, node));
+		if (mod) {
+			modCount++;
+			changed(GraphEvtType.RmvNode, node);
+		}
 		return mod;
 	}
 
@@ -260,6 +529,7 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	public N copyNode(N node) {
 		N n = createNode(node.id());
 		n.putAll(node.properties());
+		n.style = node.style;
 		return n;
 	}
 
@@ -293,6 +563,7 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 		try {
 			E e = createEdge(beg, end);
 			e.putAll(edge.properties());
+			e.style = edge.style;
 			if (add) addEdge(e);
 			return e;
 
@@ -324,9 +595,11 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 				edge = createEdge(lead.beg(), tail.end());
 				edge.putAll(tail.properties());
 				edge.putAll(lead.properties());
+				edge.style = lead.style != null ? lead.style : tail.style;
 			} else {
 				edge = createEdge(lead.beg(), tail.beg());
 				edge.putAll(lead.properties());
+				edge.style = lead.style;
 			}
 			if (add) addEdge(edge);
 			return edge;
@@ -363,11 +636,17 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	}
 
 	public N removeNode(N node) {
-		for (E edge : node.edges()) {
-			removeEdge(edge, true);
+		lock();
+		try {
+			for (E edge : node.edges()) {
+				removeEdge(edge, true);
+			}
+			node.clear();
+			return node;
+
+		} finally {
+			unlock();
 		}
-		node.clear();
-		return node;
 	}
 
 	/**
@@ -385,9 +664,12 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 			N end = edge.end();
 
 			boolean ok = edge.remove(false);
-			if (ok) fire(GraphEvent.rmvEdge(this, edge));
-			if (ok && beg.adjacent().isEmpty()) uninstall(beg);
-			if (ok && end.adjacent().isEmpty()) uninstall(end);
+			if (ok) {
+				modCount++;
+				changed(GraphEvtType.RmvEdge, edge);
+			}
+			if (ok && beg.degree(Sense.BOTH) == 0) uninstall(beg);
+			if (ok && end.degree(Sense.BOTH) == 0) uninstall(end);
 			if (clear) edge.clear();
 			return edge;
 
@@ -400,7 +682,8 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 
 	/**
 	 * Returns an immutable list of the current graph real and implicit root nodes.
-	 * Dynamically collected by examining all nodes currently in the graph.
+	 * Computed in {@code O(V+E)} from the strongly connected components of the graph, and
+	 * cached until the next structural modification of the graph.
 	 * <p>
 	 * A real root is a graph node having no inbound edges ({@code Sense.IN}).
 	 * <p>
@@ -408,39 +691,43 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	 * cyclic connected group of nodes.
 	 *
 	 * @return unmodifiable list of real and implicit roots
+	 * @see CompactGraph#getRoots()
 	 */
 	public UniqueList<N> getRoots() {
-		SubGraphFinder<I, N, E> sgf = SubGraphFinder.in(this);
-		UniqueList<N> roots = new UniqueList<>();
-		LinkedHashSet<N> remainder = new LinkedHashSet<>(nodes);
-
-		// gather real roots
-		for (N node : nodes) {
-			if (node.isRoot()) {
-				roots.add(node);
-				remainder.remove(node);
+		return read(() -> {
+			Roots<N> cached = roots;
+			if (cached == null || cached.mod != modCount) {
+				CompactGraph<I, N, E> compact = CompactGraph.of(this);
+				cached = new Roots<>(compact.modCount(), compact.getRoots());
+				roots = cached;
 			}
-		}
-
-		// exclude real root subgraphs
-		for (N root : roots) {
-			for (GraphPath<I, N, E> path : sgf.find(root)) {
-				UniqueList<N> pathNodes = path.nodes();
-				remainder.removeAll(pathNodes);
-			}
-		}
+			return cached.roots;
+		});
+	}
 
-		while (!remainder.isEmpty()) {
-			N node = remainder.iterator().next();
-			roots.add(node);
-			remainder.remove(node);
-			for (GraphPath<I, N, E> path : sgf.find(node)) {
-				UniqueList<N> pathNodes = path.nodes();
-				remainder.removeAll(pathNodes);
-			}
-		}
+	/**
+	 * Performs the given action on each current graph node, in graph insertion order.
+	 * The action is performed holding shared read access, and so must not mutate the
+	 * graph.
+	 *
+	 * @param action the action to perform on each node
+	 */
+	public void forEachNode(Consumer<? super N> action) {
+		read(() -> {
+			nodes.forEach(action);
+			return null;
+		});
+	}
 
-		return roots.unmodifiable();
+	/**
+	 * Returns the count of structural modifications made to this graph: node and edge
+	 * additions and removals. Nominally used to determine whether some graph derived
+	 * state, such as a {@link CompactGraph}, is current.
+	 *
+	 * @return the structural modification count
+	 */
+	public long modCount() {
+		return modCount;
 	}
 
 	/**
@@ -449,7 +736,7 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	 * The value list is unmodifiable.
 	 */
 	public UniqueList<N> getNodes() {
-		return new UniqueList<>(nodes).unmodifiable();
+		return read(() -> new UniqueList<>(nodes).unmodifiable());
 	}
 
 	/**
@@ -474,21 +761,20 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	 */
 	public UniqueList<N> getNodes(Predicate<? super N> filter) {
 		if (filter == null) return getNodes();
-		return nodes.stream() //
+		return read(() -> nodes.stream() //
 				.filter(filter) //
 				.collect(Collectors.toCollection(UniqueList::new)) //
-				.unmodifiable();
+				.unmodifiable());
 	}
 
 	/** Returns {@code true} if the graph contains the given node. */
 	public boolean contains(N node) {
-		return nodes.contains(node);
+		return peek(() -> nodes.contains(node));
 	}
 
 	/** Returns {@code true} if the graph contains the given edge. */
 	public boolean contains(E edge) {
-		if (!edge.valid()) return false;
-		return getEdges(edge.beg(), edge.end()).stream().anyMatch(e -> e.equals(edge));
+		return peek(() -> edge.valid() && edge.beg().out.hasEdge(edge));
 	}
 
 	/** Returns {@code true} if the graph contains the given path. */
@@ -506,7 +792,7 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	@Override
 	public boolean hasEdge(N src, N dst) {
 		Assert.notNull(src, dst);
-		return src.isAdjacent(dst);
+		return peek(() -> src.isAdjacent(dst));
 	}
 
 	@Override
@@ -516,11 +802,13 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 
 	@Override
 	public UniqueList<E> getEdges(boolean cyclic) {
-		UniqueList<E> edges = new UniqueList<>();
-		for (N node : nodes) {
-			edges.addAll(node.edges(Sense.BOTH, cyclic));
-		}
-		return edges;
+		return read(() -> {
+			IndexedUniqueList<E> edges = new IndexedUniqueList<>();
+			for (N node : nodes) {
+				edges.addAll(node.edges(Sense.BOTH, cyclic));
+			}
+			return edges;
+		});
 	}
 
 	@Override
@@ -531,12 +819,12 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	@Override
 	public UniqueList<E> getEdges(Sense dir, N src, N dst) {
 		Assert.notNull(dir, src, dst);
-		return src.edges(dir, e -> e.between(src, dst));
+		return read(() -> src.edges(dir, e -> e.between(src, dst)));
 	}
 
 	/** Returns the size of the graph. Equivalent to the node count. */
 	public int size() {
-		return nodes.size();
+		return peek(() -> nodes.size());
 	}
 
 	// --------------------------------------
@@ -563,7 +851,13 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 	 * @return the dot style store
 	 */
 	public DotStyle getDotStyle() {
-		return Dot.getStyles(this, ON.GRAPHS);
+		if (style == null) style = new DotStyle(ON.GRAPHS);
+		return style;
+	}
+
+	/** @return {@code true} if a dot style store exists for this graph */
+	public boolean hasDotStyle() {
+		return style != null;
 	}
 
 	/**
@@ -601,8 +895,15 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 
 	@Override
 	public void clear() {
-		getEdges(true).forEach(e -> removeEdge(e, true));
-		super.clear();
+		lock();
+		try {
+			getEdges(true).forEach(e -> removeEdge(e, true));
+			style = null;
+			super.clear();
+
+		} finally {
+			unlock();
+		}
 	}
 
 	@Override
@@ -616,11 +917,23 @@ public abstract class Graph<I extends IUId, N extends Node<I, N, E>, E extends E
 		if (!super.equals(obj)) return false;
 		if (getClass() != obj.getClass()) return false;
 		Graph<?, ?, ?> other = (Graph<?, ?, ?>) obj;
-		return Objects.equals(nodes, other.nodes);
+		return Objects.equals(id, other.id) && Objects.equals(nodes, other.nodes);
 	}
 
 	@Override
 	public String toString() {
 		return displayName();
 	}
+
+	/** Graph roots, as computed at the given modification count. */
+	private static final class Roots<N> {
+
+		final long mod;
+		final UniqueList<N> roots;
+
+		Roots(long mod, UniqueList<N> roots) {
+			this.mod = mod;
+			this.roots = roots;
+		}
+	}
 }
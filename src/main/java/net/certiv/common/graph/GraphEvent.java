@@ -1,5 +1,7 @@
 package net.certiv.common.graph;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import net.certiv.common.event.IEvtType;
@@ -34,6 +36,11 @@ public class GraphEvent<I extends IUId, N extends Node<I, N, E>, E extends Edge<
 		return new GraphEvent<>(graph, GraphEvtType.RmvEdge, edge);
 	}
 
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> GraphEvent<I, N, E> bulk(
+			Graph<I, N, E> graph, Changes<I, N, E> changes) {
+		return new GraphEvent<>(graph, GraphEvtType.Bulk, changes);
+	}
+
 	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> GraphEvent<I, N, E> log(
 			Graph<I, N, E> graph, Level level, String msg) {
 		return new GraphEvent<>(graph, GraphEvtType.Log, level, msg);
@@ -144,11 +151,85 @@ public class GraphEvent<I extends IUId, N extends Node<I, N, E>, E extends Edge<
 		if (type.equals(GraphEvtType.RmvEdge) || type.equals(GraphEvtType.RmvNode)) {
 			return String.format("[%s] %s", name(), prior());
 		}
+		if (type.equals(GraphEvtType.Bulk)) {
+			return String.format("[%s] %s", name(), value());
+		}
 		return super.toString();
 	}
 
 	// ================================
 
+	/**
+	 * Net node and edge changes of a {@link Graph#bulk} mutation: an element both added
+	 * and removed within the mutation is not reported.
+	 */
+	public static class Changes<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+		private final LinkedHashSet<N> addedNodes = new LinkedHashSet<>();
+		private final LinkedHashSet<N> removedNodes = new LinkedHashSet<>();
+		private final LinkedHashSet<E> addedEdges = new LinkedHashSet<>();
+		private final LinkedHashSet<E> removedEdges = new LinkedHashSet<>();
+		private long modifications;
+
+		@SuppressWarnings("unchecked")
+		void record(GraphEvtType type, Object elem) {
+			modifications++;
+			if (type == GraphEvtType.AddNode) {
+				if (!removedNodes.remove(elem)) addedNodes.add((N) elem);
+			} else if (type == GraphEvtType.RmvNode) {
+				if (!addedNodes.remove(elem)) removedNodes.add((N) elem);
+			} else if (type == GraphEvtType.AddEdge) {
+				if (!removedEdges.remove(elem)) addedEdges.add((E) elem);
+			} else if (type == GraphEvtType.RmvEdge) {
+				if (!addedEdges.remove(elem)) removedEdges.add((E) elem);
+			}
+		}
+
+		/** @return the nodes added, in order added */
+		public Set<N> addedNodes() {
+			return Collections.unmodifiableSet(addedNodes);
+		}
+
+		/** @return the nodes removed, in order removed */
+		public Set<N> removedNodes() {
+			return Collections.unmodifiableSet(removedNodes);
+		}
+
+		/** @return the edges added, in order added */
+		public Set<E> addedEdges() {
+			return Collections.unmodifiableSet(addedEdges);
+		}
+
+		/** @return the edges removed, in order removed */
+		public Set<E> removedEdges() {
+			return Collections.unmodifiableSet(removedEdges);
+		}
+
+		/**
+		 * Returns the count of structural modifications made by the mutation, including
+		 * those not reported as a net change. Each modification incremented the graph
+		 * {@link Graph#modCount()}.
+		 *
+		 * @return the modification count
+		 */
+		public long modifications() {
+			return modifications;
+		}
+
+		/** @return {@code true} if there is no net change */
+		public boolean isEmpty() {
+			return addedNodes.isEmpty() && removedNodes.isEmpty() && addedEdges.isEmpty() && removedEdges.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("+%d/-%d nodes, +%d/-%d edges", addedNodes.size(), removedNodes.size(),
+					addedEdges.size(), removedEdges.size());
+		}
+	}
+
+	// ================================
+
 	/** Graph Event type. */
 	public static class GraphEvtType implements IEvtType {
 
@@ -163,6 +244,9 @@ public class GraphEvent<I extends IUId, N extends Node<I, N, E>, E extends Edge<
 		public static final GraphEvtType AddEdge = new GraphEvtType("Add edge", false, true);
 		public static final GraphEvtType RmvEdge = new GraphEvtType("Rmv edge", false, true);
 
+		// bulk mutation summary
+		public static final GraphEvtType Bulk = new GraphEvtType("Bulk", false, true);
+
 		// ----------------------------
 
 		public static Set<GraphEvtType> actionTypes() {
@@ -170,11 +254,11 @@ public class GraphEvent<I extends IUId, N extends Node<I, N, E>, E extends Edge<
 		}
 
 		public static Set<GraphEvtType> changeTypes() {
-			return Set.of(AddNode, RmvNode, AddEdge, RmvEdge);
+			return Set.of(AddNode, RmvNode, AddEdge, RmvEdge, Bulk);
 		}
 
 		public static Set<GraphEvtType> allTypes() {
-			return Set.of(Log, AddNode, RmvNode, AddEdge, RmvEdge);
+			return Set.of(Log, AddNode, RmvNode, AddEdge, RmvEdge, Bulk);
 		}
 
 		// ----------------------------
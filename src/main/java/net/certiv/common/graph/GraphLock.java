@@ -0,0 +1,121 @@
+package net.certiv.common.graph;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Graph access lock, built on a {@link StampedLock}. Provides:
+ * <ul>
+ * <li>reentrant exclusive write access, for graph mutation;
+ * <li>reentrant shared read access, for consistent multi-step reads;
+ * <li>optimistic reads, for single lookups, that fall back to shared read access where
+ * invalidated by a concurrent write.
+ * </ul>
+ * A thread holding write access may read, in any mode, without further locking. A thread
+ * holding only read access cannot acquire write access.
+ */
+final class GraphLock {
+
+	private final StampedLock lock = new StampedLock();
+
+	/** Thread holding write access; {@code null} if none. */
+	private volatile Thread writer;
+	/** Write access nesting depth; accessed only by the writer. */
+	private int writes;
+	/** Write access stamp; accessed only by the writer. */
+	private long stamp;
+
+	/** Read access nesting depth, per thread. */
+	private final ThreadLocal<int[]> reads = ThreadLocal.withInitial(() -> new int[1]);
+
+	/**
+	 * Acquires exclusive write access, waiting as necessary.
+	 *
+	 * @throws IllegalStateException if the current thread holds only read access
+	 */
+	void lock() {
+		Thread current = Thread.currentThread();
+		if (writer == current) {
+			writes++;
+			return;
+		}
+		if (reads.get()[0] > 0) throw new IllegalStateException("Graph read access cannot be upgraded to write access");
+
+		long acquired = lock.writeLock();
+		writer = current;
+		writes = 1;
+		stamp = acquired;
+	}
+
+	/**
+	 * Releases one level of write access.
+	 *
+	 * @throws IllegalMonitorStateException if the current thread does not hold write
+	 *                                          access
+	 */
+	void unlock() {
+		if (writer != Thread.currentThread()) throw new IllegalMonitorStateException();
+		if (--writes == 0) {
+			long released = stamp;
+			stamp = 0;
+			writer = null;
+			lock.unlockWrite(released);
+		}
+	}
+
+	/** Returns {@code true} if the current thread holds write access. */
+	boolean isWriteLocked() {
+		return writer == Thread.currentThread();
+	}
+
+	/**
+	 * Evaluates the given reader holding shared read access, waiting as necessary.
+	 *
+	 * @param reader the reader
+	 * @return the reader result
+	 */
+	<T> T read(Supplier<T> reader) {
+		if (writer == Thread.currentThread()) return reader.get();
+
+		int[] depth = reads.get();
+		if (depth[0] > 0) {
+			depth[0]++;
+			try {
+				return reader.get();
+			} finally {
+				depth[0]--;
+			}
+		}
+
+		long acquired = lock.readLock();
+		depth[0] = 1;
+		try {
+			return reader.get();
+		} finally {
+			depth[0] = 0;
+			lock.unlockRead(acquired);
+		}
+	}
+
+	/**
+	 * Evaluates the given query optimistically, without locking. If a write intervenes,
+	 * the result, or any runtime exception thrown by the query, is discarded and the
+	 * query is re-evaluated holding shared read access. Errors are not discarded. The
+	 * query must therefore be a bounded lookup, free of side effects.
+	 *
+	 * @param query the query
+	 * @return the query result
+	 */
+	<T> T query(Supplier<T> query) {
+		long optimistic = lock.tryOptimisticRead();
+		if (optimistic != 0) {
+			try {
+				T result = query.get();
+				if (lock.validate(optimistic)) return result;
+			} catch (RuntimeException e) {
+				if (lock.validate(optimistic)) throw e;
+			}
+		}
+		return read(query);
+	}
+}
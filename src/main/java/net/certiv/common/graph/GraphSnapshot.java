@@ -0,0 +1,349 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.id.IUId;
+import net.certiv.common.stores.PersistentMap;
+import net.certiv.common.stores.UniqueList;
+import net.certiv.common.stores.props.Props;
+
+/**
+ * Immutable, versioned view of a {@link Graph}: the graph nodes, the graph edges and
+ * their terminal nodes, the node adjacencies, and the node and edge properties, as of
+ * publication by {@link Graph#publish()}. A new version is published automatically on
+ * completion of {@link Transfuture#apply()} and {@link Transfuture#applyBatch()} once
+ * snapshots of the graph are in use.
+ * <p>
+ * A snapshot is read without locking, and is unaffected by subsequent graph mutation.
+ * Successive versions share the views of all nodes and edges not changed between them.
+ * Nodes and edges report their own property changes to the graph, so publication takes
+ * time and allocates in proportion to the change. Superseded versions are
+ * reclaimed by the garbage collector once no longer held by any reader.
+ * <p>
+ * Nodes and edges are identified by the live graph elements; their state is read
+ * through the snapshot, not the elements.
+ */
+public final class GraphSnapshot<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private final long version;
+	private final long modCount;
+	private final PersistentMap<N, NodeView<E>> nodes;
+	private final PersistentMap<E, EdgeView<N>> edges;
+
+	/** Nodes in creation order; {@code null} until first requested. */
+	private volatile UniqueList<N> order;
+
+	private GraphSnapshot(long version, long modCount, PersistentMap<N, NodeView<E>> nodes,
+			PersistentMap<E, EdgeView<N>> edges) {
+		this.version = version;
+		this.modCount = modCount;
+		this.nodes = nodes;
+		this.edges = edges;
+	}
+
+	/** Returns the version number of this snapshot; versions increase from {@code 1}. */
+	public long version() {
+		return version;
+	}
+
+	/** Returns the {@link Graph#modCount()} of the graph at publication. */
+	public long modCount() {
+		return modCount;
+	}
+
+	/** Returns the node count. */
+	public int size() {
+		return nodes.size();
+	}
+
+	/** Returns the edge count. */
+	public int edgeCount() {
+		return edges.size();
+	}
+
+	/** Returns {@code true} if the snapshot contains the given node. */
+	public boolean contains(N node) {
+		return nodes.containsKey(node);
+	}
+
+	/** Returns {@code true} if the snapshot contains the given edge. */
+	public boolean contains(E edge) {
+		return edges.containsKey(edge);
+	}
+
+	/**
+	 * Returns the snapshot nodes, in node creation order.
+	 * <p>
+	 * The value list is unmodifiable.
+	 */
+	public UniqueList<N> getNodes() {
+		UniqueList<N> list = order;
+		if (list == null) {
+			ArrayList<N> all = new ArrayList<>(nodes.size());
+			nodes.forEach((n, v) -> all.add(n));
+			all.sort(Comparator.comparingLong(n -> n._nid));
+			list = new UniqueList<>(all).unmodifiable();
+			order = list;
+		}
+		return list;
+	}
+
+	/**
+	 * Returns the snapshot edges, grouped by begin node in node creation order.
+	 * <p>
+	 * The value list is unmodifiable.
+	 */
+	public UniqueList<E> getEdges() {
+		ArrayList<E> all = new ArrayList<>(edges.size());
+		for (N node : getNodes()) {
+			nodes.get(node).addTo(all, Sense.OUT);
+		}
+		return new UniqueList<>(all).unmodifiable();
+	}
+
+	/**
+	 * Returns the edges of the given node connected in the given direction.
+	 * <p>
+	 * The value list is unmodifiable.
+	 *
+	 * @param node a node
+	 * @param dir  the connection direction
+	 * @return the connected edges; empty if the node is not in the snapshot
+	 */
+	public UniqueList<E> getEdges(N node, Sense dir) {
+		Assert.notNull(node, dir);
+		ArrayList<E> all = new ArrayList<>();
+		NodeView<E> view = nodes.get(node);
+		if (view != null) view.addTo(all, dir);
+		return new UniqueList<>(all).unmodifiable();
+	}
+
+	/**
+	 * Returns the distal nodes of the edges of the given node connected in the given
+	 * direction.
+	 * <p>
+	 * The value list is unmodifiable.
+	 *
+	 * @param node a node
+	 * @param dir  the connection direction
+	 * @return the adjacent nodes; empty if the node is not in the snapshot
+	 */
+	public UniqueList<N> adjacent(N node, Sense dir) {
+		Assert.notNull(node, dir);
+		UniqueList<N> adjacent = new UniqueList<>();
+		for (E edge : getEdges(node, dir)) {
+			EdgeView<N> view = edges.get(edge);
+			adjacent.add(view.beg.equals(node) ? view.end : view.beg);
+		}
+		return adjacent.unmodifiable();
+	}
+
+	/** Returns the begin node of the given edge, or {@code null} if not in the snapshot. */
+	public N beg(E edge) {
+		EdgeView<N> view = edges.get(edge);
+		return view != null ? view.beg : null;
+	}
+
+	/** Returns the end node of the given edge, or {@code null} if not in the snapshot. */
+	public N end(E edge) {
+		EdgeView<N> view = edges.get(edge);
+		return view != null ? view.end : null;
+	}
+
+	/**
+	 * Returns the properties of the given node.
+	 *
+	 * @param node a node
+	 * @return unmodifiable node properties; empty if the node is not in the snapshot
+	 */
+	public Map<Object, Object> props(N node) {
+		NodeView<E> view = nodes.get(node);
+		return view != null ? view.props : Map.of();
+	}
+
+	/**
+	 * Returns the properties of the given edge.
+	 *
+	 * @param edge an edge
+	 * @return unmodifiable edge properties; empty if the edge is not in the snapshot
+	 */
+	public Map<Object, Object> props(E edge) {
+		EdgeView<N> view = edges.get(edge);
+		return view != null ? view.props : Map.of();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Snapshot v%s: %s nodes, %s edges", version, size(), edgeCount());
+	}
+
+	// --------------------------------------
+
+	/**
+	 * Builds the successor of the given snapshot. Views are rebuilt for the given
+	 * structurally changed nodes and edges, and for the given nodes and edges whose
+	 * properties have changed; all other views are shared with the prior snapshot. An
+	 * initial snapshot views every node and edge. Must be called holding write access to
+	 * the graph, or at least read access for an initial snapshot.
+	 *
+	 * @param graph   the source graph
+	 * @param prior   the prior snapshot, or {@code null} for an initial snapshot
+	 * @param changed the nodes and edges added, removed, or reconnected since the prior
+	 *                    snapshot
+	 * @param touched the nodes and edges having property changes since the prior snapshot
+	 * @return the successor snapshot, or the prior snapshot if unchanged
+	 */
+	static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> GraphSnapshot<I, N, E> next(
+			Graph<I, N, E> graph, GraphSnapshot<I, N, E> prior, Collection<Object> changed,
+			Collection<Object> touched) {
+		Publisher<I, N, E> pub = new Publisher<>(graph, prior);
+		if (prior == null) {
+			pub.build();
+		} else {
+			pub.restructure(changed);
+			pub.refresh(touched);
+			if (!pub.changed) return prior;
+		}
+
+		long version = prior != null ? prior.version + 1 : 1;
+		return new GraphSnapshot<>(version, graph.modCount(), pub.nodes, pub.edges);
+	}
+
+	/** Successor snapshot builder. */
+	private static final class Publisher<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+		final Graph<I, N, E> graph;
+		PersistentMap<N, NodeView<E>> nodes;
+		PersistentMap<E, EdgeView<N>> edges;
+		boolean changed;
+
+		Publisher(Graph<I, N, E> graph, GraphSnapshot<I, N, E> prior) {
+			this.graph = graph;
+			this.nodes = prior != null ? prior.nodes : PersistentMap.empty();
+			this.edges = prior != null ? prior.edges : PersistentMap.empty();
+		}
+
+		/** Rebuilds, or drops, the views of the structurally changed nodes and edges. */
+		@SuppressWarnings("unchecked")
+		void restructure(Collection<Object> elems) {
+			for (Object elem : elems) {
+				changed = true;
+				if (elem instanceof Edge) {
+					E edge = (E) elem;
+					edges = graph.contains(edge) ? edges.plus(edge, view(edge)) : edges.minus(edge);
+				} else {
+					N node = (N) elem;
+					nodes = graph.contains(node) ? nodes.plus(node, view(node)) : nodes.minus(node);
+				}
+			}
+		}
+
+		/** Adds views of all graph nodes and edges. */
+		void build() {
+			graph.forEachNode(node -> {
+				nodes = nodes.plus(node, view(node));
+				node.forEachEdge(Sense.OUT, true, edge -> edges = edges.plus(edge, view(edge)));
+			});
+			changed = true;
+		}
+
+		/** Rebuilds the property views of the viewed nodes and edges changed since viewed. */
+		@SuppressWarnings("unchecked")
+		void refresh(Collection<Object> elems) {
+			for (Object elem : elems) {
+				if (elem instanceof Edge) {
+					E edge = (E) elem;
+					EdgeView<N> view = edges.get(edge);
+					if (view != null && view.changes != edge.changeCount()) {
+						edges = edges.plus(edge, new EdgeView<>(view.beg, view.end, edge.changeCount(), copy(edge)));
+						changed = true;
+					}
+				} else {
+					N node = (N) elem;
+					NodeView<E> view = nodes.get(node);
+					if (view != null && view.changes != node.changeCount()) {
+						nodes = nodes.plus(node, new NodeView<>(view.out, view.in, node.changeCount(), copy(node)));
+						changed = true;
+					}
+				}
+			}
+		}
+
+		/** Returns a new view of the node, sharing any unchanged prior properties. */
+		private NodeView<E> view(N node) {
+			NodeView<E> prior = nodes.get(node);
+			int changes = node.changeCount();
+			Map<Object, Object> props = prior != null && prior.changes == changes ? prior.props : copy(node);
+			return new NodeView<>(edges(node, Sense.OUT), edges(node, Sense.IN), changes, props);
+		}
+
+		/** Returns a new view of the edge, sharing any unchanged prior properties. */
+		private EdgeView<N> view(E edge) {
+			EdgeView<N> prior = edges.get(edge);
+			int changes = edge.changeCount();
+			Map<Object, Object> props = prior != null && prior.changes == changes ? prior.props : copy(edge);
+			return new EdgeView<>(edge.beg(), edge.end(), changes, props);
+		}
+
+		private Map<Object, Object> copy(Props elem) {
+			return Map.copyOf(elem.properties());
+		}
+
+		private Object[] edges(N node, Sense dir) {
+			ArrayList<Object> all = new ArrayList<>();
+			node.forEachEdge(dir, true, all::add);
+			return all.toArray();
+		}
+	}
+
+	/** Node state: adjacency and properties. */
+	private static final class NodeView<E> {
+
+		final Object[] out;
+		final Object[] in;
+		final int changes;
+		final Map<Object, Object> props;
+
+		NodeView(Object[] out, Object[] in, int changes, Map<Object, Object> props) {
+			this.out = out;
+			this.in = in;
+			this.changes = changes;
+			this.props = props;
+		}
+
+		@SuppressWarnings("unchecked")
+		void addTo(Collection<E> all, Sense dir) {
+			if (dir != Sense.IN) {
+				for (Object edge : out) {
+					all.add((E) edge);
+				}
+			}
+			if (dir != Sense.OUT) {
+				for (Object edge : in) {
+					if (dir == Sense.IN || !all.contains(edge)) all.add((E) edge);
+				}
+			}
+		}
+	}
+
+	/** Edge state: terminal nodes and properties. */
+	private static final class EdgeView<N> {
+
+		final N beg;
+		final N end;
+		final int changes;
+		final Map<Object, Object> props;
+
+		EdgeView(N beg, N end, int changes, Map<Object, Object> props) {
+			this.beg = beg;
+			this.end = end;
+			this.changes = changes;
+			this.props = props;
+		}
+	}
+}
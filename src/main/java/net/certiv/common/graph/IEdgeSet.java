@@ -1,5 +1,6 @@
 package net.certiv.common.graph;
 
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import net.certiv.common.id.IUId;
@@ -57,9 +58,63 @@ public interface IEdgeSet<I extends IUId, N extends Node<I, N, E>, E extends Edg
 	 */
 	UniqueList<E> edges(Predicate<? super E> filter);
 
+	/**
+	 * Performs the given action on each distal node that is connected by any edge in this
+	 * edge set, including cyclic edges. Unlike {@link #adjacent()}, implementations should
+	 * not copy the underlying store; the action must not modify this edge set.
+	 *
+	 * @param action the action to perform on each adjacent node
+	 */
+	default void forEachAdjacent(Consumer<? super N> action) {
+		adjacent().forEach(action);
+	}
+
+	/**
+	 * Returns the distal nodes that are connected by any edge in this edge set, including
+	 * cyclic edges, for iteration. Unlike {@link #adjacent()}, implementations should not
+	 * copy the underlying store; this edge set must not be modified during iteration.
+	 *
+	 * @return the adjacent nodes
+	 */
+	default Iterable<N> adjacentView() {
+		return adjacent();
+	}
+
+	/**
+	 * Performs the given action on each edge in this edge set. Unlike {@link #edges()},
+	 * implementations should not copy the underlying store; the action must not modify
+	 * this edge set.
+	 *
+	 * @param action the action to perform on each edge
+	 */
+	default void forEachEdge(Consumer<? super E> action) {
+		edges().forEach(action);
+	}
+
+	/**
+	 * Performs the given action on each edge in this edge set that connects to the given
+	 * distal node. The action must not modify this edge set.
+	 *
+	 * @param node   a distal node
+	 * @param action the action to perform on each connecting edge
+	 */
+	default void forEachEdge(N node, Consumer<? super E> action) {
+		if (isAdjacent(node)) edges(node).forEach(action);
+	}
+
 	/** Returns the count of connected edges. */
 	int size();
 
+	/**
+	 * Returns the count of edges in this edge set that connect to the given distal node.
+	 *
+	 * @param node a distal node
+	 * @return the count of connecting edges
+	 */
+	default int size(N node) {
+		return isAdjacent(node) ? edges(node).size() : 0;
+	}
+
 	void clear();
 
 }
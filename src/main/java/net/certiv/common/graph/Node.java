@@ -1,8 +1,10 @@
 package net.certiv.common.graph;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import net.certiv.common.annotations.VisibleForTesting;
@@ -24,6 +26,13 @@ import net.certiv.common.stores.props.Props;
 public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> extends Props
 		implements Comparable<N> {
 
+	/**
+	 * Legacy node identifier property key.
+	 *
+	 * @deprecated the node identifier is no longer held in the property store; use
+	 *             {@link #id()}
+	 */
+	@Deprecated
 	public static final String NODE_ID = "NodeId";
 
 	@VisibleForTesting
@@ -37,6 +46,13 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	/** Unique numerical node identifier */
 	public final long _nid;
 
+	/** Node instance identifier. */
+	private I id;
+	/** Dot style store; {@code null} until first requested. */
+	DotStyle style;
+	/** Graph snapshot property change set; {@code null} unless snapshots are in use. */
+	volatile Set<Object> touched;
+
 	protected Node(I id, IEdgeSet<I, N, E> in, IEdgeSet<I, N, E> out) {
 		Assert.notNull(id, in, out);
 		this.in = in;
@@ -52,13 +68,21 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 
 	/** Return the node instance identifying object. */
 	public I id() {
-		return get(NODE_ID);
+		return id;
 	}
 
 	/** Set the object used to provide the name of this node instance. */
 	public I setId(I id) {
 		Assert.notNull(id);
-		return put(NODE_ID, id);
+		I prior = this.id;
+		this.id = id;
+		return prior;
+	}
+
+	@Override
+	protected void propsChanged() {
+		Set<Object> set = touched;
+		if (set != null) set.add(this);
 	}
 
 	/**
@@ -192,10 +216,78 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 				return out.adjacent(filter);
 			case BOTH:
 			default:
-				UniqueList<N> results = new UniqueList<>();
-				results.addAll(in.adjacent(filter));
-				results.addAll(out.adjacent(filter));
-				return results.unmodifiable();
+				ArrayList<N> results = new ArrayList<>();
+				forEachAdjacent(Sense.BOTH, filter, results::add);
+				return new UniqueList<>(results).unmodifiable();
+		}
+	}
+
+	/**
+	 * Performs the given action on each immediately adjacent node connected with the given
+	 * sense. Excludes {@code this} node.
+	 * <p>
+	 * Equivalent to iterating over {@link #adjacent(Sense)}, but without collecting the
+	 * adjacent nodes into a new list. The action must not add or remove edges connected
+	 * to this node; use a {@link NodeCursor} where the graph may be modified.
+	 *
+	 * @param dir    the adjacency direction criteria
+	 * @param action the action to perform on each adjacent node
+	 */
+	public void forEachAdjacent(Sense dir, Consumer<? super N> action) {
+		forEachAdjacent(dir, false, action);
+	}
+
+	/**
+	 * Performs the given action on each immediately adjacent node connected with the given
+	 * sense, conditionally including {@code this} node where connected by a single-edge
+	 * cycle. The action must not add or remove edges connected to this node.
+	 *
+	 * @param dir    the adjacency direction criteria
+	 * @param cyclic {@code true} to include {@code this} node if self-cyclic
+	 * @param action the action to perform on each adjacent node
+	 */
+	public void forEachAdjacent(Sense dir, boolean cyclic, Consumer<? super N> action) {
+		forEachAdjacent(dir, cyclic, null, action);
+	}
+
+	/**
+	 * Performs the given action on each immediately adjacent node, connected with the
+	 * given sense, that meets the filter criteria. If {@code filter} is {@code null},
+	 * include all adjacent nodes. For {@code Sense.BOTH}, each adjacent node is presented
+	 * once. The action must not add or remove edges connected to this node.
+	 *
+	 * @param dir    the adjacency direction criteria
+	 * @param filter the distal node qualification criteria
+	 * @param action the action to perform on each qualified adjacent node
+	 */
+	public void forEachAdjacent(Sense dir, Predicate<? super N> filter, Consumer<? super N> action) {
+		forEachAdjacent(dir, true, filter, action);
+	}
+
+	/** Internal: iterates the adjacent nodes in place; allocates no per-call closures. */
+	private void forEachAdjacent(Sense dir, boolean cyclic, Predicate<? super N> filter,
+			Consumer<? super N> action) {
+		switch (dir) {
+			case IN:
+				visitAdjacent(in, null, cyclic, filter, action);
+				break;
+			case OUT:
+				visitAdjacent(out, null, cyclic, filter, action);
+				break;
+			case BOTH:
+			default:
+				visitAdjacent(in, null, cyclic, filter, action);
+				visitAdjacent(out, in, cyclic, filter, action);
+		}
+	}
+
+	/** Internal: visits the adjacent nodes of the given edge set not adjacent in skip. */
+	private void visitAdjacent(IEdgeSet<I, N, E> edges, IEdgeSet<I, N, E> skip, boolean cyclic,
+			Predicate<? super N> filter, Consumer<? super N> action) {
+		for (N n : edges.adjacentView()) {
+			if (!cyclic && n._nid == _nid) continue;
+			if (skip != null && skip.isAdjacent(n)) continue;
+			if (filter == null || filter.test(n)) action.accept(n);
 		}
 	}
 
@@ -204,6 +296,7 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	 * first search starting at this node.
 	 *
 	 * @param node the search target descendent node
+	 * @see Graph#ancestorOf(Node, Node)
 	 */
 	@SuppressWarnings("unchecked")
 	public boolean ancestorOf(N node) {
@@ -232,7 +325,9 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	 * @return set of connecting edges
 	 */
 	public UniqueList<E> to(N end) {
-		return edges(Sense.OUT, e -> e.end()._nid == end._nid);
+		UniqueList<E> edges = new UniqueList<>();
+		out.forEachEdge(end, edges::add);
+		return edges.unmodifiable();
 	}
 
 	/**
@@ -242,7 +337,31 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	 * @return set of connecting edges
 	 */
 	public UniqueList<E> from(N beg) {
-		return edges(Sense.IN, e -> e.beg()._nid == beg._nid);
+		UniqueList<E> edges = new UniqueList<>();
+		in.forEachEdge(beg, edges::add);
+		return edges.unmodifiable();
+	}
+
+	/**
+	 * Returns the count of edges, connected with the given sense, that connect with the
+	 * given distal node.
+	 *
+	 * @param dir    the connected edge direction criteria
+	 * @param distal a distal node
+	 * @return count of the connecting edges
+	 */
+	@SuppressWarnings("unchecked")
+	public int count(Sense dir, N distal) {
+		switch (dir) {
+			case IN:
+				return in.size(distal);
+			case OUT:
+				return out.size(distal);
+			case BOTH:
+			default:
+				int cnt = in.size(distal) + out.size(distal);
+				return distal.equals(this) ? cnt - in.size((N) this) : cnt;
+		}
 	}
 
 	/**
@@ -294,7 +413,42 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	 * @return count of the connected edges, constrained by the given criteria
 	 */
 	public int size(Sense dir, boolean cyclic) {
-		return size(dir, !cyclic ? e -> !e.cyclic() : null);
+		return degree(dir, cyclic);
+	}
+
+	/**
+	 * Returns the count of immediately connected edges of the given sense, excluding
+	 * single-edge cycles. Counted directly from the edge sets; allocates nothing.
+	 *
+	 * @param dir the connected edge direction criteria
+	 * @return count of the connected edges
+	 */
+	public int degree(Sense dir) {
+		return degree(dir, false);
+	}
+
+	/**
+	 * Returns the count of immediately connected edges of the given sense, conditionally
+	 * including single-edge cycles (each counted once). Counted directly from the edge
+	 * sets; allocates nothing.
+	 *
+	 * @param dir    the connected edge direction criteria
+	 * @param cyclic {@code true} to include single-edge cycles, otherwise exclude
+	 * @return count of the connected edges
+	 */
+	@SuppressWarnings("unchecked")
+	public int degree(Sense dir, boolean cyclic) {
+		int loops = in.size((N) this);
+		switch (dir) {
+			case IN:
+				return cyclic ? in.size() : in.size() - loops;
+			case OUT:
+				return cyclic ? out.size() : out.size() - loops;
+			case BOTH:
+			default:
+				int cnt = in.size() + out.size() - loops;
+				return cyclic ? cnt : cnt - loops;
+		}
 	}
 
 	// /**
@@ -364,10 +518,87 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 				return out.edges(filter);
 			case BOTH:
 			default:
-				UniqueList<E> results = new UniqueList<>();
-				results.addAll(in.edges(filter));
-				results.addAll(out.edges(filter));
-				return results;
+				ArrayList<E> results = new ArrayList<>();
+				forEachEdge(Sense.BOTH, filter, results::add);
+				return new UniqueList<>(results);
+		}
+	}
+
+	/**
+	 * Performs the given action on each connected edge of the given direction. Excludes
+	 * single-edge cycles.
+	 * <p>
+	 * Equivalent to iterating over {@link #edges(Sense)}, but without collecting the
+	 * edges into a new list. The action must not add or remove edges connected to this
+	 * node.
+	 *
+	 * @param dir    the connected edge direction criteria
+	 * @param action the action to perform on each connected edge
+	 */
+	public void forEachEdge(Sense dir, Consumer<? super E> action) {
+		forEachEdge(dir, false, action);
+	}
+
+	/**
+	 * Performs the given action on each connected edge of the given direction,
+	 * conditionally including single-edge cycles. The action must not add or remove
+	 * edges connected to this node.
+	 *
+	 * @param dir    the connected edge direction criteria
+	 * @param cyclic {@code true} to include single-edge cycles, otherwise exclude
+	 * @param action the action to perform on each connected edge
+	 */
+	public void forEachEdge(Sense dir, boolean cyclic, Consumer<? super E> action) {
+		forEachEdge(dir, cyclic ? null : e -> !e.cyclic(), action);
+	}
+
+	/**
+	 * Performs the given action on each connected edge of the given direction that meets
+	 * the given filter criteria. If {@code filter} is {@code null}, include all connected
+	 * edges of the given direction. For {@code Sense.BOTH}, each edge is presented once.
+	 * The action must not add or remove edges connected to this node.
+	 *
+	 * @param dir    the connected edge direction criteria
+	 * @param filter the connected edge qualification criteria
+	 * @param action the action to perform on each qualified edge
+	 */
+	public void forEachEdge(Sense dir, Predicate<? super E> filter, Consumer<? super E> action) {
+		Consumer<E> act = filter == null ? action::accept : e -> { if (filter.test(e)) action.accept(e); };
+		switch (dir) {
+			case IN:
+				in.forEachEdge(act);
+				break;
+			case OUT:
+				out.forEachEdge(act);
+				break;
+			case BOTH:
+			default:
+				in.forEachEdge(act);
+				out.forEachEdge(e -> { if (!in.hasEdge(e)) act.accept(e); });
+		}
+	}
+
+	/**
+	 * Performs the given action on each edge, connected with the given sense, that
+	 * connects with the given distal node. The action must not add or remove edges
+	 * connected to this node.
+	 *
+	 * @param dir    the connected edge direction criteria
+	 * @param distal a distal node
+	 * @param action the action to perform on each connecting edge
+	 */
+	public void forEachEdge(Sense dir, N distal, Consumer<? super E> action) {
+		switch (dir) {
+			case IN:
+				in.forEachEdge(distal, action);
+				break;
+			case OUT:
+				out.forEachEdge(distal, action);
+				break;
+			case BOTH:
+			default:
+				in.forEachEdge(distal, action);
+				out.forEachEdge(distal, e -> { if (!in.hasEdge(e)) action.accept(e); });
 		}
 	}
 
@@ -419,7 +650,13 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	 * @return the dot style store
 	 */
 	public DotStyle getDotStyle() {
-		return Dot.getStyles(this, ON.NODES);
+		if (style == null) style = new DotStyle(ON.NODES);
+		return style;
+	}
+
+	/** @return {@code true} if a dot style store exists for this node */
+	public boolean hasDotStyle() {
+		return style != null;
 	}
 
 	/**
@@ -432,7 +669,7 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	}
 
 	/**
-	 * Clears the edge sets and property store. Retains the node name property.
+	 * Clears the edge sets, dot style and property store. Retains the node identifier.
 	 * <p>
 	 * Internal use only.
 	 */
@@ -440,9 +677,8 @@ public abstract class Node<I extends IUId, N extends Node<I, N, E>, E extends Ed
 	public void clear() {
 		in.clear();
 		out.clear();
-		I name = id();
+		style = null;
 		super.clear();
-		setId(name);
 	}
 
 	@Override
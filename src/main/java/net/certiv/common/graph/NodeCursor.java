@@ -0,0 +1,108 @@
+package net.certiv.common.graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.id.IUId;
+
+/**
+ * Reusable iterator over the immediately adjacent nodes of a node.
+ * <p>
+ * On {@link #reset}, the cursor snapshots the adjacent nodes into an internal buffer
+ * that is retained and grown only as needed. A single cursor can therefore be reused
+ * across any number of nodes without allocating a list per node. Since the cursor
+ * iterates over a snapshot, the graph may be modified during iteration.
+ * <p>
+ * Not thread-safe.
+ */
+public class NodeCursor<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>>
+		implements Iterator<N> {
+
+	private static final int INIT = 8;
+
+	private final Consumer<N> collector = this::push;
+
+	private Object[] buf = new Object[INIT];
+	private int cnt;
+	private int idx;
+
+	/** Construct an empty cursor. */
+	public NodeCursor() {}
+
+	/**
+	 * Reset this cursor to iterate over the immediately adjacent nodes of the given node,
+	 * connected with the given sense. Excludes the given node.
+	 *
+	 * @param node the node to iterate from
+	 * @param dir  the adjacency direction criteria
+	 * @return this cursor
+	 */
+	public NodeCursor<I, N, E> reset(N node, Sense dir) {
+		return reset(node, dir, false);
+	}
+
+	/**
+	 * Reset this cursor to iterate over the immediately adjacent nodes of the given node,
+	 * connected with the given sense, conditionally including the given node where
+	 * connected by a single-edge cycle.
+	 *
+	 * @param node   the node to iterate from
+	 * @param dir    the adjacency direction criteria
+	 * @param cyclic {@code true} to include the given node if self-cyclic
+	 * @return this cursor
+	 */
+	public NodeCursor<I, N, E> reset(N node, Sense dir, boolean cyclic) {
+		clear();
+		node.forEachAdjacent(dir, cyclic, collector);
+		return this;
+	}
+
+	/**
+	 * Reset this cursor to iterate over the immediately adjacent nodes of the given node,
+	 * as recorded in the given compact graph snapshot, connected with the given sense,
+	 * conditionally including the given node where connected by a single-edge cycle.
+	 *
+	 * @param graph  the compact graph snapshot
+	 * @param node   the node to iterate from
+	 * @param dir    the adjacency direction criteria
+	 * @param cyclic {@code true} to include the given node if self-cyclic
+	 * @return this cursor
+	 */
+	public NodeCursor<I, N, E> reset(CompactGraph<I, N, E> graph, N node, Sense dir, boolean cyclic) {
+		clear();
+		graph.forEachAdjacent(node, dir, cyclic, collector);
+		return this;
+	}
+
+	private void push(N node) {
+		if (cnt == buf.length) buf = Arrays.copyOf(buf, cnt << 1);
+		buf[cnt++] = node;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return idx < cnt;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public N next() {
+		if (idx >= cnt) throw new NoSuchElementException();
+		return (N) buf[idx++];
+	}
+
+	/** @return the number of nodes in the current snapshot */
+	public int size() {
+		return cnt;
+	}
+
+	/** Clears the current snapshot, releasing held node references. */
+	public void clear() {
+		Arrays.fill(buf, 0, cnt, null);
+		cnt = 0;
+		idx = 0;
+	}
+}
@@ -103,8 +103,7 @@ public class Printer<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 
 			} else if (parent == last) {
 				// continuing a subflow
-				UniqueList<E> edges = parent.to(node);
-				int edgeCnt = edges.size();
+				int edgeCnt = parent.count(Sense.OUT, node);
 				String str = String.format("-%s-> %s ", edgeCnt, node.name());
 				sb.append(str);
 
@@ -120,7 +119,7 @@ public class Printer<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 				String lead = Strings.dup(pos.left, Strings.SPACE);
 
 				sb.appendNewLine();
-				int cnt = parent.to(node).size();
+				int cnt = parent.count(Sense.OUT, node);
 				String str = String.format("%s|--%s-> %s ", lead, cnt, node.name());
 				sb.append(str);
 
@@ -267,19 +266,19 @@ public class Printer<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 		@Override
 		public boolean enter(Sense dir, LinkedHashList<N, N> visited, N parent, N node) {
 			nodes.add(node);
-			if (parent != null) edges.addAll(parent.to(node));
+			if (parent != null) parent.forEachEdge(Sense.OUT, node, edges::add);
 			return true;
 		}
 
 		protected String style(N node) {
-			if (!node.has(DotStyle.PropName)) return fix(node.label());
-			DotStyle ds = (DotStyle) node.get(DotStyle.PropName);
+			if (!node.hasDotStyle()) return fix(node.label());
+			DotStyle ds = node.getDotStyle();
 			return String.format(NODE, fix(node.label()), ds.inlineAttributes(ON.NODES));
 		}
 
 		protected String style(E edge) {
-			if (!edge.has(DotStyle.PropName)) return Strings.EMPTY;
-			DotStyle ds = (DotStyle) edge.get(DotStyle.PropName);
+			if (!edge.hasDotStyle()) return Strings.EMPTY;
+			DotStyle ds = edge.getDotStyle();
 			return ds.inlineAttributes(ON.EDGES);
 		}
 	}
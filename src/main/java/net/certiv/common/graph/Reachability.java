@@ -0,0 +1,306 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.event.IEvtType;
+import net.certiv.common.event.TypedEvent;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.GraphEvent.Changes;
+import net.certiv.common.graph.GraphEvent.GraphEvtType;
+import net.certiv.common.id.IUId;
+
+/**
+ * Reachability index of a {@link Graph}, answering {@link #ancestorOf} queries in
+ * near-constant time.
+ * <p>
+ * The index holds the transitive closure of the graph as a pair of bitsets per node:
+ * the descendants and the ancestors of the node, each including the node itself. The
+ * closure is built in {@code O(V+E)} traversal plus bitset unions over the strongly
+ * connected component condensation, with the members of a component sharing bitsets.
+ * Memory is {@code O(V^2)} bits.
+ * <p>
+ * The index is maintained incrementally from the graph change events: an edge addition
+ * unions the closure of the edge end into the closure of each ancestor of the edge
+ * begin. An edge removal that disconnects its terminal nodes invalidates the index;
+ * while invalid, or while the graph has changed in ways not yet notified, such as within
+ * a {@link Graph#bulk} mutation, queries fall back to a search of the graph. The index
+ * is rebuilt once {@link #REBUILD} searches have fallen back, or on demand. Events not
+ * delivered in step with the graph modification, as by an asynchronous dispatcher,
+ * invalidate the index.
+ * <p>
+ * Thread-safe. Queries read the graph holding shared read access to the graph.
+ */
+public class Reachability<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>>
+		extends GraphListener<I, N, E> {
+
+	/** Count of fallback searches after which an invalid index is rebuilt. */
+	public static final int REBUILD = 16;
+
+	private final Graph<I, N, E> graph;
+
+	/** Node index, by node. */
+	private final HashMap<N, Integer> index = new HashMap<>();
+	/** Descendant and ancestor node indices, by node index. */
+	private final ArrayList<BitSet> desc = new ArrayList<>();
+	private final ArrayList<BitSet> anc = new ArrayList<>();
+
+	/** Graph modification count reflected by the index. */
+	private long modCount = -1;
+	/** Whether the index has been invalidated by an edge removal. */
+	private boolean invalid = true;
+	/** Count of fallback searches since the index became invalid. */
+	private int misses;
+
+	private long searches;
+	private long rebuilds;
+
+	/**
+	 * Creates a reachability index of the given graph, registered to receive the graph
+	 * change events.
+	 *
+	 * @param graph the indexed graph
+	 * @return a new reachability index
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> Reachability<I, N, E> of(
+			Graph<I, N, E> graph) {
+		Assert.notNull(graph);
+		Reachability<I, N, E> reach = new Reachability<>(graph);
+		reach.register(GraphEvtType.AddNode, GraphEvtType.RmvNode, GraphEvtType.AddEdge, GraphEvtType.RmvEdge,
+				GraphEvtType.Bulk);
+		reach.addTo(graph);
+		reach.rebuild();
+		return reach;
+	}
+
+	private Reachability(Graph<I, N, E> graph) {
+		this.graph = graph;
+	}
+
+	/** @return the indexed graph */
+	public Graph<I, N, E> graph() {
+		return graph;
+	}
+
+	/**
+	 * Return {@code true} if the given ancestor node is an ancestor of the given node, or
+	 * is the given node. Equivalent to {@link Node#ancestorOf(Node)}.
+	 *
+	 * @param ancestor the search source node
+	 * @param node     the search target descendent node
+	 * @return {@code true} if the node is reachable from the ancestor
+	 */
+	public boolean ancestorOf(N ancestor, N node) {
+		Assert.notNull(ancestor, node);
+		if (ancestor.equals(node)) return true;
+		return graph.read(() -> {
+			synchronized (this) {
+				if (!isCurrent() && ++misses >= REBUILD) build();
+				if (isCurrent()) {
+					Integer beg = index.get(ancestor);
+					Integer end = index.get(node);
+					if (beg != null && end != null) return desc.get(beg).get(end);
+				}
+				searches++;
+			}
+			return search(ancestor, node);
+		});
+	}
+
+	/** Returns {@code true} if the index reflects the current graph structure. */
+	public synchronized boolean isCurrent() {
+		return !invalid && modCount == graph.modCount();
+	}
+
+	/** Rebuilds the index from the current graph structure. */
+	public void rebuild() {
+		graph.read(() -> {
+			synchronized (this) {
+				build();
+			}
+			return null;
+		});
+	}
+
+	/** Returns the count of queries answered by search of the graph. */
+	public synchronized long searches() {
+		return searches;
+	}
+
+	/** Returns the count of index builds. */
+	public synchronized long rebuilds() {
+		return rebuilds;
+	}
+
+	/** Unregisters this index from the graph change events. */
+	public void detach() {
+		removeFrom(graph);
+	}
+
+	// --------------------------------------
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected synchronized <TE extends TypedEvent> void accept(TE event) {
+		if (!(event instanceof GraphEvent)) return;
+		GraphEvent<I, N, E> evt = (GraphEvent<I, N, E>) event;
+		IEvtType type = evt.type();
+		if (type == GraphEvtType.Bulk) {
+			// net changes omit reconnected edges, so only pure additions are applied
+			Changes<I, N, E> changes = evt.value();
+			if (!step(changes.modifications())
+					|| changes.modifications() != changes.addedNodes().size() + changes.addedEdges().size()) {
+				invalidate();
+			}
+			changes.addedNodes().forEach(this::add);
+			changes.addedEdges().forEach(this::connect);
+			return;
+		}
+
+		if (!step(1)) invalidate();
+		if (type == GraphEvtType.AddNode) {
+			add((N) evt.value());
+
+		} else if (type == GraphEvtType.RmvNode) {
+			if (!invalid) index.remove(evt.value());
+
+		} else if (type == GraphEvtType.AddEdge) {
+			connect((E) evt.value());
+
+		} else if (type == GraphEvtType.RmvEdge) {
+			disconnect((E) evt.value());
+		}
+	}
+
+	/**
+	 * Advances the reflected modification count by the given count of modifications.
+	 * Returns {@code false} if the index was not then in step with the graph, as where an
+	 * event is delivered asynchronously or the index was rebuilt within a bulk mutation.
+	 */
+	private boolean step(long modifications) {
+		modCount += modifications;
+		return modCount == graph.modCount();
+	}
+
+	/** Indexes the given node, if not indexed. */
+	private void add(N node) {
+		if (invalid || index.containsKey(node)) return;
+		int idx = desc.size();
+		index.put(node, idx);
+		BitSet self = new BitSet();
+		self.set(idx);
+		desc.add(self);
+		anc.add((BitSet) self.clone());
+	}
+
+	/** Unions the closure of the edge end into the closure of each begin ancestor. */
+	private void connect(E edge) {
+		if (invalid || !edge.valid()) return;
+		add(edge.beg());
+		add(edge.end());
+		int beg = index.get(edge.beg());
+		int end = index.get(edge.end());
+		if (desc.get(beg).get(end)) return;
+
+		BitSet ancestors = (BitSet) anc.get(beg).clone();
+		BitSet descendants = (BitSet) desc.get(end).clone();
+		for (int idx = ancestors.nextSetBit(0); idx >= 0; idx = ancestors.nextSetBit(idx + 1)) {
+			desc.get(idx).or(descendants);
+		}
+		for (int idx = descendants.nextSetBit(0); idx >= 0; idx = descendants.nextSetBit(idx + 1)) {
+			anc.get(idx).or(ancestors);
+		}
+	}
+
+	/** Invalidates the index, unless the edge terminals remain directly connected. */
+	private void disconnect(E edge) {
+		if (invalid) return;
+		if (edge.valid() && (edge.cyclic() || edge.beg().out.isAdjacent(edge.end()))) return;
+		invalidate();
+	}
+
+	private void invalidate() {
+		invalid = true;
+		misses = 0;
+	}
+
+	/** Builds the closure over the strongly connected component condensation. */
+	private void build() {
+		CompactGraph<I, N, E> compact = CompactGraph.of(graph);
+		Tarjan scc = new Tarjan(compact);
+		int cnt = compact.nodeCount();
+
+		// components are numbered in reverse topological order
+		BitSet[] members = new BitSet[scc.count];
+		BitSet[] compDesc = new BitSet[scc.count];
+		BitSet[] compAnc = new BitSet[scc.count];
+		for (int comp = 0; comp < scc.count; comp++) {
+			members[comp] = new BitSet();
+			compDesc[comp] = new BitSet();
+			compAnc[comp] = new BitSet();
+		}
+		for (int node = 0; node < cnt; node++) {
+			members[scc.comp[node]].set(node);
+		}
+
+		for (int comp = 0; comp < scc.count; comp++) {
+			BitSet reach = compDesc[comp];
+			reach.or(members[comp]);
+			for (int node = members[comp].nextSetBit(0); node >= 0; node = members[comp].nextSetBit(node + 1)) {
+				for (int pos = compact.begin(Sense.OUT, node); pos < compact.end(Sense.OUT, node); pos++) {
+					int succ = scc.comp[compact.target(Sense.OUT, pos)];
+					if (succ != comp) reach.or(compDesc[succ]);
+				}
+			}
+		}
+
+		// transpose: each component reached is reached by the members of the component
+		int[] seen = new int[scc.count];
+		Arrays.fill(seen, -1);
+		for (int comp = 0; comp < scc.count; comp++) {
+			BitSet reach = compDesc[comp];
+			for (int node = reach.nextSetBit(0); node >= 0; node = reach.nextSetBit(node + 1)) {
+				int target = scc.comp[node];
+				if (seen[target] != comp) {
+					seen[target] = comp;
+					compAnc[target].or(members[comp]);
+				}
+			}
+		}
+
+		index.clear();
+		desc.clear();
+		anc.clear();
+		for (int node = 0; node < cnt; node++) {
+			index.put(compact.node(node), node);
+			desc.add(compDesc[scc.comp[node]]);
+			anc.add(compAnc[scc.comp[node]]);
+		}
+
+		modCount = compact.modCount();
+		invalid = false;
+		misses = 0;
+		rebuilds++;
+	}
+
+	/** Depth first search, from the given ancestor, for the given node. */
+	private boolean search(N ancestor, N node) {
+		HashSet<N> visited = new HashSet<>();
+		ArrayDeque<N> stack = new ArrayDeque<>();
+		visited.add(ancestor);
+		stack.push(ancestor);
+		boolean[] found = new boolean[1];
+		while (!stack.isEmpty() && !found[0]) {
+			stack.pop().forEachAdjacent(Sense.OUT, true, child -> {
+				if (child.equals(node)) found[0] = true;
+				if (visited.add(child)) stack.push(child);
+			});
+		}
+		return found[0];
+	}
+}
@@ -0,0 +1,84 @@
+package net.certiv.common.graph;
+
+import java.util.Arrays;
+
+import net.certiv.common.graph.Edge.Sense;
+
+/**
+ * Strongly connected components of a {@link CompactGraph}, computed by an iterative
+ * form of Tarjan's algorithm in {@code O(V+E)} with bounded thread stack use.
+ * <p>
+ * Components are numbered in the order completed, which is a reverse topological order
+ * of the component condensation: for every edge {@code u -> v} between distinct
+ * components, {@code comp[u] > comp[v]}.
+ */
+final class Tarjan {
+
+	/** Component count. */
+	final int count;
+	/** Component number, by node index. */
+	final int[] comp;
+
+	Tarjan(CompactGraph<?, ?, ?> graph) {
+		int cnt = graph.nodeCount();
+		comp = new int[cnt];
+
+		int[] index = new int[cnt];
+		int[] low = new int[cnt];
+		boolean[] onStack = new boolean[cnt];
+		int[] stack = new int[cnt];
+		int[] callNode = new int[cnt];
+		int[] callPos = new int[cnt];
+		Arrays.fill(index, -1);
+
+		int next = 0;
+		int found = 0;
+		int sp = 0;
+		for (int start = 0; start < cnt; start++) {
+			if (index[start] >= 0) continue;
+
+			int csp = 0;
+			index[start] = low[start] = next++;
+			stack[sp++] = start;
+			onStack[start] = true;
+			callNode[csp] = start;
+			callPos[csp++] = graph.begin(Sense.OUT, start);
+
+			while (csp > 0) {
+				int node = callNode[csp - 1];
+				int pos = callPos[csp - 1];
+				if (pos < graph.end(Sense.OUT, node)) {
+					callPos[csp - 1]++;
+					int nxt = graph.target(Sense.OUT, pos);
+					if (index[nxt] < 0) {
+						index[nxt] = low[nxt] = next++;
+						stack[sp++] = nxt;
+						onStack[nxt] = true;
+						callNode[csp] = nxt;
+						callPos[csp++] = graph.begin(Sense.OUT, nxt);
+
+					} else if (onStack[nxt]) {
+						low[node] = Math.min(low[node], index[nxt]);
+					}
+					continue;
+				}
+
+				if (low[node] == index[node]) {
+					int member;
+					do {
+						member = stack[--sp];
+						onStack[member] = false;
+						comp[member] = found;
+					} while (member != node);
+					found++;
+				}
+				csp--;
+				if (csp > 0) {
+					int parent = callNode[csp - 1];
+					low[parent] = Math.min(low[parent], low[node]);
+				}
+			}
+		}
+		count = found;
+	}
+}
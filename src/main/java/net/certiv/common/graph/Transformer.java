@@ -59,12 +59,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> removeNode(XfPolicy policy, N node) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove node");
+		Explainer xpr = new Explainer("Remove node", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_NODE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_NODE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_NODE.err()).result();
 				throw GraphEx.of(REMOVE_NODE.err());
 			}
 
@@ -73,7 +73,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Remove node pre-condition fail: %s", node);
 				}
 			}
@@ -83,12 +83,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove node fail: %s", node);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -102,12 +102,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> removeNodes(XfPolicy policy, Collection<? extends N> nodes) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove nodes");
+		Explainer xpr = new Explainer("Remove nodes", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_NODE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_NODE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_NODE.err()).result();
 				throw GraphEx.of(REMOVE_NODE.err());
 			}
 
@@ -116,7 +116,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Remove nodes pre-condition fail: %s", nodes);
 				}
 			}
@@ -131,12 +131,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove nodes fail: %s", nodes);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -150,12 +150,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> removeEdge(XfPolicy policy, E edge, boolean clear) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove edge");
+		Explainer xpr = new Explainer("Remove edge", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -164,19 +164,19 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Remove edge pre-condition fail: %s", edge);
 				}
 			}
 			graph.removeEdge(edge, clear);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove edge fail: %s", edge);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -190,12 +190,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> removeEdgeIf(XfPolicy policy, E edge, boolean clear, Predicate<? super E> filter) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove edge 'if'");
+		Explainer xpr = new Explainer("Remove edge 'if'", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -204,19 +204,19 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Remove edge 'if' pre-condition fail: %s", edge);
 				}
 			}
 			if (filter == null || filter.test(edge)) graph.removeEdge(edge, clear);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove edge 'if' fail: %s", edge);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -230,12 +230,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> removeEdges(XfPolicy policy, Collection<? extends E> edges, boolean clear) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove edges");
+		Explainer xpr = new Explainer("Remove edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -244,7 +244,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Remove edges pre-condition fail: %s", edges);
 				}
 			}
@@ -259,12 +259,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove edges fail: %s", edges);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -278,12 +278,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> removeEdges(XfPolicy policy, Sense dir, N src, N dst, boolean clear) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove N=>N");
+		Explainer xpr = new Explainer("Remove N=>N", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -293,7 +293,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Remove N=>N pre-condition fail: %s -> %s", src, dst);
 				}
@@ -310,12 +310,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove N=>N fail: %s", edges);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -332,12 +332,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			Predicate<? super E> filter) {
 
 		graph.lock();
-		Explainer xpr = new Explainer("Remove N=>N 'if'");
+		Explainer xpr = new Explainer("Remove N=>N 'if'", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -347,7 +347,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Remove N=>N 'if' pre-condition fail: %s -> %s", src, dst);
 				}
@@ -366,12 +366,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove N=>N 'if' fail: %s", edges);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -388,12 +388,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			Predicate<? super E> filter) {
 
 		graph.lock();
-		Explainer xpr = new Explainer("Remove edges 'if'");
+		Explainer xpr = new Explainer("Remove edges 'if'", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -402,7 +402,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Remove edges 'if' pre-condition fail: %s [%s]", edges, filter);
 				}
@@ -420,12 +420,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove N=>N 'if' fail: %s", edges);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -439,12 +439,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> remove(XfPolicy policy, GraphPath<I, N, E> path, boolean clear) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove GraphPath");
+		Explainer xpr = new Explainer("Remove GraphPath", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -454,7 +454,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Remove GraphPath pre-condition fail: %s", path);
 				}
 			}
@@ -462,12 +462,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			ok &= rmGraphPath(xpr, path, clear);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove GraphPath fail: %s", path);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -481,12 +481,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> remove(XfPolicy policy, SubGraph<I, N, E> subgraph, boolean clear) {
 		graph.lock();
-		Explainer xpr = new Explainer("Remove SubGraph");
+		Explainer xpr = new Explainer("Remove SubGraph", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REMOVE_EDGE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REMOVE_EDGE.err()));
+				if (policy.rptByRet()) return xpr.reason(REMOVE_EDGE.err()).result();
 				throw GraphEx.of(REMOVE_EDGE.err());
 			}
 
@@ -498,7 +498,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Remove SubGraph pre-condition fail: %s", subgraph);
 				}
@@ -509,12 +509,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Remove SubGraph fail: %s", subgraph);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -528,12 +528,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> transfer(XfPolicy policy, E edge, N beg) {
 		graph.lock();
-		Explainer xpr = new Explainer("Transfer edge");
+		Explainer xpr = new Explainer("Transfer edge", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(MOVE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(MOVE.err()));
+				if (policy.rptByRet()) return xpr.reason(MOVE.err()).result();
 				throw GraphEx.of(MOVE.err());
 			}
 
@@ -543,7 +543,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Transfer edge pre-condition fail: %s::%s->%s",
 							edge, beg, edge.end());
 				}
@@ -552,12 +552,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			graph.moveEdge(edge, beg, edge.end(), true);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Transfer edge fail: %s::%s->%s", edge, beg, edge.end());
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -571,12 +571,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> transfer(XfPolicy policy, Collection<? extends E> edges, N beg) {
 		graph.lock();
-		Explainer xpr = new Explainer("Transfer edges");
+		Explainer xpr = new Explainer("Transfer edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(MOVE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(MOVE.err()));
+				if (policy.rptByRet()) return xpr.reason(MOVE.err()).result();
 				throw GraphEx.of(MOVE.err());
 			}
 
@@ -586,7 +586,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Transfer edges pre-condition fail: %s::%s->*", edges, beg);
 				}
@@ -602,12 +602,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Transfer edges fail: %s::%s->*", edges, beg);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -649,12 +649,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			boolean cyclic) {
 
 		graph.lock();
-		Explainer xpr = new Explainer("Copy Edges");
+		Explainer xpr = new Explainer("Copy Edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(COPY)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(COPY.err()));
+				if (policy.rptByRet()) return xpr.reason(COPY.err()).result();
 				throw GraphEx.of(COPY.err());
 			}
 
@@ -665,7 +665,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.nil();
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Copy edges pre-condition fail: %s", edges);
 				}
 			}
@@ -678,12 +678,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.of(dups);
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Copy edges fail: %s", edges);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -702,12 +702,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<LinkedList<E>> copy(XfPolicy policy, Collection<? extends N> nodes, N dst, boolean remove) {
 		graph.lock();
-		Explainer xpr = new Explainer("Copy Nodes");
+		Explainer xpr = new Explainer("Copy Nodes", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(COPY)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(COPY.err()));
+				if (policy.rptByRet()) return xpr.reason(COPY.err()).result();
 				throw GraphEx.of(COPY.err());
 			}
 
@@ -717,7 +717,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.nil();
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Copy nodes pre-condition fail: %s", nodes);
 				}
 			}
@@ -739,12 +739,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			if (remove) graph.removeNode(dst);
 
 			if (ok) return Result.of(dupEdges);
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Copy nodes fail: %s", nodes);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -758,12 +758,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<LinkedList<E>> copy(XfPolicy policy, SubGraph<I, N, E> subgraph, N dst, boolean remove) {
 		graph.lock();
-		Explainer xpr = new Explainer("Copy SubGraph");
+		Explainer xpr = new Explainer("Copy SubGraph", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(COPY)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(COPY.err()));
+				if (policy.rptByRet()) return xpr.reason(COPY.err()).result();
 				throw GraphEx.of(COPY.err());
 			}
 
@@ -775,7 +775,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.nil();
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Copy SubGraph pre-condition fail: %s", subgraph);
 				}
 			}
@@ -796,12 +796,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.of(dups);
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Copy SubGraph fail: %s", subgraph);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -871,12 +871,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> move(XfPolicy policy, E edge, N beg, N end, boolean cyclic) {
 		graph.lock();
-		Explainer xpr = new Explainer("Move edge");
+		Explainer xpr = new Explainer("Move edge", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(MOVE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(MOVE.err()));
+				if (policy.rptByRet()) return xpr.reason(MOVE.err()).result();
 				throw GraphEx.of(MOVE.err());
 			}
 
@@ -886,7 +886,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Move edge pre-condition fail: %s::%s->%s", edge, beg, end);
 				}
@@ -895,12 +895,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			graph.moveEdge(edge, beg, end, cyclic);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Move edge fail: %s::%s->%s", edge, beg, end);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -915,12 +915,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	public Result<Boolean> move(XfPolicy policy, Collection<? extends E> edges, N beg, N end,
 			boolean cyclic) {
 		graph.lock();
-		Explainer xpr = new Explainer("Move edges");
+		Explainer xpr = new Explainer("Move edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(MOVE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(MOVE.err()));
+				if (policy.rptByRet()) return xpr.reason(MOVE.err()).result();
 				throw GraphEx.of(MOVE.err());
 			}
 
@@ -930,7 +930,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Move edges pre-condition fail: %s %s->%s", edges, beg, end);
 				}
@@ -946,12 +946,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Move edges fail: %s %s->%s", edges, beg, end);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -974,12 +974,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> reterminate(XfPolicy policy, E edge, N end, boolean cyclic) {
 		graph.lock();
-		Explainer xpr = new Explainer("Reterminate edge");
+		Explainer xpr = new Explainer("Reterminate edge", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(MOVE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(MOVE.err()));
+				if (policy.rptByRet()) return xpr.reason(MOVE.err()).result();
 				throw GraphEx.of(MOVE.err());
 			}
 
@@ -989,7 +989,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Reterminate edge pre-condition fail: %s::%s->%s",
 							edge, edge.beg(), end);
 				}
@@ -998,12 +998,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			graph.moveEdge(edge, edge.beg(), end, cyclic);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Reterminate edge fail: %s::%s->%s", edge, edge.beg(), end);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -1027,12 +1027,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	public Result<Boolean> reterminate(XfPolicy policy, Collection<? extends E> edges, N end,
 			boolean cyclic) {
 		graph.lock();
-		Explainer xpr = new Explainer("Reterminate edges");
+		Explainer xpr = new Explainer("Reterminate edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(MOVE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(MOVE.err()));
+				if (policy.rptByRet()) return xpr.reason(MOVE.err()).result();
 				throw GraphEx.of(MOVE.err());
 			}
 
@@ -1042,7 +1042,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Reterminate edges pre-condition fail: %s::*->%s", edges, end);
 				}
@@ -1058,12 +1058,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Reterminate edges fail: %s::*->%s", edges, end);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -1077,12 +1077,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> consolidateEdges(XfPolicy policy, Collection<? extends N> sources, N target) {
 		graph.lock();
-		Explainer xpr = new Explainer("Consolidate edges");
+		Explainer xpr = new Explainer("Consolidate edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(CONSOLIDATE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(CONSOLIDATE.err()));
+				if (policy.rptByRet()) return xpr.reason(CONSOLIDATE.err()).result();
 				throw GraphEx.of(CONSOLIDATE.err());
 			}
 
@@ -1092,7 +1092,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Consolidate edges pre-condition fail: %s::%s", sources, target);
 				}
@@ -1127,12 +1127,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Consolidate edges fail: %s::%s", sources, target);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -1156,12 +1156,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	public Result<LinkedList<E>> replicateEdges(XfPolicy policy, N node, Collection<? extends N> targets,
 			boolean remove) {
 		graph.lock();
-		Explainer xpr = new Explainer("Replicate edges");
+		Explainer xpr = new Explainer("Replicate edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REPLICATE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REPLICATE.err()));
+				if (policy.rptByRet()) return xpr.reason(REPLICATE.err()).result();
 				throw GraphEx.of(REPLICATE.err());
 			}
 
@@ -1171,7 +1171,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.nil();
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Replicate edges pre-condition fail: %s %s", node, targets);
 				}
@@ -1203,12 +1203,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			if (remove) graph.removeNode(node);
 
 			if (ok) return Result.of(dups);
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Replicate edges fail: %s %s", node, targets);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -1222,12 +1222,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> reduce(XfPolicy policy, N node) {
 		graph.lock();
-		Explainer xpr = new Explainer("Reduce node");
+		Explainer xpr = new Explainer("Reduce node", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REDUCE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REDUCE.err()));
+				if (policy.rptByRet()) return xpr.reason(REDUCE.err()).result();
 				throw GraphEx.of(REDUCE.err());
 			}
 
@@ -1236,7 +1236,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx()) throw GraphEx.of("Reduce node pre-condition fail: %s", node);
 				}
 			}
@@ -1254,12 +1254,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			}
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Reduce node fail: %s", node);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -1273,12 +1273,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 	public Result<Boolean> reduce(XfPolicy policy, E src, E dst) {
 		graph.lock();
-		Explainer xpr = new Explainer("Reduce edges");
+		Explainer xpr = new Explainer("Reduce edges", false);
 		boolean ok = xpr.last();
 
 		try {
 			if (!graph.permits(REDUCE)) {
-				if (policy.rptByRet()) return Result.of(xpr.reason(REDUCE.err()));
+				if (policy.rptByRet()) return xpr.reason(REDUCE.err()).result();
 				throw GraphEx.of(REDUCE.err());
 			}
 
@@ -1288,7 +1288,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 
 				if (ok && policy.block()) return Result.OK;
 				if (!ok && (policy.block() || policy.condStop())) {
-					if (policy.rptByRet()) return Result.of(xpr);
+					if (policy.rptByRet()) return xpr.result();
 					if (policy.rptByEx())
 						throw GraphEx.of("Reduce edges pre-condition fail: %s %s", src, dst);
 				}
@@ -1301,12 +1301,12 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 			graph.removeEdge(src, false);
 
 			if (ok) return Result.OK;
-			if (policy.rptByRet()) return Result.of(xpr);
+			if (policy.rptByRet()) return xpr.result();
 			throw GraphEx.of("Reduce edges fail: %s %s", src, dst);
 
 		} catch (Exception | Error e) {
 			xpr.addFirst(e);
-			throw GraphEx.of(xpr);
+			throw GraphEx.of(xpr.explain());
 
 		} finally {
 			graph.unlock();
@@ -1433,7 +1433,7 @@ public class Transformer<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	/**
 	 * Internal: graph edge duplication and add function.
 	 *
-	 * @param xpr  explainer
+	 * @param xpr  diagnostics
 	 * @param dups collector of duplicated edges
 	 * @param edge edge to duplicate
 	 * @param beg  duplicated edge begin node
@@ -155,7 +155,8 @@ public class Transfuture<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	}
 
 	/**
-	 * Sequentially apply the recorded transforms.
+	 * Sequentially apply the recorded transforms. Publishes a new graph snapshot on
+	 * completion, provided snapshots of the graph are in use.
 	 *
 	 * @return {@link Result#OK} on success, or (conditional on policy) a
 	 *         {@link Result#err} on failure
@@ -166,7 +167,8 @@ public class Transfuture<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	}
 
 	/**
-	 * Sequentially apply the recorded transforms.
+	 * Sequentially apply the recorded transforms. Publishes a new graph snapshot on
+	 * completion, provided snapshots of the graph are in use.
 	 *
 	 * @param verbose {@code true} to log each transform immediately prior to execution
 	 * @return {@link Result#OK} on success, or (conditional on policy) a
@@ -175,7 +177,7 @@ public class Transfuture<I extends IUId, N extends Node<I, N, E>, E extends Edge
 	 */
 	public Result<Boolean> apply(boolean verbose) {
 		xf.graph.lock();
-		Explainer xpr = new Explainer("Transfuture");
+		Explainer xpr = new Explainer("Transfuture", false);
 		try {
 			for (ITransformOp<I, N, E> op : ops) {
 				if (verbose) Log.info("XF %s", op);
@@ -183,13 +185,52 @@ public class Transfuture<I extends IUId, N extends Node<I, N, E>, E extends Edge
 					xpr.add(op.apply(xf, policy));
 				} catch (Exception | Error e) {
 					xpr.add(e);
-					if (policy.rptByEx()) throw GraphEx.of(xpr);
+					if (policy.rptByEx()) throw GraphEx.of(xpr.explain());
 				}
 			}
-			return xpr.isEmpty() ? Result.OK : Result.of(xpr);
+			return xpr.isEmpty() ? Result.OK : xpr.result();
 
 		} finally {
-			xf.graph.unlock();
+			try {
+				xf.graph.republish();
+			} finally {
+				xf.graph.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Plans the batch application of the recorded transforms.
+	 *
+	 * @return the batch plan
+	 * @see XfPlan
+	 */
+	public XfPlan<I, N, E> plan() {
+		return XfPlan.of(ops);
+	}
+
+	/**
+	 * Applies the recorded transforms as a batch: redundant transforms are dropped,
+	 * independent transforms are grouped, and the batch is applied under a single graph
+	 * lock with a single validation of each transform. Graph change events are coalesced
+	 * into a single {@link GraphEvent.GraphEvtType#Bulk} event.
+	 * <p>
+	 * The transforms recorded under a recordation acceptance policy without
+	 * {@link Flg#Qualify} are not validated when recorded, so are validated only once,
+	 * here.
+	 * <p>
+	 * Publishes a new graph snapshot on completion, provided snapshots of the graph are in
+	 * use.
+	 *
+	 * @return report of the batch application
+	 * @throws (conditional on policy) GraphException on failure
+	 * @see XfPlan
+	 */
+	public XfReport<I, N, E> applyBatch() {
+		try {
+			return plan().apply(xf, policy);
+		} finally {
+			xf.graph.republish();
 		}
 	}
 
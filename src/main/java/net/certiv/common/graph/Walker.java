@@ -1,9 +1,12 @@
 package net.certiv.common.graph;
 
+import java.util.ArrayList;
+
 import net.certiv.common.graph.Edge.Sense;
 import net.certiv.common.id.IUId;
 import net.certiv.common.log.Log;
 import net.certiv.common.stores.LinkedHashList;
+import net.certiv.common.stores.LongPairSet;
 
 /**
  * Walker supporting both ascending and descending path traversals.
@@ -14,7 +17,14 @@ import net.certiv.common.stores.LinkedHashList;
  * starting in different direction or from a different start node, to walk the graph
  * without repeat traversal of any previously visited path internval.
  * <p>
+ * The walk is iterative, using an explicit frame stack, so walk depth is not limited by
+ * the thread stack size. Visited path intervals are checked against a primitive set of
+ * {@code (prev, node)} node id pairs.
+ * <p>
  * Reseting the walker clears the record or internal visited path intervals.
+ * <p>
+ * A walk of a graph subject to concurrent modification observes a consistent graph
+ * state only if performed within {@link Graph#read}.
  */
 public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
 
@@ -22,8 +32,19 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 
 	private static final StopEx EX_STOP = new StopEx();
 
+	/** Node id used to represent a {@code null} prev node. */
+	private static final long NONE = -1;
+
 	private final LinkedHashList<N, N> visited = new LinkedHashList<>();
+	/** Visited {@code (prev, node)} id pairs. */
+	private final LongPairSet marks = new LongPairSet();
+	/** Walk frame stack; frames are reused across walks. */
+	private final ArrayList<Frame<I, N, E>> frames = new ArrayList<>();
+	/** Count of frames in use; non-zero only while walking. */
+	private int active;
 	private boolean debug;
+	/** Compact graph snapshot to walk, or {@code null} to walk the live graph. */
+	private CompactGraph<I, N, E> compact;
 
 	/** Construct a walker instance. */
 	public Walker() {
@@ -47,9 +68,13 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 * @param start   the node to start ascending from
 	 */
 	public void ascend(NodeVisitor<N> visitor, N start) {
+		int base = active;
 		try {
-			walk(Sense.IN, visited, visitor, null, start);
-		} catch (StopEx flag) {}
+			walk(Sense.IN, visited, visitor, start);
+		} catch (StopEx flag) {
+		} finally {
+			release(base);
+		}
 	}
 
 	/**
@@ -60,9 +85,13 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 * @param start   the node to start descending from
 	 */
 	public void descend(NodeVisitor<N> visitor, N start) {
+		int base = active;
 		try {
-			walk(Sense.OUT, visited, visitor, null, start);
-		} catch (StopEx flag) {}
+			walk(Sense.OUT, visited, visitor, start);
+		} catch (StopEx flag) {
+		} finally {
+			release(base);
+		}
 	}
 
 	/**
@@ -86,11 +115,25 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 		return this;
 	}
 
+	/**
+	 * Set the walker to traverse node adjacencies as recorded in the given compact graph
+	 * snapshot, rather than the live node edge sets. All walked nodes must be contained
+	 * in the snapshot.
+	 *
+	 * @param compact the compact graph snapshot, or {@code null} to walk the live graph
+	 * @return the walker
+	 */
+	public Walker<I, N, E> using(CompactGraph<I, N, E> compact) {
+		this.compact = compact;
+		return this;
+	}
+
 	/**
 	 * Clears the internal record of visited node associations.
 	 */
 	public void reset() {
 		visited.clear();
+		marks.clear();
 	}
 
 	/**
@@ -102,21 +145,62 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 		return new LinkedHashList<>(visited);
 	}
 
-	private void walk(Sense dir, LinkedHashList<N, N> visited, NodeVisitor<N> visitor, N prev, N node) {
-		if (!visitor.done) {
-			boolean ok = enter(dir, visited, visitor, prev, node);
-			if (debug) Log.debug("[enter=%s] %s --> %s", ok ? "Ok" : "Xx", prev, node);
+	private void walk(Sense dir, LinkedHashList<N, N> visited, NodeVisitor<N> visitor, N start) {
+		int base = active;
+		int top = base;
+		frame(top).init(null, start);
+		active = top + 1;
+		while (top >= base) {
+			Frame<I, N, E> frame = frames.get(top);
+			N prev = frame.prev;
+			N node = frame.node;
 
-			if (ok) {
-				for (N child : node.adjacent(dir, true)) {
-					if (!visitor.done) {
-						walk(dir, visited, visitor, node, child);
+			if (!frame.entered) {
+				frame.entered = true;
+				if (!visitor.done) {
+					boolean ok = enter(dir, visited, visitor, prev, node);
+					if (debug) Log.debug("[enter=%s] %s --> %s", ok ? "Ok" : "Xx", prev, node);
+					if (ok) {
+						if (compact != null) {
+							frame.cursor.reset(compact, node, dir, true);
+						} else {
+							frame.cursor.reset(node, dir, true);
+						}
 					}
 				}
 			}
+
+			if (frame.cursor.hasNext() && !visitor.done) {
+				top++;
+				frame(top).init(node, frame.cursor.next());
+				active = top + 1;
+				continue;
+			}
+
+			frame.cursor.clear();
+			boolean ok = exit(dir, visited, visitor, prev, node);
+			if (debug) Log.debug("[exit =%s] %s <-- %s", ok ? "Ok" : "Fail", prev, node);
+			frame.init(null, null);
+			active = top--;
+		}
+	}
+
+	private Frame<I, N, E> frame(int depth) {
+		if (depth == frames.size()) frames.add(new Frame<>());
+		return frames.get(depth);
+	}
+
+	/**
+	 * Releases node references held by any frame, at or above the given base, left
+	 * active by a stopped walk.
+	 */
+	private void release(int base) {
+		for (int idx = base; idx < active; idx++) {
+			Frame<I, N, E> frame = frames.get(idx);
+			frame.init(null, null);
+			frame.cursor.clear();
 		}
-		boolean ok = exit(dir, visited, visitor, prev, node);
-		if (debug) Log.debug("[exit =%s] %s <-- %s", ok ? "Ok" : "Fail", prev, node);
+		active = base;
 	}
 
 	/**
@@ -135,9 +219,11 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 	 */
 	protected boolean enter(Sense dir, LinkedHashList<N, N> visited, NodeVisitor<N> visitor, N prev, N node) {
 		if (prev == null && node == null) return false;
-		if (visited.containsEntry(prev, node)) return false;
+		long pid = prev != null ? prev._nid : NONE;
+		if (marks.contains(pid, node._nid)) return false;
 
 		boolean ok = node.enter(dir, visited, visitor, prev);
+		marks.add(pid, node._nid);
 		visited.put(prev, node);
 		return ok;
 	}
@@ -214,4 +300,19 @@ public class Walker<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N
 			throw EX_STOP;
 		}
 	}
+
+	/** Walk stack frame: a visited interval and the cursor over its children. */
+	private static class Frame<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+		final NodeCursor<I, N, E> cursor = new NodeCursor<>();
+		N prev;
+		N node;
+		boolean entered;
+
+		void init(N prev, N node) {
+			this.prev = prev;
+			this.node = node;
+			this.entered = false;
+		}
+	}
 }
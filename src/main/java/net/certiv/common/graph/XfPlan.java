@@ -0,0 +1,560 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.certiv.common.ex.Explainer;
+import net.certiv.common.graph.XfReport.Failure;
+import net.certiv.common.graph.ex.GraphEx;
+import net.certiv.common.graph.ops.ITransformOp;
+import net.certiv.common.graph.ops.MoveOp;
+import net.certiv.common.graph.ops.ReformOp;
+import net.certiv.common.graph.ops.RemoveEdgeOp;
+import net.certiv.common.graph.ops.RemoveNodeOp;
+import net.certiv.common.id.IUId;
+import net.certiv.common.stores.Result;
+import net.certiv.common.stores.UniqueList;
+
+/**
+ * Batch application plan for a sequence of recorded transform ops. Planning:
+ * <ol>
+ * <li>drops redundant ops: edge moves, transfers and reterminations superseded by a later
+ * move or removal of the edge, and repeated removals of a node or edge;
+ * <li>groups independent ops: an elementary remove, move, transfer, or reterminate op is
+ * merged into the preceding step of the same kind and parameters, provided no
+ * intervening step touches any of the nodes or edges of the op.
+ * </ol>
+ * Ops of other kinds ({@link XfPermits#COPY}, {@link XfPermits#CONSOLIDATE},
+ * {@link XfPermits#REDUCE}, {@link XfPermits#REPLICATE}, and filtered removals) are
+ * planned as barriers: applied in order, unmerged, and never reordered.
+ * <p>
+ * The plan is applied in a single {@link Graph#bulk} mutation, holding the graph lock
+ * for the duration. Each elementary op is validated once, against the graph state
+ * immediately prior to its step, and then applied without further qualification.
+ * Barrier ops are applied subject to the execution policy. The outcome is summarized in
+ * an {@link XfReport}.
+ * <p>
+ * Node and edge footprints are computed from the graph state at planning time, so a plan
+ * should be applied to the graph, unmodified, for which it was made.
+ */
+public class XfPlan<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private enum Kind {
+		REMOVE_NODE,
+		REMOVE_EDGE,
+		MOVE,
+		REFORM,
+		BARRIER;
+	}
+
+	/** Recorded op, with its recorded index. */
+	private static final class Entry<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+		final int index;
+		final ITransformOp<I, N, E> op;
+
+		Entry(int index, ITransformOp<I, N, E> op) {
+			this.index = index;
+			this.op = op;
+		}
+	}
+
+	/** Planned step: one or more merged ops of the same kind and parameters. */
+	private static final class Step<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+		final Kind kind;
+		final List<Entry<I, N, E>> entries = new ArrayList<>();
+
+		Step(Kind kind) {
+			this.kind = kind;
+		}
+	}
+
+	/**
+	 * Plans the given transform ops.
+	 *
+	 * @param ops recorded transform ops, in order of application
+	 * @return the plan
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> XfPlan<I, N, E> of(
+			Collection<? extends ITransformOp<I, N, E>> ops) {
+		return new XfPlan<>(ops);
+	}
+
+	// --------------------------------
+
+	private final int recorded;
+	private final List<Step<I, N, E>> steps = new ArrayList<>();
+	private int dropped;
+
+	private XfPlan(Collection<? extends ITransformOp<I, N, E>> ops) {
+		recorded = ops.size();
+		List<Entry<I, N, E>> entries = new ArrayList<>(recorded);
+		int idx = 0;
+		for (ITransformOp<I, N, E> op : ops) {
+			entries.add(new Entry<>(idx++, op));
+		}
+		group(dedup(supersede(entries)));
+	}
+
+	/** Returns the number of recorded ops. */
+	public int recorded() {
+		return recorded;
+	}
+
+	/** Returns the number of recorded ops dropped as redundant. */
+	public int dropped() {
+		return dropped;
+	}
+
+	/** Returns the number of planned steps. */
+	public int size() {
+		return steps.size();
+	}
+
+	/** Returns the planned ops, one per step, merged where grouped. */
+	public List<ITransformOp<I, N, E>> ops() {
+		List<ITransformOp<I, N, E>> ops = new ArrayList<>(steps.size());
+		for (Step<I, N, E> step : steps) {
+			if (step.entries.size() == 1) {
+				ops.add(step.entries.get(0).op);
+			} else {
+				ops.add(merge(step, step.entries));
+			}
+		}
+		return ops;
+	}
+
+	// ---- Planning ------------------
+
+	/**
+	 * Backward pass: drops the edges of move and reform ops that are subsequently moved or
+	 * removed without intervening reference. A relocation onto a node subsequently removed
+	 * is not dropped.
+	 */
+	private List<Entry<I, N, E>> supersede(List<Entry<I, N, E>> entries) {
+		Set<E> superseded = new HashSet<>();
+		Set<N> removed = new HashSet<>();
+		List<Entry<I, N, E>> result = new ArrayList<>(entries.size());
+		for (int idx = entries.size() - 1; idx >= 0; idx--) {
+			Entry<I, N, E> entry = entries.get(idx);
+			ITransformOp<I, N, E> op = entry.op;
+			switch (kind(op)) {
+				case MOVE:
+				case REFORM:
+					List<? extends E> edges = edges(op);
+					boolean pinned = !Collections.disjoint(removed, targets(op));
+					List<E> live = new ArrayList<>(edges.size());
+					for (E edge : edges) {
+						if (pinned || !superseded.contains(edge)) live.add(edge);
+					}
+					if (live.isEmpty()) {
+						dropped++;
+						continue;
+					}
+					if (live.size() < edges.size()) entry = new Entry<>(entry.index, reform(op, live));
+					if (op instanceof MoveOp) superseded.addAll(live);
+					break;
+
+				case REMOVE_EDGE:
+					superseded.addAll(((RemoveEdgeOp<I, N, E>) op).edge);
+					break;
+
+				case REMOVE_NODE:
+					for (N node : ((RemoveNodeOp<I, N, E>) op).nodes) {
+						if (node == null) continue;
+						removed.add(node);
+						superseded.removeAll(node.edges());
+					}
+					break;
+
+				default:
+					superseded.clear();
+					removed.clear();
+			}
+			result.add(entry);
+		}
+		Collections.reverse(result);
+		return result;
+	}
+
+	/**
+	 * Forward pass: drops repeated removals of nodes and edges not restored by an
+	 * intervening op.
+	 */
+	private List<Entry<I, N, E>> dedup(List<Entry<I, N, E>> entries) {
+		Set<N> nodes = new HashSet<>();
+		Map<E, Boolean> edges = new HashMap<>();
+		List<Entry<I, N, E>> result = new ArrayList<>(entries.size());
+		for (Entry<I, N, E> entry : entries) {
+			ITransformOp<I, N, E> op = entry.op;
+			switch (kind(op)) {
+				case REMOVE_NODE:
+					List<N> live = new ArrayList<>();
+					for (N node : ((RemoveNodeOp<I, N, E>) op).nodes) {
+						if (nodes.add(node)) live.add(node);
+					}
+					if (live.isEmpty()) {
+						dropped++;
+						continue;
+					}
+					if (live.size() < ((RemoveNodeOp<I, N, E>) op).nodes.size()) {
+						entry = new Entry<>(entry.index, RemoveNodeOp.of(live));
+					}
+					break;
+
+				case REMOVE_EDGE:
+					RemoveEdgeOp<I, N, E> rm = (RemoveEdgeOp<I, N, E>) op;
+					List<E> rest = new ArrayList<>();
+					for (E edge : rm.edge) {
+						Boolean cleared = edges.get(edge);
+						if (cleared == null || !cleared && rm.clear) {
+							edges.put(edge, rm.clear);
+							rest.add(edge);
+						}
+					}
+					if (rest.isEmpty()) {
+						dropped++;
+						continue;
+					}
+					if (rest.size() < rm.edge.size()) entry = new Entry<>(entry.index, RemoveEdgeOp.of(rest, rm.clear));
+					break;
+
+				case MOVE:
+				case REFORM:
+					for (E edge : edges(op)) {
+						edges.remove(edge);
+					}
+					nodes.removeAll(targets(op));
+					break;
+
+				default:
+					nodes.clear();
+					edges.clear();
+			}
+			result.add(entry);
+		}
+		return result;
+	}
+
+	/**
+	 * Forward pass: merges each elementary op into the latest step of the same kind and
+	 * parameters, where no later step touches the footprint of the op.
+	 */
+	private void group(List<Entry<I, N, E>> entries) {
+		/** key=node or edge; value=index of the last step touching it */
+		Map<Object, Integer> touched = new HashMap<>();
+		/** key=step key; value=index of the last step with that key */
+		Map<List<Object>, Integer> keyed = new HashMap<>();
+		int barrier = -1;
+
+		for (Entry<I, N, E> entry : entries) {
+			Kind kind = kind(entry.op);
+			if (kind == Kind.BARRIER) {
+				barrier = steps.size();
+				Step<I, N, E> step = new Step<>(kind);
+				step.entries.add(entry);
+				steps.add(step);
+				continue;
+			}
+
+			List<Object> key = key(kind, entry.op);
+			Set<Object> footprint = footprint(kind, entry.op);
+			Integer at = keyed.get(key);
+			if (at != null && at > barrier) {
+				for (Object elem : footprint) {
+					Integer last = touched.get(elem);
+					if (last != null && last > at) {
+						at = null;
+						break;
+					}
+				}
+			} else {
+				at = null;
+			}
+
+			if (at == null) {
+				at = steps.size();
+				steps.add(new Step<>(kind));
+				keyed.put(key, at);
+			}
+			steps.get(at).entries.add(entry);
+			for (Object elem : footprint) {
+				touched.merge(elem, at, Math::max);
+			}
+		}
+	}
+
+	// ---- Application ---------------
+
+	/**
+	 * Applies this plan using the given transformer, subject to the given execution
+	 * policy. On a failure: if the policy reports by exception, throws a
+	 * {@code GraphException} explaining the failure; else if the policy stops on
+	 * pre-condition failure, stops; else continues with the next step. Under a repair
+	 * policy, nodes and edges not present in the graph are skipped, and not reported as
+	 * failures.
+	 *
+	 * @param xf     transformer for the target graph
+	 * @param policy execution policy
+	 * @return report of the application
+	 */
+	public XfReport<I, N, E> apply(Transformer<I, N, E> xf, XfPolicy policy) {
+		XfReport<I, N, E> report = new XfReport<>(recorded, dropped, steps.size());
+		xf.graph.bulk(() -> {
+			for (Step<I, N, E> step : steps) {
+				if (!apply(xf, policy, step, report)) break;
+			}
+		});
+		return report;
+	}
+
+	/** Validates and applies a step; returns {@code false} to stop. */
+	private boolean apply(Transformer<I, N, E> xf, XfPolicy policy, Step<I, N, E> step, XfReport<I, N, E> report) {
+		if (step.kind == Kind.BARRIER) {
+			Entry<I, N, E> entry = step.entries.get(0);
+			Result<Boolean> res;
+			try {
+				res = entry.op.apply(xf, policy);
+			} catch (Exception e) {
+				res = Result.of(e);
+			}
+			if (!res.err()) return true;
+			return fail(policy, report, entry, res.getErr().getMessage());
+		}
+
+		Graph<I, N, E> graph = xf.graph;
+		List<Entry<I, N, E>> valid = new ArrayList<>(step.entries.size());
+		for (Entry<I, N, E> entry : step.entries) {
+			if (policy.repair()) {
+				ITransformOp<I, N, E> op = repair(graph, step.kind, entry.op);
+				if (op == null) continue;
+				if (op != entry.op) entry = new Entry<>(entry.index, op);
+				valid.add(entry);
+				continue;
+			}
+
+			String err = validate(graph, step.kind, entry.op);
+			if (err == null) {
+				valid.add(entry);
+			} else if (!fail(policy, report, entry, err)) {
+				return false;
+			}
+		}
+		if (valid.isEmpty()) return true;
+
+		if (valid.size() == 1) return apply(xf, policy, step.kind, valid, report);
+		try {
+			merge(step, valid).apply(xf, XfPolicy.EXECUTE);
+			report.applied(valid.size());
+			return true;
+
+		} catch (Exception e) {
+			// the merged op may have failed partway: complete the entries singly
+			return apply(xf, policy, step.kind, valid, report);
+		}
+	}
+
+	/**
+	 * Applies the given validated entries of a step singly, reporting the failure of each
+	 * entry that fails. The nodes and edges of a removal already removed are skipped, so
+	 * entries completed by a partially applied merged op are not applied twice. Moves and
+	 * reforms are idempotent, and are reapplied in full. Returns {@code false} to stop.
+	 */
+	private boolean apply(Transformer<I, N, E> xf, XfPolicy policy, Kind kind, List<Entry<I, N, E>> entries,
+			XfReport<I, N, E> report) {
+		for (Entry<I, N, E> entry : entries) {
+			ITransformOp<I, N, E> op = entry.op;
+			if (kind == Kind.REMOVE_NODE || kind == Kind.REMOVE_EDGE) op = repair(xf.graph, kind, op);
+			try {
+				if (op != null) op.apply(xf, XfPolicy.EXECUTE);
+				report.applied(1);
+
+			} catch (Exception e) {
+				if (!fail(policy, report, entry, e.getMessage())) return false;
+			}
+		}
+		return true;
+	}
+
+	/** Records a failure; returns {@code false} to stop. */
+	private boolean fail(XfPolicy policy, XfReport<I, N, E> report, Entry<I, N, E> entry, String reason) {
+		report.failed(new Failure<>(entry.index, entry.op, reason));
+		if (policy.rptByEx()) {
+			Explainer xpr = new Explainer("Transfuture batch", false);
+			xpr.reason("Op %s %s: %s", entry.index, entry.op, reason);
+			throw GraphEx.of(xpr.explain());
+		}
+		return !policy.condStop();
+	}
+
+	/** Returns a reason the given elementary op is not valid, or {@code null} if valid. */
+	private String validate(Graph<I, N, E> graph, Kind kind, ITransformOp<I, N, E> op) {
+		if (kind == Kind.REMOVE_NODE) {
+			for (N node : ((RemoveNodeOp<I, N, E>) op).nodes) {
+				if (node == null) return String.format(ITransform.NODE_NULL, "");
+				if (!graph.contains(node)) return String.format(ITransform.NO_GRAPH_NODE, "", node);
+			}
+			return null;
+		}
+
+		for (N node : targets(op)) {
+			if (node == null) return String.format(ITransform.NODE_NULL, "");
+		}
+		int idx = 0;
+		for (E edge : edges(op)) {
+			String err = validate(graph, idx++, edge);
+			if (err != null) return err;
+		}
+		return null;
+	}
+
+	private String validate(Graph<I, N, E> graph, int idx, E edge) {
+		if (edge == null) return String.format(ITransform.EDGE_NULL, idx);
+		if (edge.beg() == null) return String.format(ITransform.EDGE_NODE_NULL, idx, ITransform.BEGIN);
+		if (edge.end() == null) return String.format(ITransform.EDGE_NODE_NULL, idx, ITransform.END);
+		if (!graph.contains(edge.beg()))
+			return String.format(ITransform.NO_GRAPH_EDGE_NODE, idx, ITransform.BEGIN, edge.beg());
+		if (!graph.contains(edge.end()))
+			return String.format(ITransform.NO_GRAPH_EDGE_NODE, idx, ITransform.END, edge.end());
+		return null;
+	}
+
+	/**
+	 * Returns the given op restricted to the nodes or edges present in the graph, as
+	 * repaired by the {@link Transformer}, or {@code null} if none.
+	 */
+	private ITransformOp<I, N, E> repair(Graph<I, N, E> graph, Kind kind, ITransformOp<I, N, E> op) {
+		if (kind == Kind.REMOVE_NODE) {
+			UniqueList<N> nodes = ((RemoveNodeOp<I, N, E>) op).nodes;
+			List<N> present = new ArrayList<>(nodes.size());
+			for (N node : nodes) {
+				if (node != null && node.valid() && graph.contains(node)) present.add(node);
+			}
+			if (present.size() == nodes.size()) return op;
+			return present.isEmpty() ? null : RemoveNodeOp.of(present);
+		}
+
+		for (N node : targets(op)) {
+			if (node == null) return null;
+		}
+		List<? extends E> edges = edges(op);
+		List<E> present = new ArrayList<>(edges.size());
+		for (E edge : edges) {
+			if (edge != null && edge.valid() && graph.contains(edge)) present.add(edge);
+		}
+		if (present.size() == edges.size()) return op;
+		return present.isEmpty() ? null : reform(op, present);
+	}
+
+	// ---- Op accessors --------------
+
+	private Kind kind(ITransformOp<I, N, E> op) {
+		if (op instanceof RemoveNodeOp) return Kind.REMOVE_NODE;
+		if (op instanceof RemoveEdgeOp) return Kind.REMOVE_EDGE;
+		if (op instanceof MoveOp) return Kind.MOVE;
+		if (op instanceof ReformOp) return Kind.REFORM;
+		return Kind.BARRIER;
+	}
+
+	/** Returns the merge key of the given elementary op. */
+	private List<Object> key(Kind kind, ITransformOp<I, N, E> op) {
+		switch (kind) {
+			case REMOVE_EDGE:
+				return List.of(kind, ((RemoveEdgeOp<I, N, E>) op).clear);
+			case MOVE:
+				MoveOp<I, N, E> mv = (MoveOp<I, N, E>) op;
+				return Arrays.asList(kind, mv.beg, mv.end, mv.cyclic);
+			case REFORM:
+				ReformOp<I, N, E> rf = (ReformOp<I, N, E>) op;
+				return Arrays.asList(kind, rf.type, rf.target, rf.cyclic);
+			default:
+				return List.of(kind);
+		}
+	}
+
+	/** Returns the nodes and edges touched by the given elementary op. */
+	private Set<Object> footprint(Kind kind, ITransformOp<I, N, E> op) {
+		Set<Object> elems = new LinkedHashSet<>();
+		if (kind == Kind.REMOVE_NODE) {
+			for (N node : ((RemoveNodeOp<I, N, E>) op).nodes) {
+				if (node == null) continue;
+				elems.add(node);
+				for (E edge : node.edges()) {
+					elems.add(edge);
+					elems.add(edge.beg());
+					elems.add(edge.end());
+				}
+			}
+		} else {
+			elems.addAll(targets(op));
+			for (E edge : edges(op)) {
+				if (edge == null) continue;
+				elems.add(edge);
+				elems.add(edge.beg());
+				elems.add(edge.end());
+			}
+		}
+		elems.remove(null);
+		return elems;
+	}
+
+	/** Returns the edges of the given edge op. */
+	private List<? extends E> edges(ITransformOp<I, N, E> op) {
+		if (op instanceof RemoveEdgeOp) return ((RemoveEdgeOp<I, N, E>) op).edge;
+		if (op instanceof MoveOp) return ((MoveOp<I, N, E>) op).edges;
+		if (op instanceof ReformOp) return ((ReformOp<I, N, E>) op).edges;
+		return List.of();
+	}
+
+	/** Returns the target nodes of the given move or reform op. */
+	private List<N> targets(ITransformOp<I, N, E> op) {
+		if (op instanceof MoveOp) {
+			MoveOp<I, N, E> mv = (MoveOp<I, N, E>) op;
+			return Arrays.asList(mv.beg, mv.end);
+		}
+		if (op instanceof ReformOp) return Collections.singletonList(((ReformOp<I, N, E>) op).target);
+		return List.of();
+	}
+
+	/** Returns a copy of the given edge op, applied to the given edges. */
+	private ITransformOp<I, N, E> reform(ITransformOp<I, N, E> op, List<? extends E> edges) {
+		if (op instanceof RemoveEdgeOp) return RemoveEdgeOp.of(edges, ((RemoveEdgeOp<I, N, E>) op).clear);
+		if (op instanceof MoveOp) {
+			MoveOp<I, N, E> mv = (MoveOp<I, N, E>) op;
+			return MoveOp.of(edges, mv.beg, mv.end, mv.cyclic);
+		}
+		ReformOp<I, N, E> rf = (ReformOp<I, N, E>) op;
+		if (rf.type == XfPermits.TRANSFER) return ReformOp.transfer(edges, rf.target);
+		return ReformOp.reterminate(edges, rf.target, rf.cyclic);
+	}
+
+	/** Returns a single op equivalent to the given ops of the given step. */
+	private ITransformOp<I, N, E> merge(Step<I, N, E> step, List<Entry<I, N, E>> entries) {
+		if (step.kind == Kind.REMOVE_NODE) {
+			List<N> nodes = new ArrayList<>();
+			for (Entry<I, N, E> entry : entries) {
+				nodes.addAll(((RemoveNodeOp<I, N, E>) entry.op).nodes);
+			}
+			return RemoveNodeOp.of(nodes);
+		}
+		List<E> edges = new ArrayList<>();
+		for (Entry<I, N, E> entry : entries) {
+			edges.addAll(edges(entry.op));
+		}
+		return reform(entries.get(0).op, edges);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Plan: %s ops, %s dropped, %s steps", recorded, dropped, steps.size());
+	}
+}
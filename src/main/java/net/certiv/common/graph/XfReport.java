@@ -0,0 +1,116 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.certiv.common.ex.Explainer;
+import net.certiv.common.graph.ops.ITransformOp;
+import net.certiv.common.id.IUId;
+import net.certiv.common.stores.Result;
+import net.certiv.common.util.MsgBuilder;
+
+/**
+ * Outcome of the application of an {@link XfPlan}: counts of the recorded, dropped,
+ * planned, and applied ops, and the ops that failed, identified by recorded index.
+ */
+public class XfReport<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	/** A failed op. */
+	public static final class Failure<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+		/** Index of the op in the recorded sequence. */
+		public final int index;
+		/** The failed op, as planned. */
+		public final ITransformOp<I, N, E> op;
+		/** Failure reason. */
+		public final String reason;
+
+		Failure(int index, ITransformOp<I, N, E> op, String reason) {
+			this.index = index;
+			this.op = op;
+			this.reason = reason;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("#%s %s: %s", index, op, reason);
+		}
+	}
+
+	private final int recorded;
+	private final int dropped;
+	private final int steps;
+	private int applied;
+	private final List<Failure<I, N, E>> failures = new ArrayList<>();
+
+	XfReport(int recorded, int dropped, int steps) {
+		this.recorded = recorded;
+		this.dropped = dropped;
+		this.steps = steps;
+	}
+
+	void applied(int count) {
+		applied += count;
+	}
+
+	void failed(Failure<I, N, E> failure) {
+		failures.add(failure);
+	}
+
+	/** Returns the number of recorded ops. */
+	public int recorded() {
+		return recorded;
+	}
+
+	/** Returns the number of recorded ops dropped as redundant. */
+	public int dropped() {
+		return dropped;
+	}
+
+	/** Returns the number of planned steps. */
+	public int steps() {
+		return steps;
+	}
+
+	/** Returns the number of recorded ops applied. */
+	public int applied() {
+		return applied;
+	}
+
+	/** Returns the failed ops, in order of failure. */
+	public List<Failure<I, N, E>> failures() {
+		return Collections.unmodifiableList(failures);
+	}
+
+	/** Returns {@code true} if no op failed. */
+	public boolean valid() {
+		return failures.isEmpty();
+	}
+
+	/**
+	 * Returns {@link Result#OK} if no op failed, or otherwise a {@link Result#err}
+	 * explaining the failures.
+	 *
+	 * @return application result
+	 */
+	public Result<Boolean> result() {
+		if (failures.isEmpty()) return Result.OK;
+		Explainer xpr = new Explainer("Transfuture batch", false);
+		for (Failure<I, N, E> failure : failures) {
+			xpr.reason(failure.toString());
+		}
+		return xpr.result();
+	}
+
+	@Override
+	public String toString() {
+		MsgBuilder mb = new MsgBuilder();
+		mb.append("Batch: %s ops, %s dropped, %s steps, %s applied, %s failed", recorded, dropped, steps, applied,
+				failures.size());
+		for (Failure<I, N, E> failure : failures) {
+			mb.nl().append("  %s", failure);
+		}
+		return mb.toString();
+	}
+}
@@ -1,15 +1,13 @@
 package net.certiv.common.graph.paths;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.stream.Stream;
 
-import net.certiv.common.check.Assert;
+import net.certiv.common.graph.CompactGraph;
 import net.certiv.common.graph.Edge;
 import net.certiv.common.graph.Edge.Sense;
 import net.certiv.common.graph.Graph;
@@ -17,6 +15,7 @@ import net.certiv.common.graph.Node;
 import net.certiv.common.graph.ex.GraphEx;
 import net.certiv.common.graph.ex.GraphException;
 import net.certiv.common.id.IUId;
+import net.certiv.common.stores.IndexedUniqueList;
 import net.certiv.common.stores.LinkedHashList;
 import net.certiv.common.stores.UniqueList;
 import net.certiv.common.util.Maths;
@@ -36,12 +35,14 @@ import net.certiv.common.util.Strings;
 public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
 
 	public static final String DKEY_PREFIX = "DKEY-";
+	/** @deprecated weighted distances are no longer held in edge properties */
+	@Deprecated
 	public static final GraphException ERR_DKEY = GraphEx.of("No weighted distance key/value for edge: %s");
 
 	/** path edges */
-	private final UniqueList<E> edges = new UniqueList<>();
+	private final IndexedUniqueList<E> edges = new IndexedUniqueList<>();
 	/** path terminals */
-	private final UniqueList<N> terminals = new UniqueList<>();
+	private final IndexedUniqueList<N> terminals = new IndexedUniqueList<>();
 
 	/** Index key=edges */
 	private final LinkedHashSet<E> index = new LinkedHashSet<>();
@@ -52,7 +53,7 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 
 	/** Owning graph */
 	private final Graph<I, N, E> graph;
-	/** Path weight property key: for min total weighted distance */
+	/** Path key; formerly the edge property key of the min total weighted distance */
 	private final String key;
 
 	/**
@@ -89,7 +90,12 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 		return graph;
 	}
 
-	/** @return the weighted distance property key */
+	/**
+	 * @return the path key
+	 * @deprecated weighted distances are no longer held in edge properties; use
+	 *             {@link ShortestPaths} for path distances
+	 */
+	@Deprecated
 	public String getDistanceKey() {
 		return key;
 	}
@@ -172,57 +178,41 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 	}
 
 	/**
-	 * Finds the first shortest path from the given node to the head of this path.
-	 * <p>
-	 * Walks this path backwards, seeking the first found minimum weighted path to the
-	 * head.
+	 * Finds the shortest path from the head of this path to the given node, traversing
+	 * only the edges of this path. Excludes single-edge cycles.
 	 * <p>
-	 * Somewhat related to the approach presented in {@code "Effcient Top-k
-	 * Shortest-Path Distance Queries on Large Networks
-	 * by Pruned Landmark Labeling", Akiba et al.}
+	 * Searches a {@link CompactGraph} snapshot of the owning graph, built for the call;
+	 * use {@link #shortestPathTo(CompactGraph, Node)} to search an existing snapshot.
 	 *
-	 * @return first shortest path edge list, ordered head to target
+	 * @param target the path node to find a path to
+	 * @return shortest path edge list, ordered head to target, or an empty list if the
+	 *         target is not reachable within this path
+	 * @see ShortestPaths
 	 */
 	public LinkedList<E> shortestPathTo(N target) {
-		LinkedList<E> minPath = new LinkedList<>();
-
-		HashSet<N> settled = new HashSet<>();
-		settled.add(target);
-
-		E parent = minParent(settled, target);
-		while (parent != null) {
-			minPath.add(parent);
-			parent = minParent(settled, parent.beg());
-		}
-		Collections.reverse(minPath);
-		return minPath;
+		if (edges.isEmpty()) return new LinkedList<>();
+		return shortestPathTo(CompactGraph.of(graph), target);
 	}
 
 	/**
-	 * @param settled traversed nodes
-	 * @param node    end node of parental edges to inspect
-	 * @return minimum weight parental edge
+	 * Finds the shortest path from the head of this path to the given node, traversing
+	 * only the edges of this path as recorded in the given compact graph snapshot.
+	 * Excludes single-edge cycles.
+	 * <p>
+	 * Distances are computed from the snapshot edge weights.
+	 *
+	 * @see ShortestPaths#shortestWithin(Node, Node, Collection)
+	 *
+	 * @param compact a compact graph snapshot containing this path
+	 * @param target  the path node to find a path to
+	 * @return shortest path edge list, ordered head to target, or an empty list if the
+	 *         target is not reachable within this path
 	 */
-	private E minParent(HashSet<N> settled, N node) {
-		LinkedList<E> edges = idxEnd.get(node);
-		if (edges == null || edges.isEmpty()) return null;
-
-		E minEdge = null;
-		double minWeight = Double.POSITIVE_INFINITY;
-
-		for (E edge : edges) {
-			N beg = edge.beg();
-			if (!edge.cyclic() && index.contains(edge) && !settled.contains(beg)) {
-				Assert.isTrue(edge.has(key));
-				settled.add(beg);
-				double weight = edge.get(key);
-				if (weight < minWeight) {
-					minEdge = edge;
-					minWeight = weight;
-				}
-			}
-		}
-		return minEdge;
+	public LinkedList<E> shortestPathTo(CompactGraph<I, N, E> compact, N target) {
+		N head = head();
+		if (head == null || compact.indexOf(head) < 0 || compact.indexOf(target) < 0) return new LinkedList<>();
+		WeightedPath<I, N, E> path = ShortestPaths.in(compact).shortestWithin(head, target, edges);
+		return path != null ? new LinkedList<>(path.edges()) : new LinkedList<>();
 	}
 
 	// ---- Delegates -----------------
@@ -238,7 +228,6 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 			index.add(edge);
 			idxBeg.put(edge.beg(), edge);
 			idxEnd.put(edge.end(), edge);
-			updateMinWeight(edge);
 			adjTerminals(edge.end());
 		}
 	}
@@ -254,7 +243,6 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 			index.add(edge);
 			idxBeg.put(edge.beg(), edge);
 			idxEnd.put(edge.end(), edge);
-			updateMinWeight(edge);
 			adjTerminals(edge.end());
 		}
 	}
@@ -266,9 +254,7 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 	 * @param end an end node
 	 */
 	public void addAll(N beg, N end) {
-		for (E edge : beg.to(end)) {
-			addLast(edge);
-		}
+		beg.forEachEdge(Sense.OUT, end, this::addLast);
 	}
 
 	/**
@@ -281,31 +267,10 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 	}
 
 	private void adjTerminals(N node) {
-		node.adjacent(Sense.IN, n -> contains(n)).forEach(n -> removeTerminal(n));
+		node.forEachAdjacent(Sense.IN, n -> contains(n), n -> removeTerminal(n));
 		if (!hasNextInPath(node)) addTerminal(node);
 	}
 
-	private double updateMinWeight(E edge) {
-		double w = edge.weight();
-		w = supra(edge.beg()) + w;
-		edge.put(key, w);
-		return w;
-	}
-
-	/** @return the min edge weight of any in-path parent edge, or 0 */
-	private double supra(N beg) {
-		UniqueList<E> edges = beg.edges(Sense.IN, e -> !e.cyclic() && contains(e));
-		if (edges.isEmpty()) return 0.0;
-
-		double min = Double.POSITIVE_INFINITY;
-		for (E edge : edges) {
-			Double val = edge.get(key);
-			Assert.notNull(ERR_DKEY.on(edge), val);
-			min = Math.min(min, val);
-		}
-		return min;
-	}
-
 	public E peekFirst() {
 		return edges.peekFirst();
 	}
@@ -455,7 +420,6 @@ public class GraphPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I
 	 * edges and clears the path and indexes.
 	 */
 	public void clear() {
-		edges().forEach(n -> n.put(key, null));
 		edges.clear();
 		terminals.clear();
 		index.clear();
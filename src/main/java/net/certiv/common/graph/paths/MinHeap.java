@@ -0,0 +1,156 @@
+package net.certiv.common.graph.paths;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary min-heap of {@code int} items, {@code [0, capacity)}, ordered by
+ * {@code double} priority. Supports decrease-key in {@code O(log n)}. Implemented over
+ * primitive arrays; no per-entry objects are allocated.
+ * <p>
+ * Ties are broken by insertion order, making the pop order deterministic.
+ * <p>
+ * Not thread-safe.
+ */
+public class MinHeap {
+
+	private final int[] heap;
+	private final int[] pos;
+	private final double[] keys;
+	private final long[] seqs;
+	private long seq;
+	private int size;
+
+	/**
+	 * Construct a heap for items in {@code [0, capacity)}.
+	 *
+	 * @param capacity the item range
+	 */
+	public MinHeap(int capacity) {
+		heap = new int[capacity];
+		pos = new int[capacity];
+		keys = new double[capacity];
+		seqs = new long[capacity];
+		Arrays.fill(pos, -1);
+	}
+
+	/** @return the number of items in this heap */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns {@code true} if the given item is in this heap.
+	 *
+	 * @param item the item
+	 * @return {@code true} if present
+	 */
+	public boolean contains(int item) {
+		return pos[item] >= 0;
+	}
+
+	/**
+	 * Returns the current priority of the given item.
+	 *
+	 * @param item an item in this heap
+	 * @return the item priority
+	 */
+	public double key(int item) {
+		return keys[item];
+	}
+
+	/**
+	 * Adds the given item with the given priority or, if already present, updates its
+	 * priority to the given value.
+	 *
+	 * @param item the item
+	 * @param key  the item priority
+	 */
+	public void put(int item, double key) {
+		int idx = pos[item];
+		if (idx < 0) {
+			idx = size++;
+			heap[idx] = item;
+			pos[item] = idx;
+			keys[item] = key;
+			seqs[item] = seq++;
+			up(idx);
+
+		} else {
+			double prior = keys[item];
+			keys[item] = key;
+			if (key < prior) {
+				up(idx);
+			} else {
+				down(idx);
+			}
+		}
+	}
+
+	/** @return the minimum priority item, without removing it */
+	public int peek() {
+		if (size == 0) throw new NoSuchElementException();
+		return heap[0];
+	}
+
+	/** @return the removed minimum priority item */
+	public int pop() {
+		if (size == 0) throw new NoSuchElementException();
+		int top = heap[0];
+		pos[top] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			pos[heap[0]] = 0;
+			down(0);
+		}
+		return top;
+	}
+
+	/** Removes all items from this heap. */
+	public void clear() {
+		for (int idx = 0; idx < size; idx++) {
+			pos[heap[idx]] = -1;
+		}
+		size = 0;
+		seq = 0;
+	}
+
+	private boolean less(int a, int b) {
+		double ka = keys[a];
+		double kb = keys[b];
+		return ka < kb || (ka == kb && seqs[a] < seqs[b]);
+	}
+
+	private void up(int idx) {
+		int item = heap[idx];
+		while (idx > 0) {
+			int parent = (idx - 1) >>> 1;
+			if (!less(item, heap[parent])) break;
+			heap[idx] = heap[parent];
+			pos[heap[idx]] = idx;
+			idx = parent;
+		}
+		heap[idx] = item;
+		pos[item] = idx;
+	}
+
+	private void down(int idx) {
+		int item = heap[idx];
+		int half = size >>> 1;
+		while (idx < half) {
+			int child = 2 * idx + 1;
+			int right = child + 1;
+			if (right < size && less(heap[right], heap[child])) child = right;
+			if (!less(heap[child], item)) break;
+			heap[idx] = heap[child];
+			pos[heap[idx]] = idx;
+			idx = child;
+		}
+		heap[idx] = item;
+		pos[item] = idx;
+	}
+}
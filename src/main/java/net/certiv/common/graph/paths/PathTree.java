@@ -0,0 +1,72 @@
+package net.certiv.common.graph.paths;
+
+import java.util.LinkedList;
+
+import net.certiv.common.graph.CompactGraph;
+import net.certiv.common.graph.Edge;
+import net.certiv.common.graph.Node;
+import net.certiv.common.id.IUId;
+
+/**
+ * Single-source shortest path tree: the shortest path distances, and predecessor edges,
+ * from a source node to every node reachable from the source.
+ *
+ * @see ShortestPaths#all(Node)
+ */
+public class PathTree<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private final CompactGraph<I, N, E> compact;
+	private final int src;
+	private final double[] dist;
+	private final int[] pred;
+
+	PathTree(CompactGraph<I, N, E> compact, int src, double[] dist, int[] pred) {
+		this.compact = compact;
+		this.src = src;
+		this.dist = dist;
+		this.pred = pred;
+	}
+
+	/** @return the tree source node */
+	public N source() {
+		return compact.node(src);
+	}
+
+	/**
+	 * Returns {@code true} if the given node is reachable from the source node.
+	 *
+	 * @param node a target node
+	 * @return {@code true} if reachable
+	 */
+	public boolean reachable(N node) {
+		int idx = compact.indexOf(node);
+		return idx >= 0 && dist[idx] != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the shortest path distance from the source node to the given node.
+	 *
+	 * @param node a target node
+	 * @return the shortest path distance, or {@link Double#POSITIVE_INFINITY} if not
+	 *         reachable
+	 */
+	public double distance(N node) {
+		int idx = compact.indexOf(node);
+		return idx >= 0 ? dist[idx] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the shortest path from the source node to the given node.
+	 *
+	 * @param node a target node
+	 * @return the shortest path, or {@code null} if not reachable
+	 */
+	public WeightedPath<I, N, E> pathTo(N node) {
+		if (!reachable(node)) return null;
+		LinkedList<E> edges = new LinkedList<>();
+		for (int idx = compact.indexOf(node); idx != src; idx = compact.beg(pred[idx])) {
+			edges.addFirst(compact.edge(pred[idx]));
+		}
+		return new WeightedPath<>(source(), edges, distance(node));
+	}
+}
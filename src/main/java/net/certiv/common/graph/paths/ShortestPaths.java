@@ -0,0 +1,385 @@
+package net.certiv.common.graph.paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.ex.IllegalArgsEx;
+import net.certiv.common.graph.CompactGraph;
+import net.certiv.common.graph.Edge;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.Graph;
+import net.certiv.common.graph.Node;
+import net.certiv.common.id.IUId;
+
+/**
+ * Weighted shortest path engine. Operates on a {@link CompactGraph} snapshot, using the
+ * snapshot {@link Edge#weight()} values. Path distances are held in side arrays; no edge
+ * properties are read or written.
+ * <p>
+ * Supports:
+ * <ul>
+ * <li>{@link #shortest(Node, Node)}: Dijkstra
+ * <li>{@link #shortest(Node, Node, Heuristic)}: A*, using a pluggable heuristic
+ * <li>{@link #shortestWithin(Node, Node, Collection)}: Dijkstra, restricted to a subset
+ * of the edges
+ * <li>{@link #bidirectional(Node, Node)}: bidirectional Dijkstra
+ * <li>{@link #all(Node)}: single-source shortest paths to all reachable targets
+ * <li>{@link #kShortest(Node, Node, int)}: Yen's k-shortest loopless paths
+ * </ul>
+ * Edge weights must be non-negative. Single-edge cycles are never part of a shortest
+ * path. Where multiple shortest paths exist, the path selected is deterministic with
+ * respect to the snapshot node and edge order.
+ */
+public class ShortestPaths<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private static final double INF = Double.POSITIVE_INFINITY;
+
+	/**
+	 * A* heuristic providing an estimate of the remaining distance from a node to the
+	 * target node. To ensure a shortest path result, the estimate must never exceed the
+	 * actual remaining distance (admissible) and must not decrease by more than the
+	 * weight of any edge traversed (consistent).
+	 */
+	@FunctionalInterface
+	public interface Heuristic<N> {
+
+		/**
+		 * Estimate the remaining distance from the given node to the given target.
+		 *
+		 * @param node   a node
+		 * @param target the search target node
+		 * @return a non-negative distance estimate
+		 */
+		double estimate(N node, N target);
+	}
+
+	private final CompactGraph<I, N, E> compact;
+
+	/**
+	 * Instantiate a new shortest path engine on a compact snapshot of the given graph.
+	 *
+	 * @param graph search target
+	 * @return new engine instance
+	 * @throws IllegalArgumentException if any edge weight is negative
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> ShortestPaths<I, N, E> in(
+			Graph<I, N, E> graph) {
+		return new ShortestPaths<>(CompactGraph.of(graph));
+	}
+
+	/**
+	 * Instantiate a new shortest path engine on the given compact graph snapshot.
+	 *
+	 * @param compact search target
+	 * @return new engine instance
+	 * @throws IllegalArgumentException if any edge weight is negative
+	 */
+	public static <I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> ShortestPaths<I, N, E> in(
+			CompactGraph<I, N, E> compact) {
+		return new ShortestPaths<>(compact);
+	}
+
+	private ShortestPaths(CompactGraph<I, N, E> compact) {
+		Assert.notNull(compact);
+		for (int eid = 0; eid < compact.edgeCount(); eid++) {
+			double w = compact.weight(eid);
+			if (!(w >= 0)) throw IllegalArgsEx.of("Invalid edge weight %s: %s", w, compact.edge(eid));
+		}
+		this.compact = compact;
+	}
+
+	/** @return the searched compact graph snapshot */
+	public CompactGraph<I, N, E> compact() {
+		return compact;
+	}
+
+	/**
+	 * Finds a shortest path from the given source node to the given target node using
+	 * Dijkstra's algorithm.
+	 *
+	 * @param src the source node
+	 * @param dst the target node
+	 * @return a shortest path, or {@code null} if the target is not reachable
+	 */
+	public WeightedPath<I, N, E> shortest(N src, N dst) {
+		return shortest(src, dst, null);
+	}
+
+	/**
+	 * Finds a shortest path from the given source node to the given target node using
+	 * the A* algorithm with the given heuristic. A {@code null} heuristic is equivalent
+	 * to Dijkstra's algorithm.
+	 *
+	 * @param src       the source node
+	 * @param dst       the target node
+	 * @param heuristic an admissible and consistent remaining distance estimator
+	 * @return a shortest path, or {@code null} if the target is not reachable
+	 */
+	public WeightedPath<I, N, E> shortest(N src, N dst, Heuristic<? super N> heuristic) {
+		int s = index(src);
+		int t = index(dst);
+		Search search = new Search();
+		double d = search.run(s, t, heuristic, null, null);
+		if (d == INF) return null;
+		return new WeightedPath<>(src, trace(s, t, search.pred), d);
+	}
+
+	/**
+	 * Finds a shortest path from the given source node to the given target node using
+	 * Dijkstra's algorithm, traversing only the given edges.
+	 *
+	 * @param src   the source node
+	 * @param dst   the target node
+	 * @param edges the traversable edges; edges not in the snapshot are ignored
+	 * @return a shortest path, or {@code null} if the target is not reachable
+	 */
+	public WeightedPath<I, N, E> shortestWithin(N src, N dst, Collection<? extends E> edges) {
+		Assert.notNull(edges);
+		int s = index(src);
+		int t = index(dst);
+		boolean[] xEdges = new boolean[compact.edgeCount()];
+		Arrays.fill(xEdges, true);
+		for (E edge : edges) {
+			int eid = compact.indexOf(edge);
+			if (eid >= 0) xEdges[eid] = false;
+		}
+
+		Search search = new Search();
+		double d = search.run(s, t, null, null, xEdges);
+		if (d == INF) return null;
+		return new WeightedPath<>(src, trace(s, t, search.pred), d);
+	}
+
+	/**
+	 * Finds a shortest path from the given source node to the given target node using
+	 * bidirectional Dijkstra: searching forward from the source and backward from the
+	 * target until the searches meet.
+	 *
+	 * @param src the source node
+	 * @param dst the target node
+	 * @return a shortest path, or {@code null} if the target is not reachable
+	 */
+	public WeightedPath<I, N, E> bidirectional(N src, N dst) {
+		int s = index(src);
+		int t = index(dst);
+		if (s == t) return new WeightedPath<>(src, List.of(), 0);
+
+		int cnt = compact.nodeCount();
+		double[] df = filled(cnt, INF);
+		double[] db = filled(cnt, INF);
+		int[] pf = new int[cnt];
+		int[] pb = new int[cnt];
+		boolean[] sf = new boolean[cnt];
+		boolean[] sb = new boolean[cnt];
+		MinHeap hf = new MinHeap(cnt);
+		MinHeap hb = new MinHeap(cnt);
+
+		df[s] = 0;
+		db[t] = 0;
+		hf.put(s, 0);
+		hb.put(t, 0);
+		double mu = INF;
+		int meet = -1;
+
+		while (!hf.isEmpty() && !hb.isEmpty()) {
+			if (hf.key(hf.peek()) + hb.key(hb.peek()) >= mu) break;
+
+			boolean fwd = hf.size() <= hb.size();
+			Sense dir = fwd ? Sense.OUT : Sense.IN;
+			MinHeap heap = fwd ? hf : hb;
+			double[] dist = fwd ? df : db;
+			double[] other = fwd ? db : df;
+			int[] pred = fwd ? pf : pb;
+			boolean[] settled = fwd ? sf : sb;
+
+			int node = heap.pop();
+			settled[node] = true;
+			for (int pos = compact.begin(dir, node), end = compact.end(dir, node); pos < end; pos++) {
+				int nxt = compact.target(dir, pos);
+				if (nxt == node || settled[nxt]) continue;
+
+				int eid = compact.edgeAt(dir, pos);
+				double d = dist[node] + compact.weight(eid);
+				if (d < dist[nxt]) {
+					dist[nxt] = d;
+					pred[nxt] = eid;
+					heap.put(nxt, d);
+				}
+				if (other[nxt] != INF && dist[nxt] + other[nxt] < mu) {
+					mu = dist[nxt] + other[nxt];
+					meet = nxt;
+				}
+			}
+		}
+
+		if (meet < 0) return null;
+		LinkedList<E> edges = trace(s, meet, pf);
+		for (int node = meet; node != t; node = compact.end(pb[node])) {
+			edges.addLast(compact.edge(pb[node]));
+		}
+		return new WeightedPath<>(src, edges, mu);
+	}
+
+	/**
+	 * Computes the shortest paths from the given source node to all nodes reachable from
+	 * the source.
+	 *
+	 * @param src the source node
+	 * @return the shortest path tree rooted at the source
+	 */
+	public PathTree<I, N, E> all(N src) {
+		int s = index(src);
+		Search search = new Search();
+		search.run(s, -1, null, null, null);
+		return new PathTree<>(compact, s, search.dist, search.pred);
+	}
+
+	/**
+	 * Finds up to {@code k} shortest loopless paths from the given source node to the
+	 * given target node, using Yen's algorithm. Paths are returned in order of
+	 * non-decreasing weight.
+	 *
+	 * @param src the source node
+	 * @param dst the target node
+	 * @param k   the maximum number of paths to find
+	 * @return list of the shortest paths; empty if the target is not reachable
+	 */
+	public List<WeightedPath<I, N, E>> kShortest(N src, N dst, int k) {
+		Assert.isTrue(k > 0);
+		List<WeightedPath<I, N, E>> found = new ArrayList<>();
+		WeightedPath<I, N, E> first = shortest(src, dst);
+		if (first == null) return found;
+		found.add(first);
+
+		int t = index(dst);
+		List<WeightedPath<I, N, E>> candidates = new ArrayList<>();
+		HashSet<WeightedPath<I, N, E>> seen = new HashSet<>();
+		seen.add(first);
+
+		boolean[] xNodes = new boolean[compact.nodeCount()];
+		boolean[] xEdges = new boolean[compact.edgeCount()];
+		Search search = new Search();
+
+		while (found.size() < k) {
+			WeightedPath<I, N, E> prev = found.get(found.size() - 1);
+			List<E> prevEdges = prev.edges();
+			List<N> prevNodes = prev.nodes();
+
+			double rootWeight = 0;
+			for (int idx = 0; idx < prevEdges.size(); idx++) {
+				int spur = index(prevNodes.get(idx));
+				List<E> root = prevEdges.subList(0, idx);
+
+				Arrays.fill(xNodes, false);
+				Arrays.fill(xEdges, false);
+				for (WeightedPath<I, N, E> path : found) {
+					List<E> edges = path.edges();
+					if (edges.size() > idx && edges.subList(0, idx).equals(root)) {
+						xEdges[compact.indexOf(edges.get(idx))] = true;
+					}
+				}
+				for (int jdx = 0; jdx < idx; jdx++) {
+					xNodes[index(prevNodes.get(jdx))] = true;
+				}
+
+				double d = search.run(spur, t, null, xNodes, xEdges);
+				if (d != INF) {
+					LinkedList<E> edges = trace(spur, t, search.pred);
+					edges.addAll(0, root);
+					WeightedPath<I, N, E> path = new WeightedPath<>(src, edges, rootWeight + d);
+					if (seen.add(path)) candidates.add(path);
+				}
+				rootWeight += compact.weight(compact.indexOf(prevEdges.get(idx)));
+			}
+
+			if (candidates.isEmpty()) break;
+			int min = 0;
+			for (int idx = 1; idx < candidates.size(); idx++) {
+				if (candidates.get(idx).weight() < candidates.get(min).weight()) min = idx;
+			}
+			found.add(candidates.remove(min));
+		}
+		return found;
+	}
+
+	// --------------------------------
+
+	private int index(N node) {
+		int idx = compact.indexOf(node);
+		if (idx < 0) throw IllegalArgsEx.of("Node not in graph snapshot: %s", node);
+		return idx;
+	}
+
+	/** Returns the edges, in path order, of the predecessor chain from src to dst. */
+	private LinkedList<E> trace(int src, int dst, int[] pred) {
+		LinkedList<E> edges = new LinkedList<>();
+		for (int node = dst; node != src; node = compact.beg(pred[node])) {
+			edges.addFirst(compact.edge(pred[node]));
+		}
+		return edges;
+	}
+
+	private static double[] filled(int cnt, double value) {
+		double[] values = new double[cnt];
+		Arrays.fill(values, value);
+		return values;
+	}
+
+	/** Forward Dijkstra/A* search state; reusable across runs. */
+	private class Search {
+
+		final double[] dist = new double[compact.nodeCount()];
+		final int[] pred = new int[compact.nodeCount()];
+		final boolean[] settled = new boolean[compact.nodeCount()];
+		final MinHeap heap = new MinHeap(compact.nodeCount());
+
+		/**
+		 * Search from {@code src} to {@code dst}, or to all reachable nodes if {@code dst}
+		 * is negative. Excluded nodes and edges, if given, are not traversed.
+		 *
+		 * @return the distance to {@code dst}, or {@code INF} if not reached
+		 */
+		double run(int src, int dst, Heuristic<? super N> heuristic, boolean[] xNodes, boolean[] xEdges) {
+			Arrays.fill(dist, INF);
+			Arrays.fill(pred, -1);
+			Arrays.fill(settled, false);
+			heap.clear();
+
+			N target = dst >= 0 ? compact.node(dst) : null;
+			double[] est = heuristic != null ? filled(dist.length, Double.NaN) : null;
+
+			dist[src] = 0;
+			heap.put(src, 0);
+			while (!heap.isEmpty()) {
+				int node = heap.pop();
+				settled[node] = true;
+				if (node == dst) return dist[node];
+
+				for (int pos = compact.begin(Sense.OUT, node), end = compact.end(Sense.OUT, node); pos < end; pos++) {
+					int nxt = compact.target(Sense.OUT, pos);
+					if (nxt == node || settled[nxt]) continue;
+					if (xNodes != null && xNodes[nxt]) continue;
+
+					int eid = compact.edgeAt(Sense.OUT, pos);
+					if (xEdges != null && xEdges[eid]) continue;
+
+					double d = dist[node] + compact.weight(eid);
+					if (d < dist[nxt]) {
+						dist[nxt] = d;
+						pred[nxt] = eid;
+						if (est != null && Double.isNaN(est[nxt])) {
+							est[nxt] = heuristic.estimate(compact.node(nxt), target);
+						}
+						heap.put(nxt, est != null ? d + est[nxt] : d);
+					}
+				}
+			}
+			return dst >= 0 ? dist[dst] : 0;
+		}
+	}
+}
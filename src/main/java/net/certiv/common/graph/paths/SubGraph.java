@@ -94,6 +94,17 @@ public class SubGraph<I extends IUId, N extends Node<I, N, E>, E extends Edge<I,
 		return path;
 	}
 
+	/**
+	 * Associates the given path with the given head node. The path may be empty.
+	 *
+	 * @param head path head node
+	 * @param path the path to associate
+	 * @return any previous path associated with the given head node
+	 */
+	GraphPath<I, N, E> putPath(N head, GraphPath<I, N, E> path) {
+		return paths.put(head, path);
+	}
+
 	public N head(GraphPath<I, N, E> path) {
 		return heads().stream().filter(h -> getPath(h).equals(path)).findFirst().orElse(null);
 	}
@@ -1,8 +1,16 @@
 package net.certiv.common.graph.paths;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 import net.certiv.common.check.Assert;
+import net.certiv.common.graph.CompactGraph;
 import net.certiv.common.graph.Edge;
 import net.certiv.common.graph.Edge.Sense;
 import net.certiv.common.graph.Graph;
@@ -12,6 +20,7 @@ import net.certiv.common.graph.Walker.NodeVisitor;
 import net.certiv.common.id.IUId;
 import net.certiv.common.log.Log;
 import net.certiv.common.stores.LinkedHashList;
+import net.certiv.common.stores.UniqueList;
 
 public class SubGraphFinder<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
 
@@ -22,7 +31,7 @@ public class SubGraphFinder<I extends IUId, N extends Node<I, N, E>, E extends E
 
 	/** entire subgraph path set last found by this subgraph finder */
 	private final SubGraph<I, N, E> sg;
-	/** Path weight property key: for min total weighted distance */
+	/** Path key; formerly the edge property key of the min total weighted distance */
 	private final String key;
 
 	private Predicate<? super N> beg = TRUE;
@@ -71,7 +80,12 @@ public class SubGraphFinder<I extends IUId, N extends Node<I, N, E>, E extends E
 		sg = new SubGraph<>(graph);
 	}
 
-	/** @return the weighted distance property key */
+	/**
+	 * @return the path key
+	 * @deprecated weighted distances are no longer held in edge properties; use
+	 *             {@link ShortestPaths} for path distances
+	 */
+	@Deprecated
 	public String getDistanceKey() {
 		return key;
 	}
@@ -211,6 +225,136 @@ public class SubGraphFinder<I extends IUId, N extends Node<I, N, E>, E extends E
 		return sg;
 	}
 
+	/**
+	 * Execute this path subgraph finder to collect the subgraph paths existing under all
+	 * graph roots, searching concurrently using a pool of the given number of threads.
+	 *
+	 * @param threads the number of search threads
+	 * @return subgraph containing the found paths
+	 * @see #find(Executor)
+	 */
+	public SubGraph<I, N, E> find(int threads) {
+		Assert.isTrue(threads > 0);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return find(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Execute this path subgraph finder to collect the subgraph paths existing under all
+	 * graph roots, searching concurrently using the given executor. The result is
+	 * identical to that of {@link #find()}.
+	 * <p>
+	 * Roots are partitioned by weakly connected component: a search from one root can
+	 * only encounter the paths found under roots of the same component. Each component is
+	 * searched as a separate task, visiting its roots in root order and collecting into a
+	 * task local subgraph. The task subgraphs are then merged in the order that the
+	 * sequential search would have found their paths.
+	 * <p>
+	 * Where this finder already holds paths found by a prior search, those paths may
+	 * affect the current search, which is then performed sequentially.
+	 * <p>
+	 * The graph must not be modified during the search.
+	 *
+	 * @param executor the search task executor
+	 * @return subgraph containing the found paths
+	 */
+	public SubGraph<I, N, E> find(Executor executor) {
+		Assert.notNull(executor);
+		if (!sg.isEmpty()) return find();
+
+		UniqueList<N> roots = graph.getRoots();
+		List<CompletableFuture<Found>> tasks = new ArrayList<>();
+		for (List<N> group : partition(roots)) {
+			tasks.add(CompletableFuture.supplyAsync(() -> new Found(group), executor));
+		}
+
+		// collect the paths first found under each root, in task local found order
+		LinkedHashMap<N, List<N>> heads = new LinkedHashMap<>();
+		LinkedHashMap<N, SubGraph<I, N, E>> results = new LinkedHashMap<>();
+		for (CompletableFuture<Found> task : tasks) {
+			Found found = join(task);
+			List<N> order = found.local.heads();
+			for (int idx = 0; idx < found.roots.size(); idx++) {
+				N root = found.roots.get(idx);
+				heads.put(root, order.subList(found.bounds[idx], found.bounds[idx + 1]));
+				results.put(root, found.local);
+			}
+		}
+
+		// merge in root order
+		for (N root : roots) {
+			SubGraph<I, N, E> local = results.get(root);
+			for (N head : heads.get(root)) {
+				sg.putPath(head, local.getPath(head));
+			}
+		}
+		return sg;
+	}
+
+	/** Per-task search state: the task roots and the task local subgraph. */
+	private class Found {
+
+		final List<N> roots;
+		final SubGraph<I, N, E> local;
+		/** Local subgraph size before searching each root; length is root count + 1. */
+		final int[] bounds;
+
+		Found(List<N> roots) {
+			this.roots = roots;
+			local = new SubGraph<>(graph);
+			bounds = new int[roots.size() + 1];
+			for (int idx = 0; idx < roots.size(); idx++) {
+				bounds[idx] = local.size();
+				find(local, roots.get(idx));
+			}
+			bounds[roots.size()] = local.size();
+		}
+	}
+
+	/** Partitions the given roots by weakly connected component, in root order. */
+	private List<List<N>> partition(UniqueList<N> roots) {
+		CompactGraph<I, N, E> compact = CompactGraph.of(graph);
+		int[] parent = new int[compact.nodeCount()];
+		for (int idx = 0; idx < parent.length; idx++) {
+			parent[idx] = idx;
+		}
+		for (int edge = 0; edge < compact.edgeCount(); edge++) {
+			int beg = component(parent, compact.beg(edge));
+			int end = component(parent, compact.end(edge));
+			if (beg != end) parent[Math.max(beg, end)] = Math.min(beg, end);
+		}
+
+		LinkedHashMap<Integer, List<N>> groups = new LinkedHashMap<>();
+		for (N root : roots) {
+			int comp = component(parent, compact.indexOf(root));
+			groups.computeIfAbsent(comp, k -> new ArrayList<>()).add(root);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	/** Returns the representative of the given node index, compressing the path. */
+	private int component(int[] parent, int idx) {
+		while (parent[idx] != idx) {
+			parent[idx] = parent[parent[idx]];
+			idx = parent[idx];
+		}
+		return idx;
+	}
+
+	private Found join(CompletableFuture<Found> task) {
+		try {
+			return task.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error) throw (Error) e.getCause();
+			throw e;
+		}
+	}
+
 	// --------------------------------
 
 	/**
@@ -232,6 +376,11 @@ public class SubGraphFinder<I extends IUId, N extends Node<I, N, E>, E extends E
 	 * @see ITransform#copy(SubGraph, Node, boolean)
 	 */
 	public SubGraph<I, N, E> find(N start) {
+		return find(sg, start);
+	}
+
+	/** Collects the subgraph paths under the given start node into the given subgraph. */
+	private SubGraph<I, N, E> find(SubGraph<I, N, E> sg, N start) {
 		graph.walker().debug(debug).descend(new NodeVisitor<N>() {
 
 			/** current/last active path */
@@ -297,18 +446,13 @@ public class SubGraphFinder<I extends IUId, N extends Node<I, N, E>, E extends E
 		return sg;
 	}
 
-	/**
-	 * Clears the entire subgraph last found by this finder. Removes the instance specific
-	 * weighted distance property keys present in included edges and clears the subgraph
-	 * paths.
-	 */
+	/** Clears the entire subgraph last found by this finder, clearing the subgraph paths. */
 	public void clear() {
 		clear(sg);
 	}
 
 	/**
-	 * Clears the given subgraph. Removes the instance specific weighted distance property
-	 * keys beg the included edges and clears the included subgraph paths.
+	 * Clears the given subgraph, clearing the included subgraph paths.
 	 *
 	 * @param sg a subgraph
 	 */
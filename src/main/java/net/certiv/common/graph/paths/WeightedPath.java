@@ -0,0 +1,94 @@
+package net.certiv.common.graph.paths;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.certiv.common.graph.Edge;
+import net.certiv.common.graph.Node;
+import net.certiv.common.id.IUId;
+
+/**
+ * Immutable weighted path: a sequence of edges, each beginning at the end node of the
+ * prior edge, leading from a head node to a tail node. The path weight is the sum of
+ * the edge weights.
+ * <p>
+ * A path containing no edges leads from the head node to itself, with zero weight.
+ *
+ * @see ShortestPaths
+ */
+public class WeightedPath<I extends IUId, N extends Node<I, N, E>, E extends Edge<I, N, E>> {
+
+	private final N head;
+	private final List<E> edges;
+	private final double weight;
+
+	/**
+	 * Construct a path from the given head node through the given edges.
+	 *
+	 * @param head   the path head node
+	 * @param edges  the path edges, in path order
+	 * @param weight the path weight
+	 */
+	public WeightedPath(N head, List<E> edges, double weight) {
+		this.head = head;
+		this.edges = Collections.unmodifiableList(new ArrayList<>(edges));
+		this.weight = weight;
+	}
+
+	/** @return the path head node */
+	public N head() {
+		return head;
+	}
+
+	/** @return the path tail node */
+	public N tail() {
+		return edges.isEmpty() ? head : edges.get(edges.size() - 1).end();
+	}
+
+	/** @return the unmodifiable list of path edges, in path order */
+	public List<E> edges() {
+		return edges;
+	}
+
+	/** @return the unmodifiable list of path nodes, head to tail */
+	public List<N> nodes() {
+		List<N> nodes = new ArrayList<>(edges.size() + 1);
+		nodes.add(head);
+		edges.forEach(e -> nodes.add(e.end()));
+		return Collections.unmodifiableList(nodes);
+	}
+
+	/** @return the sum of the path edge weights */
+	public double weight() {
+		return weight;
+	}
+
+	/** @return the number of edges in this path */
+	public int size() {
+		return edges.size();
+	}
+
+	/** @return {@code true} if this path contains no edges */
+	public boolean isEmpty() {
+		return edges.isEmpty();
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * head.hashCode() + edges.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof WeightedPath)) return false;
+		WeightedPath<?, ?, ?> other = (WeightedPath<?, ?, ?>) obj;
+		return head.equals(other.head) && edges.equals(other.edges);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [%s]", nodes(), weight);
+	}
+}
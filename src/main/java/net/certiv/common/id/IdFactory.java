@@ -25,6 +25,10 @@ public class IdFactory extends SIdFactory<Seq> {
 		super(ns);
 	}
 
+	public IdFactory(String ns, boolean weak) {
+		super(ns, weak);
+	}
+
 	@Override
 	protected Seq __make(List<String> names) {
 		return new Seq(names);
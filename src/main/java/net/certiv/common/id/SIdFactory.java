@@ -38,6 +38,16 @@ public abstract class SIdFactory<T extends Seq> extends UIdFactory<SId<T>, T> {
 		super(ns);
 	}
 
+	/**
+	 * Creates the factory with the given default namespace; {@code ANON} if {@code null}.
+	 *
+	 * @param ns   the namespace for factored idents
+	 * @param weak {@code true} to hold idents by weak reference
+	 */
+	public SIdFactory(String ns, boolean weak) {
+		super(ns, weak);
+	}
+
 	/**
 	 * Return an existing ident corresponding to the given naming elements in the default
 	 * namespace.
@@ -58,11 +68,7 @@ public abstract class SIdFactory<T extends Seq> extends UIdFactory<SId<T>, T> {
 	 * @return existing ident or {@code null}
 	 */
 	public SId<T> find(String ns, List<String> elems) {
-		return cache.stream() //
-				.map(t -> (SId<T>) t) //
-				.filter(t -> t.ns.equals(ns) && t.get().seq.equals(elems)) //
-				.findFirst() //
-				.orElse(null);
+		return find(ns, __make(elems));
 	}
 
 	/**
@@ -130,8 +136,6 @@ public abstract class SIdFactory<T extends Seq> extends UIdFactory<SId<T>, T> {
 	 */
 	public SId<T> make(String ns, List<String> elems) {
 		List<String> names = CompareUtil.parse(elems);
-		SId<T> id = find(ns, names);
-		if (id != null) return id;
 		return super.make(ns, __make(names));
 	}
 
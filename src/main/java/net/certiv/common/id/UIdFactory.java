@@ -1,9 +1,30 @@
 package net.certiv.common.id;
 
-import java.util.LinkedHashSet;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Base factory for unique, interned idents. Idents are held in a concurrent intern table,
+ * indexed by namespace and then by name, supporting constant time lookup and safe
+ * concurrent creation: for any given namespace and name, all threads obtain the same
+ * ident instance.
+ * <p>
+ * In weak mode, the table holds idents by weak reference, allowing otherwise unused
+ * idents to be collected. A subsequent {@code make} for a collected ident creates a new,
+ * equal, ident instance.
+ *
+ * @param <T> ident type
+ * @param <U> ident name type
+ */
 public abstract class UIdFactory<T extends UId<U>, U extends UIdName> {
 
 	public static final String ANON = "anon";
@@ -11,8 +32,21 @@ public abstract class UIdFactory<T extends UId<U>, U extends UIdName> {
 	public static final String NIL = "nil";
 	public static final String UNKNOWN = "unknown";
 
-	/** Cache: value=id */
-	protected final Set<T> cache = new LinkedHashSet<>();
+	/** Intern table: key=namespace; value=(key=name; value=id or weak id reference) */
+	private final ConcurrentHashMap<String, ConcurrentHashMap<U, Object>> table = new ConcurrentHashMap<>();
+	/** Collected weak id references; {@code null} if not in weak mode. */
+	private final ReferenceQueue<T> collected;
+
+	/**
+	 * Cache: value=id. A live view of the intern table, across all namespaces; ids added
+	 * are interned, unless an id of the same namespace and name is present. Iteration
+	 * order is unspecified.
+	 *
+	 * @deprecated retained for subclass compatibility; use {@link #find} and
+	 *                 {@link #defined(String)}
+	 */
+	@Deprecated
+	protected final Set<T> cache = new Cache();
 
 	/** The namespace specific to this factory instance. */
 	public final String ns;
@@ -23,11 +57,27 @@ public abstract class UIdFactory<T extends UId<U>, U extends UIdName> {
 	 * @param ns the namespace for factored idents
 	 */
 	public UIdFactory(String ns) {
+		this(ns, false);
+	}
+
+	/**
+	 * Creates the factory with the given default namespace; {@code ANON} if {@code null}.
+	 *
+	 * @param ns   the namespace for factored idents
+	 * @param weak {@code true} to hold idents by weak reference
+	 */
+	public UIdFactory(String ns, boolean weak) {
 		this.ns = ns != null ? ns : DEFAULT;
+		this.collected = weak ? new ReferenceQueue<>() : null;
 	}
 
 	// ---- Public API ----
 
+	/** @return {@code true} if idents are held by weak reference */
+	public boolean isWeak() {
+		return collected != null;
+	}
+
 	/**
 	 * Returns the current id set for the default namespace.
 	 *
@@ -44,9 +94,15 @@ public abstract class UIdFactory<T extends UId<U>, U extends UIdName> {
 	 * @return namespace ids
 	 */
 	public Set<T> defined(String ns) {
-		return cache.stream() //
-				.filter(k -> k.ns.equals(ns)) //
-				.collect(Collectors.toUnmodifiableSet());
+		Map<U, Object> names = table.get(ns);
+		if (names == null) return Set.of();
+
+		Set<T> ids = new HashSet<>();
+		for (Object val : names.values()) {
+			T id = deref(val);
+			if (id != null) ids.add(id);
+		}
+		return Collections.unmodifiableSet(ids);
 	}
 
 	/**
@@ -58,10 +114,8 @@ public abstract class UIdFactory<T extends UId<U>, U extends UIdName> {
 	 * @return existing ident or {@code null}
 	 */
 	public T find(String ns, U elem) {
-		return cache.stream() //
-				.filter(t -> t.ns.equals(ns) && t.nu.equals(elem)) //
-				.findFirst() //
-				.orElse(null);
+		Map<U, Object> names = table.get(ns);
+		return names != null ? deref(names.get(elem)) : null;
 	}
 
 	/**
@@ -81,13 +135,142 @@ public abstract class UIdFactory<T extends UId<U>, U extends UIdName> {
 	 * @param elem an identifier
 	 * @return existing or new ident
 	 */
+	@SuppressWarnings("unchecked")
 	protected T make(String ns, U elem) {
 		T id = find(ns, elem);
-		if (id != null) return (T) id;
+		if (id != null) return id;
+
+		ConcurrentHashMap<U, Object> names = table.computeIfAbsent(ns, k -> new ConcurrentHashMap<>());
+		if (collected == null) return (T) names.computeIfAbsent(elem, e -> __make(ns, e));
+
+		expunge();
+		Object[] made = new Object[1];
+		names.compute(elem, (e, val) -> {
+			T cur = deref(val);
+			if (cur != null) {
+				made[0] = cur;
+				return val;
+			}
+			T nid = __make(ns, e);
+			made[0] = nid;
+			return new IdRef<>(nid, ns, e, collected);
+		});
+		return (T) made[0];
+	}
+
+	@SuppressWarnings("unchecked")
+	private T deref(Object val) {
+		if (val instanceof IdRef) return ((IdRef<T>) val).get();
+		return (T) val;
+	}
+
+	/** Removes the table entries of collected idents. */
+	private void expunge() {
+		for (Object ref; (ref = collected.poll()) != null;) {
+			IdRef<?> idRef = (IdRef<?>) ref;
+			Map<?, Object> names = table.get(idRef.ns);
+			if (names != null) names.remove(idRef.key, idRef);
+		}
+	}
+
+	/** Set view of the intern table. */
+	private final class Cache extends AbstractSet<T> {
+
+		@Override
+		public Iterator<T> iterator() {
+			List<T> ids = new ArrayList<>();
+			for (Map<U, Object> names : table.values()) {
+				for (Object val : names.values()) {
+					T id = deref(val);
+					if (id != null) ids.add(id);
+				}
+			}
+			Iterator<T> itr = ids.iterator();
+			return new Iterator<>() {
+
+				T last;
+
+				@Override
+				public boolean hasNext() {
+					return itr.hasNext();
+				}
+
+				@Override
+				public T next() {
+					last = itr.next();
+					return last;
+				}
+
+				@Override
+				public void remove() {
+					if (last == null) throw new IllegalStateException();
+					Cache.this.remove(last);
+					last = null;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			int size = 0;
+			for (Map<U, Object> names : table.values()) {
+				for (Object val : names.values()) {
+					if (deref(val) != null) size++;
+				}
+			}
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof UId)) return false;
+			UId<?> id = (UId<?>) o;
+			Map<U, Object> names = table.get(id.ns);
+			return names != null && o.equals(deref(names.get(id.nu)));
+		}
+
+		@Override
+		public boolean add(T id) {
+			ConcurrentHashMap<U, Object> names = table.computeIfAbsent(id.ns, k -> new ConcurrentHashMap<>());
+			if (collected == null) return names.putIfAbsent(id.nu, id) == null;
+
+			expunge();
+			boolean[] added = new boolean[1];
+			names.compute(id.nu, (e, val) -> {
+				if (deref(val) != null) return val;
+				added[0] = true;
+				return new IdRef<>(id, id.ns, e, collected);
+			});
+			return added[0];
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (!(o instanceof UId)) return false;
+			UId<?> id = (UId<?>) o;
+			Map<U, Object> names = table.get(id.ns);
+			if (names == null) return false;
+			Object val = names.get(id.nu);
+			return val != null && o.equals(deref(val)) && names.remove(id.nu, val);
+		}
+
+		@Override
+		public void clear() {
+			table.clear();
+		}
+	}
+
+	/** Weak ident reference, retaining its table location for removal once collected. */
+	private static final class IdRef<T> extends WeakReference<T> {
+
+		final String ns;
+		final Object key;
 
-		id = __make(ns, elem);
-		cache.add(id);
-		return (T) id;
+		IdRef(T id, String ns, Object key, ReferenceQueue<? super T> queue) {
+			super(id, queue);
+			this.ns = ns;
+			this.key = key;
+		}
 	}
 
 	// ---- Internal API --------------
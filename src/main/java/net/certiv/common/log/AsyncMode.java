@@ -0,0 +1,99 @@
+package net.certiv.common.log;
+
+import net.certiv.common.check.Assert;
+
+/**
+ * Configuration of the asynchronous {@link Log} mode. Log entries are queued in a
+ * bounded ring buffer, and written in batches, by a single background writer thread, to
+ * the configured appenders. Appender output is flushed once per batch.
+ * <p>
+ * The overflow policy determines the treatment of entries logged while the buffer is
+ * full:
+ * <ul>
+ * <li>{@link Overflow#BLOCK}: the logging thread waits for space
+ * <li>{@link Overflow#DROP_OLDEST}: the oldest queued entry is dropped to make space
+ * <li>{@link Overflow#DROP_BELOW}: entries less specific than the drop level are
+ * dropped; others wait for space
+ * </ul>
+ */
+public final class AsyncMode {
+
+	/** Default ring buffer capacity. */
+	public static final int CAPACITY = 8192;
+	/** Default maximum entries written per batch. */
+	public static final int BATCH = 256;
+
+	public enum Overflow {
+		BLOCK,
+		DROP_OLDEST,
+		DROP_BELOW;
+	}
+
+	final int capacity;
+	final Overflow overflow;
+	final Level level;
+	int batch = BATCH;
+
+	/** @return an async mode, of default capacity, that blocks on overflow */
+	public static AsyncMode of() {
+		return new AsyncMode(CAPACITY, Overflow.BLOCK, null);
+	}
+
+	/**
+	 * Returns an async mode of the given capacity and overflow policy. For the
+	 * {@code DROP_BELOW} policy, the drop level defaults to {@code WARN}.
+	 *
+	 * @param capacity the ring buffer capacity; rounded up to a power of two
+	 * @param overflow the overflow policy
+	 * @return an async mode
+	 */
+	public static AsyncMode of(int capacity, Overflow overflow) {
+		return new AsyncMode(capacity, overflow, Level.WARN);
+	}
+
+	/**
+	 * Returns an async mode of the given capacity that, on overflow, drops entries less
+	 * specific than the given level.
+	 *
+	 * @param capacity the ring buffer capacity; rounded up to a power of two
+	 * @param level    the least specific level retained on overflow
+	 * @return an async mode
+	 */
+	public static AsyncMode dropBelow(int capacity, Level level) {
+		Assert.notNull(level);
+		return new AsyncMode(capacity, Overflow.DROP_BELOW, level);
+	}
+
+	private AsyncMode(int capacity, Overflow overflow, Level level) {
+		Assert.isTrue(capacity > 0);
+		Assert.notNull(overflow);
+		this.capacity = capacity;
+		this.overflow = overflow;
+		this.level = level;
+	}
+
+	/**
+	 * Sets the maximum number of entries written, and flushed, as a single batch.
+	 *
+	 * @param batch the batch size
+	 * @return this async mode
+	 */
+	public AsyncMode batch(int batch) {
+		Assert.isTrue(batch > 0);
+		this.batch = batch;
+		return this;
+	}
+
+	/**
+	 * Returns {@code true} if an entry of the given level is dropped, rather than queued,
+	 * when the ring buffer is full.
+	 */
+	boolean drops(Level level) {
+		return overflow == Overflow.DROP_BELOW && !level.isMoreSpecificThan(this.level);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AsyncMode[%s %s/%s]", overflow, capacity, batch);
+	}
+}
@@ -2,120 +2,149 @@ package net.certiv.common.log;
 
 import java.lang.StackWalker.Option;
 import java.lang.StackWalker.StackFrame;
+import java.util.Comparator;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.appender.AbstractOutputStreamAppender;
 import org.apache.logging.log4j.core.appender.ConsoleAppender;
 import org.apache.logging.log4j.core.appender.ConsoleAppender.Target;
 import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.message.StringFormattedMessage;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.apache.logging.log4j.util.StackLocator;
 
 public class Log {
 
+	// Each message method first checks whether the level is enabled for any class, at
+	// the cost of a single volatile read. Only then is the calling class resolved and
+	// checked, and the message is formatted only by an enabled logger.
+
 	public static void trace(String message) {
-		log(Level.TRACE, message, null);
+		if (isEnabled(Level.TRACE)) log(null, Level.TRACE, new SimpleMessage(message), null);
 	}
 
 	public static void trace(String format, Object... args) {
-		log(Level.TRACE, String.format(format, args), null);
+		if (isEnabled(Level.TRACE)) log(null, Level.TRACE, new StringFormattedMessage(format, args), null);
+	}
+
+	public static void trace(Supplier<String> message) {
+		if (isEnabled(Level.TRACE)) log(null, Level.TRACE, message, null);
 	}
 
 	public static void trace(String message, Throwable e) {
-		log(Level.TRACE, message, e);
+		if (isEnabled(Level.TRACE)) log(null, Level.TRACE, new SimpleMessage(message), e);
 	}
 
 	public static void debug(String message) {
-		log(Level.DEBUG, message, null);
+		if (isEnabled(Level.DEBUG)) log(null, Level.DEBUG, new SimpleMessage(message), null);
 	}
 
 	public static void debug(String format, Object... args) {
-		log(Level.DEBUG, String.format(format, args), null);
+		if (isEnabled(Level.DEBUG)) log(null, Level.DEBUG, new StringFormattedMessage(format, args), null);
+	}
+
+	public static void debug(Supplier<String> message) {
+		if (isEnabled(Level.DEBUG)) log(null, Level.DEBUG, message, null);
 	}
 
 	public static void debug(String message, Throwable e) {
-		log(Level.DEBUG, message, e);
+		if (isEnabled(Level.DEBUG)) log(null, Level.DEBUG, new SimpleMessage(message), e);
 	}
 
 	public static void info(String message) {
-		log(Level.INFO, message, null);
+		if (isEnabled(Level.INFO)) log(null, Level.INFO, new SimpleMessage(message), null);
 	}
 
 	public static void info(String format, Object... args) {
-		log(Level.INFO, String.format(format, args), null);
+		if (isEnabled(Level.INFO)) log(null, Level.INFO, new StringFormattedMessage(format, args), null);
+	}
+
+	public static void info(Supplier<String> message) {
+		if (isEnabled(Level.INFO)) log(null, Level.INFO, message, null);
 	}
 
 	public static void info(String message, Throwable e) {
-		log(Level.INFO, message, e);
+		if (isEnabled(Level.INFO)) log(null, Level.INFO, new SimpleMessage(message), e);
 	}
 
 	public static void warn(String message) {
-		log(Level.WARN, message, null);
+		if (isEnabled(Level.WARN)) log(null, Level.WARN, new SimpleMessage(message), null);
 	}
 
 	public static void warn(String format, Object... args) {
-		log(Level.WARN, String.format(format, args), null);
+		if (isEnabled(Level.WARN)) log(null, Level.WARN, new StringFormattedMessage(format, args), null);
+	}
+
+	public static void warn(Supplier<String> message) {
+		if (isEnabled(Level.WARN)) log(null, Level.WARN, message, null);
 	}
 
 	public static void warn(String message, Throwable e) {
-		log(Level.WARN, message, e);
+		if (isEnabled(Level.WARN)) log(null, Level.WARN, new SimpleMessage(message), e);
 	}
 
 	public static void error(String message) {
-		log(Level.ERROR, message, null);
+		if (isEnabled(Level.ERROR)) log(null, Level.ERROR, new SimpleMessage(message), null);
 	}
 
 	public static void error(String format, Object... args) {
-		log(Level.ERROR, String.format(format, args), null);
+		if (isEnabled(Level.ERROR)) log(null, Level.ERROR, new StringFormattedMessage(format, args), null);
+	}
+
+	public static void error(Supplier<String> message) {
+		if (isEnabled(Level.ERROR)) log(null, Level.ERROR, message, null);
 	}
 
 	public static void error(Throwable e, String format, Object... args) {
-		log(Level.ERROR, String.format(format, args), e);
+		if (isEnabled(Level.ERROR)) log(null, Level.ERROR, new StringFormattedMessage(format, args), e);
 	}
 
 	public static void error(String message, Throwable e) {
-		log(Level.ERROR, message, e);
+		if (isEnabled(Level.ERROR)) log(null, Level.ERROR, new SimpleMessage(message), e);
 	}
 
 	public static void fatal(String message) {
-		log(Level.FATAL, message, null);
+		if (isEnabled(Level.FATAL)) log(null, Level.FATAL, new SimpleMessage(message), null);
 	}
 
 	public static void fatal(String message, Throwable e) {
-		log(Level.FATAL, message, e);
+		if (isEnabled(Level.FATAL)) log(null, Level.FATAL, new SimpleMessage(message), e);
 	}
 
 	// --------------------------------
 
 	public static void printf(LogDesc desc) {
-		_printf(desc.level(), new StringFormattedMessage(desc.toString()));
+		if (isEnabled(desc.level())) _printf(desc.level(), new StringFormattedMessage(desc.toString()));
 	}
 
 	public static void printf(Level level, String msg) {
-		_printf(level, new StringFormattedMessage(msg));
+		if (isEnabled(level)) _printf(level, new StringFormattedMessage(msg));
 	}
 
 	public static void printf(Level level, String fmt, Object... args) {
-		_printf(level, new StringFormattedMessage(fmt, args));
+		if (isEnabled(level)) _printf(level, new StringFormattedMessage(fmt, args));
 	}
 
 	public static void printf(String level, String fmt, Object... args) {
-		_printf(Level.toLevel(level), new StringFormattedMessage(fmt, args));
+		printf(Level.toLevel(level), fmt, args);
 	}
 
 	public static void _printf(Level level, StringFormattedMessage msg) {
 		Class<?> origin = caller();
 		if (loggable(origin, level)) {
-			ExtendedLogger logger = LogManager.getLogger(origin, ctx_);
-			logger.logMessage(FQCN, convert(level), null, msg, null);
+			write(logger(origin), level, msg, null, false);
 		}
 	}
 
@@ -128,13 +157,144 @@ public class Log {
 	}
 
 	public static void log(Class<?> caller, Level level, String msg, Throwable e) {
+		if (isEnabled(level)) log(caller, level, new SimpleMessage(msg), e);
+	}
+
+	private static void log(Class<?> caller, Level level, Message msg, Throwable e) {
+		Class<?> origin = caller != null ? caller : caller();
+		if (loggable(origin, level)) {
+			write(logger(origin), level, msg, e, true);
+		}
+	}
+
+	private static void log(Class<?> caller, Level level, Supplier<String> msg, Throwable e) {
 		Class<?> origin = caller != null ? caller : caller();
 		if (loggable(origin, level)) {
-			ExtendedLogger log = LogManager.getLogger(origin, ctx_);
-			log.logIfEnabled(FQCN, convert(level), null, msg, e);
+			ExtendedLogger logger = logger(origin);
+			if (writer_ == null) {
+				logger.logIfEnabled(FQCN, convert(level), null, (org.apache.logging.log4j.util.Supplier<?>) msg::get,
+						e);
+			} else if (logger.isEnabled(convert(level))) {
+				write(logger, level, new SimpleMessage(msg.get()), e, false);
+			}
 		}
 	}
 
+	/**
+	 * Writes the given message, directly or, in async mode, by queuing an entry for the
+	 * background writer. Queued messages are formatted, and the caller location
+	 * determined, on the calling thread.
+	 *
+	 * @param filter {@code true} to apply the logger level filter
+	 */
+	private static void write(ExtendedLogger logger, Level level, Message msg, Throwable e, boolean filter) {
+		LogWriter writer = writer_;
+		org.apache.logging.log4j.Level lvl = convert(level);
+		if (writer == null) {
+			if (filter) {
+				logger.logIfEnabled(FQCN, lvl, null, msg, e);
+			} else {
+				logger.logMessage(FQCN, lvl, null, msg, e);
+			}
+
+		} else if (!filter || logger.isEnabled(lvl)) {
+			msg.getFormattedMessage();
+			StackTraceElement location = logger instanceof LoggerExt ? ((LoggerExt) logger).calcLocation(FQCN) : null;
+			writer.submit(new LogWriter.Entry(logger, level, msg, e, location));
+		}
+	}
+
+	/** Writes a queued entry; called by the background writer. */
+	private static void emit(LogWriter.Entry entry) {
+		org.apache.logging.log4j.Level lvl = convert(entry.level);
+		if (entry.logger instanceof LoggerExt) {
+			((LoggerExt) entry.logger).logMessage(FQCN, lvl, null, entry.msg, entry.e, entry.location);
+		} else {
+			entry.logger.logMessage(FQCN, lvl, null, entry.msg, entry.e);
+		}
+	}
+
+	/** Flushes the output stream appenders; called by the background writer per batch. */
+	private static void flush() {
+		LoggerContext ctx = ctx_;
+		if (ctx == null) return;
+		for (Appender appender : ctx.getConfiguration().getAppenders().values()) {
+			if (appender instanceof AbstractOutputStreamAppender) {
+				((AbstractOutputStreamAppender<?>) appender).getManager().flush();
+			}
+		}
+	}
+
+	// --------------------------------
+
+	/**
+	 * Enables, or disables, asynchronous logging. In async mode, log entries are queued in
+	 * a bounded ring buffer, and written in batches by a background writer thread,
+	 * subject to the overflow policy of the given mode. On disabling, and on JVM
+	 * shutdown, all queued entries are written before the writer stops.
+	 * <p>
+	 * Forces the logger to reinitialize.
+	 *
+	 * @param mode the async mode, or {@code null} to log synchronously
+	 */
+	public static synchronized void setAsync(AsyncMode mode) {
+		LogWriter prior = writer_;
+		writer_ = null;
+		if (prior != null) prior.shutdown();
+
+		async_ = mode != null;
+		if (async_) {
+			writer_ = new LogWriter(mode, Log::emit, Log::flush);
+			if (!hooked_) {
+				hooked_ = true;
+				Runtime.getRuntime().addShutdownHook(new Thread(Log::shutdown, "Log-drain"));
+			}
+		}
+		reinit();
+	}
+
+	/** @return {@code true} if logging asynchronously */
+	public static boolean isAsync() {
+		return writer_ != null;
+	}
+
+	/** @return the number of queued, and not yet written, log entries */
+	public static int queueDepth() {
+		LogWriter writer = writer_;
+		return writer != null ? writer.depth() : 0;
+	}
+
+	/** @return the number of log entries dropped due to async queue overflow */
+	public static long dropCount() {
+		LogWriter writer = writer_;
+		return writer != null ? writer.dropped() : 0;
+	}
+
+	/** Drains the async writer and stops the logger context. */
+	private static synchronized void shutdown() {
+		LogWriter writer = writer_;
+		if (writer != null) writer.shutdown();
+		if (asyncCfg_ && ctx_ != null) Configurator.shutdown(ctx_);
+	}
+
+	/**
+	 * Returns {@code true} if the given level is enabled for at least one class. A
+	 * {@code false} result is definitive: no class would log at the given level.
+	 * <p>
+	 * Nominally costs a single volatile read.
+	 *
+	 * @param level a log level
+	 * @return {@code true} if potentially enabled
+	 */
+	public static boolean isEnabled(Level level) {
+		Level threshold = threshold_;
+		if (threshold == null) {
+			chkInit();
+			threshold = threshold_;
+		}
+		return threshold != null && level.isMoreSpecificThan(threshold);
+	}
+
 	/**
 	 * Converts the given level to the corresponding
 	 * {@link org.apache.logging.log4j.Level}.
@@ -143,7 +303,13 @@ public class Log {
 	 * @return a Log4j level
 	 */
 	public static org.apache.logging.log4j.Level convert(Level level) {
-		return org.apache.logging.log4j.Level.toLevel(level.name());
+		return L4J_LEVELS[level.ordinal()];
+	}
+
+	/** Returns the cached extended logger for the given origin class. */
+	private static ExtendedLogger logger(Class<?> origin) {
+		LoggerContext ctx = ctx_;
+		return Loggers.computeIfAbsent(origin, cls -> LogManager.getLogger(cls, ctx));
 	}
 
 	// ==========================================
@@ -167,7 +333,7 @@ public class Log {
 
 	/** @return the the class that called Log, or {@code Log.class} */
 	private static Class<?> caller() {
-		StackFrame frame = StackWalker.getInstance(OPTIONS).walk(Log::caller);
+		StackFrame frame = WALKER.walk(Log::caller);
 		return frame != null ? frame.getDeclaringClass() : Log.class;
 	}
 
@@ -214,13 +380,27 @@ public class Log {
 	private static final String CONSOLE = "Console";
 	private static final EnumSet<Option> OPTIONS = EnumSet.of(StackWalker.Option.SHOW_HIDDEN_FRAMES,
 			StackWalker.Option.RETAIN_CLASS_REFERENCE);
+	private static final StackWalker WALKER = StackWalker.getInstance(OPTIONS);
+	private static final org.apache.logging.log4j.Level[] L4J_LEVELS = Stream.of(Level.values())
+			.map(l -> org.apache.logging.log4j.Level.toLevel(l.name())) //
+			.toArray(org.apache.logging.log4j.Level[]::new);
 	private static final Target OUTPUT = Target.SYSTEM_OUT;
 
 	private static Class<?> refCls_ = Log.class;
 
-	private static final HashMap<Integer, Level> Levels = new HashMap<>();
+	private static final ConcurrentHashMap<Integer, Level> Levels = new ConcurrentHashMap<>();
+	/** Extended loggers, by origin class; cleared on initialization. */
+	private static final ConcurrentHashMap<Class<?>, ExtendedLogger> Loggers = new ConcurrentHashMap<>();
+
+	/** Least specific level set for any class; {@code null} if not initialized. */
+	private static volatile Level threshold_;
 
 	private static boolean initd_;
+	private static boolean async_;
+	/** Whether the current configuration was created for async logging. */
+	private static boolean asyncCfg_;
+	private static boolean hooked_;
+	private static volatile LogWriter writer_;
 	private static boolean testMode_;
 
 	private static LoggerContext ctx_;
@@ -254,7 +434,7 @@ public class Log {
 	 */
 	public static void setName(String logname) {
 		logname_ = logname;
-		initd_ = false;
+		reinit();
 	}
 
 	/**
@@ -268,7 +448,7 @@ public class Log {
 	public static void setName(String logname, String location) {
 		logname_ = logname;
 		location_ = location;
-		initd_ = false;
+		reinit();
 	}
 
 	/**
@@ -280,7 +460,7 @@ public class Log {
 	public static void setName(Class<?> cls, String logname) {
 		refCls_ = cls;
 		logname_ = logname;
-		initd_ = false;
+		reinit();
 	}
 
 	/**
@@ -296,12 +476,18 @@ public class Log {
 		refCls_ = cls;
 		logname_ = logname;
 		location_ = location;
-		initd_ = false;
+		reinit();
 	}
 
 	public static void setLayout(String layout) {
 		layout_ = layout;
+		reinit();
+	}
+
+	/** Forces reinitialization on next use. */
+	private static void reinit() {
 		initd_ = false;
+		threshold_ = null;
 	}
 
 	/**
@@ -326,7 +512,9 @@ public class Log {
 	}
 
 	private static void setLevel(Class<?> cls, Level level) {
+		chkInit();
 		Levels.put(cls.hashCode(), level);
+		threshold_ = Levels.values().stream().max(Comparator.naturalOrder()).orElse(level);
 		if (cls == Log.class) {
 			log(Level.TRACE, String.format(DEF_LVLSET, level), null);
 		} else {
@@ -353,7 +541,9 @@ public class Log {
 	private static void chkInit() {
 		if (!initd_) {
 			initd_ = true;
-			Configuration config = LogConfig.getConfiguration(refCls_, logname_, location_, layout_);
+			Loggers.clear();
+			asyncCfg_ = async_;
+			Configuration config = LogConfig.getConfiguration(refCls_, logname_, location_, layout_, async_);
 			ctx_ = Configurator.initialize(refCls_.getClassLoader(), config);
 			if (ctx_ != null) {
 				defLevel(Level.toLevel(ctx_.getConfiguration().getRootLogger().getLevel().name()));
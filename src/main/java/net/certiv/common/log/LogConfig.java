@@ -40,9 +40,28 @@ public class LogConfig {
 	public static Configuration getConfiguration(final Class<?> cls, final String name, final String location,
 			final String layout) {
 
+		return getConfiguration(cls, name, location, layout, false);
+	}
+
+	/**
+	 * Returns a configuration for the given log name, location, and layout. For
+	 * asynchronous logging, appender output is not immediately flushed, and the Log4j
+	 * shutdown hook is disabled: the {@link Log} writer flushes each batch, and stops the
+	 * logger context once drained on shutdown.
+	 *
+	 * @param cls      reference class for a relative location
+	 * @param name     the log name
+	 * @param location the log location
+	 * @param layout   the log entry layout
+	 * @param async    {@code true} for asynchronous logging
+	 * @return the configuration
+	 */
+	public static Configuration getConfiguration(final Class<?> cls, final String name, final String location,
+			final String layout, final boolean async) {
+
 		ConfigurationBuilder<BuiltConfiguration> builder = new DefaultConfigurationBuilder<>();
 		String loc = getLocation(cls, name, location);
-		return create(name, builder, loc, layout);
+		return create(name, builder, loc, layout, async);
 	}
 
 	public static String getLocation(Class<?> cls, String name, String location) {
@@ -75,12 +94,13 @@ public class LogConfig {
 	}
 
 	private static Configuration create(String logname, ConfigurationBuilder<BuiltConfiguration> builder,
-			String pathname, String layout) {
+			String pathname, String layout, boolean async) {
 
 		builder.setConfigurationName(logname);
 		builder.setLoggerContext(new LoggerContext("common.log"));
 		builder.setStatusLevel(Level.ERROR); // internal message reporting level
 		builder.setVerbosity("disable");
+		if (async) builder.setShutdownHook("disable");
 
 		// threshold filter
 		builder.add(builder.newFilter("ThresholdFilter", Filter.Result.ACCEPT, Filter.Result.NEUTRAL)
@@ -89,7 +109,8 @@ public class LogConfig {
 
 		// console appender
 		AppenderComponentBuilder consoleAppender = builder.newAppender("Stdout", "CONSOLE") //
-				.addAttribute("target", ConsoleAppender.Target.SYSTEM_OUT);
+				.addAttribute("target", ConsoleAppender.Target.SYSTEM_OUT) //
+				.addAttribute("immediateFlush", !async);
 		consoleAppender.add(builder.newLayout("PatternLayout").addAttribute("pattern", layout));
 		builder.add(consoleAppender);
 
@@ -101,7 +122,7 @@ public class LogConfig {
 		AppenderComponentBuilder rollingAppender = builder.newAppender("Rolling", "RollingFile") //
 				.addAttribute("fileName", pathname) //
 				.addAttribute("filePattern", pathname.replace(".log", "-%i.log")) //
-				.addAttribute("immediateFlush", true) //
+				.addAttribute("immediateFlush", !async) //
 				.add(builder.newLayout("PatternLayout").addAttribute("pattern", layout)) //
 				.addComponent(builder.newComponent("DefaultRolloverStrategy").addAttribute("max", "2")) //
 				.addComponent(triggerPolicy) //
@@ -0,0 +1,97 @@
+package net.certiv.common.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer/multi-consumer ring buffer. Each slot carries a
+ * sequence number that identifies whether the slot is available for the next offer or
+ * for the next poll; producers and consumers claim positions by compare-and-set.
+ * <p>
+ * Capacity is rounded up to a power of two.
+ */
+final class LogRing<T> {
+
+	private final int mask;
+	private final AtomicReferenceArray<T> items;
+	private final AtomicLongArray seqs;
+
+	/** Next position to poll. */
+	private final AtomicLong head = new AtomicLong();
+	/** Next position to offer. */
+	private final AtomicLong tail = new AtomicLong();
+
+	LogRing(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		mask = size - 1;
+		items = new AtomicReferenceArray<>(size);
+		seqs = new AtomicLongArray(size);
+		for (int idx = 0; idx < size; idx++) {
+			seqs.set(idx, idx);
+		}
+	}
+
+	/**
+	 * Adds the given item, if space is available.
+	 *
+	 * @param item a non-null item
+	 * @return {@code true} if added; {@code false} if full
+	 */
+	boolean offer(T item) {
+		long pos = tail.get();
+		for (;;) {
+			int idx = (int) (pos & mask);
+			long dif = seqs.get(idx) - pos;
+			if (dif == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					items.set(idx, item);
+					seqs.set(idx, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			} else if (dif < 0) {
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Removes the oldest item.
+	 *
+	 * @return the removed item, or {@code null} if empty
+	 */
+	T poll() {
+		long pos = head.get();
+		for (;;) {
+			int idx = (int) (pos & mask);
+			long dif = seqs.get(idx) - (pos + 1);
+			if (dif == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					T item = items.get(idx);
+					items.set(idx, null);
+					seqs.set(idx, pos + mask + 1);
+					return item;
+				}
+				pos = head.get();
+			} else if (dif < 0) {
+				return null;
+			} else {
+				pos = head.get();
+			}
+		}
+	}
+
+	/** @return the approximate number of items held */
+	int size() {
+		long size = tail.get() - head.get();
+		return (int) Math.max(0, Math.min(size, mask + 1));
+	}
+
+	/** @return the maximum number of items held */
+	int capacity() {
+		return mask + 1;
+	}
+}
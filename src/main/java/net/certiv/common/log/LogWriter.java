@@ -0,0 +1,204 @@
+package net.certiv.common.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.TimestampMessage;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+
+/**
+ * Background writer of the asynchronous {@link Log} mode. Producers queue entries in a
+ * {@link LogRing}; a single daemon thread drains the ring in batches, writing each entry
+ * and then flushing once per batch.
+ * <p>
+ * Once shut down, or when called from the writer thread itself, entries are written
+ * synchronously.
+ */
+final class LogWriter implements Runnable {
+
+	/** Writer idle wait, while the ring is empty. */
+	private static final long IDLE = TimeUnit.MILLISECONDS.toNanos(10);
+	/** Producer wait, while the ring is full. */
+	private static final long FULL = TimeUnit.MICROSECONDS.toNanos(50);
+	/** Maximum shutdown wait for the writer thread to drain the ring. */
+	private static final long DRAIN = TimeUnit.SECONDS.toMillis(5);
+
+	/**
+	 * A log entry, complete with its formatted message and caller location. The message
+	 * is stamped with the time the entry is created, on the logging thread.
+	 */
+	static final class Entry {
+
+		final ExtendedLogger logger;
+		final Level level;
+		final Message msg;
+		final Throwable e;
+		final StackTraceElement location;
+
+		Entry(ExtendedLogger logger, Level level, Message msg, Throwable e, StackTraceElement location) {
+			this.logger = logger;
+			this.level = level;
+			this.msg = msg instanceof TimestampMessage ? msg : new Stamped(msg, System.currentTimeMillis());
+			this.e = e;
+			this.location = location;
+		}
+	}
+
+	/** A message bearing the time it was logged, used in place of the time written. */
+	static final class Stamped implements Message, TimestampMessage {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Message msg;
+		private final long time;
+
+		Stamped(Message msg, long time) {
+			this.msg = msg;
+			this.time = time;
+		}
+
+		@Override
+		public long getTimestamp() {
+			return time;
+		}
+
+		@Override
+		public String getFormattedMessage() {
+			return msg.getFormattedMessage();
+		}
+
+		@Override
+		public String getFormat() {
+			return msg.getFormat();
+		}
+
+		@Override
+		public Object[] getParameters() {
+			return msg.getParameters();
+		}
+
+		@Override
+		public Throwable getThrowable() {
+			return msg.getThrowable();
+		}
+	}
+
+	private final AsyncMode mode;
+	private final LogRing<Entry> ring;
+	private final Consumer<Entry> writer;
+	private final Runnable flush;
+	private final Thread thread;
+
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile boolean running = true;
+	private volatile boolean idle;
+
+	LogWriter(AsyncMode mode, Consumer<Entry> writer, Runnable flush) {
+		this.mode = mode;
+		this.ring = new LogRing<>(mode.capacity);
+		this.writer = writer;
+		this.flush = flush;
+		thread = new Thread(this, "Log-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Queues the given entry for writing, applying the overflow policy if the ring is
+	 * full.
+	 *
+	 * @param entry a log entry
+	 */
+	void submit(Entry entry) {
+		if (!running || Thread.currentThread() == thread) {
+			write(entry);
+			flush.run();
+			return;
+		}
+
+		while (!ring.offer(entry)) {
+			if (mode.overflow == AsyncMode.Overflow.DROP_OLDEST) {
+				if (ring.poll() != null) dropped.incrementAndGet();
+
+			} else if (mode.drops(entry.level)) {
+				dropped.incrementAndGet();
+				return;
+
+			} else {
+				LockSupport.unpark(thread);
+				LockSupport.parkNanos(this, FULL);
+				if (!running) {
+					write(entry);
+					flush.run();
+					return;
+				}
+			}
+		}
+		if (!running) {
+			// queued after the final drain by shutdown
+			while (drain() > 0);
+		} else if (idle) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	@Override
+	public void run() {
+		while (running) {
+			if (drain() == 0) {
+				idle = true;
+				if (ring.size() == 0 && running) LockSupport.parkNanos(this, IDLE);
+				idle = false;
+			}
+		}
+		while (drain() > 0);
+	}
+
+	/** Writes a single batch of queued entries; returns the number written. */
+	private int drain() {
+		int cnt = 0;
+		for (Entry entry; cnt < mode.batch && (entry = ring.poll()) != null; cnt++) {
+			write(entry);
+		}
+		if (cnt > 0) flush.run();
+		return cnt;
+	}
+
+	private void write(Entry entry) {
+		try {
+			writer.accept(entry);
+		} catch (RuntimeException e) {
+			// a failing appender must not terminate the writer
+		}
+	}
+
+	/**
+	 * Stops the writer, after writing all queued entries. Entries submitted thereafter are
+	 * written synchronously.
+	 */
+	void shutdown() {
+		running = false;
+		LockSupport.unpark(thread);
+		if (Thread.currentThread() != thread) {
+			try {
+				thread.join(DRAIN);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		while (drain() > 0);
+	}
+
+	/** @return the number of entries queued, and not yet written */
+	int depth() {
+		return ring.size();
+	}
+
+	/** @return the number of entries dropped due to overflow */
+	long dropped() {
+		return dropped.get();
+	}
+}
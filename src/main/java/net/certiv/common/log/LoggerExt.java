@@ -22,6 +22,19 @@ public class LoggerExt extends ExtendedLoggerWrapper {
 		logger.logMessage(fqcn, level, marker, message, t);
 	}
 
+	/**
+	 * Logs the given message at the given, previously determined, caller location.
+	 * Supports writing messages on a thread other than the caller thread.
+	 */
+	public void logMessage(String fqcn, Level level, Marker marker, Message message, Throwable t,
+			StackTraceElement location) {
+		if (logger instanceof LocationAwareLogger) {
+			((LocationAwareLogger) logger).logMessage(level, marker, fqcn, location, message, t);
+		} else {
+			logger.logMessage(fqcn, level, marker, message, t);
+		}
+	}
+
 	public StackTraceElement calcLocation(final String fqcn) {
 		if (fqcn == null) return null;
 
@@ -0,0 +1,663 @@
+package net.certiv.common.stores;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list constrained to only allowing unique values. A drop-in {@link UniqueList},
+ * including the replace-on-re-add behavior, but backed by a doubly-linked entry chain
+ * and a hash index of the entries; the inherited {@code LinkedList} storage is unused. Membership tests,
+ * head/tail additions, and removals by value are constant time. Positional operations
+ * remain linear, as in a {@code LinkedList}.
+ * <p>
+ * Also permits the data structure to be made immutable.
+ */
+public class IndexedUniqueList<E> extends UniqueList<E> {
+
+	private static final IndexedUniqueList<?> EMPTY = new IndexedUniqueList<>().unmodifiable();
+
+	private static final class Entry<E> {
+
+		E val;
+		Entry<E> prev;
+		Entry<E> next;
+
+		Entry(E val) {
+			this.val = val;
+		}
+	}
+
+	/** key=element; value=containing entry */
+	private final HashMap<Object, Entry<E>> index;
+
+	private Entry<E> head;
+	private Entry<E> tail;
+	private boolean nomod;
+
+	/** Returns an unmodifiable empty list instance. */
+	@SuppressWarnings("unchecked")
+	public static <E> IndexedUniqueList<E> empty() {
+		return (IndexedUniqueList<E>) EMPTY;
+	}
+
+	/** Returns a new modifiable empty list instance. */
+	public static <E> IndexedUniqueList<E> of() {
+		return new IndexedUniqueList<>();
+	}
+
+	public IndexedUniqueList() {
+		index = new HashMap<>();
+	}
+
+	public IndexedUniqueList(Collection<? extends E> c) {
+		index = new HashMap<>(Math.max((int) (c.size() / .75f) + 1, 16));
+		addAll(c);
+	}
+
+	@Override
+	public boolean isUnmodifiable() {
+		return nomod;
+	}
+
+	/**
+	 * Makes this list shallow unmodifiable. Irreversible. Use {@link #dup()} to create a
+	 * new modifiable copy.
+	 *
+	 * @return this
+	 */
+	@Override
+	public IndexedUniqueList<E> unmodifiable() {
+		super.unmodifiable();
+		nomod = true;
+		return this;
+	}
+
+	/**
+	 * Makes a new instance of this list. The returned list is modifiable even if this
+	 * list is not.
+	 *
+	 * @return a new instance containing the elements of this list
+	 */
+	@Override
+	public IndexedUniqueList<E> dup() {
+		return new IndexedUniqueList<>(this);
+	}
+
+	/**
+	 * Makes a new {@code UniqueList} containing the elements of this list.
+	 *
+	 * @return a new modifiable unique list
+	 */
+	public UniqueList<E> toUniqueList() {
+		return new UniqueList<>(this);
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return index.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return index.containsKey(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		for (Object o : c) {
+			if (!index.containsKey(o)) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		Entry<E> target = index.get(o);
+		if (target == null) return -1;
+		int idx = 0;
+		for (Entry<E> x = head; x != null; x = x.next, idx++) {
+			if (x == target) return idx;
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return indexOf(o);
+	}
+
+	@Override
+	public E get(int idx) {
+		return entry(idx).val;
+	}
+
+	/**
+	 * If unique, appends the given element to the end of this list. Otherwise, replaces
+	 * the prior equivalent instance with the given element.
+	 *
+	 * @param e the element to be appended to this list
+	 * @return {@code true} if unique appended
+	 */
+	@Override
+	public boolean add(E e) {
+		chkMod();
+		Entry<E> x = index.get(e);
+		if (x != null) {
+			replace(x, e);
+			return false;
+		}
+		linkBefore(e, null);
+		return true;
+	}
+
+	@Override
+	public void add(int idx, E e) {
+		chkMod();
+		if (idx < 0 || idx > size()) throw new IndexOutOfBoundsException(idx);
+		Entry<E> x = index.get(e);
+		if (x != null) {
+			if (x == (idx < size() ? entry(idx) : null)) {
+				replace(x, e);
+				return;
+			}
+			unlink(x);
+			idx = Math.min(idx, size());
+		}
+		linkBefore(e, idx < size() ? entry(idx) : null);
+	}
+
+	@Override
+	public void addFirst(E e) {
+		chkMod();
+		Entry<E> x = index.get(e);
+		if (x != null) unlink(x);
+		linkBefore(e, head);
+	}
+
+	@Override
+	public void addLast(E e) {
+		chkMod();
+		Entry<E> x = index.get(e);
+		if (x != null) unlink(x);
+		linkBefore(e, null);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		chkMod();
+		if (c == null) return false;
+		boolean mod = false;
+		for (E e : c) {
+			if (!index.containsKey(e)) {
+				linkBefore(e, null);
+				mod = true;
+			}
+		}
+		return mod;
+	}
+
+	@Override
+	public boolean addAll(int idx, Collection<? extends E> c) {
+		chkMod();
+		if (c == null) return false;
+		Entry<E> succ = idx < size() ? entry(idx) : null;
+		boolean mod = false;
+		for (E e : c) {
+			if (!index.containsKey(e)) {
+				linkBefore(e, succ);
+				mod = true;
+			}
+		}
+		return mod;
+	}
+
+	@Override
+	public boolean offer(E e) {
+		addLast(e);
+		return true;
+	}
+
+	@Override
+	public boolean offerFirst(E e) {
+		addFirst(e);
+		return true;
+	}
+
+	@Override
+	public boolean offerLast(E e) {
+		addLast(e);
+		return true;
+	}
+
+	@Override
+	public void push(E e) {
+		addFirst(e);
+	}
+
+	@Override
+	public E set(int idx, E e) {
+		chkMod();
+		Entry<E> at = entry(idx);
+		E prior = at.val;
+		Entry<E> x = index.get(e);
+		if (x != null && x != at) unlink(x);
+		replace(at, e);
+		return prior;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		chkMod();
+		Entry<E> x = index.get(o);
+		if (x == null) return false;
+		unlink(x);
+		return true;
+	}
+
+	@Override
+	public E remove(int idx) {
+		chkMod();
+		Entry<E> x = entry(idx);
+		unlink(x);
+		return x.val;
+	}
+
+	@Override
+	public E remove() {
+		return removeFirst();
+	}
+
+	@Override
+	public E removeFirst() {
+		chkMod();
+		if (head == null) throw new NoSuchElementException();
+		Entry<E> x = head;
+		unlink(x);
+		return x.val;
+	}
+
+	@Override
+	public E removeLast() {
+		chkMod();
+		if (tail == null) throw new NoSuchElementException();
+		Entry<E> x = tail;
+		unlink(x);
+		return x.val;
+	}
+
+	@Override
+	public boolean removeFirstOccurrence(Object o) {
+		return remove(o);
+	}
+
+	@Override
+	public boolean removeLastOccurrence(Object o) {
+		return remove(o);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		chkMod();
+		boolean mod = false;
+		for (Object o : c) {
+			Entry<E> x = index.get(o);
+			if (x != null) {
+				unlink(x);
+				mod = true;
+			}
+		}
+		return mod;
+	}
+
+	@Override
+	public E poll() {
+		return pollFirst();
+	}
+
+	@Override
+	public E pollFirst() {
+		return head != null ? removeFirst() : null;
+	}
+
+	@Override
+	public E pollLast() {
+		return tail != null ? removeLast() : null;
+	}
+
+	@Override
+	public E pop() {
+		return removeFirst();
+	}
+
+	@Override
+	public E element() {
+		return getFirst();
+	}
+
+	@Override
+	public E getFirst() {
+		if (head == null) throw new NoSuchElementException();
+		return head.val;
+	}
+
+	@Override
+	public E getLast() {
+		if (tail == null) throw new NoSuchElementException();
+		return tail.val;
+	}
+
+	@Override
+	public E peek() {
+		return peekFirst();
+	}
+
+	@Override
+	public E peekFirst() {
+		return head != null ? head.val : null;
+	}
+
+	@Override
+	public E peekLast() {
+		return tail != null ? tail.val : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void sort(Comparator<? super E> comp) {
+		chkMod();
+		if (size() < 2) return;
+		Entry<E>[] entries = newEntries(size());
+		int idx = 0;
+		for (Entry<E> x = head; x != null; x = x.next) {
+			entries[idx++] = x;
+		}
+		Arrays.sort(entries, (a, b) -> comp != null ? comp.compare(a.val, b.val)
+				: ((Comparable<? super E>) a.val).compareTo(b.val));
+		head = tail = null;
+		for (Entry<E> x : entries) {
+			x.prev = tail;
+			x.next = null;
+			if (tail == null) {
+				head = x;
+			} else {
+				tail.next = x;
+			}
+			tail = x;
+		}
+		modCount++;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Entry<E>[] newEntries(int size) {
+		return (Entry<E>[]) new Entry<?>[size];
+	}
+
+	@Override
+	public void clear() {
+		chkMod();
+		index.clear();
+		head = tail = null;
+		modCount++;
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<E> operator) {
+		chkMod();
+		for (ListIterator<E> itr = listIterator(); itr.hasNext();) {
+			itr.set(operator.apply(itr.next()));
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] all = new Object[size()];
+		int idx = 0;
+		for (Entry<E> x = head; x != null; x = x.next) {
+			all[idx++] = x.val;
+		}
+		return all;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		int size = size();
+		if (a.length < size) a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+		int idx = 0;
+		for (Entry<E> x = head; x != null; x = x.next) {
+			a[idx++] = (T) x.val;
+		}
+		if (a.length > size) a[size] = null;
+		return a;
+	}
+
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
+	}
+
+	/** Returns a modifiable copy of this list, as by {@link #dup()}. */
+	@Override
+	public IndexedUniqueList<E> clone() {
+		return dup();
+	}
+
+	@Override
+	public Iterator<E> descendingIterator() {
+		return new Iterator<>() {
+
+			private final ListIterator<E> itr = listIterator(size());
+
+			@Override
+			public boolean hasNext() {
+				return itr.hasPrevious();
+			}
+
+			@Override
+			public E next() {
+				return itr.previous();
+			}
+
+			@Override
+			public void remove() {
+				itr.remove();
+			}
+		};
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int idx) {
+		if (idx < 0 || idx > size()) throw new IndexOutOfBoundsException(idx);
+		return new Itr(idx);
+	}
+
+	// --------------------------------
+
+	private void chkMod() {
+		if (nomod) throw new UnsupportedOperationException();
+	}
+
+	private Entry<E> entry(int idx) {
+		int size = size();
+		if (idx < 0 || idx >= size) throw new IndexOutOfBoundsException(idx);
+		Entry<E> x;
+		if (idx < (size >> 1)) {
+			x = head;
+			for (int i = 0; i < idx; i++) {
+				x = x.next;
+			}
+		} else {
+			x = tail;
+			for (int i = size - 1; i > idx; i--) {
+				x = x.prev;
+			}
+		}
+		return x;
+	}
+
+	/** Replaces the value held by the given entry, keeping the index consistent. */
+	private void replace(Entry<E> x, E e) {
+		if (x.val == e) return;
+		index.remove(x.val);
+		x.val = e;
+		index.put(e, x);
+	}
+
+	/** Links a new entry for the given value before the given successor entry. */
+	private Entry<E> linkBefore(E e, Entry<E> succ) {
+		Entry<E> x = new Entry<>(e);
+		if (succ == null) {
+			x.prev = tail;
+			if (tail == null) {
+				head = x;
+			} else {
+				tail.next = x;
+			}
+			tail = x;
+		} else {
+			x.prev = succ.prev;
+			x.next = succ;
+			if (succ.prev == null) {
+				head = x;
+			} else {
+				succ.prev.next = x;
+			}
+			succ.prev = x;
+		}
+		index.put(e, x);
+		modCount++;
+		return x;
+	}
+
+	private void unlink(Entry<E> x) {
+		if (x.prev == null) {
+			head = x.next;
+		} else {
+			x.prev.next = x.next;
+		}
+		if (x.next == null) {
+			tail = x.prev;
+		} else {
+			x.next.prev = x.prev;
+		}
+		x.prev = x.next = null;
+		index.remove(x.val);
+		modCount++;
+	}
+
+	private class Itr implements ListIterator<E> {
+
+		private Entry<E> next;
+		private Entry<E> last;
+		private int nextIdx;
+		private int expected = modCount;
+
+		Itr(int idx) {
+			next = idx < size() ? entry(idx) : null;
+			nextIdx = idx;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIdx < size();
+		}
+
+		@Override
+		public E next() {
+			chkComod();
+			if (!hasNext()) throw new NoSuchElementException();
+			last = next;
+			next = next.next;
+			nextIdx++;
+			return last.val;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIdx > 0;
+		}
+
+		@Override
+		public E previous() {
+			chkComod();
+			if (!hasPrevious()) throw new NoSuchElementException();
+			next = next == null ? tail : next.prev;
+			last = next;
+			nextIdx--;
+			return last.val;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIdx;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIdx - 1;
+		}
+
+		@Override
+		public void remove() {
+			chkMod();
+			chkComod();
+			if (last == null) throw new IllegalStateException();
+			if (next == last) {
+				next = last.next;
+			} else {
+				nextIdx--;
+			}
+			unlink(last);
+			last = null;
+			expected = modCount;
+		}
+
+		/**
+		 * Replaces the last returned element. Throws an {@code IllegalArgumentException} if
+		 * an equivalent element is present elsewhere in the list.
+		 */
+		@Override
+		public void set(E e) {
+			chkMod();
+			chkComod();
+			if (last == null) throw new IllegalStateException();
+			Entry<E> x = index.get(e);
+			if (x != null && x != last) throw new IllegalArgumentException("Duplicate element: " + e);
+			replace(last, e);
+		}
+
+		/**
+		 * Inserts the given element. Throws an {@code IllegalArgumentException} if an
+		 * equivalent element is already present in the list.
+		 */
+		@Override
+		public void add(E e) {
+			chkMod();
+			chkComod();
+			if (index.containsKey(e)) throw new IllegalArgumentException("Duplicate element: " + e);
+			linkBefore(e, next);
+			nextIdx++;
+			last = null;
+			expected = modCount;
+		}
+
+		private void chkComod() {
+			if (modCount != expected) throw new ConcurrentModificationException();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package net.certiv.common.stores;
+
+import java.util.Arrays;
+
+/**
+ * Set of {@code (long, long)} value pairs. Implemented as an open-addressing hash table
+ * with linear probing over parallel primitive arrays; no per-entry objects are
+ * allocated.
+ * <p>
+ * The pair {@code (Long.MIN_VALUE, Long.MIN_VALUE)} is reserved as the empty-slot marker
+ * and cannot be stored.
+ * <p>
+ * Not thread-safe.
+ */
+public class LongPairSet {
+
+	private static final long FREE = Long.MIN_VALUE;
+	private static final int INIT = 16;
+
+	private long[] lefts;
+	private long[] rights;
+	private int mask;
+	private int size;
+
+	/** Construct an empty set. */
+	public LongPairSet() {
+		this(INIT);
+	}
+
+	/**
+	 * Construct an empty set sized to hold the given number of pairs without resizing.
+	 *
+	 * @param expected the expected number of pairs
+	 */
+	public LongPairSet(int expected) {
+		alloc(capacity(expected));
+	}
+
+	/**
+	 * Returns {@code true} if this set contains the given pair.
+	 *
+	 * @param left  the left value
+	 * @param right the right value
+	 * @return {@code true} if present
+	 */
+	public boolean contains(long left, long right) {
+		int idx = slot(left, right);
+		while (!free(idx)) {
+			if (lefts[idx] == left && rights[idx] == right) return true;
+			idx = (idx + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the given pair to this set.
+	 *
+	 * @param left  the left value
+	 * @param right the right value
+	 * @return {@code true} if the pair was not already present
+	 */
+	public boolean add(long left, long right) {
+		if (left == FREE && right == FREE) throw new IllegalArgumentException("Reserved pair value");
+		int idx = slot(left, right);
+		while (!free(idx)) {
+			if (lefts[idx] == left && rights[idx] == right) return false;
+			idx = (idx + 1) & mask;
+		}
+		lefts[idx] = left;
+		rights[idx] = right;
+		if (++size > (mask + 1) * 3 / 4) rehash();
+		return true;
+	}
+
+	/** @return the number of pairs in this set */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** Removes all pairs from this set, retaining the current capacity. */
+	public void clear() {
+		Arrays.fill(lefts, FREE);
+		Arrays.fill(rights, FREE);
+		size = 0;
+	}
+
+	private boolean free(int idx) {
+		return lefts[idx] == FREE && rights[idx] == FREE;
+	}
+
+	private int slot(long left, long right) {
+		long h = left * 0x9E3779B97F4A7C15L + right;
+		h ^= h >>> 32;
+		h *= 0xC2B2AE3D27D4EB4FL;
+		return (int) (h ^ (h >>> 29)) & mask;
+	}
+
+	private void alloc(int cap) {
+		lefts = new long[cap];
+		rights = new long[cap];
+		Arrays.fill(lefts, FREE);
+		Arrays.fill(rights, FREE);
+		mask = cap - 1;
+	}
+
+	private void rehash() {
+		long[] ls = lefts;
+		long[] rs = rights;
+		alloc(ls.length << 1);
+		for (int idx = 0; idx < ls.length; idx++) {
+			if (ls[idx] == FREE && rs[idx] == FREE) continue;
+			int jdx = slot(ls[idx], rs[idx]);
+			while (!free(jdx)) {
+				jdx = (jdx + 1) & mask;
+			}
+			lefts[jdx] = ls[idx];
+			rights[jdx] = rs[idx];
+		}
+	}
+
+	private static int capacity(int expected) {
+		int cap = INIT;
+		while (cap * 3 / 4 < expected) {
+			cap <<= 1;
+		}
+		return cap;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LongPairSet[%d]", size);
+	}
+}
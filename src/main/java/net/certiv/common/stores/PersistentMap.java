@@ -0,0 +1,333 @@
+package net.certiv.common.stores;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map. Implemented as a hash array mapped trie: each update returns a new
+ * map sharing all unaffected trie nodes with the original, copying only the
+ * {@code O(log32 n)} nodes on the path to the updated entry. Entries are held in hash
+ * order.
+ * <p>
+ * Keys and values must not be {@code null}. Thread-safe: instances are immutable and may
+ * be shared freely between threads once safely published.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class PersistentMap<K, V> {
+
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+	/** Root trie node; {@code null} if empty. */
+	private final Node root;
+	private final int size;
+
+	private PersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/** Returns the empty map. */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentMap<K, V> empty() {
+		return (PersistentMap<K, V>) EMPTY;
+	}
+
+	/** Returns the number of entries. */
+	public int size() {
+		return size;
+	}
+
+	/** Returns {@code true} if this map has no entries. */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** Returns {@code true} if this map contains an entry for the given key. */
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Returns the value mapped to the given key.
+	 *
+	 * @param key a key
+	 * @return the mapped value, or {@code null} if none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (key == null || root == null) return null;
+		return (V) root.find(hash(key), 0, key);
+	}
+
+	/**
+	 * Returns a map containing the entries of this map, with the given key mapped to the
+	 * given value.
+	 *
+	 * @param key   a key
+	 * @param value the value to map
+	 * @return the updated map, or this map if the key is already mapped to the value
+	 */
+	public PersistentMap<K, V> plus(K key, V value) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		Change change = new Change();
+		Node node = root != null ? root : BitmapNode.EMPTY;
+		Node updated = node.put(hash(key), 0, key, value, change);
+		if (updated == root) return this;
+		return new PersistentMap<>(updated, change.delta ? size + 1 : size);
+	}
+
+	/**
+	 * Returns a map containing the entries of this map, less any entry for the given
+	 * key.
+	 *
+	 * @param key a key
+	 * @return the updated map, or this map if the key is not mapped
+	 */
+	public PersistentMap<K, V> minus(Object key) {
+		if (key == null || root == null) return this;
+		Change change = new Change();
+		Node updated = root.remove(hash(key), 0, key, change);
+		if (!change.delta) return this;
+		if (updated == null) return empty();
+		return new PersistentMap<>(updated, size - 1);
+	}
+
+	/**
+	 * Performs the given action on each entry, in hash order.
+	 *
+	 * @param action the action to perform on each key and value
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		if (root != null) root.forEach((BiConsumer<Object, Object>) action);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		forEach((k, v) -> {
+			if (sb.length() > 1) sb.append(", ");
+			sb.append(k).append('=').append(v);
+		});
+		return sb.append('}').toString();
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & 31);
+	}
+
+	/** Records whether an update added or removed an entry. */
+	private static final class Change {
+
+		boolean delta;
+	}
+
+	private abstract static class Node {
+
+		abstract Object find(int hash, int shift, Object key);
+
+		abstract Node put(int hash, int shift, Object key, Object value, Change change);
+
+		/** Returns the updated node, or {@code null} if left empty. */
+		abstract Node remove(int hash, int shift, Object key, Change change);
+
+		abstract void forEach(BiConsumer<Object, Object> action);
+	}
+
+	/**
+	 * Bitmap indexed node: two array slots per entry, holding either a key and value, or
+	 * {@code null} and a sub-node.
+	 */
+	private static final class BitmapNode extends Node {
+
+		static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		final int bitmap;
+		final Object[] array;
+
+		BitmapNode(int bitmap, Object[] array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		private int index(int bit) {
+			return 2 * Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Object find(int hash, int shift, Object key) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) return null;
+			int idx = index(bit);
+			Object k = array[idx];
+			Object v = array[idx + 1];
+			if (k == null) return ((Node) v).find(hash, shift + 5, key);
+			return key.equals(k) ? v : null;
+		}
+
+		@Override
+		Node put(int hash, int shift, Object key, Object value, Change change) {
+			int bit = bit(hash, shift);
+			int idx = index(bit);
+			if ((bitmap & bit) == 0) {
+				Object[] arr = new Object[array.length + 2];
+				System.arraycopy(array, 0, arr, 0, idx);
+				arr[idx] = key;
+				arr[idx + 1] = value;
+				System.arraycopy(array, idx, arr, idx + 2, array.length - idx);
+				change.delta = true;
+				return new BitmapNode(bitmap | bit, arr);
+			}
+
+			Object k = array[idx];
+			Object v = array[idx + 1];
+			if (k == null) {
+				Node sub = ((Node) v).put(hash, shift + 5, key, value, change);
+				return sub == v ? this : with(idx + 1, sub);
+			}
+			if (key.equals(k)) {
+				return v == value ? this : with(idx + 1, value);
+			}
+
+			change.delta = true;
+			Node sub = pair(shift + 5, k, v, hash(k), key, value, hash);
+			Object[] arr = array.clone();
+			arr[idx] = null;
+			arr[idx + 1] = sub;
+			return new BitmapNode(bitmap, arr);
+		}
+
+		@Override
+		Node remove(int hash, int shift, Object key, Change change) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) return this;
+			int idx = index(bit);
+			Object k = array[idx];
+			Object v = array[idx + 1];
+			if (k == null) {
+				Node sub = ((Node) v).remove(hash, shift + 5, key, change);
+				if (sub == v) return this;
+				if (sub != null) return with(idx + 1, sub);
+			} else if (key.equals(k)) {
+				change.delta = true;
+			} else {
+				return this;
+			}
+
+			if (bitmap == bit) return null;
+			Object[] arr = new Object[array.length - 2];
+			System.arraycopy(array, 0, arr, 0, idx);
+			System.arraycopy(array, idx + 2, arr, idx, array.length - idx - 2);
+			return new BitmapNode(bitmap & ~bit, arr);
+		}
+
+		private BitmapNode with(int idx, Object val) {
+			Object[] arr = array.clone();
+			arr[idx] = val;
+			return new BitmapNode(bitmap, arr);
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (int idx = 0; idx < array.length; idx += 2) {
+				if (array[idx] == null) {
+					((Node) array[idx + 1]).forEach(action);
+				} else {
+					action.accept(array[idx], array[idx + 1]);
+				}
+			}
+		}
+
+		/** Creates a node holding two entries having distinct keys. */
+		private static Node pair(int shift, Object k1, Object v1, int h1, Object k2, Object v2, int h2) {
+			if (h1 == h2) return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+
+			int b1 = bit(h1, shift);
+			int b2 = bit(h2, shift);
+			if (b1 == b2) {
+				return new BitmapNode(b1, new Object[] { null, pair(shift + 5, k1, v1, h1, k2, v2, h2) });
+			}
+			Object[] arr = Integer.compareUnsigned(b1, b2) < 0 ? new Object[] { k1, v1, k2, v2 }
+					: new Object[] { k2, v2, k1, v1 };
+			return new BitmapNode(b1 | b2, arr);
+		}
+	}
+
+	/** Entries having keys of identical hash. */
+	private static final class CollisionNode extends Node {
+
+		final int hash;
+		final Object[] array;
+
+		CollisionNode(int hash, Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+
+		private int index(Object key) {
+			for (int idx = 0; idx < array.length; idx += 2) {
+				if (key.equals(array[idx])) return idx;
+			}
+			return -1;
+		}
+
+		@Override
+		Object find(int hash, int shift, Object key) {
+			if (hash != this.hash) return null;
+			int idx = index(key);
+			return idx >= 0 ? array[idx + 1] : null;
+		}
+
+		@Override
+		Node put(int hash, int shift, Object key, Object value, Change change) {
+			if (hash != this.hash) {
+				BitmapNode node = new BitmapNode(bit(this.hash, shift), new Object[] { null, this });
+				return node.put(hash, shift, key, value, change);
+			}
+
+			int idx = index(key);
+			if (idx >= 0) {
+				if (array[idx + 1] == value) return this;
+				Object[] arr = array.clone();
+				arr[idx + 1] = value;
+				return new CollisionNode(hash, arr);
+			}
+
+			change.delta = true;
+			Object[] arr = Arrays.copyOf(array, array.length + 2);
+			arr[array.length] = key;
+			arr[array.length + 1] = value;
+			return new CollisionNode(hash, arr);
+		}
+
+		@Override
+		Node remove(int hash, int shift, Object key, Change change) {
+			if (hash != this.hash) return this;
+			int idx = index(key);
+			if (idx < 0) return this;
+
+			change.delta = true;
+			if (array.length == 2) return null;
+			Object[] arr = new Object[array.length - 2];
+			System.arraycopy(array, 0, arr, 0, idx);
+			System.arraycopy(array, idx + 2, arr, idx, array.length - idx - 2);
+			return new CollisionNode(hash, arr);
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (int idx = 0; idx < array.length; idx += 2) {
+				action.accept(array[idx], array[idx + 1]);
+			}
+		}
+	}
+}
@@ -5,6 +5,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -65,6 +66,46 @@ public class TreeMapSet<K, V> {
 		return map.get(key).contains(value);
 	}
 
+	/**
+	 * Returns the count of values in the value set for the given key, or {@code 0} if no
+	 * value set exists.
+	 */
+	public int size(K key) {
+		Set<V> set = map.get(key);
+		return set != null ? set.size() : 0;
+	}
+
+	/**
+	 * Performs the given action on each key, in key order. Does not copy the key set;
+	 * the action must not modify this map.
+	 */
+	public void forEachKey(Consumer<? super K> action) {
+		for (K key : map.keySet()) {
+			action.accept(key);
+		}
+	}
+
+	/**
+	 * Returns the keys, in key order, for iteration. Does not copy the key set; the map
+	 * must not be modified during iteration.
+	 */
+	public Iterable<K> keyView() {
+		return map.keySet();
+	}
+
+	/**
+	 * Performs the given action on each value in the value set for the given key, in
+	 * value order. Does not copy the value set; the action must not modify this map.
+	 */
+	public void forEach(K key, Consumer<? super V> action) {
+		Set<V> set = map.get(key);
+		if (set != null) {
+			for (V value : set) {
+				action.accept(value);
+			}
+		}
+	}
+
 	public Set<K> keys() {
 		return new LinkedHashSet<>(map.keySet());
 	}
@@ -22,12 +22,12 @@ public class UniqueList<E> extends LinkedList<E> {
 
 	/** Returns an unmodifiable empty list instance. */
 	@SuppressWarnings("unchecked")
-	public static final <E> UniqueList<E> empty() {
+	public static <E> UniqueList<E> empty() {
 		return (UniqueList<E>) EMPTY;
 	}
 
 	/** Returns a new modifiable empty list instance. */
-	public static final <E> UniqueList<E> of() {
+	public static <E> UniqueList<E> of() {
 		return new UniqueList<>();
 	}
 
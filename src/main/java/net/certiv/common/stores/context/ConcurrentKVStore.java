@@ -0,0 +1,401 @@
+package net.certiv.common.stores.context;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import net.certiv.common.check.Assert;
+import net.certiv.common.event.ITypedEventDispatcher;
+import net.certiv.common.event.TypedEventDispatcher;
+import net.certiv.common.stores.PersistentMap;
+
+/**
+ * A single-level constraint-typed key:value store that is safe to share between
+ * threads.
+ * <p>
+ * The key:value pairs are held in a persistent, immutable hash trie published through a
+ * volatile reference. Reads are lock-free: each read, and each iteration, operates on
+ * the snapshot current at its start, and is unaffected by concurrent writes. Writes are
+ * serialized by a lock held only for the trie update; compound operations, including
+ * {@link #putIfAbsent}, {@link #compute}, {@link #computeIfAbsent}, and
+ * {@link #computeIfPresent}, are atomic.
+ * <p>
+ * Change events are dispatched after the lock is released, in the writing thread.
+ * Iteration order is unspecified.
+ */
+public class ConcurrentKVStore extends KVStore {
+
+	/** Current snapshot of the key:value pairs. */
+	private volatile PersistentMap<Key<?>, Value<?>> values = PersistentMap.empty();
+	/** Serializes writes. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Creates a new {@code ConcurrentKVStore}, initialized from the given store, for
+	 * storing consistently typed key:value pairs.
+	 *
+	 * @param scope a {@link IKVScope} containing the initial values
+	 * @return an initialized store
+	 */
+	public static ConcurrentKVStore of(IKVScope scope) {
+		ConcurrentKVStore store = new ConcurrentKVStore();
+		store.mergeFirst(scope);
+		return store;
+	}
+
+	// --------------------------------
+
+	/**
+	 * Creates a new {@code ConcurrentKVStore} for storing consistently typed key:value
+	 * pairs.
+	 */
+	public ConcurrentKVStore() {
+		super();
+	}
+
+	private ConcurrentKVStore(UUID mark, PersistentMap<Key<?>, Value<?>> values) {
+		super(mark);
+		this.values = values;
+	}
+
+	/**
+	 * Marks this store as reactive by enabling the dispatcher. Adds a new
+	 * {@link TypedEventDispatcher} if no other dispatcher has been set on this store.
+	 *
+	 * @return this
+	 */
+	@Override
+	public ConcurrentKVStore reactive() {
+		return reactive(true);
+	}
+
+	@Override
+	public ConcurrentKVStore reactive(boolean enable) {
+		super.reactive(enable);
+		return this;
+	}
+
+	@Override
+	public ConcurrentKVStore reactive(ITypedEventDispatcher dispatcher) {
+		return reactive(dispatcher, true);
+	}
+
+	@Override
+	public ConcurrentKVStore reactive(ITypedEventDispatcher dispatcher, boolean enable) {
+		super.reactive(dispatcher, enable);
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> V get(Key<V> key) {
+		Assert.notNull(key);
+		Value<?> value = values.get(key);
+		return value != null ? (V) value.value() : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> V get(Key<V> key, V def) {
+		Assert.notNull(key);
+		Value<?> value = values.get(key);
+		return value != null ? (V) value.value() : def;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> Value<V> getValue(Key<V> key) {
+		return (Value<V>) values.get(key);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> Value<V> getValue(Key<V> key, Value<V> def) {
+		Value<?> value = values.get(key);
+		return value != null ? (Value<V>) value : def;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns a read-only snapshot of the key:value pairs; the snapshot does not reflect
+	 * subsequent changes to this store.
+	 */
+	@Override
+	public Map<Key<?>, Value<?>> getAll() {
+		PersistentMap<Key<?>, Value<?>> snapshot = values;
+		return new AbstractMap<>() {
+
+			@Override
+			public Set<Entry<Key<?>, Value<?>>> entrySet() {
+				Map<Key<?>, Value<?>> all = new LinkedHashMap<>();
+				snapshot.forEach(all::put);
+				return Collections.unmodifiableMap(all).entrySet();
+			}
+
+			@Override
+			public Value<?> get(Object key) {
+				return snapshot.get(key);
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return snapshot.containsKey(key);
+			}
+
+			@Override
+			public int size() {
+				return snapshot.size();
+			}
+		};
+	}
+
+	@Override
+	public boolean contains(Key<?> key) {
+		return values.containsKey(key);
+	}
+
+	@Override
+	public <V> V putValue(Key<V> key, Value<V> value) {
+		Assert.notNull(key, value);
+		Value<V> prior;
+		lock.lock();
+		try {
+			prior = getValue(key);
+			values = values.plus(key, value);
+		} finally {
+			lock.unlock();
+		}
+		fire(KVEvent.of(this, key, value, prior));
+		return prior != null ? prior.value() : null;
+	}
+
+	@Override
+	public <V> void putIfAbsent(Key<V> key, V value, String unit) {
+		Assert.notNull(key);
+		putValueIfAbsent(key, Value.of(value, unit));
+	}
+
+	@Override
+	public <V> void putValueIfAbsent(Key<V> key, Value<V> value) {
+		Assert.notNull(key, value);
+		lock.lock();
+		try {
+			if (values.containsKey(key)) return;
+			values = values.plus(key, value);
+		} finally {
+			lock.unlock();
+		}
+		fire(KVEvent.of(this, key, value, null));
+	}
+
+	/**
+	 * Atomically computes a new value for the given key from the key and its current
+	 * value, or {@code null} if absent. Removes the key if the computed value is
+	 * {@code null}.
+	 * <p>
+	 * The function is called once, while holding the write lock, and must not modify
+	 * this store.
+	 *
+	 * @param key the key
+	 * @param fn  the function to compute a value
+	 * @return the new value, or {@code null} if none
+	 */
+	public <V> V compute(Key<V> key, BiFunction<? super Key<V>, ? super V, ? extends V> fn) {
+		Assert.notNull(key, fn);
+		Value<V> prior;
+		Value<V> value;
+		lock.lock();
+		try {
+			prior = getValue(key);
+			V result = fn.apply(key, prior != null ? prior.value() : null);
+			value = result != null ? Value.of(result) : null;
+			if (value == null && prior == null) return null;
+			values = value != null ? values.plus(key, value) : values.minus(key);
+		} finally {
+			lock.unlock();
+		}
+		fire(KVEvent.of(this, key, value, prior));
+		return value != null ? value.value() : null;
+	}
+
+	/**
+	 * Atomically computes and puts a value for the given key, if the key is absent.
+	 * <p>
+	 * The function is called at most once, while holding the write lock, and must not
+	 * modify this store.
+	 *
+	 * @param key the key
+	 * @param fn  the function to compute a value
+	 * @return the current, or computed, value; {@code null} if the computed value is
+	 *         {@code null}
+	 */
+	public <V> V computeIfAbsent(Key<V> key, Function<? super Key<V>, ? extends V> fn) {
+		Assert.notNull(key, fn);
+		V current = get(key);
+		if (current != null) return current;
+		return compute(key, (k, v) -> v != null ? v : fn.apply(k));
+	}
+
+	/**
+	 * Atomically computes a new value for the given key, if the key is present. Removes
+	 * the key if the computed value is {@code null}.
+	 * <p>
+	 * The function is called at most once, while holding the write lock, and must not
+	 * modify this store.
+	 *
+	 * @param key the key
+	 * @param fn  the function to compute a value
+	 * @return the new value, or {@code null} if none
+	 */
+	public <V> V computeIfPresent(Key<V> key, BiFunction<? super Key<V>, ? super V, ? extends V> fn) {
+		Assert.notNull(key, fn);
+		if (!contains(key)) return null;
+		return compute(key, (k, v) -> v != null ? fn.apply(k, v) : null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> void putAll(IKVScope scope) {
+		putAll(scope, false);
+	}
+
+	@Override
+	public <V> void putAllIfAbsent(IKVScope scope) {
+		putAll(scope, true);
+	}
+
+	/** Internal: puts all pairs of the given scope under a single lock. */
+	@SuppressWarnings("unchecked")
+	private <V> void putAll(IKVScope scope, boolean absent) {
+		List<KVEvent> events = new ArrayList<>();
+		lock.lock();
+		try {
+			PersistentMap<Key<?>, Value<?>> trie = values;
+			for (Map.Entry<Key<?>, Value<?>> e : scope.getAll().entrySet()) {
+				Value<V> prior = (Value<V>) trie.get(e.getKey());
+				if (absent && prior != null) continue;
+				trie = trie.plus(e.getKey(), e.getValue());
+				events.add(KVEvent.of(this, e.getKey(), (Value<V>) e.getValue(), prior));
+			}
+			values = trie;
+		} finally {
+			lock.unlock();
+		}
+		events.forEach(this::fire);
+	}
+
+	@Override
+	public Set<Key<?>> keys() {
+		Set<Key<?>> keys = new HashSet<>();
+		values.forEach((k, v) -> keys.add(k));
+		return keys;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super Key<?>, ? super Value<?>> action) {
+		values.forEach(action);
+	}
+
+	@Override
+	public <V> V remove(Key<V> key) {
+		Value<V> prior;
+		lock.lock();
+		try {
+			prior = getValue(key);
+			values = values.minus(key);
+		} finally {
+			lock.unlock();
+		}
+		fire(KVEvent.of(this, key, null, prior));
+		return prior != null ? prior.value() : null;
+	}
+
+	@Override
+	public void clear() {
+		PersistentMap<Key<?>, Value<?>> prior;
+		lock.lock();
+		try {
+			prior = values;
+			values = PersistentMap.empty();
+		} finally {
+			lock.unlock();
+		}
+		prior.forEach((k, v) -> fire(KVEvent.of(this, k, null, v)));
+	}
+
+	@Override
+	public int size() {
+		return values.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return values.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Completes in constant time: the copy shares the current snapshot.
+	 */
+	@Override
+	public ConcurrentKVStore dup() {
+		return share(new ConcurrentKVStore(mkMark(), values));
+	}
+
+	@Override
+	public ConcurrentKVStore delta() {
+		return dup();
+	}
+
+	@Override
+	ConcurrentKVStore fork() {
+		return share(new ConcurrentKVStore(mark, values));
+	}
+
+	private ConcurrentKVStore share(ConcurrentKVStore dup) {
+		dup.reactive(dispatcher, reactive);
+		return dup;
+	}
+
+	@Override
+	boolean sharable() {
+		return false;
+	}
+
+	@Override
+	public UUID mergeFirst(IKVScope scope) {
+		putAll(scope, false);
+		return mark;
+	}
+
+	@Override
+	public UUID mergeLast(IKVScope scope) {
+		putAll(scope, true);
+		return mark;
+	}
+
+	// --------------------------------
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(getAll());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s", mark, getAll());
+	}
+}
@@ -6,17 +6,18 @@
  *******************************************************************************/
 package net.certiv.common.stores.context;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import net.certiv.common.check.Assert;
@@ -26,7 +27,7 @@ import net.certiv.common.event.TypedEvent;
 import net.certiv.common.event.TypedEventDispatcher;
 import net.certiv.common.event.TypedEventListener;
 import net.certiv.common.ex.NotImplementedException;
-import net.certiv.common.stores.LimitList;
+import net.certiv.common.stores.PersistentMap;
 import net.certiv.common.util.Maths;
 
 /**
@@ -37,6 +38,14 @@ import net.certiv.common.util.Maths;
  * operations are directed to the first, top-most level. Read-style operations execute
  * against each level, top down, until a value is found.
  * <p>
+ * Scope levels are held as an immutable, linked chain of frames. Each frame carries a
+ * persistent resolution index, mapping each key visible at that level to its value, that
+ * shares structure with the index of the frame below. Reads are resolved by a single
+ * index lookup. Frames are shared between a context and its copies: {@link #dup()} and
+ * {@link #restore(UUID)} complete in constant time, and a scope level is copied, on
+ * write, only when modified. Scope levels held by a context must therefore be modified
+ * only through the context.
+ * <p>
  * When reactivity is enabled, write events are only issued from the dispatcher present in
  * this context; all scope level dispatchers are disabled.
  */
@@ -45,8 +54,12 @@ public class Context implements IContext {
 	/** Implementing class name for Convertable. */
 	protected final String className = getClass().getName();
 
-	/** Scoping stack of instance key:value stores. Default depth is 1. */
-	private final LimitList<KVScope> scopes = new LimitList<>(1);
+	/** Maximum number of scope levels. Default depth is 1. */
+	private int limit = 1;
+	/** Top-most frame of the scope level chain; {@code null} if no levels. */
+	private Frame top;
+	/** Whether the top-most scope level is exclusive to this context. */
+	private boolean owned;
 	/** Event dispatcher. */
 	private transient ITypedEventDispatcher dispatcher;
 	/** Event dispatch enabled state. */
@@ -84,7 +97,9 @@ public class Context implements IContext {
 	 */
 	public static Context of(List<KVScope> scopes) {
 		Context context = new Context(scopes.size(), false);
-		context.insert(scopes);
+		scopes.forEach(s -> s.reactive(false));
+		context.rebuild(scopes);
+		context.owned = false;
 		return context;
 	}
 
@@ -98,8 +113,9 @@ public class Context implements IContext {
 	 * @param init  initialize to contain an empty first scope
 	 */
 	private Context(int depth, boolean init) {
-		scopes.adjustLimit(depth);
-		if (init) scopes.add(new KVScope());
+		if (depth < 1) throw new IndexOutOfBoundsException(depth);
+		limit = depth;
+		if (init) firstScope();
 	}
 
 	/**
@@ -157,48 +173,69 @@ public class Context implements IContext {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <V> V get(Key<V> key) {
-		for (KVScope scope : scopes) {
-			if (scope.contains(key)) return scope.get(key);
-		}
-		return null;
+		Value<?> value = index().get(key);
+		return value != null ? (V) value.value() : null;
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <V> V get(Key<V> key, V def) {
-		for (KVScope scope : scopes) {
-			if (scope.contains(key)) return scope.get(key);
-		}
-		return def;
+		Value<?> value = index().get(key);
+		return value != null ? (V) value.value() : def;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns a read-only view of the visible key:value pairs; the view reflects
+	 * subsequent changes to this context.
+	 */
 	@Override
 	public Map<Key<?>, Value<?>> getAll() {
-		return flatten(this).getAll();
+		return Collections.unmodifiableMap(new AbstractMap<>() {
+
+			@Override
+			public Set<Entry<Key<?>, Value<?>>> entrySet() {
+				Map<Key<?>, Value<?>> all = new LinkedHashMap<>();
+				Context.this.forEach(all::put);
+				return all.entrySet();
+			}
+
+			@Override
+			public Value<?> get(Object key) {
+				return index().get(key);
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return index().containsKey(key);
+			}
+
+			@Override
+			public int size() {
+				return index().size();
+			}
+		});
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <V> Value<V> getValue(Key<V> key) {
-		for (KVScope scope : scopes) {
-			if (scope.contains(key)) return scope.getValue(key);
-		}
-		return null;
+		return (Value<V>) index().get(key);
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <V> Value<V> getValue(Key<V> key, Value<V> def) {
-		for (KVScope scope : scopes) {
-			if (scope.contains(key)) return scope.getValue(key);
-		}
-		return def;
+		Value<?> value = index().get(key);
+		return value != null ? (Value<V>) value : def;
 	}
 
 	@Override
 	public boolean contains(Key<?> key) {
-		for (KVScope scope : scopes) {
-			if (scope.contains(key)) return true;
-		}
-		return false;
+		return index().containsKey(key);
 	}
 
 	@Override
@@ -235,7 +272,9 @@ public class Context implements IContext {
 
 	@Override
 	public <V> V putValue(Key<V> key, Value<V> value) {
-		V prior = firstScope().putValue(key, value);
+		Frame first = writable();
+		V prior = first.scope.putValue(key, value);
+		top = first.with(first.index.plus(key, value));
 		fire(KVEvent.of(this, key, value, prior));
 		return prior;
 	}
@@ -262,32 +301,64 @@ public class Context implements IContext {
 		switch (at) {
 			default:
 			case TOP_LEVEL:
-				prior = firstScope().remove(key);
+				if (firstScope().contains(key)) prior = removeFirst(key);
 				break;
 
 			case FIRST_VISBLE:
-				int dot = scopeOf(key);
-				if (dot > -1) prior = scopes.get(dot).remove(key);
+				if (top != null && top.scope.contains(key)) {
+					prior = removeFirst(key);
+				} else {
+					prior = removeLower(key, false);
+				}
 				break;
 
 			case ALL:
-				prior = get(key);
-				if (prior != null) {
-					for (KVScope scope : scopes) {
-						scope.remove(key);
-					}
-				}
+				prior = removeLower(key, true);
 				break;
 		}
 		fire(KVEvent.of(this, key, null, prior));
 		return prior;
 	}
 
+	/** Internal: removes the key from the top-most level, exposing any lower value. */
+	private <V> V removeFirst(Key<V> key) {
+		Frame first = writable();
+		V prior = first.scope.remove(key);
+		Value<?> lower = first.next != null ? first.next.index.get(key) : null;
+		top = first.with(lower != null ? first.index.plus(key, lower) : first.index.minus(key));
+		return prior;
+	}
+
+	/**
+	 * Internal: removes the key from the first, or all, levels containing the key.
+	 * Modified levels are copied and the chain of frames rebuilt.
+	 */
+	private <V> V removeLower(Key<V> key, boolean all) {
+		if (!contains(key)) return null;
+
+		V prior = null;
+		List<KVScope> levels = levels();
+		for (int idx = 0; idx < levels.size(); idx++) {
+			KVScope level = levels.get(idx);
+			if (level.contains(key)) {
+				KVScope fork = level.fork();
+				V value = fork.remove(key);
+				if (prior == null) prior = value;
+				levels.set(idx, fork);
+				if (!all) break;
+			}
+		}
+		rebuild(levels);
+		return prior;
+	}
+
 	@Override
 	public Set<Key<?>> keys() {
-		return scopes.stream() //
-				.flatMap(s -> s.keyStream()) //
-				.collect(Collectors.toCollection(LinkedHashSet::new));
+		Set<Key<?>> keys = new LinkedHashSet<>();
+		for (Frame frame = top; frame != null; frame = frame.next) {
+			frame.scope.forEach((k, v) -> keys.add(k));
+		}
+		return keys;
 	}
 
 	@Override
@@ -297,37 +368,40 @@ public class Context implements IContext {
 
 	@Override
 	public void forEach(BiConsumer<? super Key<?>, ? super Value<?>> action) {
-		flatten(this).forEach(action);
+		PersistentMap<Key<?>, Value<?>> index = index();
+		keys().forEach(k -> action.accept(k, index.get(k)));
 	}
 
 	@Override
 	public int depth() {
-		return scopes.size();
+		return top != null ? top.depth : 0;
 	}
 
 	@Override
 	public int maxDepth() {
-		return scopes.limit();
+		return limit;
 	}
 
 	@Override
 	public void adjustMaxDepth(int depth, boolean trim) {
-		LinkedList<KVScope> excess = scopes.adjustLimit(depth);
-		if (!excess.isEmpty() && !trim) {
-			Context last = Context.of(excess);
-			last.insert(scopes.removeLast());
-			scopes.addLast(flatten(last));
-		}
+		if (depth < 1) throw new IndexOutOfBoundsException(depth);
+		limit = depth;
+		if (depth() <= depth) return;
+
+		List<KVScope> levels = levels();
+		List<KVScope> kept = new ArrayList<>(levels.subList(0, depth));
+		if (!trim) kept.set(depth - 1, flatten(levels.subList(depth - 1, levels.size())));
+		rebuild(kept);
 	}
 
 	@Override
 	public int size() {
-		return keys().size();
+		return index().size();
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return keys().isEmpty();
+		return index().isEmpty();
 	}
 
 	public boolean isFirstEmpty() {
@@ -336,7 +410,18 @@ public class Context implements IContext {
 
 	@Override
 	public void clear() {
-		keys().forEach(k -> remove(k, RmvScope.ALL));
+		Map<Key<?>, Value<?>> priors = new LinkedHashMap<>();
+		forEach(priors::put);
+		if (priors.isEmpty()) return;
+
+		List<KVScope> levels = levels();
+		for (int idx = 0; idx < levels.size(); idx++) {
+			KVScope fork = levels.get(idx).fork();
+			fork.clear();
+			levels.set(idx, fork);
+		}
+		rebuild(levels);
+		priors.forEach((k, v) -> fire(KVEvent.of(this, k, null, v.value())));
 	}
 
 	/** Returns a copy of just the top-most scope of this {@code Context}. */
@@ -350,12 +435,24 @@ public class Context implements IContext {
 		return dup(depth());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * A full depth copy completes in constant time: the copy shares the scope levels of
+	 * this context, including their marks, until either is next modified.
+	 */
 	@Override
 	public Context dup(int depth) {
 		depth = Maths.constrain(depth, 1, depth());
 		Context copy = Context.of(depth, false);
-		for (int idx = 0; idx < depth; idx++) {
-			copy.scopes.addLast(scopes.get(idx).dup());
+		if (depth == depth()) {
+			copy.top = top;
+			owned = false;
+		} else {
+			List<KVScope> levels = levels().subList(0, depth);
+			List<KVScope> forks = new ArrayList<>(depth);
+			levels.forEach(s -> forks.add(s.fork()));
+			copy.rebuild(forks);
 		}
 		return copy;
 	}
@@ -377,23 +474,17 @@ public class Context implements IContext {
 		idx = Maths.constrain(idx, 0, depth());
 		if (idx == depth()) return mergeLast(scope);
 
-		UUID mark = scopes.get(idx).mark;
-		int limit = scopes.limit();
-		if (scope instanceof KVScope) {
-			if (depth() == limit) scopes.adjustLimit(limit + 1);
-			insert(idx, (KVScope) scope.dup());
-
-		} else if (scope instanceof Context) {
-			Context ctx = (Context) scope;
-			int max = depth() + ctx.depth();
-			if (max > limit) scopes.adjustLimit(max);
-
-			for (int jdx = scope.depth() - 1; jdx >= 0; jdx--) {
-				insert(idx, ctx.scopes.get(jdx).dup());
+		List<KVScope> levels = levels();
+		UUID mark = levels.get(idx).mark;
+		List<KVScope> added = copies(scope);
+		if (idx == 0) {
+			for (int jdx = added.size() - 1; jdx >= 0; jdx--) {
+				top = new Frame(added.get(jdx), top);
 			}
-
+			owned = true;
 		} else {
-			throw new NotImplementedException();
+			levels.addAll(idx, added);
+			rebuild(levels);
 		}
 		return mark;
 	}
@@ -401,114 +492,161 @@ public class Context implements IContext {
 	@Override
 	public UUID mergeLast(IKVScope scope) {
 		Assert.isTrue(scope != null);
-		UUID mark = !scopes.isEmpty() ? scopes.getLast().mark : EOS;
-		int limit = scopes.limit();
+		List<KVScope> levels = levels();
+		UUID mark = !levels.isEmpty() ? levels.get(levels.size() - 1).mark : EOS;
+		levels.addAll(copies(scope));
+		rebuild(levels);
+		return mark;
+	}
+
+	/**
+	 * Internal: copies of the scope levels of the given scope, for merging into this
+	 * context; raises the depth limit to accommodate the copies.
+	 */
+	private List<KVScope> copies(IKVScope scope) {
+		List<KVScope> added = new ArrayList<>();
 		if (scope instanceof KVScope) {
-			if (depth() == limit) scopes.adjustLimit(limit + 1);
-			scopes.addLast((KVScope) scope.dup());
+			if (depth() == limit) limit++;
+			added.add(((KVScope) scope).dup());
 
 		} else if (scope instanceof Context) {
 			Context ctx = (Context) scope;
-			int max = depth() + ctx.depth();
-			if (max > limit) scopes.adjustLimit(max);
-
-			for (int idx = 0; idx < ctx.depth(); idx++) {
-				scopes.addLast(ctx.scopes.get(idx).dup());
-			}
+			limit = Math.max(limit, depth() + ctx.depth());
+			ctx.levels().forEach(s -> added.add(s.dup()));
 
 		} else {
 			throw new NotImplementedException();
 		}
-		return mark;
+		added.forEach(s -> s.reactive(false));
+		return added;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Completes in time proportional to the number of levels discarded.
+	 */
 	@Override
 	public boolean restore(UUID mark) {
 		Assert.notNull(mark);
-		int idx = scopeOf(mark);
-		if (idx == -1) return false;
-
-		scopes.subList(0, idx).clear();
-		return true;
-	}
-
-	// /** Internal: index of the first scope containing key:value, or -1 if not found. */
-	// private int scopeOf(Key<?> key, Value<?> value) {
-	// for (int idx = 0; idx < depth(); idx++) {
-	// KVScope scope = scopes.get(idx);
-	// if (scope.contains(key)) {
-	// if (scope.getValue(key).equals(value)) return idx;
-	// }
-	// }
-	// return -1;
-	// }
-
-	/** Internal: index of the first scope containing key, or -1 if not found. */
-	private int scopeOf(Key<?> key) {
-		for (int idx = 0; idx < depth(); idx++) {
-			if (scopes.get(idx).contains(key)) return idx;
+		for (Frame frame = top; frame != null; frame = frame.next) {
+			if (frame.scope.mark.equals(mark)) {
+				top = frame;
+				owned = false;
+				return true;
+			}
 		}
-		return -1;
+		return false;
 	}
 
-	/** Internal: index of the first scope containing mark, or -1 if not found. */
-	private int scopeOf(UUID mark) {
-		for (int idx = 0; idx < depth(); idx++) {
-			if (scopes.get(idx).mark.equals(mark)) return idx;
+	/** Internal: resolution index of the visible key:value pairs. */
+	private PersistentMap<Key<?>, Value<?>> index() {
+		return top != null ? top.index : PersistentMap.empty();
+	}
+
+	/** Internal: ordered list of the scope levels, top-most first. */
+	private List<KVScope> levels() {
+		List<KVScope> levels = new ArrayList<>(depth());
+		for (Frame frame = top; frame != null; frame = frame.next) {
+			levels.add(frame.scope);
 		}
-		return -1;
+		return levels;
 	}
 
 	/** Internal: get first scope; ensures the scope exists. */
 	private KVScope firstScope() {
-		if (scopes.isEmpty()) insert(new KVScope());
-		return scopes.peekFirst();
-	}
-
-	/** Internal: get last scope; ensures the scope exists. */
-	@SuppressWarnings("unused")
-	private KVScope lastScope() {
-		if (scopes.isEmpty()) insert(new KVScope());
-		return scopes.peekLast();
-	}
-
-	/** Internal: insert at 0; sets scope reactivity to false. */
-	private void insert(KVScope scope) {
-		insert(0, scope);
+		if (top == null) {
+			top = new Frame(new KVScope(), null);
+			owned = true;
+		}
+		return top.scope;
 	}
 
-	/** Internal: insert all starting at 0; sets all scopes reactivity to false. */
-	private void insert(Collection<KVScope> scopes) {
-		insert(0, scopes);
+	/**
+	 * Internal: get the top-most frame, ensuring the frame exists and that its scope is
+	 * exclusive to this context.
+	 */
+	private Frame writable() {
+		firstScope();
+		if (!owned) {
+			KVScope fork = top.scope.fork();
+			fork.reactive(false);
+			top = top.with(fork);
+			owned = true;
+		}
+		return top;
 	}
 
-	/** Internal: insert at idx; sets scope reactivity to false. */
-	private void insert(int idx, KVScope scope) {
-		if (scope != null) {
-			scope.reactive(false);
-			int at = Maths.constrain(idx, 0, depth());
-			scopes.add(at, scope);
+	/**
+	 * Internal: rebuilds the chain of frames for the given scope levels, top-most first.
+	 * Reuses the existing frames that hold the bottom-most of the given levels.
+	 */
+	private void rebuild(List<KVScope> levels) {
+		List<Frame> frames = new ArrayList<>();
+		for (Frame frame = top; frame != null; frame = frame.next) {
+			frames.add(frame);
 		}
-	}
 
-	/** Internal: insert all starting at idx; sets all scopes reactivity to false. */
-	private void insert(int idx, Collection<KVScope> scopes) {
-		if (scopes != null) {
-			int at = Maths.constrain(idx, 0, depth());
-			List<KVScope> ordered = new LinkedList<>(scopes);
-			Collections.reverse(ordered);
-			ordered.forEach(s -> insert(at, s));
+		KVScope first = top != null ? top.scope : null;
+		Frame frame = null;
+		int jdx = frames.size() - 1;
+		boolean reuse = true;
+		for (int idx = levels.size() - 1; idx >= 0; idx--, jdx--) {
+			KVScope scope = levels.get(idx);
+			reuse = reuse && jdx >= 0 && frames.get(jdx).scope == scope;
+			frame = reuse ? frames.get(jdx) : new Frame(scope, frame);
 		}
+		top = frame;
+		owned = top != null && (top.scope != first || owned);
 	}
 
-	/** Internal: flatten context to a single scope. */
+	/** Internal: flatten the given scope levels, top-most first, to a single scope. */
 	@SuppressWarnings("unchecked")
-	private <V> KVScope flatten(Context context) {
+	private <V> KVScope flatten(List<KVScope> levels) {
 		KVScope scope = new KVScope();
-		context.keyStream().forEach(k -> scope.putValue((Key<V>) k, (Value<V>) context.getValue(k)));
+		levels.forEach(s -> s.forEach((k, v) -> scope.putValueIfAbsent((Key<V>) k, (Value<V>) v)));
 		return scope;
 	}
 
+	/**
+	 * Immutable element of the scope level chain. Holds a scope level, the next lower
+	 * frame, and the resolution index of the key:value pairs visible from this level.
+	 */
+	private static final class Frame {
+
+		final KVScope scope;
+		final Frame next;
+		final PersistentMap<Key<?>, Value<?>> index;
+		final int depth;
+
+		Frame(KVScope scope, Frame next) {
+			this.scope = scope;
+			this.next = next;
+			this.depth = next != null ? next.depth + 1 : 1;
+
+			PersistentMap<Key<?>, Value<?>> index = next != null ? next.index : PersistentMap.empty();
+			for (Map.Entry<Key<?>, Value<?>> e : scope.getAll().entrySet()) {
+				index = index.plus(e.getKey(), e.getValue());
+			}
+			this.index = index;
+		}
+
+		private Frame(KVScope scope, Frame next, PersistentMap<Key<?>, Value<?>> index, int depth) {
+			this.scope = scope;
+			this.next = next;
+			this.index = index;
+			this.depth = depth;
+		}
+
+		Frame with(PersistentMap<Key<?>, Value<?>> index) {
+			return new Frame(scope, next, index, depth);
+		}
+
+		Frame with(KVScope scope) {
+			return new Frame(scope, next, index, depth);
+		}
+	}
+
 	// ---- Event Handler Delegates ----
 
 	@Override
@@ -560,7 +698,7 @@ public class Context implements IContext {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(scopes);
+		return Objects.hash(levels());
 	}
 
 	@Override
@@ -568,11 +706,11 @@ public class Context implements IContext {
 		if (this == obj) return true;
 		if (!(obj instanceof Context)) return false;
 		Context other = (Context) obj;
-		return Objects.equals(scopes, other.scopes);
+		return Objects.equals(levels(), other.levels());
 	}
 
 	@Override
 	public String toString() {
-		return scopes.toString();
+		return levels().toString();
 	}
 }
@@ -1,5 +1,6 @@
 package net.certiv.common.stores.context;
 
+import java.util.AbstractMap;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -27,14 +28,19 @@ import net.certiv.common.event.TypedEventListener;
  * <p>
  * Use of an {@link ITypedEventDispatcher} instance is supported. Both {@link KVStore} and
  * {@link Context} will install an {@link TypedEventDispatcher} instance.
+ * <p>
+ * Copies are copy-on-write: {@link #dup()} shares the key/value map of this scope, in
+ * constant time, until either scope is next modified.
  */
 public class KVScope implements IKVScope, ITypedEventDispatcher {
 
 	/** Implementing class name for Convertable. */
 	protected final String className = getClass().getName();
 
-	/** Key/Value map. */
-	protected final Map<Key<?>, Value<?>> scope = new LinkedHashMap<>();
+	/** Key/Value map; potentially shared with copies of this scope. */
+	protected Map<Key<?>, Value<?>> scope = new LinkedHashMap<>();
+	/** Whether the key/value map is potentially shared, and must be copied on write. */
+	private transient boolean shared;
 
 	/** Unique scope identification marker. */
 	protected transient final UUID mark;
@@ -58,7 +64,11 @@ public class KVScope implements IKVScope, ITypedEventDispatcher {
 	}
 
 	public KVScope() {
-		mark = mkMark();
+		this(mkMark());
+	}
+
+	KVScope(UUID mark) {
+		this.mark = mark;
 	}
 
 	/**
@@ -136,7 +146,28 @@ public class KVScope implements IKVScope, ITypedEventDispatcher {
 
 	@Override
 	public Map<Key<?>, Value<?>> getAll() {
-		return Collections.unmodifiableMap(scope);
+		return new AbstractMap<>() {
+
+			@Override
+			public Set<Entry<Key<?>, Value<?>>> entrySet() {
+				return Collections.unmodifiableMap(scope).entrySet();
+			}
+
+			@Override
+			public Value<?> get(Object key) {
+				return scope.get(key);
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return scope.containsKey(key);
+			}
+
+			@Override
+			public int size() {
+				return scope.size();
+			}
+		};
 	}
 
 	@Override
@@ -155,6 +186,7 @@ public class KVScope implements IKVScope, ITypedEventDispatcher {
 	@SuppressWarnings("unchecked")
 	public <V> V putValue(Key<V> key, Value<V> value) {
 		Assert.notNull(key, value);
+		own();
 		V prior = (V) scope.put(key, value);
 		fire(KVEvent.of(this, key, value, prior));
 		return prior;
@@ -213,6 +245,11 @@ public class KVScope implements IKVScope, ITypedEventDispatcher {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <V> V remove(Key<V> key) {
+		if (!scope.containsKey(key)) {
+			fire(KVEvent.of(this, key, null, null));
+			return null;
+		}
+		own();
 		V prior = (V) scope.remove(key);
 		fire(KVEvent.of(this, key, null, prior));
 		return prior;
@@ -243,30 +280,66 @@ public class KVScope implements IKVScope, ITypedEventDispatcher {
 		return keys().isEmpty();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Completes in constant time: the copy shares the key/value map of this scope until
+	 * either is next modified.
+	 */
 	@Override
 	public KVScope dup() {
-		KVScope dup = new KVScope();
-		keys().forEach(k -> dup.scope.put(k, getValue(k)));
-		dup.reactive(dispatcher, reactive);
-		return dup;
+		return share(new KVScope());
 	}
 
 	@Override
 	public KVScope delta() {
-		KVScope dup = new KVScope();
-		keys().forEach(k -> dup.scope.put(k, getValue(k)));
+		return share(new KVScope());
+	}
+
+	/**
+	 * Returns a copy-on-write copy of this scope having the same mark. Used to separate
+	 * the scope levels of contexts that share structure.
+	 */
+	KVScope fork() {
+		return share(new KVScope(mark));
+	}
+
+	private KVScope share(KVScope dup) {
+		dup.scope = scope;
+		dup.shared = shared = true;
 		dup.reactive(dispatcher, reactive);
 		return dup;
 	}
 
+	/** Whether the key/value map of this scope may be shared with another scope. */
+	boolean sharable() {
+		return true;
+	}
+
+	/** Ensures the key/value map is exclusive to this scope, copying if shared. */
+	private void own() {
+		if (shared) {
+			scope = new LinkedHashMap<>(scope);
+			shared = false;
+		}
+	}
+
 	@Override
 	public UUID mergeFirst(IKVScope scope) {
+		if (this.scope.isEmpty() && scope instanceof KVScope && ((KVScope) scope).sharable()) {
+			KVScope other = (KVScope) scope;
+			this.scope = other.scope;
+			this.shared = other.shared = true;
+			return mark;
+		}
+		own();
 		scope.keys().forEach(k -> this.scope.put(k, scope.getValue(k)));
 		return mark;
 	}
 
 	@Override
 	public UUID mergeLast(IKVScope scope) {
+		own();
 		scope.keys().forEach(k -> this.scope.putIfAbsent(k, scope.getValue(k)));
 		return mark;
 	}
@@ -1,5 +1,7 @@
 package net.certiv.common.stores.context;
 
+import java.util.UUID;
+
 import net.certiv.common.event.ITypedEventDispatcher;
 import net.certiv.common.event.TypedEventDispatcher;
 
@@ -40,6 +42,11 @@ public class KVStore extends KVScope {
 		mergeFirst(scope);
 	}
 
+	/** Creates a new {@code KVStore} having the given scope mark. */
+	KVStore(UUID mark) {
+		super(mark);
+	}
+
 	/**
 	 * Marks this KVStore as reactive by enabling the dispatcher. Adds a new
 	 * {@link TypedEventDispatcher} if no other dispatcher has been set on this KVStore.
@@ -1,8 +1,7 @@
 package net.certiv.common.stores.context;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.certiv.common.check.Assert;
 import net.certiv.common.stores.context.ex.TypeException;
@@ -14,7 +13,8 @@ public class Key<T> {
 	private static final String ERR_KEY = "Key '%s' exists with different type.";
 	private static final String ERR_NAME = "Key name must not be empty.";
 
-	private static final Map<String, Key<?>> Registry = new LinkedHashMap<>();
+	/** Key registry; lock-free reads, each key created exactly once. */
+	private static final ConcurrentHashMap<String, Key<?>> Registry = new ConcurrentHashMap<>();
 
 	public final String name;
 
@@ -34,11 +34,7 @@ public class Key<T> {
 
 		try {
 			@SuppressWarnings("unchecked")
-			Key<T> key = (Key<T>) Registry.get(name);
-			if (key == null) {
-				key = new Key<>(name);
-				Registry.put(name, key);
-			}
+			Key<T> key = (Key<T>) intern(name);
 			return key;
 
 		} catch (Exception e) {
@@ -87,11 +83,7 @@ public class Key<T> {
 
 		try {
 			@SuppressWarnings("unchecked")
-			Key<T> key = (Key<T>) Registry.get(name);
-			if (key == null && force) {
-				key = new Key<>(name);
-				Registry.put(name, key);
-			}
+			Key<T> key = (Key<T>) (force ? intern(name) : Registry.get(name));
 			return key;
 
 		} catch (Exception e) {
@@ -99,6 +91,11 @@ public class Key<T> {
 		}
 	}
 
+	private static Key<?> intern(String name) {
+		Key<?> key = Registry.get(name);
+		return key != null ? key : Registry.computeIfAbsent(name, Key::new);
+	}
+
 	// --------------------------------
 
 	private Key(String name) {
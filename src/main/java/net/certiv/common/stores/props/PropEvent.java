@@ -5,6 +5,14 @@ import net.certiv.common.event.TypedChangeEvent;
 
 public class PropEvent extends TypedChangeEvent {
 
+	/**
+	 * Name of the summary change event fired on completion of a {@link Props#bulk}
+	 * mutation. The event value and prior are maps of the changed property keys to their
+	 * final and initial values, respectively; a {@code null} value denotes an absent
+	 * property.
+	 */
+	public static final String BULK = "Bulk";
+
 	public static <S extends Props, K, V> PropEvent of(S source, K key, V value) {
 		return new PropEvent(source, key.toString(), value, null);
 	}
@@ -0,0 +1,150 @@
+package net.certiv.common.stores.props;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Insertion ordered map sized for the typical property store of only a few entries.
+ * Entries are held in a single key/value array, searched linearly, until the entry
+ * count exceeds {@link #LIMIT}; thereafter entries are held in a {@link LinkedHashMap}.
+ *
+ * @implNote {@code null} keys and values are not supported
+ */
+final class PropMap extends AbstractMap<Object, Object> {
+
+	/** Maximum entry count held in the key/value array. */
+	static final int LIMIT = 8;
+
+	/** Keys at even, values at odd indices. */
+	private Object[] kv = new Object[4];
+	private int size;
+	private LinkedHashMap<Object, Object> big;
+
+	@Override
+	public int size() {
+		return big != null ? big.size() : size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return big != null ? big.containsKey(key) : find(key) >= 0;
+	}
+
+	@Override
+	public Object get(Object key) {
+		if (big != null) return big.get(key);
+		int idx = find(key);
+		return idx >= 0 ? kv[idx + 1] : null;
+	}
+
+	@Override
+	public Object put(Object key, Object value) {
+		if (big != null) return big.put(key, value);
+
+		int idx = find(key);
+		if (idx >= 0) {
+			Object prior = kv[idx + 1];
+			kv[idx + 1] = value;
+			return prior;
+		}
+
+		if (size == LIMIT) {
+			big = new LinkedHashMap<>();
+			for (int i = 0; i < size * 2; i += 2) {
+				big.put(kv[i], kv[i + 1]);
+			}
+			kv = null;
+			size = 0;
+			return big.put(key, value);
+		}
+
+		if (size * 2 == kv.length) {
+			Object[] grown = new Object[kv.length * 2];
+			System.arraycopy(kv, 0, grown, 0, kv.length);
+			kv = grown;
+		}
+		kv[size * 2] = key;
+		kv[size * 2 + 1] = value;
+		size++;
+		return null;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		if (big != null) return big.remove(key);
+
+		int idx = find(key);
+		if (idx < 0) return null;
+		Object prior = kv[idx + 1];
+		int last = (size - 1) * 2;
+		System.arraycopy(kv, idx + 2, kv, idx, last - idx);
+		kv[last] = null;
+		kv[last + 1] = null;
+		size--;
+		return prior;
+	}
+
+	@Override
+	public void clear() {
+		big = null;
+		kv = new Object[4];
+		size = 0;
+	}
+
+	private int find(Object key) {
+		for (int idx = 0; idx < size * 2; idx += 2) {
+			if (Objects.equals(kv[idx], key)) return idx;
+		}
+		return -1;
+	}
+
+	@Override
+	public Set<Entry<Object, Object>> entrySet() {
+		if (big != null) return big.entrySet();
+		return new AbstractSet<>() {
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public Iterator<Entry<Object, Object>> iterator() {
+				return new Iterator<>() {
+
+					private int idx;
+
+					@Override
+					public boolean hasNext() {
+						return idx < size * 2;
+					}
+
+					@Override
+					public Entry<Object, Object> next() {
+						if (!hasNext()) throw new NoSuchElementException();
+						Entry<Object, Object> entry = new SimpleImmutableEntry<>(kv[idx], kv[idx + 1]);
+						idx += 2;
+						return entry;
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super Object, ? super Object> action) {
+		if (big != null) {
+			big.forEach(action);
+		} else {
+			for (int idx = 0; idx < size * 2; idx += 2) {
+				action.accept(kv[idx], kv[idx + 1]);
+			}
+		}
+	}
+}
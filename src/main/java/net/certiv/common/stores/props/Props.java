@@ -7,28 +7,52 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import net.certiv.common.event.AsyncEventDispatcher;
 import net.certiv.common.event.IEvtType;
 import net.certiv.common.event.ITypedEventDispatcher;
 import net.certiv.common.event.TypedEvent;
+import net.certiv.common.event.TypedEvent.EvtType;
 import net.certiv.common.event.TypedEventDispatcher;
 import net.certiv.common.event.TypedEventListener;
 
 /**
  * A propery key/value store.
+ * <p>
+ * Storage is allocated on demand: the property map is created on the first property
+ * put, and is compact for the typical few properties; the default event dispatcher is
+ * created on the first listener registration. Change events are only built where a
+ * change listener is registered.
  *
  * @implNote {@code null} values are not allowed in the property map
  */
 public class Props implements ITypedEventDispatcher {
 
-	private final LinkedHashMap<Object, Object> map = new LinkedHashMap<>();
-	private final ITypedEventDispatcher dispatcher;
-
+	/** Property map; {@code null} until the first property put. */
+	private PropMap map;
+	/** Event dispatcher; {@code null} until needed, or if disabled. */
+	private ITypedEventDispatcher dispatcher;
+	/** Whether to create a default dispatcher on demand. */
+	private boolean lazy;
+	/** Whether the dispatcher is the default dispatcher, created by this store. */
+	private boolean owned;
+	/** Bulk mutation state; {@code null} unless in bulk mode. */
+	private Batch batch;
+	/** Count of property puts and removals. */
+	private int changes;
+
+	/** Construct a property store using a default event dispatcher, created on demand. */
 	public Props() {
-		dispatcher = new TypedEventDispatcher();
+		lazy = true;
 	}
 
+	/**
+	 * Construct a property store using the given event dispatcher.
+	 *
+	 * @param dispatcher an event dispatcher, or {@code null} to disable events
+	 */
 	public Props(ITypedEventDispatcher dispatcher) {
 		this.dispatcher = dispatcher;
+		lazy = false;
 	}
 
 	/**
@@ -38,7 +62,7 @@ public class Props implements ITypedEventDispatcher {
 	 * @return {@code true} if a value corresponds to the property key
 	 */
 	public <K> boolean has(K key) {
-		return map.containsKey(key);
+		return map != null && map.containsKey(key);
 	}
 
 	/**
@@ -53,7 +77,7 @@ public class Props implements ITypedEventDispatcher {
 	 */
 	@SuppressWarnings("unchecked")
 	public <K, V> V get(K key) {
-		return (V) map.get(key);
+		return map != null ? (V) map.get(key) : null;
 	}
 
 	/**
@@ -101,13 +125,13 @@ public class Props implements ITypedEventDispatcher {
 	@SuppressWarnings("unchecked")
 	public <K, V> V put(K key, V value) {
 		if (value == null) {
-			V prior = (V) map.remove(key);
-			fire(PropEvent.of(this, key, value, prior));
+			V prior = map != null ? (V) map.remove(key) : null;
+			changed(key, value, prior);
 			return prior;
 		}
 
-		V prior = (V) map.put(key, value);
-		fire(PropEvent.of(this, key, value, prior));
+		V prior = (V) map().put(key, value);
+		changed(key, value, prior);
 		return prior;
 	}
 
@@ -123,15 +147,15 @@ public class Props implements ITypedEventDispatcher {
 	@SuppressWarnings("unchecked")
 	public <K, V> V putIfAbsent(K key, V value) {
 		if (value == null) {
-			V prior = (V) map.remove(key);
-			fire(PropEvent.of(this, key, value, prior));
+			V prior = map != null ? (V) map.remove(key) : null;
+			changed(key, value, prior);
 			return prior;
 		}
 
-		if (map.containsKey(key)) return (V) map.get(key);
+		if (has(key)) return get(key);
 
-		V prior = (V) map.put(key, value);
-		fire(PropEvent.of(this, key, value, prior));
+		V prior = (V) map().put(key, value);
+		changed(key, value, prior);
 		return prior;
 	}
 
@@ -145,21 +169,137 @@ public class Props implements ITypedEventDispatcher {
 
 	/** Returns an unmodifiable view of the properties map. */
 	public Map<Object, Object> properties() {
-		return Collections.unmodifiableMap(map);
+		return map != null ? Collections.unmodifiableMap(map) : Map.of();
 	}
 
 	/** Clears the structure. */
 	public void clear() {
+		if (map == null) return;
 		Set<Object> keys = Set.copyOf(map.keySet());
 		keys.forEach(k -> put(k, null));
 	}
 
+	/**
+	 * Performs the given property mutations in bulk mode. Individual property change
+	 * events are suppressed for the duration of the mutation. On completion, a single
+	 * {@link PropEvent#BULK} summary change event is fired, provided any property value
+	 * actually changed. A nested bulk mutation joins the enclosing bulk mutation.
+	 *
+	 * @param mutation the property mutations to perform
+	 */
+	public void bulk(Runnable mutation) {
+		if (batch != null) {
+			mutation.run();
+			return;
+		}
+
+		batch = new Batch(hasListeners(EvtType.CHANGE));
+		try {
+			mutation.run();
+		} finally {
+			Batch done = batch;
+			batch = null;
+			done.fire(this);
+		}
+	}
+
+	/**
+	 * Returns the count of property puts and removals made to this store. Nominally used
+	 * to determine whether some copy of the properties is current.
+	 *
+	 * @return the property change count
+	 */
+	public int changeCount() {
+		return changes;
+	}
+
+	/**
+	 * Called on each property put and removal, following the change count update. Does
+	 * nothing by default; subclasses may override to observe changes without listening
+	 * for events.
+	 */
+	protected void propsChanged() {}
+
+	/** Fires a property change event, unless suppressed or unobserved. */
+	private void changed(Object key, Object value, Object prior) {
+		changes++;
+		propsChanged();
+		if (batch != null) {
+			batch.record(key, value, prior);
+		} else if (hasListeners(EvtType.CHANGE)) {
+			fire(PropEvent.of(this, key, value, prior));
+		}
+	}
+
+	private PropMap map() {
+		if (map == null) map = new PropMap();
+		return map;
+	}
+
+	/** Coalesced property changes of a bulk mutation. */
+	private static class Batch {
+
+		private final boolean record;
+		/** Initial and final values, by changed key, in first change order. */
+		private final LinkedHashMap<Object, Object> priors = new LinkedHashMap<>();
+		private final LinkedHashMap<Object, Object> values = new LinkedHashMap<>();
+
+		Batch(boolean record) {
+			this.record = record;
+		}
+
+		void record(Object key, Object value, Object prior) {
+			if (!record) return;
+			if (!priors.containsKey(key)) priors.put(key, prior);
+			values.put(key, value);
+		}
+
+		void fire(Props props) {
+			values.keySet().removeIf(k -> Objects.equals(values.get(k), priors.get(k)));
+			if (values.isEmpty()) return;
+
+			priors.keySet().retainAll(values.keySet());
+			props.fire(PropEvent.of(props, PropEvent.BULK, Collections.unmodifiableMap(values),
+					Collections.unmodifiableMap(priors)));
+		}
+	}
+
 	// ---- Dispatcher Delegates ------
 
+	/**
+	 * Returns the event dispatcher of this property store. Creates the default
+	 * dispatcher, if not yet created.
+	 *
+	 * @return the event dispatcher, or {@code null} if events are disabled
+	 */
 	public ITypedEventDispatcher dispatcher() {
+		if (dispatcher == null && lazy) {
+			dispatcher = new TypedEventDispatcher();
+			owned = true;
+		}
 		return dispatcher;
 	}
 
+	/**
+	 * Sets the event dispatcher of this property store, e.g., to opt in to asynchronous
+	 * event delivery using an {@link AsyncEventDispatcher}. Listeners registered with the
+	 * default dispatcher, created by this store, are transferred to the given dispatcher. A
+	 * dispatcher given to this store, which may be shared, is left unchanged.
+	 *
+	 * @param dispatcher an event dispatcher, or {@code null} to disable events
+	 */
+	public void setDispatcher(ITypedEventDispatcher dispatcher) {
+		ITypedEventDispatcher prior = this.dispatcher;
+		boolean migrate = owned;
+		this.dispatcher = dispatcher;
+		lazy = false;
+		owned = false;
+		if (migrate && prior != null && prior != dispatcher) {
+			if (dispatcher != null) dispatcher.addListeners(prior.getListeners());
+			prior.clearListeners();
+		}
+	}
+
 	@Override
 	public void fire(TypedEvent event) {
 		if (dispatcher != null) dispatcher.fire(event);
@@ -167,12 +307,12 @@ public class Props implements ITypedEventDispatcher {
 
 	@Override
 	public void addListener(TypedEventListener listener) {
-		if (dispatcher != null) dispatcher.addListener(listener);
+		if (listener != null && dispatcher() != null) dispatcher.addListener(listener);
 	}
 
 	@Override
 	public void addListeners(Collection<TypedEventListener> listeners) {
-		if (dispatcher != null) dispatcher.addListeners(listeners);
+		if (dispatcher() != null) dispatcher.addListeners(listeners);
 	}
 
 	@Override
@@ -209,7 +349,7 @@ public class Props implements ITypedEventDispatcher {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(map);
+		return Objects.hash(properties());
 	}
 
 	@Override
@@ -217,11 +357,11 @@ public class Props implements ITypedEventDispatcher {
 		if (this == obj) return true;
 		if (!(obj instanceof Props)) return false;
 		Props other = (Props) obj;
-		return Objects.equals(map, other.map);
+		return Objects.equals(properties(), other.properties());
 	}
 
 	@Override
 	public String toString() {
-		return map.toString();
+		return properties().toString();
 	}
 }
@@ -7,6 +7,8 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 
+import net.certiv.common.check.Assert;
+
 public class ArrayUtil {
 
 	private static final int DEFAULT_LENGTH = 2;
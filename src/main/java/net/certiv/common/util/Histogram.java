@@ -0,0 +1,107 @@
+package net.certiv.common.util;
+
+import java.util.Arrays;
+
+import net.certiv.common.check.Assert;
+
+/**
+ * Fixed-memory histogram of non-negative {@code long} values, typically latencies in
+ * nanoseconds. Values below {@link #SUB_BUCKETS} are recorded exactly; larger values are
+ * recorded in log-linear buckets, each power-of-two range divided into
+ * {@code SUB_BUCKETS/2} linear sub-buckets, bounding the relative error of any reported
+ * value to {@code 2/SUB_BUCKETS}, about 1.6%. Values above {@link #MAX_VALUE} are
+ * recorded in the highest bucket.
+ * <p>
+ * Recording is constant time and allocation free. Not thread-safe.
+ */
+public final class Histogram {
+
+	/** Significant bits resolved within each power-of-two range. */
+	private static final int BITS = 7;
+	/** Linear sub-buckets per power-of-two range. */
+	public static final int SUB_BUCKETS = 1 << BITS;
+	private static final int HALF = SUB_BUCKETS >> 1;
+
+	/** Largest distinctly recorded value: about 4.9 hours in nanoseconds. */
+	public static final long MAX_VALUE = (1L << 44) - 1;
+
+	private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+	private final long[] counts = new long[BUCKETS];
+	private long count;
+	private long min = Long.MAX_VALUE;
+	private long max;
+
+	/**
+	 * Records the given value.
+	 *
+	 * @param value a non-negative value
+	 */
+	public void record(long value) {
+		Assert.isTrue(value >= 0);
+		counts[index(Math.min(value, MAX_VALUE))]++;
+		count++;
+		if (value < min) min = value;
+		if (value > max) max = value;
+	}
+
+	/** Returns the number of recorded values. */
+	public long count() {
+		return count;
+	}
+
+	/** Returns the least recorded value, or {@code 0} if none. */
+	public long min() {
+		return count > 0 ? min : 0;
+	}
+
+	/** Returns the greatest recorded value, or {@code 0} if none. */
+	public long max() {
+		return max;
+	}
+
+	/**
+	 * Returns the value at the given percentile: the highest value equivalent, within the
+	 * bucket resolution, to the recorded value at or below which the given percentage of
+	 * the recorded values fall. Returns {@code 0} if no values have been recorded.
+	 *
+	 * @param percentile a percentile in the range {@code [0,100]}
+	 * @return the value at the percentile
+	 */
+	public long percentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 100);
+		if (count == 0) return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int idx = 0; idx < BUCKETS; idx++) {
+			seen += counts[idx];
+			if (seen >= rank) return Math.max(min, Math.min(max, highest(idx)));
+		}
+		return max;
+	}
+
+	/** Clears all recorded values. */
+	public void clear() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	/** Bucket index of the given value. */
+	static int index(long value) {
+		if (value < SUB_BUCKETS) return (int) value;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (BITS - 1);
+		int sub = (int) (value >>> shift);
+		return (shift + 1) * HALF + sub - HALF;
+	}
+
+	/** Highest value recorded in the bucket of the given index. */
+	static long highest(int index) {
+		if (index < SUB_BUCKETS) return index;
+		int shift = index / HALF - 1;
+		long sub = index % HALF + HALF;
+		return ((sub + 1) << shift) - 1;
+	}
+}
@@ -1,18 +1,27 @@
 package net.certiv.common.util;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Formatter;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.certiv.common.check.Assert;
 import net.certiv.common.ex.IllegalArgsEx;
-import net.certiv.common.stores.LinkedHashList;
 
 /**
  * Utility for keeping running measurements of time.
+ * <p>
+ * Each timer id keeps constant-size running statistics of its measured intervals: the
+ * count, sum, minimum, and maximum, and a fixed-memory {@link Histogram} supporting
+ * percentile queries. Optionally, the most recent interval durations are retained in a
+ * bounded sample buffer. Start and stop are constant time.
+ * <p>
+ * Thread-safe: timer ids are independently synchronized, so concurrent measurements on
+ * different ids do not contend.
  *
  * @param <N> timer name type
  */
@@ -30,44 +39,85 @@ public class Timer<N> {
 		CLEAR;
 	}
 
-	private static class Intv {
-		long beg;
-		long end;
+	/** Running measurements of a single timer id. */
+	private static class Track {
 
-		Intv(long beg) {
-			this.beg = beg;
-			this.end = Long.MIN_VALUE;
-		}
+		/** Creation order; orders ids having the same first start time. */
+		final long seq;
+		/** Start time of the first interval. */
+		final long first;
+		final Histogram histogram = new Histogram();
+		/** Ring buffer of the most recent durations; {@code null} if not sampling. */
+		final long[] samples;
 
-		Intv(long beg, long end) {
+		/** Start time of the last interval. */
+		long beg;
+		/** End time of the last interval; {@code Long.MIN_VALUE} while open. */
+		long end = Long.MIN_VALUE;
+		/** Sum of closed interval durations. */
+		long sum;
+
+		Track(long seq, long beg, int samples) {
+			this.seq = seq;
+			this.first = beg;
 			this.beg = beg;
-			this.end = end;
+			this.samples = samples > 0 ? new long[samples] : null;
 		}
 
 		/**
-		 * Returns whether this interval has an end value.
+		 * Returns whether the last interval has no end value.
 		 *
-		 * @return {@code true} if this interval is open
+		 * @return {@code true} if the last interval is open
 		 */
 		boolean open() {
 			return end == Long.MIN_VALUE;
 		}
 
-		double delta() {
-			long stop = !open() ? end : System.nanoTime();
-			return (stop - beg) / NANOS_PER_MILLI;
+		void start(long now) {
+			if (!open()) {
+				beg = now;
+				end = Long.MIN_VALUE;
+			}
+		}
+
+		void stop(long now) {
+			if (open()) {
+				end = now;
+				long delta = end - beg;
+				if (samples != null) samples[(int) (histogram.count() % samples.length)] = delta;
+				histogram.record(delta);
+				sum += delta;
+			}
+		}
+
+		long last(long now) {
+			return (open() ? now : end) - beg;
+		}
+
+		long total(long now) {
+			return open() ? sum + now - beg : sum;
 		}
 
-		@Override
-		public String toString() {
-			return String.format("%s", delta());
+		long[] samples() {
+			if (samples == null) return new long[0];
+			int cnt = (int) Math.min(histogram.count(), samples.length);
+			long[] result = new long[cnt];
+			long from = histogram.count() - cnt;
+			for (int idx = 0; idx < cnt; idx++) {
+				result[idx] = samples[(int) ((from + idx) % samples.length)];
+			}
+			return result;
 		}
 	}
 
 	/** Timer instance name. */
 	private final String name;
-	/** key=identifier; value=list of start/stop times. */
-	private final LinkedHashList<N, Intv> map = new LinkedHashList<>();
+	/** Maximum number of recent durations retained per id. */
+	private final int samples;
+	/** key=identifier; value=running measurements. */
+	private final ConcurrentHashMap<N, Track> map = new ConcurrentHashMap<>();
+	/** Track creation sequence. */
+	private final AtomicLong seq = new AtomicLong();
 
 	/** Anonymous timer instance constructor. */
 	public Timer() {
@@ -76,7 +126,20 @@ public class Timer<N> {
 
 	/** Named timer instance constructor. */
 	public Timer(String name) {
+		this(name, 0);
+	}
+
+	/**
+	 * Named timer instance constructor, retaining up to the given number of the most
+	 * recent interval durations for each timer id.
+	 *
+	 * @param name    timer name
+	 * @param samples maximum number of durations retained per id; {@code 0} for none
+	 */
+	public Timer(String name, int samples) {
+		Assert.isTrue(samples >= 0);
 		this.name = name;
+		this.samples = samples;
 	}
 
 	private void chk(N id) {
@@ -87,6 +150,13 @@ public class Timer<N> {
 		return System.nanoTime();
 	}
 
+	/** Returns the track for the given id, creating a track starting now if absent. */
+	private Track track(N id) {
+		Track track = map.get(id);
+		if (track != null) return track;
+		return map.computeIfAbsent(id, k -> new Track(seq.getAndIncrement(), now(), samples));
+	}
+
 	/**
 	 * Start measuring time for the given id.
 	 *
@@ -94,13 +164,9 @@ public class Timer<N> {
 	 */
 	public void start(N id) {
 		chk(id);
-		if (!map.containsKey(id)) {
-			map.put(id, new Intv(now()));
-		}
-
-		Intv last = map.get(id).peekLast();
-		if (!last.open()) {
-			map.put(id, new Intv(now()));
+		Track track = track(id);
+		synchronized (track) {
+			track.start(now());
 		}
 	}
 
@@ -113,17 +179,13 @@ public class Timer<N> {
 	 */
 	public double stop(N id) {
 		chk(id);
-		if (!map.containsKey(id)) {
-			long now = now();
-			map.put(id, new Intv(now, now));
-		}
-
-		Intv last = map.get(id).peekLast();
-		if (last.open()) {
-			last.end = now();
+		long now = now();
+		Track track = track(id);
+		synchronized (track) {
+			if (track.open() && track.beg > now) track.beg = now;
+			track.stop(now);
+			return millis(track.last(now));
 		}
-
-		return lastElapsed(id);
 	}
 
 	/**
@@ -154,12 +216,12 @@ public class Timer<N> {
 	 * @return sorted timer id list
 	 */
 	public List<N> timerNames() {
-		TreeMap<Long, N> tmp = new TreeMap<>();
-		for (Entry<N, LinkedList<Intv>> entry : map.entrySet()) {
-			Intv first = entry.getValue().peekFirst();
-			if (first != null) tmp.put(first.beg, entry.getKey());
-		}
-		return List.copyOf(tmp.values());
+		List<Entry<N, Track>> entries = new ArrayList<>(map.entrySet());
+		entries.sort(Comparator.comparingLong((Entry<N, Track> e) -> e.getValue().first)
+				.thenComparingLong(e -> e.getValue().seq));
+		List<N> names = new ArrayList<>(entries.size());
+		entries.forEach(e -> names.add(e.getKey()));
+		return List.copyOf(names);
 	}
 
 	/**
@@ -171,29 +233,17 @@ public class Timer<N> {
 	 * Does not alter the timer.
 	 */
 	public double totalElapsed() {
-		long beg = firstStart();
-		long end = lastStop();
-
-		double millis = (end - beg) / NANOS_PER_MILLI;
-		return Maths.round(millis, 2);
-	}
-
-	private long firstStart() {
-		long min = Long.MAX_VALUE;
-		for (LinkedList<Intv> seq : map.values()) {
-			min = Math.min(min, seq.getFirst().beg);
+		long now = now();
+		long beg = Long.MAX_VALUE;
+		long end = 0;
+		for (Track track : map.values()) {
+			synchronized (track) {
+				beg = Math.min(beg, track.first);
+				end = Math.max(end, track.open() ? now : track.end);
+			}
 		}
-		return min;
-	}
-
-	private long lastStop() {
-		long max = 0;
-		for (LinkedList<Intv> seq : map.values()) {
-			Intv last = seq.getLast();
-			if (last.open()) return now();
-			max = Math.max(max, last.end);
-		}
-		return max;
+		if (beg == Long.MAX_VALUE) return 0;
+		return millis(end - beg);
 	}
 
 	/**
@@ -204,10 +254,11 @@ public class Timer<N> {
 	 */
 	public double totalElapsed(N id) {
 		chk(id);
-		double millis = map.get(id).stream() //
-				.mapToDouble(r -> r.delta()) //
-				.sum();
-		return Maths.round(millis, 2);
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			return millis(track.total(now()));
+		}
 	}
 
 	/**
@@ -246,13 +297,115 @@ public class Timer<N> {
 	 */
 	public double lastElapsed(N id) {
 		chk(id);
-		double millis = 0;
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			return millis(track.last(now()));
+		}
+	}
 
-		Intv last = map.get(id).peekLast();
-		if (last != null) {
-			millis = last.delta();
+	/**
+	 * Returns the number of completed intervals measured for the given id.
+	 *
+	 * @param id timer identifer
+	 * @return the interval count
+	 */
+	public long count(N id) {
+		chk(id);
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			return track.histogram.count();
 		}
-		return Maths.round(millis, 2);
+	}
+
+	/**
+	 * Returns the shortest completed interval measured for the given id, in
+	 * milliseconds.
+	 *
+	 * @param id timer identifer
+	 * @return the minimum elapsed time, or {@code 0} if none
+	 */
+	public double min(N id) {
+		chk(id);
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			return track.histogram.min() / NANOS_PER_MILLI;
+		}
+	}
+
+	/**
+	 * Returns the longest completed interval measured for the given id, in milliseconds.
+	 *
+	 * @param id timer identifer
+	 * @return the maximum elapsed time, or {@code 0} if none
+	 */
+	public double max(N id) {
+		chk(id);
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			return track.histogram.max() / NANOS_PER_MILLI;
+		}
+	}
+
+	/**
+	 * Returns the mean of the completed intervals measured for the given id, in
+	 * milliseconds.
+	 *
+	 * @param id timer identifer
+	 * @return the mean elapsed time, or {@code 0} if none
+	 */
+	public double mean(N id) {
+		chk(id);
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			long cnt = track.histogram.count();
+			return cnt > 0 ? track.sum / NANOS_PER_MILLI / cnt : 0;
+		}
+	}
+
+	/**
+	 * Returns the elapsed time at the given percentile of the completed intervals
+	 * measured for the given id, in milliseconds. Accurate to within the resolution of
+	 * {@link Histogram}.
+	 *
+	 * @param id         timer identifer
+	 * @param percentile a percentile in the range {@code [0,100]}
+	 * @return the elapsed time at the percentile, or {@code 0} if none
+	 */
+	public double percentile(N id, double percentile) {
+		chk(id);
+		Track track = map.get(id);
+		if (track == null) return 0;
+		synchronized (track) {
+			return track.histogram.percentile(percentile) / NANOS_PER_MILLI;
+		}
+	}
+
+	/**
+	 * Returns the retained durations of the most recent completed intervals measured for
+	 * the given id, oldest first, in milliseconds. Empty unless this timer was
+	 * constructed to retain samples.
+	 *
+	 * @param id timer identifer
+	 * @return the recent elapsed times
+	 */
+	public double[] samples(N id) {
+		chk(id);
+		Track track = map.get(id);
+		if (track == null) return new double[0];
+		long[] durations;
+		synchronized (track) {
+			durations = track.samples();
+		}
+		double[] millis = new double[durations.length];
+		for (int idx = 0; idx < durations.length; idx++) {
+			millis[idx] = durations[idx] / NANOS_PER_MILLI;
+		}
+		return millis;
 	}
 
 	/**
@@ -272,6 +425,10 @@ public class Timer<N> {
 		map.clear();
 	}
 
+	private static double millis(long nanos) {
+		return Maths.round(nanos / NANOS_PER_MILLI, 2);
+	}
+
 	@Override
 	public String toString() {
 		MsgBuilder mb = new MsgBuilder();
@@ -0,0 +1,248 @@
+package net.certiv.common.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.event.AsyncEventDispatcher.Overflow;
+import net.certiv.common.event.TypedEvent.EvtType;
+import net.certiv.common.graph.GraphEvent.GraphEvtType;
+import net.certiv.common.graph.demo.DemoListener;
+import net.certiv.common.stores.props.Props;
+import net.certiv.common.stores.props.PropsListener;
+import net.certiv.common.util.test.CommonTestBase;
+
+class AsyncEventDispatcherTest extends CommonTestBase {
+
+	private final CommonSupport CS = new CommonSupport();
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.teardown();
+	}
+
+	@Test
+	void testOrdered() throws Exception {
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(null, 64, Overflow.BLOCK, 8);
+		Recorder first = new Recorder(null);
+		Recorder second = new Recorder(null);
+		dispatcher.addListeners(List.of(first, second));
+
+		List<String> expected = new ArrayList<>();
+		for (int idx = 0; idx < 500; idx++) {
+			expected.add("E" + idx);
+			dispatcher.fire(new Evt("E" + idx));
+		}
+		dispatcher.flush();
+
+		assertEquals(expected, first.names);
+		assertEquals(expected, second.names);
+		assertTrue(first.batches.stream().allMatch(n -> n > 0 && n <= 8));
+		assertTrue(dispatcher.quiescent());
+		assertEquals(0, dispatcher.dropCount());
+		assertFalse(first.threads.contains(Thread.currentThread().getName()));
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void testUnblocked() throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(null, 16, Overflow.DROP_NEWEST, 1);
+		Recorder slow = new Recorder(gate);
+		dispatcher.addListener(slow);
+
+		for (int idx = 0; idx < 40; idx++) {
+			dispatcher.fire(new Evt("E" + idx));
+		}
+		assertFalse(dispatcher.quiescent());
+		assertFalse(dispatcher.awaitQuiescence(20, TimeUnit.MILLISECONDS));
+
+		gate.countDown();
+		assertTrue(dispatcher.awaitQuiescence(10, TimeUnit.SECONDS));
+		assertTrue(dispatcher.dropCount() >= 40 - 17);
+		assertEquals(40, slow.names.size() + dispatcher.dropCount());
+		assertEquals("E0", slow.names.get(0));
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void testDropOldest() throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(null, 4, Overflow.DROP_OLDEST, 4);
+		Recorder slow = new Recorder(gate);
+		dispatcher.addListener(slow);
+
+		for (int idx = 0; idx < 20; idx++) {
+			dispatcher.fire(new Evt("E" + idx));
+		}
+		gate.countDown();
+		dispatcher.flush();
+
+		assertEquals(20, slow.names.size() + dispatcher.dropCount());
+		assertEquals("E19", slow.names.get(slow.names.size() - 1));
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void testFailure() throws Exception {
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher();
+		Recorder failing = new Recorder(null) {
+
+			@Override
+			protected <TE extends TypedEvent> void accept(TE event) {
+				super.accept(event);
+				if (event.name().equals("E1")) throw new IllegalStateException("Test");
+			}
+		};
+		dispatcher.addListener(failing);
+		dispatcher.fire(new Evt("E1"));
+		dispatcher.flush();
+		dispatcher.fire(new Evt("E2"));
+		dispatcher.flush();
+
+		assertEquals(List.of("E1", "E2"), failing.names);
+		assertEquals(1, dispatcher.failureCount());
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void testError() throws Exception {
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher();
+		Recorder failing = new Recorder(null) {
+
+			@Override
+			protected <TE extends TypedEvent> void accept(TE event) {
+				super.accept(event);
+				if (event.name().equals("E1")) throw new AssertionError("Test");
+			}
+		};
+		dispatcher.addListener(failing);
+		dispatcher.fire(new Evt("E1"));
+		assertTrue(dispatcher.awaitQuiescence(10, TimeUnit.SECONDS));
+		dispatcher.fire(new Evt("E2"));
+		dispatcher.flush();
+
+		assertEquals(List.of("E1", "E2"), failing.names);
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void testRemoved() throws Exception {
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher();
+		Recorder recorder = new Recorder(null);
+		dispatcher.addListener(recorder);
+		dispatcher.fire(new Evt("E1"));
+		dispatcher.flush();
+
+		dispatcher.removeListener(recorder);
+		dispatcher.deliver(recorder, new Evt("E2"));
+		dispatcher.flush();
+		assertEquals(0, dispatcher.queueDepth());
+		assertEquals(List.of("E1"), recorder.names);
+
+		dispatcher.addListener(recorder);
+		dispatcher.fire(new Evt("E3"));
+		dispatcher.flush();
+		assertEquals(List.of("E1", "E3"), recorder.names);
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void testSharedDispatcher() throws Exception {
+		AsyncEventDispatcher shared = new AsyncEventDispatcher();
+		Recorder recorder = new Recorder(null);
+		shared.addListener(recorder);
+
+		Props props = new Props(shared);
+		props.setDispatcher(new AsyncEventDispatcher());
+		assertEquals(1, shared.getListenerCount());
+		assertEquals(0, props.getListenerCount());
+
+		shared.fire(new Evt("E1"));
+		shared.flush();
+		assertEquals(List.of("E1"), recorder.names);
+		shared.shutdown();
+	}
+
+	@Test
+	void testOptIn() throws Exception {
+		List<String> threads = Collections.synchronizedList(new ArrayList<>());
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher();
+
+		DemoListener.of(GraphEvtType.AddNode) //
+				.action(e -> threads.add(Thread.currentThread().getName())) //
+				.addTo(CS.graph);
+		CS.graph.setDispatcher(dispatcher);
+		assertEquals(1, CS.graph.getListenerCount());
+
+		CS.createMinimalNetwork();
+		dispatcher.flush();
+		assertEquals(5, threads.size());
+		assertFalse(threads.contains(Thread.currentThread().getName()));
+
+		Props props = new Props();
+		props.setDispatcher(dispatcher);
+		List<Object> values = Collections.synchronizedList(new ArrayList<>());
+		PropsListener.of(EvtType.CHANGE).action(e -> values.add(e.value())).addTo(props);
+		props.put("A", 1);
+		props.put("A", 2);
+		dispatcher.flush();
+		assertEquals(List.of(1, 2), values);
+		dispatcher.shutdown();
+	}
+
+	private static class Evt extends TypedEvent {
+
+		Evt(String name) {
+			super("Test", EvtType.ACTION, name);
+		}
+	}
+
+	private static class Recorder extends TypedEventListener {
+
+		final List<String> names = Collections.synchronizedList(new ArrayList<>());
+		final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+		final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch gate;
+
+		Recorder(CountDownLatch gate) {
+			this.gate = gate;
+			register(EvtType.ACTION);
+		}
+
+		@Override
+		protected void acceptAll(List<? extends TypedEvent> events) {
+			batches.add(events.size());
+			threads.add(Thread.currentThread().getName());
+			super.acceptAll(events);
+		}
+
+		@Override
+		protected <TE extends TypedEvent> void accept(TE event) {
+			if (gate != null) {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			names.add(event.name());
+		}
+	}
+}
@@ -1,18 +1,27 @@
 package net.certiv.common.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import net.certiv.common.CommonSupport;
+import net.certiv.common.event.TypedEvent.EvtType;
 import net.certiv.common.graph.GraphEvent;
 import net.certiv.common.graph.GraphEvent.GraphEvtType;
 import net.certiv.common.graph.demo.DemoEdge;
 import net.certiv.common.graph.demo.DemoListener;
 import net.certiv.common.graph.demo.DemoNode;
 import net.certiv.common.stores.LinkedHashList;
+import net.certiv.common.stores.props.PropEvent;
+import net.certiv.common.stores.props.PropsListener;
 import net.certiv.common.util.test.CommonTestBase;
 
 class GraphListenerTest extends CommonTestBase {
@@ -44,6 +53,83 @@ class GraphListenerTest extends CommonTestBase {
 		assertEquals(4, edges.sizeValues());
 	}
 
+	@Test
+	void testBulk() {
+		List<GraphEvent<?, ?, ?>> events = new ArrayList<>();
+		DemoListener.of(GraphEvtType.changeTypes()) //
+				.action(e -> events.add(e)) //
+				.addTo(CS.graph);
+
+		CS.graph.bulk(() -> {
+			CS.createMinimalNetwork();
+			CS.graph.bulk(() -> CS.builder.createAndAddEdges("E->X"));
+			CS.graph.removeEdge(CS.builder.getEdges("E", "X").get(0), true);
+		});
+
+		assertEquals(1, events.size());
+		GraphEvent<?, ?, ?> e = events.get(0);
+		assertEquals(GraphEvtType.Bulk, e.type());
+		GraphEvent.Changes<?, ?, ?> changes = e.value();
+		assertEquals(5, changes.addedNodes().size());
+		assertEquals(4, changes.addedEdges().size());
+		assertTrue(changes.removedNodes().isEmpty());
+		assertTrue(changes.removedEdges().isEmpty());
+		assertFalse(changes.addedNodes().contains(CS.builder.getNode("X")));
+	}
+
+	@Test
+	void testBulkCancelled() {
+		CS.createMinimalNetwork();
+		List<GraphEvent<?, ?, ?>> events = new ArrayList<>();
+		DemoListener.of(GraphEvtType.changeTypes()) //
+				.action(e -> events.add(e)) //
+				.addTo(CS.graph);
+
+		// unmodified
+		CS.graph.bulk(() -> {});
+		assertTrue(events.isEmpty());
+
+		// modified, without net change
+		long mod = CS.graph.modCount();
+		CS.graph.bulk(() -> {
+			CS.builder.createAndAddEdges("E->Y");
+			CS.graph.removeEdge(CS.builder.getEdges("E", "Y").get(0), true);
+		});
+
+		assertEquals(1, events.size());
+		GraphEvent.Changes<?, ?, ?> changes = events.get(0).value();
+		assertTrue(changes.isEmpty());
+		assertEquals(CS.graph.modCount() - mod, changes.modifications());
+	}
+
+	@Test
+	void testBulkProps() {
+		List<PropEvent> events = new ArrayList<>();
+		PropsListener.of(EvtType.CHANGE).action(e -> events.add(e)).addTo(CS.graph);
+
+		CS.graph.bulk(() -> {
+			CS.graph.put("A", 1);
+			CS.createMinimalNetwork();
+			CS.graph.put("A", 2);
+			CS.graph.put("B", 3);
+		});
+
+		assertEquals(1, events.size());
+		PropEvent e = events.get(0);
+		assertEquals(PropEvent.BULK, e.name());
+		Map<Object, Object> values = e.value();
+		assertEquals(List.of("A", "B"), List.copyOf(values.keySet()));
+		assertEquals(2, values.get("A"));
+		assertEquals(3, values.get("B"));
+	}
+
+	@Test
+	void testUnobserved() {
+		assertFalse(CS.graph.hasListeners(GraphEvtType.AddNode));
+		CS.createMinimalNetwork();
+		assertEquals(0, CS.graph.getListenerCount());
+	}
+
 	private void handleEvt(GraphEvent<?, ?, ?> e) {
 		// Log.debug("Event [%s] %s", e.type(), e.value());
 		GraphEvtType type = e.type();
@@ -0,0 +1,68 @@
+package net.certiv.common.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.event.TypedEvent.EvtType;
+
+class TypeKeyTest {
+
+	@Test
+	void testGet() {
+		TypeKey key = TypeKey.get(EvtType.CHANGE, "Key.Test");
+		assertSame(key, TypeKey.get(EvtType.CHANGE, "Key.Test"));
+		assertTrue(TypeKey.defined(EvtType.CHANGE, "Key.Test"));
+		assertFalse(TypeKey.defined(EvtType.ACTION, "Key.Test"));
+		assertTrue(TypeKey.defined().contains(key));
+
+		TypeKey other = TypeKey.get(EvtType.ACTION, "Key.Test");
+		assertFalse(key.equals(other));
+		assertEquals(key.hashCode(), TypeKey.get(EvtType.CHANGE, "Key.Test").hashCode());
+	}
+
+	@Test
+	void testConcurrent() throws Exception {
+		int threads = 8;
+		int count = 5000;
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ExecutorService exec = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<TypeKey>>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(exec.submit(() -> {
+					start.await();
+					List<TypeKey> keys = new ArrayList<>();
+					for (int idx = 0; idx < count; idx++) {
+						EvtType type = idx % 2 == 0 ? EvtType.ACTION : EvtType.CHANGE;
+						keys.add(TypeKey.get(type, "Stress" + idx));
+					}
+					return keys;
+				}));
+			}
+
+			List<TypeKey> first = results.get(0).get();
+			for (Future<List<TypeKey>> result : results) {
+				List<TypeKey> keys = result.get();
+				for (int idx = 0; idx < count; idx++) {
+					assertSame(first.get(idx), keys.get(idx));
+				}
+			}
+
+			long defined = TypeKey.defined().stream().filter(k -> k.name.startsWith("Stress")).count();
+			assertEquals(count, defined);
+		} finally {
+			exec.shutdown();
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package net.certiv.common.event;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import net.certiv.common.CommonSupport;
+import net.certiv.common.event.TypedEvent.EvtType;
 import net.certiv.common.graph.GraphEvent.GraphEvtType;
 import net.certiv.common.graph.demo.DemoListener;
 import net.certiv.common.util.test.CommonTestBase;
@@ -43,4 +47,104 @@ class TypedEventDispatcherTest extends CommonTestBase {
 
 		CS.createMultiNetwork(); // should only cause change events
 	}
+
+	@Test
+	void testRouting() {
+		List<String> seen = new ArrayList<>();
+		Recorder any = new Recorder("any", seen).listen(TypeKey.ANY);
+		Recorder a = new Recorder("a", seen).listen("a");
+		Recorder ab = new Recorder("ab", seen).listen("a.b");
+		Recorder c = new Recorder("c", seen).listen("c");
+
+		TypedEventDispatcher dispatcher = new TypedEventDispatcher();
+		dispatcher.addListeners(List.of(any, a, ab, c));
+
+		assertEquals(List.of("any:a.b", "a:a.b", "ab:a.b"), fire(dispatcher, seen, "a.b"));
+		assertEquals(List.of("any:a", "a:a"), fire(dispatcher, seen, "a"));
+		assertEquals(List.of("any:a.b.c", "a:a.b.c", "ab:a.b.c"), fire(dispatcher, seen, "a.b.c"));
+		assertEquals(List.of("any:c", "c:c"), fire(dispatcher, seen, "c"));
+		assertEquals(List.of("any:d"), fire(dispatcher, seen, "d"));
+
+		// routes follow registrations made after the listener is added
+		c.listen("a");
+		assertEquals(List.of("any:a", "a:a", "c:a"), fire(dispatcher, seen, "a"));
+
+		dispatcher.removeListener(any);
+		assertEquals(List.of("a:a", "c:a"), fire(dispatcher, seen, "a"));
+
+		// routes agree with per-event resolution
+		List<Recorder> all = List.of(a, ab, c);
+		for (String name : List.of("a", "a.b", "a.c", "a.b.c", "b", "c", "c.a", TypeKey.ANY)) {
+			List<String> expected = new ArrayList<>();
+			for (Recorder r : all) {
+				if (r.comprehends(TypeKey.get(EvtType.ACTION, name))) expected.add(r.id + ":" + name);
+			}
+			assertEquals(expected, fire(dispatcher, seen, name));
+		}
+
+		dispatcher.clearListeners();
+		assertEquals(List.of(), fire(dispatcher, seen, "a"));
+	}
+
+	@Test
+	void testRoutingRetained() {
+		List<String> seen = new ArrayList<>();
+		Recorder a = new Recorder("a", seen).listen("a");
+		TypedEventDispatcher dispatcher = new TypedEventDispatcher();
+		dispatcher.addListener(a);
+
+		assertEquals(List.of("a:a"), fire(dispatcher, seen, "a"));
+		int resolved = a.resolved;
+
+		// registrations of other listeners leave resolved routes in place
+		new Recorder("b", seen).listen("a");
+		assertEquals(List.of("a:a"), fire(dispatcher, seen, "a"));
+		assertEquals(resolved, a.resolved);
+
+		a.listen("b");
+		resolved = a.resolved;
+		assertEquals(List.of("a:a"), fire(dispatcher, seen, "a"));
+		assertEquals(resolved + 1, a.resolved);
+	}
+
+	private List<String> fire(TypedEventDispatcher dispatcher, List<String> seen, String name) {
+		seen.clear();
+		dispatcher.fire(new Evt(name));
+		return new ArrayList<>(seen);
+	}
+
+	private static class Evt extends TypedEvent {
+
+		Evt(String name) {
+			super("Test", EvtType.ACTION, name);
+		}
+	}
+
+	private static class Recorder extends TypedEventListener {
+
+		final String id;
+		final List<String> seen;
+		int resolved;
+
+		Recorder(String id, List<String> seen) {
+			this.id = id;
+			this.seen = seen;
+		}
+
+		Recorder listen(String name) {
+			register(EvtType.ACTION, name);
+			return this;
+		}
+
+		@Override
+		protected boolean comprehends(TypeKey key) {
+			resolved++;
+			return super.comprehends(key);
+		}
+
+		@Override
+		protected <TE extends TypedEvent> void accept(TE event) {
+			seen.add(id + ":" + event.name());
+		}
+	}
 }
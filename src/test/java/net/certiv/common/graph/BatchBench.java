@@ -0,0 +1,86 @@
+package net.certiv.common.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.XfPolicy.Flg;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.id.Id;
+
+/**
+ * Throughput benchmark of {@link Transfuture} application: milliseconds to record and to
+ * apply a plan of some 11k move and remove ops, sequentially by
+ * {@link Transfuture#apply}, with ops recorded qualified, and as a batch by
+ * {@link Transfuture#applyBatch}, with ops recorded unqualified. Run as a standalone
+ * application.
+ */
+public class BatchBench {
+
+	private static final int NODES = 8_000;
+	private static final int ROUNDS = 8;
+
+	public static void main(String[] args) {
+		for (int round = 1; round <= ROUNDS; round++) {
+			Fixture fix = new Fixture();
+			long beg = System.nanoTime();
+			Transfuture<Id, DemoNode, DemoEdge> seq = fix.record(new Transfuture<>(fix.CS.graph));
+			long mid = System.nanoTime();
+			seq.apply();
+			long end = System.nanoTime();
+			int size = seq.transforms().size();
+			double seqRecord = (mid - beg) / 1e6;
+			double seqApply = (end - mid) / 1e6;
+			fix.CS.teardown();
+
+			fix = new Fixture();
+			beg = System.nanoTime();
+			Transfuture<Id, DemoNode, DemoEdge> batch = fix
+					.record(new Transfuture<>(fix.CS.graph, XfPolicy.DEFAULT, XfPolicy.of(Flg.Report)));
+			mid = System.nanoTime();
+			XfReport<Id, DemoNode, DemoEdge> report = batch.applyBatch();
+			end = System.nanoTime();
+			double batchRecord = (mid - beg) / 1e6;
+			double batchApply = (end - mid) / 1e6;
+			fix.CS.teardown();
+
+			System.out.printf("Round %d: %d ops; sequential record %.1f ms, apply %.1f ms; "
+					+ "batch record %.1f ms, plan+apply %.1f ms (%d dropped, %d steps)%n", round, size, seqRecord,
+					seqApply, batchRecord, batchApply, report.dropped(), report.steps());
+		}
+	}
+
+	/** Anchored chain: {@code Ai->Ni}, {@code Ni->Ni+1}. */
+	private static class Fixture {
+
+		final CommonSupport CS = new CommonSupport();
+		final List<DemoNode> anchors = new ArrayList<>(NODES);
+		final List<DemoNode> nodes = new ArrayList<>(NODES);
+		final List<DemoEdge> chain = new ArrayList<>(NODES);
+
+		Fixture() {
+			CS.setup();
+			Id id = CS.builder.findOrCreateNode("Bench").id();
+			for (int idx = 0; idx < NODES; idx++) {
+				anchors.add(CS.graph.createNode(id));
+				nodes.add(CS.graph.createNode(id));
+				CS.builder.createAndAddEdge(anchors.get(idx), nodes.get(idx));
+				if (idx > 0) chain.add(CS.builder.createAndAddEdge(nodes.get(idx - 1), nodes.get(idx)));
+			}
+		}
+
+		Transfuture<Id, DemoNode, DemoEdge> record(Transfuture<Id, DemoNode, DemoEdge> xf) {
+			for (int idx = 0; idx < chain.size(); idx++) {
+				DemoEdge edge = chain.get(idx);
+				xf.move(edge, nodes.get(idx), nodes.get((idx + 7) % NODES));
+				if (idx % 4 == 0) xf.removeEdge(edge, true);
+				if (idx % 8 == 0) xf.move(edge, anchors.get(idx), nodes.get(idx));
+			}
+			for (int idx = 0; idx < NODES; idx += 50) {
+				xf.removeNode(nodes.get(idx));
+			}
+			return xf;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package net.certiv.common.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.Walker.NodeVisitor;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.graph.paths.SubGraph;
+import net.certiv.common.graph.paths.SubGraphFinder;
+import net.certiv.common.stores.LinkedHashList;
+import net.certiv.common.stores.UniqueList;
+import net.certiv.common.util.test.CommonTestBase;
+
+class CompactGraphTest extends CommonTestBase {
+
+	private final CommonSupport CS = new CommonSupport();
+
+	private DemoNode a;
+	private DemoNode b;
+	private DemoNode c;
+	private DemoNode e;
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+		CS.builder.createAndAddEdges("A->B->C->D->E");
+		CS.builder.createAndAddEdges("C->F->G");
+		CS.builder.createAndAddEdges("C->[B,C,E]");
+		CS.builder.createAndAddEdges("D->H->I->J");
+		CS.builder.createAndAddEdges("X->Y->Z->X");
+
+		a = CS.builder.getNode("A");
+		b = CS.builder.getNode("B");
+		c = CS.builder.getNode("C");
+		e = CS.builder.getNode("E");
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.teardown();
+	}
+
+	@Test
+	void testStructure() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		assertEquals(CS.graph.size(), cg.nodeCount());
+		assertEquals(CS.graph.getEdges(true).size(), cg.edgeCount());
+
+		for (int idx = 0; idx < cg.nodeCount(); idx++) {
+			DemoNode node = cg.node(idx);
+			assertEquals(idx, cg.indexOf(node));
+			assertEquals(node.degree(Sense.OUT, true), cg.degree(Sense.OUT, idx));
+			assertEquals(node.degree(Sense.IN, true), cg.degree(Sense.IN, idx));
+
+			for (int pos = cg.begin(Sense.OUT, idx); pos < cg.end(Sense.OUT, idx); pos++) {
+				DemoEdge edge = cg.edge(cg.edgeAt(Sense.OUT, pos));
+				assertSame(node, edge.beg());
+				assertSame(edge.end(), cg.node(cg.target(Sense.OUT, pos)));
+				assertEquals(edge.weight(), cg.weight(cg.indexOf(edge)));
+			}
+		}
+	}
+
+	@Test
+	void testAdjacent() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		for (Sense dir : Sense.values()) {
+			for (boolean cyclic : List.of(true, false)) {
+				UniqueList<DemoNode> nodes = new UniqueList<>();
+				cg.forEachAdjacent(c, dir, cyclic, nodes::add);
+				assertEquals(c.adjacent(dir, cyclic), nodes);
+			}
+		}
+	}
+
+	@Test
+	void testAdjacentHub() {
+		for (int idx = 0; idx < 40; idx++) {
+			if (idx < 30) CS.builder.createAndAddEdges("P" + idx + "->Q");
+			if (idx >= 10) CS.builder.createAndAddEdges("Q->P" + idx);
+		}
+		CS.builder.createAndAddEdges("Q->Q");
+		DemoNode q = CS.builder.getNode("Q");
+
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		for (boolean cyclic : List.of(true, false)) {
+			UniqueList<DemoNode> nodes = new UniqueList<>();
+			cg.forEachAdjacent(q, Sense.BOTH, cyclic, nodes::add);
+			assertEquals(q.adjacent(Sense.BOTH, cyclic), nodes);
+		}
+	}
+
+	@Test
+	void testRoots() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		assertEquals(CS.graph.getRoots(), cg.getRoots());
+		assertEquals(List.of(a, CS.builder.getNode("X")), cg.getRoots());
+	}
+
+	@Test
+	void testRootsCached() {
+		UniqueList<DemoNode> roots = CS.graph.getRoots();
+		assertSame(roots, CS.graph.getRoots());
+
+		CS.builder.createAndAddEdges("P->X");
+		assertNotSame(roots, CS.graph.getRoots());
+		assertEquals(List.of(a, CS.builder.getNode("P")), CS.graph.getRoots());
+	}
+
+	@Test
+	void testRootsCondensed() {
+		// R is first constructed, but its cycle is entered from the later T cycle
+		CS.builder.createAndAddEdges("R->S->R");
+		CS.builder.createAndAddEdges("T->U->T");
+		CS.builder.createAndAddEdges("U->R");
+		assertEquals(List.of(a, CS.builder.getNode("X"), CS.builder.getNode("T")), CS.graph.getRoots());
+	}
+
+	@Test
+	void testWalk() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		assertEquals(walk(null), walk(cg));
+	}
+
+	@Test
+	void testFinder() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		UniqueList<DemoNode> live = Finder.in(CS.graph).include(n -> n.name().compareTo("F") < 0).all();
+		UniqueList<DemoNode> snap = Finder.in(CS.graph).using(cg).include(n -> n.name().compareTo("F") < 0).all();
+		assertEquals(live, snap);
+	}
+
+	@Test
+	void testShortestPath() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		SubGraph<Id, DemoNode, DemoEdge> sg = SubGraphFinder.in(CS.graph).find(a);
+		LinkedList<DemoEdge> shortest = sg.getPath(a).shortestPathTo(cg, e);
+		assertEquals(sg.getPath(a).shortestPathTo(e), shortest);
+		assertEquals(3, shortest.size());
+	}
+
+	@Test
+	void testRebuild() {
+		CompactGraph<Id, DemoNode, DemoEdge> cg = CompactGraph.of(CS.graph);
+		assertTrue(cg.isCurrent());
+		assertSame(cg, cg.rebuild());
+
+		Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph);
+		xf.removeEdges(Sense.OUT, c, e, true);
+		xf.apply();
+		assertFalse(cg.isCurrent());
+
+		CompactGraph<Id, DemoNode, DemoEdge> cg2 = cg.rebuild();
+		assertNotSame(cg, cg2);
+		assertTrue(cg2.isCurrent());
+		assertEquals(cg.edgeCount() - 1, cg2.edgeCount());
+		assertEquals(b.degree(Sense.OUT, true), cg2.degree(Sense.OUT, cg2.indexOf(b)));
+	}
+
+	private LinkedList<String> walk(CompactGraph<Id, DemoNode, DemoEdge> cg) {
+		LinkedList<String> steps = new LinkedList<>();
+		CS.graph.walker().using(cg).descend(new NodeVisitor<DemoNode>() {
+
+			@Override
+			public boolean enter(Sense dir, LinkedHashList<DemoNode, DemoNode> visited, DemoNode prev,
+					DemoNode node) {
+				steps.add("+" + node.name());
+				return true;
+			}
+
+			@Override
+			public boolean exit(Sense dir, LinkedHashList<DemoNode, DemoNode> visited, DemoNode prev,
+					DemoNode node) {
+				steps.add("-" + node.name());
+				return true;
+			}
+		}, a);
+		return steps;
+	}
+}
@@ -0,0 +1,123 @@
+package net.certiv.common.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.graph.ex.GraphException;
+import net.certiv.common.stores.UniqueList;
+import net.certiv.common.util.test.CommonTestBase;
+
+class ComponentsTest extends CommonTestBase {
+
+	private final CommonSupport CS = new CommonSupport();
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.teardown();
+	}
+
+	@Test
+	void testComponents() {
+		CS.builder.createAndAddEdges("A->B->C->B");
+		CS.builder.createAndAddEdges("C->D->D");
+		CS.builder.createAndAddEdges("A->E->D");
+
+		Components<Id, DemoNode, DemoEdge> cc = Components.in(CS.graph);
+		assertEquals(4, cc.count());
+		assertFalse(cc.isAcyclic());
+
+		int a = cc.component(node("A"));
+		int b = cc.component(node("B"));
+		int d = cc.component(node("D"));
+		int e = cc.component(node("E"));
+		assertEquals(b, cc.component(node("C")));
+		assertEquals(List.of(node("B"), node("C")), cc.members(b));
+		assertEquals(2, cc.size(b));
+
+		assertFalse(cc.isCyclic(a));
+		assertTrue(cc.isCyclic(b));
+		assertTrue(cc.isCyclic(d));
+		assertFalse(cc.isCyclic(e));
+		assertEquals(List.of(cc.members(b), cc.members(d)), cc.cycles());
+
+		assertArrayEquals(new int[] { a }, cc.sources());
+		assertArrayEquals(new int[] { d }, cc.sinks());
+		assertArrayEquals(new int[] { a }, cc.adjacent(b, Sense.IN));
+		assertArrayEquals(new int[] { d }, cc.adjacent(b, Sense.OUT));
+		assertEquals(2, cc.adjacent(d, Sense.IN).length);
+
+		// condensation edges lead from lower to higher numbered components
+		for (int c = 0; c < cc.count(); c++) {
+			for (int adj : cc.adjacent(c, Sense.OUT)) {
+				assertTrue(c < adj);
+			}
+		}
+
+		GraphException ex = assertThrows(GraphException.class, () -> cc.sort());
+		assertTrue(ex.getMessage().contains("B"));
+	}
+
+	@Test
+	void testSort() {
+		CS.builder.createAndAddEdges("A->[B,C]");
+		CS.builder.createAndAddEdges("C->D->E");
+		CS.builder.createAndAddEdges("B->E");
+		CS.builder.createAndAddEdges("F->C");
+
+		Components<Id, DemoNode, DemoEdge> cc = Components.in(CompactGraph.of(CS.graph));
+		assertTrue(cc.isAcyclic());
+		assertEquals(CS.graph.size(), cc.count());
+		assertTrue(cc.cycles().isEmpty());
+
+		UniqueList<DemoNode> sorted = cc.sort();
+		assertEquals(CS.graph.size(), sorted.size());
+		for (DemoEdge edge : CS.graph.getEdges(true)) {
+			assertTrue(sorted.indexOf(edge.beg()) < sorted.indexOf(edge.end()));
+		}
+	}
+
+	@Test
+	void testDeep() throws Exception {
+		int depth = 2000;
+		DemoNode first = CS.builder.findOrCreateNode("N0");
+		DemoNode prev = first;
+		for (int idx = 1; idx < depth; idx++) {
+			DemoNode node = CS.builder.findOrCreateNode("N" + idx);
+			CS.builder.createAndAddEdge(prev, node);
+			prev = node;
+		}
+		CS.builder.createAndAddEdge(prev, first);
+
+		// run on a small stack to verify the computation is not recursive
+		Components<?, ?, ?>[] result = new Components<?, ?, ?>[1];
+		Thread thread = new Thread(null, () -> result[0] = Components.in(CS.graph), "deep", 64 * 1024);
+		thread.start();
+		thread.join();
+
+		assertEquals(1, result[0].count());
+		assertEquals(depth, result[0].size(0));
+		assertTrue(result[0].isCyclic(0));
+	}
+
+	private DemoNode node(String name) {
+		return CS.builder.getNode(name);
+	}
+}
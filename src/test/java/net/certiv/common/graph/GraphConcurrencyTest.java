@@ -0,0 +1,257 @@
+package net.certiv.common.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.Walker.NodeVisitor;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.stores.LinkedHashList;
+import net.certiv.common.stores.Result;
+import net.certiv.common.stores.UniqueList;
+import net.certiv.common.util.test.CommonTestBase;
+
+class GraphConcurrencyTest extends CommonTestBase {
+
+	private static final int SPOKES = 16;
+	private static final int ROUNDS = 200;
+	private static final int READERS = 3;
+
+	/** Nodes: R, A, and the spoke ends. */
+	private static final int NODES = SPOKES + 2;
+	/** Edges: R->A, and the spokes. */
+	private static final int EDGES = SPOKES + 1;
+
+	private final CommonSupport CS = new CommonSupport();
+
+	private DemoNode r;
+	private DemoNode a;
+	private final List<DemoEdge> spokes = new ArrayList<>();
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+		CS.builder.createAndAddEdges("R->A");
+		for (int idx = 0; idx < SPOKES; idx++) {
+			CS.builder.createAndAddEdges("R->X" + idx);
+		}
+		r = CS.builder.getNode("R");
+		a = CS.builder.getNode("A");
+		spokes.clear();
+		for (int idx = 0; idx < SPOKES; idx++) {
+			spokes.add(CS.builder.getEdges("R", "X" + idx).getFirst());
+		}
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.teardown();
+	}
+
+	/**
+	 * Concurrent readers and writers. Each spoke move transiently removes, and then
+	 * restores, the spoke edge and end node, so a torn read observes a short count.
+	 */
+	@Test
+	void testStress() throws Exception {
+		ConcurrentLinkedQueue<String> errs = new ConcurrentLinkedQueue<>();
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicInteger reads = new AtomicInteger();
+
+		List<DemoEdge> direct = spokes.subList(0, SPOKES / 2);
+		List<DemoEdge> deferred = spokes.subList(SPOKES / 2, SPOKES);
+
+		Thread transformer = thread("Transformer", errs, () -> {
+			Transformer<Id, DemoNode, DemoEdge> xf = new Transformer<>(CS.graph);
+			for (int round = 0; round < ROUNDS; round++) {
+				DemoNode beg = (round & 1) == 0 ? a : r;
+				for (DemoEdge edge : direct) {
+					Result<Boolean> res = xf.move(edge, beg, edge.end());
+					if (!res.valid()) errs.add("Transformer: " + res.getErrMsg());
+				}
+				Thread.yield();
+			}
+		});
+
+		Thread transfuture = thread("Transfuture", errs, () -> {
+			for (int round = 0; round < ROUNDS; round++) {
+				DemoNode beg = (round & 1) == 0 ? a : r;
+				Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph);
+				for (DemoEdge edge : deferred) {
+					xf.move(edge, beg, edge.end());
+				}
+				Result<Boolean> res = xf.apply();
+				if (!res.valid()) errs.add("Transfuture: " + res.getErrMsg());
+				Thread.yield();
+			}
+		});
+
+		List<Thread> readers = new ArrayList<>();
+		for (int idx = 0; idx < READERS; idx++) {
+			readers.add(thread("Reader" + idx, errs, () -> {
+				while (!done.get()) {
+					check(errs, "size", NODES, CS.graph.size());
+					check(errs, "nodes", NODES, CS.graph.getNodes().size());
+					check(errs, "edges", EDGES, CS.graph.getEdges().size());
+					check(errs, "consistent", EDGES, CS.graph.read(this::outDegrees));
+					check(errs, "finder", NODES, Finder.in(CS.graph).all().size());
+					check(errs, "walker", NODES, CS.graph.read(this::walk));
+					reads.incrementAndGet();
+					Thread.yield();
+				}
+			}));
+		}
+
+		readers.forEach(Thread::start);
+		transformer.start();
+		transfuture.start();
+		transformer.join(TimeUnit.MINUTES.toMillis(1));
+		transfuture.join(TimeUnit.MINUTES.toMillis(1));
+		done.set(true);
+		for (Thread reader : readers) {
+			reader.join(TimeUnit.MINUTES.toMillis(1));
+		}
+
+		assertTrue(errs.isEmpty(), errs.size() + " failures; first: " + errs.peek());
+		assertTrue(reads.get() > 0);
+		assertEquals(NODES, CS.graph.size());
+		assertEquals(EDGES, CS.graph.getEdges().size());
+		assertEquals(EDGES, r.degree(Sense.OUT));
+	}
+
+	@Test
+	void testQueryHoldsRead() {
+		int size = CS.graph.query(() -> {
+			assertThrows(IllegalStateException.class, CS.graph::lock);
+			return CS.graph.size();
+		});
+		assertEquals(NODES, size);
+		assertFalse(CS.graph.isLocked());
+	}
+
+	@Test
+	void testReadUpgrade() {
+		CS.graph.read(() -> {
+			assertThrows(IllegalStateException.class, CS.graph::lock);
+			assertEquals(NODES, (int) CS.graph.read(() -> CS.graph.size()));
+			return null;
+		});
+
+		CS.graph.lock();
+		try {
+			assertTrue(CS.graph.isLocked());
+			assertEquals(NODES, (int) CS.graph.read(() -> CS.graph.size()));
+			assertEquals(EDGES, (int) CS.graph.query(() -> CS.graph.getEdges().size()));
+		} finally {
+			CS.graph.unlock();
+		}
+		assertFalse(CS.graph.isLocked());
+		assertThrows(IllegalMonitorStateException.class, CS.graph::unlock);
+	}
+
+	@Test
+	void testQueryWaitsForWriter() throws Exception {
+		ConcurrentLinkedQueue<String> errs = new ConcurrentLinkedQueue<>();
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		DemoEdge spoke = spokes.get(0);
+
+		Thread writer = thread("Writer", errs, () -> {
+			CS.graph.lock();
+			try {
+				CS.graph.removeEdge(spoke, false);
+				locked.countDown();
+				release.await();
+				CS.graph.addEdge(spoke);
+			} catch (InterruptedException e) {
+				errs.add("Interrupted");
+			} finally {
+				CS.graph.unlock();
+			}
+		});
+
+		AtomicInteger size = new AtomicInteger(-1);
+		Thread reader = thread("Reader", errs, () -> size.set(CS.graph.size()));
+
+		writer.start();
+		assertTrue(locked.await(1, TimeUnit.MINUTES));
+		reader.start();
+		reader.join(50);
+		assertTrue(reader.isAlive());
+		assertEquals(-1, size.get());
+
+		release.countDown();
+		writer.join(TimeUnit.MINUTES.toMillis(1));
+		reader.join(TimeUnit.MINUTES.toMillis(1));
+		assertTrue(errs.isEmpty(), String.valueOf(errs.peek()));
+		assertEquals(NODES, size.get());
+	}
+
+	/** Count of edges, as the sum of the node out degrees. */
+	private int outDegrees() {
+		int count = 0;
+		UniqueList<DemoNode> nodes = CS.graph.getNodes();
+		for (DemoEdge edge : CS.graph.getEdges()) {
+			if (!nodes.contains(edge.beg()) || !nodes.contains(edge.end())) return -1;
+		}
+		for (DemoNode node : nodes) {
+			count += node.degree(Sense.OUT);
+		}
+		return count;
+	}
+
+	/** Count of nodes reached descending from the root. */
+	private int walk() {
+		Set<DemoNode> seen = new HashSet<>();
+		CS.graph.walker().descend(new NodeVisitor<DemoNode>() {
+
+			@Override
+			public boolean enter(Sense dir, LinkedHashList<DemoNode, DemoNode> visited, DemoNode prev,
+					DemoNode node) {
+				seen.add(node);
+				return true;
+			}
+		}, r);
+		return seen.size();
+	}
+
+	private static void check(ConcurrentLinkedQueue<String> errs, String what, int expected, int actual) {
+		if (expected != actual) errs.add(String.format("%s: expected %s, was %s", what, expected, actual));
+	}
+
+	private static Thread thread(String name, ConcurrentLinkedQueue<String> errs, Action action) {
+		Thread thread = new Thread(() -> {
+			try {
+				action.run();
+			} catch (Throwable e) {
+				errs.add(name + ": " + e);
+			}
+		}, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	@FunctionalInterface
+	private interface Action {
+
+		void run() throws Exception;
+	}
+}
@@ -5,10 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.sun.management.ThreadMXBean;
+
 import net.certiv.common.CommonSupport;
 import net.certiv.common.diff.Differ;
 import net.certiv.common.graph.Edge.Sense;
@@ -112,6 +117,85 @@ class GraphNodesTest extends CommonTestBase {
 		assertEquals(nodes.size(), 4);
 	}
 
+	@Test
+	void testForEachAdjacent() {
+		UniqueList<DemoNode> nodes = new UniqueList<>();
+		c.forEachAdjacent(Sense.OUT, nodes::add);
+		assertEquals(c.adjacent(Sense.OUT), nodes);
+
+		nodes.clear();
+		c.forEachAdjacent(Sense.BOTH, true, nodes::add);
+		assertEquals(c.adjacent(Sense.BOTH, true), nodes);
+
+		UniqueList<DemoEdge> edges = new UniqueList<>();
+		c.forEachEdge(Sense.BOTH, true, edges::add);
+		assertEquals(c.edges(Sense.BOTH, true), edges);
+	}
+
+	@Test
+	void testForEachAdjacentAllocation() {
+		UniqueList<DemoNode> nodes = new UniqueList<>();
+		c.forEachAdjacent(Sense.BOTH, false, nodes::add);
+		assertEquals(c.adjacent(Sense.BOTH, false), nodes);
+
+		ThreadMXBean mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if (!mx.isThreadAllocatedMemorySupported() || !mx.isThreadAllocatedMemoryEnabled()) return;
+
+		int[] count = new int[1];
+		Consumer<DemoNode> sink = n -> count[0]++;
+		for (int idx = 0; idx < 100; idx++) {
+			c.forEachAdjacent(Sense.BOTH, false, sink);
+		}
+
+		long tid = Thread.currentThread().getId();
+		long beg = mx.getThreadAllocatedBytes(tid);
+		for (int idx = 0; idx < 1_000; idx++) {
+			c.forEachAdjacent(Sense.BOTH, false, sink);
+		}
+		long perCall = (mx.getThreadAllocatedBytes(tid) - beg) / 1_000;
+
+		// measured before C2 escape analysis could elide closures: at most the two key set
+		// iterators; no copies, no per-call closures
+		assertTrue(perCall <= 64, "Allocated " + perCall + " bytes per call");
+		assertTrue(count[0] > 0);
+	}
+
+	@Test
+	void testDegree() {
+		assertEquals(1, c.degree(Sense.IN));
+		assertEquals(2, c.degree(Sense.IN, true));
+		assertEquals(4, c.degree(Sense.OUT));
+		assertEquals(5, c.degree(Sense.OUT, true));
+		assertEquals(5, c.degree(Sense.BOTH));
+		assertEquals(6, c.degree(Sense.BOTH, true));
+		assertEquals(c.edges(Sense.BOTH, true).size(), c.degree(Sense.BOTH, true));
+
+		assertEquals(2, c.count(Sense.BOTH, b));
+		assertEquals(1, c.count(Sense.BOTH, c));
+		assertEquals(0, c.count(Sense.IN, d));
+	}
+
+	@Test
+	void testNodeCursor() {
+		NodeCursor<?, DemoNode, DemoEdge> cursor = new NodeCursor<>();
+		cursor.reset(c, Sense.OUT, true);
+		assertEquals(5, cursor.size());
+
+		UniqueList<DemoNode> nodes = new UniqueList<>();
+		while (cursor.hasNext()) {
+			DemoNode node = cursor.next();
+			nodes.add(node);
+			c.to(node).forEach(edge -> CS.graph.removeEdge(edge, false));
+		}
+		assertEquals(5, nodes.size());
+		assertEquals(0, c.degree(Sense.OUT));
+
+		cursor.reset(a, Sense.OUT);
+		assertEquals(1, cursor.size());
+		assertEquals(b, cursor.next());
+		assertFalse(cursor.hasNext());
+	}
+
 	@Test
 	void testAncestorOf() {
 		assertTrue(a.ancestorOf(b));
@@ -0,0 +1,229 @@
+package net.certiv.common.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.Edge.Sense;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.util.test.CommonTestBase;
+
+class GraphSnapshotTest extends CommonTestBase {
+
+	private final CommonSupport CS = new CommonSupport();
+
+	private DemoNode a;
+	private DemoNode b;
+	private DemoNode c;
+	private DemoNode d;
+	private DemoEdge cd;
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+		CS.builder.createAndAddEdges("A->B->C->D");
+		CS.builder.createAndAddEdges("A->E");
+		a = CS.builder.getNode("A");
+		b = CS.builder.getNode("B");
+		c = CS.builder.getNode("C");
+		d = CS.builder.getNode("D");
+		cd = CS.builder.getEdges("C", "D").getFirst();
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.teardown();
+	}
+
+	@Test
+	void testSnapshot() {
+		a.put(CommonSupport.MARK, "A");
+		GraphSnapshot<Id, DemoNode, DemoEdge> v1 = CS.graph.snapshot();
+		assertEquals(1, v1.version());
+		assertEquals(CS.graph.getNodes(), v1.getNodes());
+		assertEquals(CS.graph.getEdges(), v1.getEdges());
+		assertEquals(List.of(b, CS.builder.getNode("E")), v1.adjacent(a, Sense.OUT));
+		assertEquals("A", v1.props(a).get(CommonSupport.MARK));
+		assertSame(v1, CS.graph.snapshot());
+
+		// not published: in-place transform
+		Transformer<Id, DemoNode, DemoEdge> xf = new Transformer<>(CS.graph);
+		xf.move(cd, b, d);
+		assertSame(v1, CS.graph.snapshot());
+
+		// published: deferred transform
+		Transfuture<Id, DemoNode, DemoEdge> xfs = new Transfuture<>(CS.graph);
+		xfs.move(cd, a, d);
+		assertTrue(xfs.apply().valid());
+
+		GraphSnapshot<Id, DemoNode, DemoEdge> v2 = CS.graph.snapshot();
+		assertEquals(2, v2.version());
+		assertEquals(CS.graph.modCount(), v2.modCount());
+		assertEquals(a, v2.beg(cd));
+		assertEquals(List.of(cd), v2.getEdges(d, Sense.IN));
+		assertTrue(v2.getEdges(c, Sense.OUT).isEmpty());
+
+		// prior version unaffected
+		assertEquals(c, v1.beg(cd));
+		assertEquals(List.of(cd), v1.getEdges(c, Sense.OUT));
+		assertEquals(List.of(c), v1.adjacent(d, Sense.IN));
+
+		// unchanged views shared
+		assertSame(v1.props(a), v2.props(a));
+	}
+
+	@Test
+	void testProps() {
+		GraphSnapshot<Id, DemoNode, DemoEdge> v1 = CS.graph.snapshot();
+		assertSame(v1, CS.graph.publish());
+
+		c.put(CommonSupport.MARK, "C");
+		cd.put(CommonSupport.MARK, "CD");
+		GraphSnapshot<Id, DemoNode, DemoEdge> v2 = CS.graph.publish();
+		assertEquals(2, v2.version());
+		assertEquals("C", v2.props(c).get(CommonSupport.MARK));
+		assertEquals("CD", v2.props(cd).get(CommonSupport.MARK));
+		assertNull(v1.props(c).get(CommonSupport.MARK));
+		assertNull(v1.props(cd).get(CommonSupport.MARK));
+		assertEquals(v1.getEdges(c, Sense.BOTH), v2.getEdges(c, Sense.BOTH));
+	}
+
+	@Test
+	void testPropsTracked() {
+		GraphSnapshot<Id, DemoNode, DemoEdge> v1 = CS.graph.snapshot();
+
+		// added elements report changes
+		CS.builder.createAndAddEdges("D->F");
+		DemoNode f = CS.builder.getNode("F");
+		DemoEdge df = CS.builder.getEdges("D", "F").getFirst();
+		GraphSnapshot<Id, DemoNode, DemoEdge> v2 = CS.graph.publish();
+		f.put(CommonSupport.MARK, "F");
+		df.put(CommonSupport.MARK, "DF");
+		GraphSnapshot<Id, DemoNode, DemoEdge> v3 = CS.graph.publish();
+		assertEquals(3, v3.version());
+		assertEquals("F", v3.props(f).get(CommonSupport.MARK));
+		assertEquals("DF", v3.props(df).get(CommonSupport.MARK));
+		assertNull(v2.props(f).get(CommonSupport.MARK));
+		assertSame(v1.props(a), v3.props(a));
+
+		// removed elements do not
+		CS.graph.removeEdge(df, false);
+		GraphSnapshot<Id, DemoNode, DemoEdge> v4 = CS.graph.publish();
+		assertFalse(v4.contains(df));
+		df.put(CommonSupport.MARK, "X");
+		f.put(CommonSupport.MARK, "X");
+		assertSame(v4, CS.graph.publish());
+	}
+
+	@Test
+	void testBatch() {
+		GraphSnapshot<Id, DemoNode, DemoEdge> v1 = CS.graph.snapshot();
+		Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph);
+		xf.removeEdge(cd, true);
+		assertTrue(xf.applyBatch().valid());
+
+		GraphSnapshot<Id, DemoNode, DemoEdge> v2 = CS.graph.snapshot();
+		assertEquals(2, v2.version());
+		assertFalse(v2.contains(cd));
+		assertFalse(v2.contains(d));
+		assertEquals(CS.graph.getEdges(), v2.getEdges());
+		assertTrue(v1.contains(cd));
+		assertEquals(d, v1.end(cd));
+	}
+
+	@Test
+	void testSnapshotInRead() {
+		GraphSnapshot<Id, DemoNode, DemoEdge> v1 = CS.graph.read(() -> CS.graph.snapshot());
+		assertEquals(1, v1.version());
+		assertEquals(CS.graph.getNodes(), v1.getNodes());
+		assertSame(v1, CS.graph.snapshot());
+
+		c.put(CommonSupport.MARK, "C");
+		GraphSnapshot<Id, DemoNode, DemoEdge> v2 = CS.graph.publish();
+		assertEquals(2, v2.version());
+		assertEquals("C", v2.props(c).get(CommonSupport.MARK));
+	}
+
+	/** Lock-free readers of snapshots published by a concurrent writer. */
+	@Test
+	void testConcurrent() throws Exception {
+		int spokes = 12;
+		for (int idx = 0; idx < spokes; idx++) {
+			CS.builder.createAndAddEdges("A->X" + idx);
+		}
+		List<DemoEdge> edges = new ArrayList<>();
+		for (int idx = 0; idx < spokes; idx++) {
+			edges.add(CS.builder.getEdges("A", "X" + idx).getFirst());
+		}
+		int nodes = CS.graph.size();
+		int edgeCnt = CS.graph.getEdges().size();
+		CS.graph.snapshot();
+
+		ConcurrentLinkedQueue<String> errs = new ConcurrentLinkedQueue<>();
+		AtomicBoolean done = new AtomicBoolean();
+
+		Thread writer = new Thread(() -> {
+			try {
+				for (int round = 0; round < 200; round++) {
+					DemoNode beg = (round & 1) == 0 ? b : a;
+					Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph);
+					for (DemoEdge edge : edges) {
+						xf.move(edge, beg, edge.end());
+					}
+					xf.apply();
+					Thread.yield();
+				}
+			} catch (Throwable e) {
+				errs.add("Writer: " + e);
+			}
+		});
+
+		List<Thread> readers = new ArrayList<>();
+		for (int idx = 0; idx < 3; idx++) {
+			readers.add(new Thread(() -> {
+				long last = 0;
+				try {
+					while (!done.get()) {
+						GraphSnapshot<Id, DemoNode, DemoEdge> snap = CS.graph.snapshot();
+						if (snap.version() < last) errs.add("Version regressed: " + snap.version());
+						last = snap.version();
+						if (snap.size() != nodes) errs.add("Nodes: " + snap.size());
+						if (snap.getEdges().size() != edgeCnt) errs.add("Edges: " + snap.getEdges().size());
+						DemoNode beg = snap.beg(edges.get(0));
+						for (DemoEdge edge : edges) {
+							if (snap.beg(edge) != beg) errs.add("Torn: " + snap.version());
+						}
+						Thread.yield();
+					}
+				} catch (Throwable e) {
+					errs.add("Reader: " + e);
+				}
+			}));
+		}
+
+		readers.forEach(Thread::start);
+		writer.start();
+		writer.join(TimeUnit.MINUTES.toMillis(1));
+		done.set(true);
+		for (Thread reader : readers) {
+			reader.join(TimeUnit.MINUTES.toMillis(1));
+		}
+
+		assertTrue(errs.isEmpty(), errs.size() + " failures; first: " + errs.peek());
+		assertEquals(201, CS.graph.snapshot().version());
+	}
+}
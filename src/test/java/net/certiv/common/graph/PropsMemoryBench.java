@@ -0,0 +1,75 @@
+package net.certiv.common.graph;
+
+import java.util.LinkedHashMap;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.event.TypedEventDispatcher;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+
+/**
+ * Memory benchmark: retained bytes per graph node and per graph edge.
+ * <p>
+ * Reports the retained size of nodes and edges as currently implemented, and the
+ * retained size of the per-element property structures allocated by the prior eager
+ * property store implementation: a {@code LinkedHashMap}, holding the node identifier
+ * entry, and a {@code TypedEventDispatcher}. Run as a standalone application, nominally
+ * with a fixed heap, e.g. {@code -Xms1g -Xmx1g}.
+ */
+public class PropsMemoryBench {
+
+	private static final int COUNT = 200_000;
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) {
+		CommonSupport CS = new CommonSupport();
+		CS.setup();
+		Id id = CS.builder.findOrCreateNode("Bench").id();
+
+		for (int round = 1; round <= ROUNDS; round++) {
+			long base = used();
+			DemoNode[] nodes = new DemoNode[COUNT];
+			for (int idx = 0; idx < COUNT; idx++) {
+				nodes[idx] = CS.graph.createNode(id);
+			}
+			double perNode = (used() - base) / (double) COUNT;
+
+			base = used();
+			DemoEdge[] edges = new DemoEdge[COUNT];
+			for (int idx = 0; idx < COUNT; idx++) {
+				edges[idx] = CS.graph.createEdge(nodes[idx], nodes[(idx + 1) % COUNT]);
+			}
+			double perEdge = (used() - base) / (double) COUNT;
+
+			base = used();
+			Object[] legacy = new Object[COUNT * 2];
+			for (int idx = 0; idx < COUNT; idx++) {
+				LinkedHashMap<Object, Object> map = new LinkedHashMap<>();
+				map.put("NodeId", id);
+				legacy[idx * 2] = map;
+				legacy[idx * 2 + 1] = new TypedEventDispatcher();
+			}
+			double perLegacy = (used() - base) / (double) COUNT;
+
+			System.out.printf("Round %d: node %.1f bytes (eager %.1f), edge %.1f bytes (eager %.1f)%n", round,
+					perNode, perNode + perLegacy, perEdge, perEdge + perLegacy);
+
+			// retain until measured
+			if (nodes.length + edges.length + legacy.length == 0) System.out.println();
+		}
+		CS.teardown();
+	}
+
+	private static long used() {
+		Runtime rt = Runtime.getRuntime();
+		for (int idx = 0; idx < 4; idx++) {
+			System.gc();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+}
@@ -0,0 +1,164 @@
+package net.certiv.common.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.util.test.CommonTestBase;
+
+class ReachabilityTest extends CommonTestBase {
+
+	private final CommonSupport CS = new CommonSupport();
+
+	private Reachability<Id, DemoNode, DemoEdge> reach;
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+		CS.builder.createAndAddEdges("A->B->C->D");
+		CS.builder.createAndAddEdges("C->B");
+		CS.builder.createAndAddEdges("E->F");
+		reach = CS.graph.enableReachability();
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.graph.disableReachability();
+		CS.teardown();
+	}
+
+	@Test
+	void testIndex() {
+		assertTrue(reach.isCurrent());
+		verify();
+		assertTrue(CS.graph.ancestorOf(node("B"), node("D")));
+		assertTrue(CS.graph.ancestorOf(node("C"), node("B")));
+		assertFalse(CS.graph.ancestorOf(node("D"), node("A")));
+		assertFalse(CS.graph.ancestorOf(node("A"), node("E")));
+		assertEquals(0, reach.searches());
+		assertEquals(1, reach.rebuilds());
+	}
+
+	@Test
+	void testAddition() {
+		CS.builder.createAndAddEdges("D->E");
+		CS.builder.createAndAddEdges("F->G");
+		assertTrue(reach.isCurrent());
+		assertTrue(CS.graph.ancestorOf(node("A"), node("G")));
+		verify();
+
+		CS.graph.bulk(() -> CS.builder.createAndAddEdges("G->H->A"));
+		assertTrue(reach.isCurrent());
+		assertTrue(CS.graph.ancestorOf(node("F"), node("D")));
+		verify();
+		assertEquals(0, reach.searches());
+		assertEquals(1, reach.rebuilds());
+	}
+
+	@Test
+	void testRemoval() {
+		// parallel edge removal retains the index
+		CS.builder.createAndAddEdges("A->B");
+		DemoEdge ab = CS.builder.getEdges("A", "B").getFirst();
+		assertEquals(2, CS.builder.getEdges("A", "B").size());
+		CS.graph.removeEdge(ab, true);
+		assertTrue(reach.isCurrent());
+
+		// disconnecting removal falls back to search
+		DemoNode d = node("D");
+		DemoEdge cd = CS.builder.getEdges("C", "D").getFirst();
+		CS.graph.removeEdge(cd, true);
+		assertFalse(reach.isCurrent());
+		assertFalse(CS.graph.ancestorOf(node("A"), d));
+		assertTrue(CS.graph.ancestorOf(node("A"), node("C")));
+		assertEquals(2, reach.searches());
+
+		// rebuilt on repeated fallback
+		for (int idx = 2; idx < Reachability.REBUILD; idx++) {
+			CS.graph.ancestorOf(node("A"), node("C"));
+		}
+		assertTrue(reach.isCurrent());
+		assertEquals(2, reach.rebuilds());
+		assertEquals(Reachability.REBUILD - 1, reach.searches());
+		verify();
+	}
+
+	@Test
+	void testMove() {
+		DemoEdge cd = CS.builder.getEdges("C", "D").getFirst();
+		Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph);
+		xf.move(cd, node("E"), node("D"));
+		assertTrue(xf.apply().valid());
+
+		assertFalse(reach.isCurrent());
+		assertFalse(CS.graph.ancestorOf(node("A"), node("D")));
+		assertTrue(CS.graph.ancestorOf(node("E"), node("D")));
+		reach.rebuild();
+		assertTrue(reach.isCurrent());
+		verify();
+	}
+
+	@Test
+	void testBatchMove() {
+		DemoEdge cd = CS.builder.getEdges("C", "D").getFirst();
+		Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph);
+		xf.move(cd, node("E"), node("D"));
+		assertTrue(xf.applyBatch().valid());
+
+		// reconnection reported without net change invalidates the index
+		assertFalse(reach.isCurrent());
+		assertFalse(CS.graph.ancestorOf(node("A"), node("D")));
+		assertTrue(CS.graph.ancestorOf(node("E"), node("D")));
+
+		for (int idx = 2; idx < Reachability.REBUILD; idx++) {
+			CS.graph.ancestorOf(node("A"), node("C"));
+		}
+		assertTrue(reach.isCurrent());
+		assertEquals(2, reach.rebuilds());
+		verify();
+
+		CS.builder.createAndAddEdges("D->A");
+		assertTrue(reach.isCurrent());
+		verify();
+	}
+
+	@Test
+	void testRandom() {
+		Random rand = new Random(7);
+		for (int round = 0; round < 200; round++) {
+			String beg = String.valueOf((char) ('A' + rand.nextInt(10)));
+			String end = String.valueOf((char) ('A' + rand.nextInt(10)));
+			if (rand.nextInt(4) > 0 || CS.graph.getEdges().size() < 4) {
+				CS.builder.createAndAddEdges(beg + "->" + end);
+			} else {
+				DemoEdge edge = CS.graph.getEdges().get(rand.nextInt(CS.graph.getEdges().size()));
+				CS.graph.removeEdge(edge, true);
+			}
+			verify();
+		}
+		assertTrue(reach.rebuilds() > 1);
+	}
+
+	private DemoNode node(String name) {
+		return CS.builder.getNode(name);
+	}
+
+	/** Checks the index against node search, for all node pairs. */
+	private void verify() {
+		for (DemoNode src : CS.graph.getNodes()) {
+			for (DemoNode dst : CS.graph.getNodes()) {
+				boolean expected = src.equals(dst) || src.ancestorOf(dst);
+				assertEquals(expected, reach.ancestorOf(src, dst), src + " -> " + dst);
+			}
+		}
+	}
+}
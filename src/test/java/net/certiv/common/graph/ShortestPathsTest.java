@@ -0,0 +1,121 @@
+package net.certiv.common.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.graph.paths.PathTree;
+import net.certiv.common.graph.paths.ShortestPaths;
+import net.certiv.common.graph.paths.WeightedPath;
+import net.certiv.common.util.test.CommonTestBase;
+
+class ShortestPathsTest extends CommonTestBase {
+
+	private final CommonSupport CS = new CommonSupport();
+
+	private DemoNode s;
+	private DemoNode a;
+	private DemoNode b;
+	private DemoNode t;
+
+	@BeforeEach
+	public void setup() {
+		CS.setup();
+		CS.builder.createAndAddEdges("S->[A,B]");
+		CS.builder.createAndAddEdges("A->[B,T]");
+		CS.builder.createAndAddEdges("B->T->T");
+		CS.builder.createAndAddEdges("U->S");
+
+		s = CS.builder.getNode("S");
+		a = CS.builder.getNode("A");
+		b = CS.builder.getNode("B");
+		t = CS.builder.getNode("T");
+
+		weigh("S", "A", 1);
+		weigh("S", "B", 4);
+		weigh("A", "B", 1);
+		weigh("A", "T", 5);
+		weigh("B", "T", 1);
+	}
+
+	@AfterEach
+	public void teardown() {
+		CS.teardown();
+	}
+
+	@Test
+	void testShortest() {
+		ShortestPaths<Id, DemoNode, DemoEdge> sp = ShortestPaths.in(CS.graph);
+		WeightedPath<Id, DemoNode, DemoEdge> path = sp.shortest(s, t);
+		assertEquals(3.0, path.weight());
+		assertEquals(List.of(s, a, b, t), path.nodes());
+
+		assertEquals(path, sp.shortest(s, t, (n, target) -> 0));
+		assertEquals(path, sp.shortest(s, t, (n, target) -> n.equals(target) ? 0 : 1));
+		assertEquals(path, sp.bidirectional(s, t));
+
+		assertTrue(sp.shortest(s, s).isEmpty());
+		assertTrue(sp.bidirectional(s, s).isEmpty());
+		assertNull(sp.shortest(t, s));
+		assertNull(sp.bidirectional(t, s));
+	}
+
+	@Test
+	void testShortestWithin() {
+		ShortestPaths<Id, DemoNode, DemoEdge> sp = ShortestPaths.in(CS.graph);
+		List<DemoEdge> within = CS.builder.getEdges("S", "B").dup();
+		within.addAll(CS.builder.getEdges("B", "T"));
+		within.addAll(CS.builder.getEdges("S", "A"));
+
+		WeightedPath<Id, DemoNode, DemoEdge> path = sp.shortestWithin(s, t, within);
+		assertEquals(5.0, path.weight());
+		assertEquals(List.of(s, b, t), path.nodes());
+		assertNull(sp.shortestWithin(a, t, within));
+		assertEquals(sp.shortest(s, t), sp.shortestWithin(s, t, CS.graph.getEdges()));
+	}
+
+	@Test
+	void testAll() {
+		PathTree<Id, DemoNode, DemoEdge> tree = ShortestPaths.in(CS.graph).all(s);
+		assertEquals(0.0, tree.distance(s));
+		assertEquals(1.0, tree.distance(a));
+		assertEquals(2.0, tree.distance(b));
+		assertEquals(3.0, tree.distance(t));
+		assertFalse(tree.reachable(CS.builder.getNode("U")));
+		assertEquals(List.of(s, a, b), tree.pathTo(b).nodes());
+	}
+
+	@Test
+	void testKShortest() {
+		ShortestPaths<Id, DemoNode, DemoEdge> sp = ShortestPaths.in(CS.graph);
+		List<WeightedPath<Id, DemoNode, DemoEdge>> paths = sp.kShortest(s, t, 5);
+		assertEquals(List.of(3.0, 5.0, 6.0), paths.stream().map(p -> p.weight()).collect(Collectors.toList()));
+		assertEquals(List.of(s, b, t), paths.get(1).nodes());
+		assertEquals(List.of(s, a, t), paths.get(2).nodes());
+
+		assertEquals(2, sp.kShortest(s, t, 2).size());
+		assertTrue(sp.kShortest(t, s, 2).isEmpty());
+	}
+
+	@Test
+	void testNegativeWeight() {
+		weigh("U", "S", -1);
+		assertThrows(IllegalArgumentException.class, () -> ShortestPaths.in(CS.graph));
+	}
+
+	private void weigh(String beg, String end, double weight) {
+		CS.builder.getEdges(beg, end).forEach(e -> e.put(DemoEdge.WEIGHT, weight));
+	}
+}
@@ -1,10 +1,12 @@
 package net.certiv.common.graph;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -101,6 +103,29 @@ class SubgraphTest extends CommonTestBase {
 		assertEquals(Set.of(e, g, j, q, s, v), Set.copyOf(sg.terminals()));
 	}
 
+	@Test
+	void testFindParallel() {
+		CS.builder.createAndAddEdges("W->[O,K]");
+		CS.builder.createAndAddEdges("X->Y->X");
+
+		SubGraph<Id, DemoNode, DemoEdge> seq = sgf.find();
+		SubGraph<Id, DemoNode, DemoEdge> par = SubGraphFinder.in(CS.graph).find(4);
+		assertEquals(seq.heads(), par.heads());
+		for (DemoNode head : seq.heads()) {
+			assertEquals(seq.getPath(head).edges(), par.getPath(head).edges());
+		}
+
+		List<DemoNode> stops = List.of(d, f);
+		seq = SubGraphFinder.in(CS.graph).begin(n -> n.equals(b) || n.equals(o)).end(n -> stops.contains(n))
+				.find();
+		par = SubGraphFinder.in(CS.graph).begin(n -> n.equals(b) || n.equals(o)).end(n -> stops.contains(n))
+				.find(ForkJoinPool.commonPool());
+		assertEquals(seq.heads(), par.heads());
+		for (DemoNode head : seq.heads()) {
+			assertEquals(seq.getPath(head).edges(), par.getPath(head).edges());
+		}
+	}
+
 	@Test
 	void testFindA() {
 		SubGraph<Id, DemoNode, DemoEdge> sg = sgf.find(a);
@@ -195,4 +220,12 @@ class SubgraphTest extends CommonTestBase {
 		assertEquals(actual, shortest);
 	}
 
+	@Test
+	void testFindShortestNoProps() {
+		SubGraph<Id, DemoNode, DemoEdge> sg = sgf.find(a);
+		sg.getPath(a).shortestPathTo(e);
+		for (DemoEdge edge : CS.graph.getEdges()) {
+			assertTrue(edge.properties().keySet().stream().noneMatch(k -> k.toString().startsWith("DKEY-")));
+		}
+	}
 }
@@ -0,0 +1,71 @@
+package net.certiv.common.graph;
+
+import net.certiv.common.CommonSupport;
+import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.demo.DemoGraph;
+import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.id.Id;
+
+/**
+ * Throughput benchmark of successful graph transforms: nanoseconds per in-place
+ * {@link Transformer} move, and per op recorded and applied through a
+ * {@link Transfuture} batch. Run as a standalone application.
+ */
+public class TransformBench {
+
+	private static final int WARMUP = 100_000;
+	private static final int COUNT = 1_000_000;
+	private static final int BATCH = 100;
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) {
+		CommonSupport CS = new CommonSupport();
+		CS.setup();
+		CS.builder.createAndAddEdges("R->[A,B]");
+		CS.builder.createAndAddEdges("A->B");
+		DemoNode a = CS.builder.getNode("A");
+		DemoNode b = CS.builder.getNode("B");
+		DemoEdge edge = CS.builder.getEdges("A", "B").getFirst();
+
+		Transformer<Id, DemoNode, DemoEdge> xf = new Transformer<>(CS.graph);
+		for (int round = 1; round <= ROUNDS; round++) {
+			moves(xf, edge, a, b, WARMUP);
+			double moves = moves(xf, edge, a, b, COUNT);
+
+			batches(CS.graph, edge, a, b, WARMUP / 10);
+			double batches = batches(CS.graph, edge, a, b, COUNT / 10);
+
+			System.out.printf("Round %d: move %.1f ns/op, deferred move %.1f ns/op%n", round, moves, batches);
+		}
+		CS.teardown();
+	}
+
+	private static double moves(Transformer<Id, DemoNode, DemoEdge> xf, DemoEdge edge, DemoNode a, DemoNode b,
+			int count) {
+		long beg = System.nanoTime();
+		for (int idx = 0; idx < count; idx++) {
+			if ((idx & 1) == 0) {
+				xf.move(edge, b, a);
+			} else {
+				xf.move(edge, a, b);
+			}
+		}
+		return (System.nanoTime() - beg) / (double) count;
+	}
+
+	private static double batches(DemoGraph graph, DemoEdge edge, DemoNode a, DemoNode b, int count) {
+		long beg = System.nanoTime();
+		for (int idx = 0; idx < count; idx += BATCH) {
+			Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(graph);
+			for (int op = 0; op < BATCH; op++) {
+				if ((op & 1) == 0) {
+					xf.move(edge, b, a);
+				} else {
+					xf.move(edge, a, b);
+				}
+			}
+			xf.apply();
+		}
+		return (System.nanoTime() - beg) / (double) count;
+	}
+}
@@ -2,6 +2,8 @@ package net.certiv.common.graph;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterEach;
@@ -10,9 +12,11 @@ import org.junit.jupiter.api.Test;
 
 import net.certiv.common.CommonSupport;
 import net.certiv.common.diff.Differ;
+import net.certiv.common.ex.Explainer;
 import net.certiv.common.graph.Edge.Sense;
 import net.certiv.common.graph.demo.DemoEdge;
 import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.graph.ex.GraphException;
 import net.certiv.common.stores.Result;
 import net.certiv.common.stores.UniqueList;
 import net.certiv.common.util.test.CommonTestBase;
@@ -61,6 +65,24 @@ class TransformRmTest extends CommonTestBase {
 		assertEquals(CS.graph.getEdges().size(), cntEdges - 3);
 	}
 
+	@Test
+	void testRemoveNodeFail() {
+		DemoNode b = CS.builder.getNode("B");
+		Transformer<Id, DemoNode, DemoEdge> xf = new Transformer<>(CS.graph);
+		assertTrue(xf.removeNode(b).valid());
+
+		Result<Boolean> res = xf.removeNode(b);
+		assertTrue(res.err());
+		Explainer xpr = assertInstanceOf(Explainer.class, res.getErr());
+		assertFalse(xpr.isEmpty());
+		assertEquals(0, xpr.getStackTrace().length);
+
+		GraphException ex = assertThrows(GraphException.class, () -> xf.removeNode(XfPolicy.ERROR, b));
+		xpr = assertInstanceOf(Explainer.class, ex.getCause());
+		assertFalse(xpr.isEmpty());
+		assertTrue(xpr.getStackTrace().length > 0);
+	}
+
 	@Test
 	void testRemoveEdge() {
 		int nodes = CS.graph.size();
@@ -3,9 +3,13 @@ package net.certiv.common.graph;
 import static net.certiv.common.dot.DotAttr.COLOR;
 import static net.certiv.common.dot.DotAttr.LABEL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +19,10 @@ import net.certiv.common.CommonSupport;
 import net.certiv.common.diff.Differ;
 import net.certiv.common.dot.DotStyle;
 import net.certiv.common.graph.demo.DemoEdge;
+import net.certiv.common.graph.XfPolicy.Flg;
 import net.certiv.common.graph.demo.DemoNode;
+import net.certiv.common.graph.ex.GraphEx;
+import net.certiv.common.graph.ops.MoveOp;
 import net.certiv.common.graph.paths.SubGraph;
 import net.certiv.common.graph.paths.SubGraphFinder;
 import net.certiv.common.stores.Result;
@@ -238,4 +245,120 @@ class TransfutureTest extends CommonTestBase {
 		Differ.diff(CS.graph.displayName(), txt, dot).sdiff(true, 120).out();
 		assertEquals(txt, dot);
 	}
+
+	@Test
+	void testBatch() {
+		Function<CommonSupport, Transfuture<Id, DemoNode, DemoEdge>> record = cs -> {
+			DemoEdge ab = cs.builder.getEdges("A", "B").getFirst();
+			DemoEdge de = cs.builder.getEdges("D", "E").getFirst();
+			DemoEdge ce = cs.builder.getEdges("C", "E").getFirst();
+			DemoNode a = cs.builder.getNode("A");
+			DemoNode d = cs.builder.getNode("D");
+			DemoNode f = cs.builder.getNode("F");
+			DemoNode g = cs.builder.getNode("G");
+
+			Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(cs.graph);
+			xf.move(ab, a, f); // superseded
+			xf.move(de, a, d);
+			xf.removeNode(g);
+			xf.move(ce, a, d); // grouped
+			xf.removeEdge(ab, true);
+			xf.removeNode(g); // repeated
+			return xf;
+		};
+
+		CommonSupport seq = new CommonSupport();
+		seq.setup();
+		seq.builder.createAndAddEdges("A->B->C->D->E");
+		seq.builder.createAndAddEdges("C->F->G");
+		seq.builder.createAndAddEdges("C->[B,C,E]");
+		assertTrue(record.apply(seq).apply().valid());
+
+		Transfuture<Id, DemoNode, DemoEdge> bxf = record.apply(CS);
+		XfPlan<Id, DemoNode, DemoEdge> plan = bxf.plan();
+		assertEquals(6, plan.recorded());
+		assertEquals(2, plan.dropped());
+		assertEquals(3, plan.size());
+
+		XfReport<Id, DemoNode, DemoEdge> report = bxf.applyBatch();
+		assertTrue(report.valid());
+		assertTrue(report.result().valid());
+		assertEquals(4, report.applied());
+		assertEquals(structure(seq.graph), structure(CS.graph));
+		seq.teardown();
+	}
+
+	@Test
+	void testBatchFailure() {
+		DemoNode b = CS.builder.getNode("B");
+		DemoNode g = CS.builder.getNode("G");
+		DemoNode c = CS.builder.getNode("C");
+		DemoNode d = CS.builder.getNode("D");
+		DemoEdge ab = CS.builder.getEdges("A", "B").getFirst();
+
+		Transfuture<Id, DemoNode, DemoEdge> xf = new Transfuture<>(CS.graph, XfPolicy.of(Flg.Report),
+				XfPolicy.of(Flg.Report));
+		xf.removeNode(b);
+		xf.move(ab, c, d);
+		xf.removeNode(g);
+
+		XfReport<Id, DemoNode, DemoEdge> report = xf.applyBatch();
+		assertFalse(report.valid());
+		assertEquals(1, report.failures().size());
+		assertEquals(1, report.failures().get(0).index);
+		assertEquals(2, report.applied());
+		assertTrue(report.result().err());
+		assertFalse(CS.graph.contains(g));
+
+		xf = new Transfuture<>(CS.graph, XfPolicy.DEFAULT, XfPolicy.of(Flg.Report));
+		xf.removeNode(g);
+		report = xf.applyBatch();
+		assertTrue(report.valid());
+		assertEquals(0, report.applied());
+	}
+
+	@Test
+	void testBatchPartial() {
+		DemoNode a = CS.builder.getNode("A");
+		DemoNode d = CS.builder.getNode("D");
+		DemoEdge ab = CS.builder.getEdges("A", "B").getFirst();
+		DemoEdge de = CS.builder.getEdges("D", "E").getFirst();
+		DemoEdge ce = CS.builder.getEdges("C", "E").getFirst();
+
+		// fails on moving edge C->E, after moving any preceding edges
+		Transformer<Id, DemoNode, DemoEdge> xf = new Transformer<>(CS.graph) {
+
+			@Override
+			public Result<Boolean> move(XfPolicy policy, Collection<? extends DemoEdge> edges, DemoNode beg,
+					DemoNode end, boolean cyclic) {
+				for (DemoEdge edge : edges) {
+					if (edge == ce) throw GraphEx.of("Move fail: %s", edge);
+					super.move(policy, List.of(edge), beg, end, cyclic);
+				}
+				return Result.OK;
+			}
+		};
+
+		XfPlan<Id, DemoNode, DemoEdge> plan = XfPlan.of(List.of( //
+				MoveOp.of(de, a, d, false), //
+				MoveOp.of(ce, a, d, false), //
+				MoveOp.of(ab, a, d, false)));
+		assertEquals(1, plan.size());
+
+		XfReport<Id, DemoNode, DemoEdge> report = plan.apply(xf, XfPolicy.of(Flg.Report));
+		assertEquals(1, report.failures().size());
+		assertEquals(1, report.failures().get(0).index);
+		assertEquals(2, report.applied());
+		assertEquals(a, de.beg());
+		assertEquals(a, ab.beg());
+		assertEquals(d, ab.end());
+		assertEquals(CS.builder.getNode("C"), ce.beg());
+	}
+
+	private static List<String> structure(Graph<Id, DemoNode, DemoEdge> graph) {
+		return graph.getEdges().stream() //
+				.map(e -> e.beg().name() + "->" + e.end().name()) //
+				.sorted() //
+				.toList();
+	}
 }
@@ -78,6 +78,35 @@ class WalkerTest extends CommonTestBase {
 		assertEquals(0, vis.exited.size());
 	}
 
+	@Test
+	void testDeepWalk() throws InterruptedException {
+		CS.graph.setId(CS.factory.make("Walker"));
+
+		int depth = 2_000;
+		DemoNode top = CS.builder.findOrCreateNode("Top");
+		DemoNode prev = top;
+		for (int idx = 0; idx < depth; idx++) {
+			DemoNode node = CS.builder.findOrCreateNode("N" + idx);
+			CS.builder.createAndAddEdge(prev, node);
+			prev = node;
+		}
+		DemoNode last = prev;
+
+		// walk on a small stack: a recursive walk would overflow
+		Vis down = new Vis("X", "Y", "Z");
+		Vis up = new Vis("X", "Y", "Z");
+		Thread thread = new Thread(null, () -> {
+			CS.graph.walker().descend(down, top);
+			CS.graph.walker().ascend(up, last);
+		}, "walker", 64 * 1024);
+		thread.start();
+		thread.join();
+
+		assertEquals(depth + 1, down.entered.size());
+		assertEquals(depth + 1, down.exited.size());
+		assertEquals(depth + 1, up.entered.size());
+	}
+
 	private final class Vis extends NodeVisitor<DemoNode> {
 		private final LinkedHashSet<DemoNode> entered = new LinkedHashSet<>();
 		private final LinkedHashSet<DemoNode> exited = new LinkedHashSet<>();
@@ -5,7 +5,14 @@ import net.certiv.common.id.Id;
 
 public class DemoEdge extends Edge<Id, DemoNode, DemoEdge> {
 
+	public static final String WEIGHT = "Weight";
+
 	public DemoEdge(DemoNode beg, DemoNode end) {
 		super(beg, end);
 	}
+
+	@Override
+	public double weight() {
+		return get(WEIGHT, 1.0);
+	}
 }
@@ -0,0 +1,110 @@
+package net.certiv.common.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class IdInternTest {
+
+	@Test
+	void testIntern() {
+		IdFactory factory = new IdFactory("Test");
+		SId<Seq> a = factory.make("alpha.beta");
+		assertSame(a, factory.make(List.of("alpha", "beta")));
+		assertSame(a, factory.find(List.of("alpha", "beta")));
+		assertNull(factory.find(List.of("alpha")));
+
+		SId<Seq> b = factory.make("Other", "alpha.beta");
+		assertNotSame(a, b);
+		assertEquals(Set.of(a), factory.defined());
+		assertEquals(Set.of(b), factory.defined("Other"));
+		assertTrue(factory.defined("None").isEmpty());
+
+		SId<Seq> parent = factory.make("alpha");
+		assertSame(parent, factory.findParent(a, -1));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testCache() {
+		IdFactory factory = new IdFactory("Test");
+		SId<Seq> a = factory.make("alpha");
+		SId<Seq> b = factory.make("Other", "beta");
+		assertEquals(Set.of(a, b), factory.cache);
+		assertTrue(factory.cache.contains(b));
+
+		IdFactory other = new IdFactory("Test");
+		SId<Seq> c = other.make("gamma");
+		assertTrue(factory.cache.add(c));
+		assertFalse(factory.cache.add(other.make("alpha")));
+		assertSame(c, factory.find(List.of("gamma")));
+		assertSame(a, factory.make("alpha"));
+
+		assertTrue(factory.cache.remove(c));
+		assertNull(factory.find(List.of("gamma")));
+		assertEquals(2, factory.cache.size());
+	}
+
+	@Test
+	void testConcurrent() throws Exception {
+		IdFactory factory = new IdFactory("Test");
+		int threads = 4;
+		int count = 2000;
+		ExecutorService exec = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<SId<Seq>>>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(exec.submit(() -> {
+					List<SId<Seq>> ids = new ArrayList<>();
+					for (int idx = 0; idx < count; idx++) {
+						ids.add(factory.make("N" + idx));
+					}
+					return ids;
+				}));
+			}
+
+			List<SId<Seq>> first = results.get(0).get();
+			for (Future<List<SId<Seq>>> result : results) {
+				List<SId<Seq>> ids = result.get();
+				for (int idx = 0; idx < count; idx++) {
+					assertSame(first.get(idx), ids.get(idx));
+				}
+			}
+			assertEquals(count, factory.defined().size());
+		} finally {
+			exec.shutdown();
+		}
+	}
+
+	@Test
+	void testWeak() throws Exception {
+		IdFactory factory = new IdFactory("Test", true);
+		assertTrue(factory.isWeak());
+
+		SId<Seq> kept = factory.make("kept");
+		assertSame(kept, factory.make("kept"));
+		for (int idx = 0; idx < 1000; idx++) {
+			factory.make("temp" + idx);
+		}
+
+		for (int tries = 0; tries < 50 && factory.defined().size() > 1; tries++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertEquals(Set.of(kept), factory.defined());
+		assertSame(kept, factory.make("kept"));
+		assertEquals("Test::temp0", factory.make("temp0").uname());
+	}
+}
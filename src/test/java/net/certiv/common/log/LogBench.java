@@ -0,0 +1,69 @@
+package net.certiv.common.log;
+
+/**
+ * Throughput benchmark of the {@link Log} facade: nanoseconds per call on the disabled
+ * path, where the level is not enabled for any class, on the class gated path, where
+ * the level is enabled for some other class only, and on the enabled path. Run as a
+ * standalone application.
+ */
+public class LogBench {
+
+	private static final int WARMUP = 200_000;
+	private static final int COUNT = 1_000_000;
+	private static final int ENABLED = 20_000;
+	private static final int ROUNDS = 3;
+
+	private static long sink;
+
+	public static void main(String[] args) {
+		Log.setName("Bench");
+		Log.defLevel(Level.WARN);
+		Log.setLevel(Level.WARN);
+
+		for (int round = 1; round <= ROUNDS; round++) {
+			run(WARMUP);
+			double disabled = run(COUNT);
+
+			Other.enable();
+			run(WARMUP);
+			double gated = run(COUNT);
+			Other.disable();
+
+			double enabled = enabled(ENABLED);
+
+			System.out.printf("Round %d: disabled %.1f ns, gated %.1f ns, enabled %.1f ns%n", round, disabled,
+					gated, enabled);
+		}
+		System.out.println(sink == 42 ? "" : "done");
+	}
+
+	private static double run(int count) {
+		long beg = System.nanoTime();
+		for (int idx = 0; idx < count; idx++) {
+			Log.debug("Value %d of %s", idx, "bench");
+			Log.debug(() -> "Value " + sink);
+		}
+		return (System.nanoTime() - beg) / (count * 2.0);
+	}
+
+	private static double enabled(int count) {
+		long beg = System.nanoTime();
+		for (int idx = 0; idx < count; idx++) {
+			Log.error("Value %d of %s", idx, "bench");
+			sink += idx;
+		}
+		return (System.nanoTime() - beg) / (double) count;
+	}
+
+	/** Holds the debug level for a class other than the bench class. */
+	private static class Other {
+
+		static void enable() {
+			Log.setLevel(Level.DEBUG);
+		}
+
+		static void disable() {
+			Log.setLevel(Level.WARN);
+		}
+	}
+}
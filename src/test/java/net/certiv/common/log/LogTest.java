@@ -1,5 +1,10 @@
 package net.certiv.common.log;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -26,4 +31,26 @@ class LogTest {
 		Log.setName("Printf");
 		Log.printf(Level.WARN, "Print %s", "now.");
 	}
+
+	@Test
+	void testGated() {
+		Log.setName("Gated");
+		assertTrue(Log.isEnabled(Level.FATAL));
+
+		AtomicInteger calls = new AtomicInteger();
+		Log.setLevel(Level.WARN);
+		Log.debug(() -> "Debug " + calls.incrementAndGet());
+		Log.info("Info %s", new Object() {
+
+			@Override
+			public String toString() {
+				return "" + calls.incrementAndGet();
+			}
+		});
+		assertEquals(0, calls.get());
+
+		Log.warn(() -> "Warn " + calls.incrementAndGet());
+		assertEquals(1, calls.get());
+		Log.setLevel((Level) null);
+	}
 }
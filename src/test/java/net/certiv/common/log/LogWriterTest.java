@@ -0,0 +1,170 @@
+package net.certiv.common.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.message.TimestampMessage;
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.log.AsyncMode.Overflow;
+
+class LogWriterTest {
+
+	@Test
+	void testRing() throws Exception {
+		int producers = 4;
+		int count = 20_000;
+		LogRing<Integer> ring = new LogRing<>(100);
+		assertEquals(128, ring.capacity());
+		assertNull(ring.poll());
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * count;
+			Thread thread = new Thread(() -> {
+				for (int idx = 0; idx < count; idx++) {
+					while (!ring.offer(base + idx)) {
+						Thread.yield();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		BitSet seen = new BitSet();
+		int[] last = new int[producers];
+		Arrays.fill(last, -1);
+		for (int got = 0; got < producers * count;) {
+			Integer item = ring.poll();
+			if (item == null) {
+				Thread.yield();
+				continue;
+			}
+			assertFalse(seen.get(item));
+			seen.set(item);
+			// items of each producer arrive in order
+			assertTrue(item % count > last[item / count]);
+			last[item / count] = item % count;
+			got++;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, ring.size());
+	}
+
+	@Test
+	void testDropOldest() throws Exception {
+		List<String> written = new ArrayList<>();
+		CountDownLatch hold = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		LogWriter writer = new LogWriter(AsyncMode.of(4, Overflow.DROP_OLDEST).batch(1), e -> {
+			started.countDown();
+			await(hold);
+			written.add(e.msg.getFormattedMessage());
+		}, () -> {});
+
+		writer.submit(entry(Level.INFO, "first"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int idx = 0; idx < 6; idx++) {
+			writer.submit(entry(Level.INFO, "M" + idx));
+		}
+		assertEquals(4, writer.depth());
+		assertEquals(2, writer.dropped());
+
+		hold.countDown();
+		writer.shutdown();
+		assertEquals(List.of("first", "M2", "M3", "M4", "M5"), written);
+		assertEquals(0, writer.depth());
+	}
+
+	@Test
+	void testDropBelow() throws Exception {
+		List<String> written = new ArrayList<>();
+		CountDownLatch hold = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		LogWriter writer = new LogWriter(AsyncMode.dropBelow(2, Level.WARN), e -> {
+			started.countDown();
+			await(hold);
+			written.add(e.msg.getFormattedMessage());
+		}, () -> {});
+
+		writer.submit(entry(Level.INFO, "first"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		writer.submit(entry(Level.INFO, "A"));
+		writer.submit(entry(Level.INFO, "B"));
+		writer.submit(entry(Level.DEBUG, "C"));
+		writer.submit(entry(Level.INFO, "D"));
+		assertEquals(2, writer.dropped());
+
+		// blocks until space is available
+		Thread error = new Thread(() -> writer.submit(entry(Level.ERROR, "E")));
+		error.start();
+		error.join(100);
+		assertTrue(error.isAlive());
+
+		hold.countDown();
+		error.join();
+		writer.shutdown();
+		assertEquals(List.of("first", "A", "B", "E"), written);
+		assertEquals(2, writer.dropped());
+	}
+
+	@Test
+	void testTimestamp() throws Exception {
+		List<Long> stamps = new ArrayList<>();
+		CountDownLatch hold = new CountDownLatch(1);
+		LogWriter writer = new LogWriter(AsyncMode.of(), e -> {
+			await(hold);
+			stamps.add(((TimestampMessage) e.msg).getTimestamp());
+		}, () -> {});
+
+		long beg = System.currentTimeMillis();
+		writer.submit(entry(Level.INFO, "A"));
+		long end = System.currentTimeMillis();
+		Thread.sleep(50);
+		hold.countDown();
+		writer.shutdown();
+
+		assertEquals(1, stamps.size());
+		assertTrue(stamps.get(0) >= beg && stamps.get(0) <= end);
+	}
+
+	@Test
+	void testAsyncLog() {
+		Log.setName("Async", "../../src/test/resources/logs");
+		Log.setAsync(AsyncMode.of());
+		assertTrue(Log.isAsync());
+		for (int idx = 0; idx < 100; idx++) {
+			Log.warn("Async %d", idx);
+		}
+		Log.setAsync(null);
+		assertFalse(Log.isAsync());
+		assertEquals(0, Log.queueDepth());
+		assertEquals(0, Log.dropCount());
+		Log.warn("Sync");
+	}
+
+	private static LogWriter.Entry entry(Level level, String msg) {
+		return new LogWriter.Entry(null, level, new SimpleMessage(msg), null, null);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package net.certiv.common.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndexedUniqueListTest {
+
+	private static final Class<UnsupportedOperationException> ERR_CLS0 = UnsupportedOperationException.class;
+
+	private IndexedUniqueList<String> test;
+
+	@BeforeEach
+	void setup() {
+		test = new IndexedUniqueList<>();
+	}
+
+	@Test
+	void testEmpty() {
+		assertTrue(IndexedUniqueList.empty().isEmpty());
+		assertTrue(IndexedUniqueList.empty().isUnmodifiable());
+	}
+
+	@Test
+	void testUnmodifiable() {
+		assertFalse(test.isUnmodifiable());
+		assertTrue(test.add("A"));
+		assertTrue(test.size() == 1);
+		test.unmodifiable();
+		assertThrows(ERR_CLS0, () -> { test.add("B"); });
+		assertThrows(ERR_CLS0, () -> { test.remove("A"); });
+		assertThrows(ERR_CLS0, () -> { test.iterator().remove(); });
+		assertFalse(test.dup().isUnmodifiable());
+	}
+
+	@Test
+	void testAdd() {
+		assertTrue(test.add("A"));
+		assertTrue(test.add("B"));
+		assertFalse(test.add("B"));
+		assertTrue(test.size() == 2);
+		assertTrue(test.contains("B"));
+		assertFalse(test.contains("C"));
+	}
+
+	@Test
+	void testAddReplaces() {
+		String b1 = new String("B");
+		String b2 = new String("B");
+		test.add("A");
+		test.add(b1);
+		test.add("C");
+		assertFalse(test.add(b2));
+		assertEquals("[A, B, C]", test.toString());
+		assertSame(b2, test.get(1));
+	}
+
+	@Test
+	void testAddInt() {
+		test.add("A");
+		test.add("B");
+		test.add("C");
+		test.add("D");
+
+		test.add(1, "X");
+		assertEquals(test.toString(), "[A, X, B, C, D]");
+		test.add(3, "X");
+		assertEquals(test.toString(), "[A, B, C, X, D]");
+		test.add(1, "X");
+		assertEquals(test.toString(), "[A, X, B, C, D]");
+		test.add(4, "X");
+		assertEquals(test.toString(), "[A, B, C, D, X]");
+		test.add(0, "X");
+		assertEquals(test.toString(), "[X, A, B, C, D]");
+	}
+
+	@Test
+	void testAddFirst() {
+		test.add("A");
+		test.add("B");
+
+		test.addFirst("X");
+		assertEquals(test.toString(), "[X, A, B]");
+		test.addFirst("B");
+		assertEquals(test.toString(), "[B, X, A]");
+	}
+
+	@Test
+	void testAddLast() {
+		test.add("A");
+		test.add("B");
+
+		test.addLast("X");
+		assertEquals(test.toString(), "[A, B, X]");
+		test.addLast("A");
+		assertEquals(test.toString(), "[B, X, A]");
+	}
+
+	@Test
+	void testAddAllCollectionOfQextendsE() {
+		test.add("A");
+		test.add("B");
+
+		assertTrue(test.addAll(List.of("X", "A", "Y")));
+		assertEquals(test.toString(), "[A, B, X, Y]");
+	}
+
+	@Test
+	void testAddAllIntCollectionOfQextendsE() {
+		test.add("A");
+		test.add("B");
+
+		assertTrue(test.addAll(1, List.of("X", "Y")));
+		assertEquals(test.toString(), "[A, X, Y, B]");
+	}
+
+	@Test
+	void testSetInt() {
+		test.add("A");
+		test.add("B");
+		test.add("C");
+		test.add("D");
+
+		test.set(1, "W");
+		assertEquals(test.toString(), "[A, W, C, D]");
+		test.set(3, "X");
+		assertEquals(test.toString(), "[A, W, C, X]");
+		test.set(1, "Y");
+		assertEquals(test.toString(), "[A, Y, C, X]");
+		test.set(3, "Y");
+		assertEquals(test.toString(), "[A, C, Y]");
+		test.set(0, "Y");
+		assertEquals(test.toString(), "[Y, C]");
+		test.set(0, "Y");
+		assertEquals(test.toString(), "[Y, C]");
+	}
+
+	@Test
+	void testRemove() {
+		test.addAll(List.of("A", "B", "C", "D"));
+
+		assertTrue(test.remove("B"));
+		assertFalse(test.remove("B"));
+		assertEquals("C", test.remove(1));
+		assertEquals("A", test.removeFirst());
+		assertEquals("D", test.removeLast());
+		assertTrue(test.isEmpty());
+		assertTrue(test.add("B"));
+	}
+
+	@Test
+	void testIterator() {
+		test.addAll(List.of("A", "B", "C", "D"));
+
+		Iterator<String> itr = test.iterator();
+		while (itr.hasNext()) {
+			if (itr.next().equals("B")) itr.remove();
+		}
+		assertEquals("[A, C, D]", test.toString());
+		assertEquals(1, test.indexOf("C"));
+		assertEquals(-1, test.indexOf("B"));
+
+		Iterator<String> desc = test.descendingIterator();
+		assertEquals("D", desc.next());
+		assertEquals("C", desc.next());
+	}
+
+	@Test
+	void testSort() {
+		test.addAll(List.of("D", "B", "A", "C"));
+		test.sort(Comparator.naturalOrder());
+		assertEquals("[A, B, C, D]", test.toString());
+		assertEquals("D", test.peekLast());
+		assertTrue(test.remove("C"));
+		assertEquals("[A, B, D]", test.toString());
+	}
+
+	@Test
+	void testToUniqueList() {
+		test.addAll(List.of("A", "B", "C"));
+		UniqueList<String> list = test.toUniqueList();
+		assertEquals(test, list);
+		assertFalse(list.isUnmodifiable());
+	}
+
+	@Test
+	void testAsUniqueList() {
+		test.addAll(List.of("A", "B", "C"));
+		UniqueList<String> list = test;
+		list.addFirst("C");
+		assertEquals("[C, A, B]", list.toString());
+		assertEquals(List.of("C", "A", "B"), List.of(list.toArray()));
+		assertEquals(3, list.toArray(new String[0]).length);
+		assertEquals("CAB", list.stream().collect(Collectors.joining()));
+		assertEquals(list, list.clone());
+		assertEquals(list, list.dup());
+
+		list.unmodifiable();
+		assertTrue(test.isUnmodifiable());
+		assertThrows(ERR_CLS0, () -> { list.removeIf(s -> true); });
+		assertThrows(ERR_CLS0, () -> { list.replaceAll(s -> s); });
+	}
+}
@@ -0,0 +1,38 @@
+package net.certiv.common.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongPairSetTest {
+
+	@Test
+	void testAdd() {
+		LongPairSet set = new LongPairSet();
+		assertTrue(set.add(-1, 0));
+		assertTrue(set.add(0, -1));
+		assertFalse(set.add(-1, 0));
+		assertTrue(set.contains(0, -1));
+		assertFalse(set.contains(1, 0));
+		assertEquals(2, set.size());
+	}
+
+	@Test
+	void testGrow() {
+		LongPairSet set = new LongPairSet();
+		for (long idx = 0; idx < 10_000; idx++) {
+			assertTrue(set.add(idx, idx + 1));
+		}
+		assertEquals(10_000, set.size());
+		for (long idx = 0; idx < 10_000; idx++) {
+			assertTrue(set.contains(idx, idx + 1));
+			assertFalse(set.contains(idx + 1, idx));
+		}
+
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(0, 1));
+	}
+}
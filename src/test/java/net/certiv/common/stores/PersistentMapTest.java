@@ -0,0 +1,167 @@
+package net.certiv.common.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+
+	@Test
+	void testPlusMinus() {
+		PersistentMap<Integer, String> map = PersistentMap.empty();
+		for (int idx = 0; idx < 10_000; idx++) {
+			map = map.plus(idx, "V" + idx);
+		}
+		assertEquals(10_000, map.size());
+		for (int idx = 0; idx < 10_000; idx++) {
+			assertEquals("V" + idx, map.get(idx));
+		}
+		assertNull(map.get(10_000));
+
+		PersistentMap<Integer, String> less = map;
+		for (int idx = 0; idx < 10_000; idx += 2) {
+			less = less.minus(idx);
+		}
+		assertEquals(5_000, less.size());
+		assertFalse(less.containsKey(0));
+		assertTrue(less.containsKey(1));
+
+		// prior version unchanged
+		assertEquals(10_000, map.size());
+		assertEquals("V0", map.get(0));
+
+		for (int idx = 1; idx < 10_000; idx += 2) {
+			less = less.minus(idx);
+		}
+		assertTrue(less.isEmpty());
+		assertSame(PersistentMap.empty(), less);
+	}
+
+	@Test
+	void testUnchanged() {
+		PersistentMap<String, String> map = PersistentMap.<String, String>empty().plus("A", "1");
+		assertSame(map, map.plus("A", map.get("A")));
+		assertSame(map, map.minus("B"));
+		assertEquals("2", map.plus("A", "2").get("A"));
+		assertEquals("1", map.get("A"));
+	}
+
+	@Test
+	void testCollisions() {
+		Map<Key, Integer> expected = new HashMap<>();
+		PersistentMap<Key, Integer> map = PersistentMap.empty();
+		for (int idx = 0; idx < 200; idx++) {
+			Key key = new Key(idx, idx % 7);
+			expected.put(key, idx);
+			map = map.plus(key, idx);
+		}
+		assertEquals(200, map.size());
+
+		for (int idx = 0; idx < 200; idx += 3) {
+			Key key = new Key(idx, idx % 7);
+			expected.remove(key);
+			map = map.minus(key);
+		}
+		assertEquals(expected.size(), map.size());
+
+		Map<Key, Integer> actual = new HashMap<>();
+		map.forEach(actual::put);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void testRandom() {
+		Random rnd = new Random(42);
+		Map<Integer, Integer> ref = new HashMap<>();
+		PersistentMap<Integer, Integer> map = PersistentMap.empty();
+
+		for (int idx = 0; idx < 20_000; idx++) {
+			int key = rnd.nextInt(5_000);
+			if (rnd.nextInt(3) == 0) {
+				ref.remove(key);
+				map = map.minus(key);
+			} else {
+				ref.put(key, idx);
+				map = map.plus(key, idx);
+			}
+			assertEquals(ref.size(), map.size());
+		}
+
+		Map<Integer, Integer> all = new HashMap<>();
+		map.forEach(all::put);
+		assertEquals(ref, all);
+		for (int key = 0; key < 5_000; key++) {
+			assertEquals(ref.get(key), map.get(key));
+		}
+	}
+
+	@Test
+	void testPersistent() {
+		PersistentMap<String, Integer> a = PersistentMap.<String, Integer>empty().plus("A", 1).plus("B", 2);
+		PersistentMap<String, Integer> b = a.plus("C", 3).minus("A");
+
+		assertEquals(2, a.size());
+		assertEquals(1, (int) a.get("A"));
+		assertNull(a.get("C"));
+
+		assertEquals(2, b.size());
+		assertNull(b.get("A"));
+		assertEquals(3, (int) b.get("C"));
+
+		Integer two = b.get("B");
+		assertSame(b, b.plus("B", two));
+		assertSame(b, b.minus("X"));
+	}
+
+	@Test
+	void testCollisionGroups() {
+		PersistentMap<Key, Integer> map = PersistentMap.empty();
+		for (int idx = 0; idx < 100; idx++) {
+			map = map.plus(new Key(idx, idx / 10), idx);
+		}
+		assertEquals(100, map.size());
+		assertEquals(42, (int) map.get(new Key(42, 4)));
+
+		for (int idx = 0; idx < 100; idx += 2) {
+			map = map.minus(new Key(idx, idx / 10));
+		}
+		assertEquals(50, map.size());
+		assertFalse(map.containsKey(new Key(42, 4)));
+		assertTrue(map.containsKey(new Key(43, 4)));
+
+		for (int idx = 1; idx < 100; idx += 2) {
+			map = map.minus(new Key(idx, idx / 10));
+		}
+		assertTrue(map.isEmpty());
+	}
+
+	/** Key having a chosen hash code. */
+	private static final class Key {
+
+		final int value;
+		final int hash;
+
+		Key(int value, int hash) {
+			this.value = value;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).value == value;
+		}
+	}
+}
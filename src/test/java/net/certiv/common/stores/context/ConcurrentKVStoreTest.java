@@ -0,0 +1,146 @@
+package net.certiv.common.stores.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.event.TypedEvent;
+import net.certiv.common.event.TypedEvent.EvtType;
+import net.certiv.common.event.TypedEventListener;
+
+class ConcurrentKVStoreTest {
+
+	private final Key<String> A = Key.of("A");
+	private final Key<String> B = Key.of("B");
+	private final Key<Integer> Count = Key.of("Count");
+
+	@Test
+	void testOps() {
+		ConcurrentKVStore store = new ConcurrentKVStore();
+		assertNull(store.get(A));
+		assertEquals("DefA", store.get(A, "DefA"));
+
+		assertNull(store.put(A, "LetterA"));
+		assertEquals("LetterA", store.put(A, "LetterB"));
+		store.putIfAbsent(A, "LetterC");
+		store.putIfAbsent(B, "LetterB");
+		assertEquals("LetterB", store.get(A));
+		assertEquals(2, store.size());
+
+		assertEquals(1, (int) store.computeIfAbsent(Count, k -> 1));
+		assertEquals(1, (int) store.computeIfAbsent(Count, k -> 5));
+		assertEquals(2, (int) store.computeIfPresent(Count, (k, v) -> v + 1));
+		assertNull(store.computeIfPresent(Count, (k, v) -> null));
+		assertFalse(store.contains(Count));
+
+		KVStore plain = new KVStore();
+		plain.put(A, "LetterB");
+		plain.put(B, "LetterB");
+		assertEquals(plain, store);
+		assertEquals(plain.hashCode(), store.hashCode());
+
+		ConcurrentKVStore copy = store.dup();
+		copy.put(A, "Copy");
+		assertEquals("LetterB", store.get(A));
+		assertEquals("LetterB", KVStore.of(store).get(A));
+
+		assertEquals("LetterB", store.remove(B));
+		store.clear();
+		assertTrue(store.isEmpty());
+		assertEquals(2, copy.size());
+	}
+
+	@Test
+	void testSnapshot() {
+		ConcurrentKVStore store = new ConcurrentKVStore();
+		store.put(A, "LetterA");
+		store.put(B, "LetterB");
+
+		Map<Key<?>, Value<?>> all = store.getAll();
+		List<Key<?>> seen = new ArrayList<>();
+		store.forEach((k, v) -> {
+			seen.add(k);
+			store.remove(A);
+			store.remove(B);
+		});
+
+		assertEquals(2, seen.size());
+		assertEquals(2, all.size());
+		assertEquals("LetterA", all.get(A).value());
+		assertTrue(store.isEmpty());
+	}
+
+	@Test
+	void testAtomic() throws Exception {
+		ConcurrentKVStore store = new ConcurrentKVStore();
+		int threads = 8;
+		int count = 2_000;
+
+		ExecutorService exec = Executors.newFixedThreadPool(threads);
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		AtomicInteger created = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(exec.submit(() -> {
+				barrier.await();
+				for (int idx = 0; idx < count; idx++) {
+					store.computeIfAbsent(A, k -> "Init" + created.incrementAndGet());
+					store.compute(Count, (k, v) -> v == null ? 1 : v + 1);
+					if (idx % 64 == 0) Thread.yield();
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		exec.shutdown();
+
+		assertEquals(1, created.get());
+		assertEquals(threads * count, (int) store.get(Count));
+	}
+
+	@Test
+	void testDispatchUnlocked() throws Exception {
+		ConcurrentKVStore store = new ConcurrentKVStore().reactive();
+		List<Object> values = new ArrayList<>();
+		store.addListener(new TypedEventListener() {
+
+			{
+				register(EvtType.CHANGE);
+			}
+
+			@Override
+			protected <TE extends TypedEvent> void accept(TE event) {
+				values.add(event.name());
+				if (event.name().equals(A.toString())) {
+					// would deadlock if dispatched while holding the write lock
+					Thread writer = new Thread(() -> store.put(B, "LetterB"));
+					writer.start();
+					try {
+						writer.join(TimeUnit.SECONDS.toMillis(10));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		});
+
+		store.put(A, "LetterA");
+		assertEquals("LetterB", store.get(B));
+		assertEquals(List.of(A.toString(), B.toString()), values);
+	}
+}
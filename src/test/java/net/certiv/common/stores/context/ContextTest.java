@@ -2,6 +2,7 @@ package net.certiv.common.stores.context;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.AfterEach;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import net.certiv.common.KVSupport;
+import net.certiv.common.stores.context.IContext.RmvScope;
 
 class ContextTest {
 
@@ -236,4 +238,74 @@ class ContextTest {
 		assertNotEquals("StrA", KS.context.get(KS.KeyA));
 		assertEquals("StrB", KS.context.get(KS.KeyA));
 	}
+
+	@Test
+	void testResolution() {
+		KS.context = Context.of(4);
+		KS.context.mergeFirst(KS.a);
+		UUID mark = KS.context.mergeFirst(KS.b);
+		KS.context.mergeFirst(KS.c);
+		assertEquals("C", KS.context.get(KS.NAME));
+
+		Map<Key<?>, Value<?>> all = KS.context.getAll();
+		assertEquals(KS.context.size(), all.size());
+		assertThrows(UnsupportedOperationException.class, () -> all.remove(KS.NAME));
+
+		KS.context.put(KS.NAME, "Top");
+		assertEquals("Top", KS.context.get(KS.NAME));
+		assertEquals("Top", all.get(KS.NAME).value());
+
+		// the top level is the merged copy of C
+		KS.context.remove(KS.NAME, RmvScope.TOP_LEVEL);
+		assertEquals("B", KS.context.get(KS.NAME));
+		KS.context.remove(KS.NAME, RmvScope.FIRST_VISBLE);
+		assertEquals("A", KS.context.get(KS.NAME));
+		assertEquals(2, (int) KS.context.get(KS.NUM));
+
+		assertTrue(KS.context.restore(mark));
+		assertEquals("A", KS.context.get(KS.NAME));
+		assertEquals(0, (int) KS.context.get(KS.NUM));
+		assertTrue(KS.context.contains(Key.of("context.text.name.layer[0]")));
+		assertFalse(KS.context.contains(Key.of("context.text.name.layer[2]")));
+
+		KS.context.remove(KS.NAME, RmvScope.ALL);
+		assertFalse(KS.context.contains(KS.NAME));
+		assertNull(KS.context.getValue(KS.NAME));
+		assertEquals(KS.context.keys(), all.keySet());
+	}
+
+	@Test
+	void testDup() {
+		Context context = Context.of(4);
+		context.mergeFirst(KS.a);
+		UUID mark = context.mergeFirst(KS.b);
+		context.mergeFirst(KS.c);
+
+		Context copy = context.dup();
+		assertEquals(context, copy);
+		assertEquals(context.keys(), copy.keys());
+
+		copy.put(KS.NAME, "Copy");
+		copy.remove(KS.NUM, RmvScope.ALL);
+		assertEquals("C", context.get(KS.NAME));
+		assertEquals(2, (int) context.get(KS.NUM));
+		assertEquals("Copy", copy.get(KS.NAME));
+		assertFalse(copy.contains(KS.NUM));
+
+		context.put(KS.NAME, "Orig");
+		assertEquals("Copy", copy.get(KS.NAME));
+
+		// copies share scope marks
+		assertTrue(copy.restore(mark));
+		assertEquals("A", copy.get(KS.NAME));
+		assertEquals("Orig", context.get(KS.NAME));
+		assertEquals(context.depth() - 2, copy.depth());
+
+		Context part = context.dup(2);
+		assertEquals(2, part.depth());
+		assertEquals("Orig", part.get(KS.NAME));
+		part.clear();
+		assertTrue(part.isEmpty());
+		assertEquals("Orig", context.get(KS.NAME));
+	}
 }
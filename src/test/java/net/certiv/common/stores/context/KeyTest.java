@@ -2,9 +2,16 @@ package net.certiv.common.stores.context;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -31,4 +38,36 @@ class KeyTest {
 
 		assertDoesNotThrow(() -> { key1.cast(Path.of("")); });
 	}
+
+	@Test
+	void testConcurrent() throws Exception {
+		int threads = 8;
+		int count = 5000;
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ExecutorService exec = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<Key<?>>>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(exec.submit(() -> {
+					start.await();
+					List<Key<?>> keys = new ArrayList<>();
+					for (int idx = 0; idx < count; idx++) {
+						keys.add(idx % 2 == 0 ? Key.of("stress" + idx) : Key.find("stress" + idx, true));
+					}
+					return keys;
+				}));
+			}
+
+			List<Key<?>> first = results.get(0).get();
+			for (Future<List<Key<?>>> result : results) {
+				List<Key<?>> keys = result.get();
+				for (int idx = 0; idx < count; idx++) {
+					assertSame(first.get(idx), keys.get(idx));
+				}
+			}
+			assertTrue(Key.defined("stress0"));
+		} finally {
+			exec.shutdown();
+		}
+	}
 }
@@ -0,0 +1,121 @@
+package net.certiv.common.stores.props;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.certiv.common.event.TypedEvent.EvtType;
+
+class PropsTest {
+
+	@Test
+	void testCompact() {
+		Props props = new Props();
+		assertTrue(props.properties().isEmpty());
+		assertNull(props.get("A"));
+		assertFalse(props.has("A"));
+
+		LinkedHashMap<Object, Object> ref = new LinkedHashMap<>();
+		for (int idx = 0; idx < PropMap.LIMIT * 2; idx++) {
+			props.put("K" + idx, idx);
+			ref.put("K" + idx, idx);
+			assertEquals(ref, props.properties());
+			assertEquals(List.copyOf(ref.keySet()), List.copyOf(props.properties().keySet()));
+		}
+
+		props.put("K3", null);
+		ref.remove("K3");
+		props.put("K0", 100);
+		ref.put("K0", 100);
+		assertEquals(ref, props.properties());
+		assertEquals(ref.toString(), props.toString());
+		assertEquals(100, (int) props.get("K0"));
+
+		props.clear();
+		assertTrue(props.properties().isEmpty());
+	}
+
+	@Test
+	void testRemove() {
+		Props props = new Props();
+		props.put("A", 1);
+		props.put("B", 2);
+		props.put("C", 3);
+		assertEquals(2, (int) props.put("B", null));
+		props.put("D", 4);
+		assertEquals(List.of("A", "C", "D"), List.copyOf(props.properties().keySet()));
+		assertEquals(1, (int) props.putIfAbsent("A", 5));
+	}
+
+	@Test
+	void testEquals() {
+		Props a = new Props();
+		Props b = new Props();
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+
+		a.put("A", 1);
+		assertFalse(a.equals(b));
+		b.put("A", 1);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+
+	@Test
+	void testBulk() {
+		Props props = new Props();
+		props.put("A", 1);
+		props.put("B", 2);
+
+		List<PropEvent> events = new ArrayList<>();
+		PropsListener.of(EvtType.CHANGE).action(e -> events.add(e)).addTo(props);
+		props.bulk(() -> {
+			props.put("A", 10);
+			props.put("B", 3);
+			props.put("B", 2);
+			props.put("C", 4);
+			props.put("A", null);
+		});
+
+		assertEquals(1, events.size());
+		PropEvent e = events.get(0);
+		assertEquals(PropEvent.BULK, e.name());
+		Map<Object, Object> values = e.value();
+		Map<Object, Object> priors = e.prior();
+		assertEquals(List.of("A", "C"), List.copyOf(values.keySet()));
+		assertNull(values.get("A"));
+		assertEquals(4, values.get("C"));
+		assertEquals(1, priors.get("A"));
+		assertNull(priors.get("C"));
+
+		props.bulk(() -> props.put("B", 2));
+		assertEquals(1, events.size());
+	}
+
+	@Test
+	void testLazyDispatcher() {
+		Props props = new Props();
+		props.put("A", 1);
+		assertEquals(0, props.getListenerCount());
+
+		List<Object> values = new ArrayList<>();
+		PropsListener.of(EvtType.CHANGE).action(e -> values.add(e.value())).addTo(props);
+		assertEquals(1, props.getListenerCount());
+
+		props.put("A", 2);
+		assertEquals(List.of(2), values);
+
+		Props none = new Props(null);
+		PropsListener.of(EvtType.CHANGE).addTo(none);
+		assertEquals(0, none.getListenerCount());
+		assertNull(none.dispatcher());
+	}
+}
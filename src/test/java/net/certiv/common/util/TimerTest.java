@@ -1,9 +1,17 @@
 package net.certiv.common.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
@@ -104,4 +112,114 @@ class TimerTest {
 		// double total = delta.values().stream().mapToDouble(v -> v).sum();
 		// System.out.println(String.format("%s %sms", names, total));
 	}
+
+	@Test
+	void testStatistics() throws Exception {
+		Timer<String> timer = new Timer<>("Stats", 4);
+		for (int idx = 0; idx < 100_000; idx++) {
+			timer.start(N1);
+			timer.stop(N1);
+		}
+		assertEquals(100_000, timer.count(N1));
+		assertTrue(timer.min(N1) <= timer.mean(N1));
+		assertTrue(timer.mean(N1) <= timer.max(N1));
+		assertTrue(timer.percentile(N1, 50) <= timer.percentile(N1, 99));
+		assertTrue(timer.percentile(N1, 100) <= timer.max(N1));
+		assertEquals(4, timer.samples(N1).length);
+
+		timer.start(N2);
+		TimeUnit.MILLISECONDS.sleep(20);
+		timer.stop(N2);
+		assertEquals(1, timer.count(N2));
+		assertEquals(timer.min(N2), timer.max(N2));
+		assertEquals(timer.max(N2), timer.percentile(N2, 50));
+		assertTrue(timer.mean(N2) >= 20);
+
+		assertEquals(0, timer.count(N3));
+		assertEquals(0, timer.percentile(N3, 50));
+		assertEquals(0, new Timer<String>().samples(N1).length);
+	}
+
+	@Test
+	void testHistogram() {
+		Histogram histogram = new Histogram();
+		for (long value = 1; value <= 10_000; value++) {
+			histogram.record(value * 1000);
+		}
+		assertEquals(10_000, histogram.count());
+		assertEquals(1000, histogram.min());
+		assertEquals(10_000_000, histogram.max());
+
+		double bound = 2.0 / Histogram.SUB_BUCKETS;
+		for (double p : new double[] { 1, 25, 50, 90, 99, 99.9 }) {
+			double expected = Math.ceil(p * 100) * 1000;
+			double actual = histogram.percentile(p);
+			assertTrue(actual >= expected, p + "");
+			assertTrue((actual - expected) / expected <= bound, p + "");
+		}
+		assertEquals(10_000_000, histogram.percentile(100));
+
+		for (long value = 0; value < Histogram.SUB_BUCKETS; value++) {
+			assertEquals(value, Histogram.highest(Histogram.index(value)));
+		}
+		for (long value = 1; value < Histogram.MAX_VALUE; value = value * 3 + 1) {
+			long high = Histogram.highest(Histogram.index(value));
+			assertTrue(high >= value && high - value <= value * bound, value + "");
+		}
+
+		histogram.clear();
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.percentile(50));
+	}
+
+	@Test
+	void testSamples() {
+		Timer<String> timer = new Timer<>("Samples", 3);
+		for (int idx = 0; idx < 5; idx++) {
+			timer.start(N1);
+			timer.stop(N1);
+		}
+		double[] samples = timer.samples(N1);
+		assertEquals(3, samples.length);
+
+		timer.clear(N1);
+		assertEquals(0, timer.count(N1));
+		timer.start(N1);
+		timer.stop(N1);
+		double[] one = timer.samples(N1);
+		assertEquals(1, one.length);
+		assertArrayEquals(new double[] { timer.max(N1) }, one);
+	}
+
+	@Test
+	void testConcurrent() throws Exception {
+		Timer<String> timer = new Timer<>("Concurrent");
+		int threads = 8;
+		int count = 5_000;
+
+		ExecutorService exec = Executors.newFixedThreadPool(threads);
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			String id = "T" + t;
+			futures.add(exec.submit(() -> {
+				barrier.await();
+				for (int idx = 0; idx < count; idx++) {
+					timer.start(id);
+					if (idx % 64 == 0) Thread.yield();
+					timer.stop(id);
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		exec.shutdown();
+
+		assertEquals(threads, timer.timerNames().size());
+		for (int t = 0; t < threads; t++) {
+			assertEquals(count, timer.count("T" + t));
+		}
+	}
 }